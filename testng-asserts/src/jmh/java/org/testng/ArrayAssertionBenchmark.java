@@ -0,0 +1,142 @@
+package org.testng;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testng.internal.ArrayComparison;
+
+/**
+ * Compares the {@link Assert} array assertions with the element by element loops they replaced,
+ * which boxed every primitive element and formatted a failure message for every index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArrayAssertionBenchmark {
+
+  private static final String ARRAY_MISMATCH_TEMPLATE =
+      "arrays differ firstly at element [%d]; expected value is <%s> but was <%s>. %s";
+
+  @Param({"legacy", "mismatch"})
+  public String implementation;
+
+  @Param({"100", "100000"})
+  public int length;
+
+  private byte[] actualBytes;
+  private byte[] expectedBytes;
+  private double[] actualDoubles;
+  private double[] expectedDoubles;
+  private Object[] actualObjects;
+  private Object[] expectedObjects;
+
+  @Setup
+  public void setup() {
+    actualBytes = new byte[length];
+    actualDoubles = new double[length];
+    actualObjects = new Object[length];
+    for (int i = 0; i < length; i++) {
+      actualBytes[i] = (byte) i;
+      actualDoubles[i] = i / 3.0;
+      actualObjects[i] = new int[] {i, i + 1};
+    }
+    expectedBytes = actualBytes.clone();
+    expectedDoubles = actualDoubles.clone();
+    expectedObjects = Arrays.stream(actualObjects).map(o -> ((int[]) o).clone()).toArray();
+  }
+
+  @Benchmark
+  public boolean byteArrays() {
+    if ("legacy".equals(implementation)) {
+      return legacyArrayEquals(actualBytes, expectedBytes);
+    }
+    Assert.assertEquals((Object) actualBytes, (Object) expectedBytes);
+    return true;
+  }
+
+  @Benchmark
+  public boolean doubleArrays() {
+    if ("legacy".equals(implementation)) {
+      return legacyArrayEquals(actualDoubles, expectedDoubles, 0.0);
+    }
+    Assert.assertEquals(actualDoubles, expectedDoubles);
+    return true;
+  }
+
+  @Benchmark
+  public boolean doubleArraysWithDelta() {
+    if ("legacy".equals(implementation)) {
+      return legacyArrayEquals(actualDoubles, expectedDoubles, 0.001);
+    }
+    Assert.assertEquals(actualDoubles, expectedDoubles, 0.001);
+    return true;
+  }
+
+  @Benchmark
+  public boolean nestedArrays() {
+    if ("legacy".equals(implementation)) {
+      return legacyNestedArrayEquals(actualObjects, expectedObjects, null);
+    }
+    Assert.assertEquals(actualObjects, expectedObjects);
+    return true;
+  }
+
+  /** The reflective loop which used to compare the arrays passed as objects. */
+  private static boolean legacyArrayEquals(Object actual, Object expected) {
+    int length = Array.getLength(expected);
+    if (length != Array.getLength(actual)) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (!Objects.equals(Array.get(actual, i), Array.get(expected, i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** The loop which used to format a failure message for every element. */
+  private static boolean legacyArrayEquals(double[] actual, double[] expected, double delta) {
+    boolean equal = actual.length == expected.length;
+    for (int i = 0; equal && i < expected.length; i++) {
+      String message =
+          String.format(
+              ARRAY_MISMATCH_TEMPLATE,
+              i,
+              Double.toString(expected[i]),
+              Double.toString(actual[i]),
+              "");
+      equal = ArrayComparison.areEqual(actual[i], expected[i], delta) && !message.isEmpty();
+    }
+    return equal;
+  }
+
+  /** The loop which used to build an explanation for every element of the nested arrays. */
+  private static boolean legacyNestedArrayEquals(
+      Object[] actual, Object[] expected, String message) {
+    boolean equal = actual.length == expected.length;
+    for (int i = 0; equal && i < expected.length; i++) {
+      Object e = expected[i];
+      Object a = actual[i];
+      String explanation = "Arrays differ at element [" + i + "]: " + e + " != " + a;
+      String errorMessage = message == null ? explanation : message + ": " + explanation;
+      equal = legacyArrayEquals(a, e) && !errorMessage.isEmpty();
+    }
+    return equal;
+  }
+}
@@ -15,9 +15,11 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import java.util.function.Supplier;
 import org.testng.collections.Lists;
+import org.testng.internal.ArrayComparison;
+import org.testng.internal.FailureMessages;
+import org.testng.internal.UnorderedComparison;
 
 /**
  * Assertion tool class. Presents assertion methods with a more natural parameter order. The order
@@ -198,14 +200,37 @@ public class Assert {
     if (expectedLength != Array.getLength(actual)) {
       return "array lengths are not the same";
     }
-    for (int i = 0; i < expectedLength; i++) {
+    int i = ArrayComparison.mismatch(actual, expected);
+    if (i == ArrayComparison.INCOMPARABLE) {
+      i = getObjectArrayMismatch(actual, expected, expectedLength);
+    }
+    if (i >= 0) {
+      return "(values at index " + i + " are not the same)";
+    }
+    return null;
+  }
+
+  /** returns the index of the first elements that are not equal, or -1 if all of them are */
+  private static int getObjectArrayMismatch(Object actual, Object expected, int length) {
+    if (actual instanceof Object[] && expected instanceof Object[]) {
+      Object[] actualArray = (Object[]) actual;
+      Object[] expectedArray = (Object[]) expected;
+      for (int i = 0; i < length; i++) {
+        if (!areEqual(actualArray[i], expectedArray[i])) {
+          return i;
+        }
+      }
+      return -1;
+    }
+    // Arrays of different component types, e.g. int[] and Integer[]
+    for (int i = 0; i < length; i++) {
       Object _actual = Array.get(actual, i);
       Object _expected = Array.get(expected, i);
       if (!areEqual(_actual, _expected)) {
-        return "(values at index " + i + " are not the same)";
+        return i;
       }
     }
-    return null;
+    return -1;
   }
 
   private static boolean areArraysEqual(Object actual, Object expected) {
@@ -250,16 +275,15 @@ public class Assert {
       return;
     }
 
-    for (int i = 0; i < expected.length; i++) {
-      if (expected[i] != actual[i]) {
-        fail(
-            String.format(
-                ARRAY_MISMATCH_TEMPLATE,
-                i,
-                Byte.toString(expected[i]),
-                Byte.toString(actual[i]),
-                message));
-      }
+    int i = ArrayComparison.mismatch(actual, expected);
+    if (i >= 0) {
+      fail(
+          String.format(
+              ARRAY_MISMATCH_TEMPLATE,
+              i,
+              Byte.toString(expected[i]),
+              Byte.toString(actual[i]),
+              message));
     }
   }
 
@@ -287,16 +311,15 @@ public class Assert {
       return;
     }
 
-    for (int i = 0; i < expected.length; i++) {
-      if (expected[i] != actual[i]) {
-        fail(
-            String.format(
-                ARRAY_MISMATCH_TEMPLATE,
-                i,
-                Short.toString(expected[i]),
-                Short.toString(actual[i]),
-                message));
-      }
+    int i = ArrayComparison.mismatch(actual, expected);
+    if (i >= 0) {
+      fail(
+          String.format(
+              ARRAY_MISMATCH_TEMPLATE,
+              i,
+              Short.toString(expected[i]),
+              Short.toString(actual[i]),
+              message));
     }
   }
 
@@ -324,16 +347,15 @@ public class Assert {
       return;
     }
 
-    for (int i = 0; i < expected.length; i++) {
-      if (expected[i] != actual[i]) {
-        fail(
-            String.format(
-                ARRAY_MISMATCH_TEMPLATE,
-                i,
-                Integer.toString(expected[i]),
-                Integer.toString(actual[i]),
-                message));
-      }
+    int i = ArrayComparison.mismatch(actual, expected);
+    if (i >= 0) {
+      fail(
+          String.format(
+              ARRAY_MISMATCH_TEMPLATE,
+              i,
+              Integer.toString(expected[i]),
+              Integer.toString(actual[i]),
+              message));
     }
   }
 
@@ -361,16 +383,15 @@ public class Assert {
       return;
     }
 
-    for (int i = 0; i < expected.length; i++) {
-      if (expected[i] != actual[i]) {
-        fail(
-            String.format(
-                ARRAY_MISMATCH_TEMPLATE,
-                i,
-                Boolean.toString(expected[i]),
-                Boolean.toString(actual[i]),
-                message));
-      }
+    int i = ArrayComparison.mismatch(actual, expected);
+    if (i >= 0) {
+      fail(
+          String.format(
+              ARRAY_MISMATCH_TEMPLATE,
+              i,
+              Boolean.toString(expected[i]),
+              Boolean.toString(actual[i]),
+              message));
     }
   }
 
@@ -398,16 +419,15 @@ public class Assert {
       return;
     }
 
-    for (int i = 0; i < expected.length; i++) {
-      if (expected[i] != actual[i]) {
-        fail(
-            String.format(
-                ARRAY_MISMATCH_TEMPLATE,
-                i,
-                Character.toString(expected[i]),
-                Character.toString(actual[i]),
-                message));
-      }
+    int i = ArrayComparison.mismatch(actual, expected);
+    if (i >= 0) {
+      fail(
+          String.format(
+              ARRAY_MISMATCH_TEMPLATE,
+              i,
+              Character.toString(expected[i]),
+              Character.toString(actual[i]),
+              message));
     }
   }
 
@@ -435,7 +455,8 @@ public class Assert {
       return;
     }
 
-    for (int i = 0; i < expected.length; i++) {
+    int i = ArrayComparison.mismatch(actual, expected);
+    if (i >= 0) {
       assertEquals(
           actual[i],
           expected[i],
@@ -474,7 +495,8 @@ public class Assert {
       return;
     }
 
-    for (int i = 0; i < expected.length; i++) {
+    int i = ArrayComparison.mismatch(actual, expected, delta);
+    if (i >= 0) {
       assertEquals(
           actual[i],
           expected[i],
@@ -512,7 +534,8 @@ public class Assert {
       return;
     }
 
-    for (int i = 0; i < expected.length; i++) {
+    int i = ArrayComparison.mismatch(actual, expected);
+    if (i >= 0) {
       assertEquals(
           actual[i],
           expected[i],
@@ -552,7 +575,8 @@ public class Assert {
       return;
     }
 
-    for (int i = 0; i < expected.length; i++) {
+    int i = ArrayComparison.mismatch(actual, expected, delta);
+    if (i >= 0) {
       assertEquals(
           actual[i],
           expected[i],
@@ -590,16 +614,15 @@ public class Assert {
       return;
     }
 
-    for (int i = 0; i < expected.length; i++) {
-      if (expected[i] != actual[i]) {
-        fail(
-            String.format(
-                ARRAY_MISMATCH_TEMPLATE,
-                i,
-                Long.toString(expected[i]),
-                Long.toString(actual[i]),
-                message));
-      }
+    int i = ArrayComparison.mismatch(actual, expected);
+    if (i >= 0) {
+      fail(
+          String.format(
+              ARRAY_MISMATCH_TEMPLATE,
+              i,
+              Long.toString(expected[i]),
+              Long.toString(actual[i]),
+              message));
     }
   }
 
@@ -667,20 +690,7 @@ public class Assert {
   }
 
   private static boolean areEqual(double actual, double expected, double delta) {
-    // handle infinity specially since subtracting to infinite values gives NaN and the
-    // the following test fails
-    if (Double.isInfinite(expected)) {
-      if (!(expected == actual)) {
-        return false;
-      }
-    } else if (Double.isNaN(expected)) {
-      if (!Double.isNaN(actual)) {
-        return false;
-      }
-    } else if (!(Math.abs(expected - actual) <= delta)) {
-      return false;
-    }
-    return true;
+    return ArrayComparison.areEqual(actual, expected, delta);
   }
 
   /**
@@ -806,20 +816,7 @@ public class Assert {
   }
 
   private static boolean areEqual(float actual, float expected, float delta) {
-    // handle infinity specially since subtracting to infinite values gives NaN and
-    // the following test fails
-    if (Float.isInfinite(expected)) {
-      if (!(expected == actual)) {
-        return false;
-      }
-    } else if (Float.isNaN(expected)) {
-      if (!Float.isNaN(actual)) {
-        return false;
-      }
-    } else if (!(Math.abs(expected - actual) <= delta)) {
-      return false;
-    }
-    return true;
+    return ArrayComparison.areEqual(actual, expected, delta);
   }
 
   /**
@@ -1563,7 +1560,13 @@ public class Assert {
     if (message != null) {
       formatted = message + " ";
     }
-    fail(formatted + ASSERT_LEFT2 + expected + ASSERT_MIDDLE + actual + ASSERT_RIGHT);
+    fail(
+        formatted
+            + ASSERT_LEFT2
+            + FailureMessages.toString(expected)
+            + ASSERT_MIDDLE
+            + FailureMessages.toString(actual)
+            + ASSERT_RIGHT);
   }
 
   private static void failNotSame(Object actual, Object expected, String message) {
@@ -1571,7 +1574,13 @@ public class Assert {
     if (message != null) {
       formatted = message + " ";
     }
-    fail(formatted + ASSERT_EQUAL_LEFT + expected + ASSERT_MIDDLE + actual + ASSERT_RIGHT);
+    fail(
+        formatted
+            + ASSERT_EQUAL_LEFT
+            + FailureMessages.toString(expected)
+            + ASSERT_MIDDLE
+            + FailureMessages.toString(actual)
+            + ASSERT_RIGHT);
   }
 
   private static void failNotEquals(Object actual, Object expected, String message) {
@@ -1587,12 +1596,24 @@ public class Assert {
     if (null != message) {
       formatted = message + " ";
     }
+    String expectedString = FailureMessages.toString(expected);
+    String actualString = FailureMessages.toString(actual);
     if (isAssertEquals) {
       // if equality is asserted but inequality is found
-      return formatted + ASSERT_EQUAL_LEFT + expected + ASSERT_MIDDLE + actual + ASSERT_RIGHT;
+      return formatted
+          + ASSERT_EQUAL_LEFT
+          + expectedString
+          + ASSERT_MIDDLE
+          + actualString
+          + ASSERT_RIGHT;
     }
     // if inequality is asserted but equality is found
-    return formatted + ASSERT_UNEQUAL_LEFT + expected + ASSERT_MIDDLE + actual + ASSERT_RIGHT;
+    return formatted
+        + ASSERT_UNEQUAL_LEFT
+        + expectedString
+        + ASSERT_MIDDLE
+        + actualString
+        + ASSERT_RIGHT;
   }
 
   /**
@@ -1623,14 +1644,22 @@ public class Assert {
       if (message != null) {
         fail(message);
       } else {
-        fail("Collections not equal: expected: " + expected + " and actual: " + actual);
+        fail(
+            "Collections not equal: expected: "
+                + FailureMessages.toString(expected)
+                + " and actual: "
+                + FailureMessages.toString(actual));
       }
     }
 
-    assertEquals(
-        actual.size(),
-        expected.size(),
-        (message == null ? "" : message + ": ") + "lists don't have the same size");
+    if (actual.size() != expected.size()) {
+      assertEquals(
+          actual.size(),
+          expected.size(),
+          (message == null ? "" : message + ": ")
+              + "lists don't have the same size"
+              + FailureMessages.describeDifferingElements(actual, expected));
+    }
 
     Iterator<?> actIt = actual.iterator();
     Iterator<?> expIt = expected.iterator();
@@ -1639,9 +1668,19 @@ public class Assert {
       i++;
       Object e = expIt.next();
       Object a = actIt.next();
-      String explanation = "Lists differ at element [" + i + "]: " + e + " != " + a;
+      if (areEqualImpl(a, e)) {
+        continue;
+      }
+      String explanation =
+          "Lists differ at element ["
+              + i
+              + "]: "
+              + FailureMessages.toString(e)
+              + " != "
+              + FailureMessages.toString(a)
+              + FailureMessages.describeDifferingElements(actual, expected);
       String errorMessage = message == null ? explanation : message + ": " + explanation;
-      assertEqualsImpl(a, e, errorMessage);
+      failNotEquals(a, e, errorMessage);
     }
   }
 
@@ -1684,10 +1723,19 @@ public class Assert {
       i++;
       Object e = expected.next();
       Object a = actual.next();
-      String explanation = "Iterators differ at element [" + i + "]: " + e + " != " + a;
+      if (areEqualImpl(a, e)) {
+        continue;
+      }
+      String explanation =
+          "Iterators differ at element ["
+              + i
+              + "]: "
+              + FailureMessages.toString(e)
+              + " != "
+              + FailureMessages.toString(a);
       String errorMessage = message == null ? explanation : message + ": " + explanation;
 
-      assertEqualsImpl(a, e, errorMessage);
+      failNotEquals(a, e, errorMessage);
     }
 
     if (actual.hasNext()) {
@@ -1732,7 +1780,11 @@ public class Assert {
       if (message != null) {
         fail(message);
       } else {
-        fail("Iterables not equal: expected: " + expected + " and actual: " + actual);
+        fail(
+            "Iterables not equal: expected: "
+                + FailureMessages.toString(expected)
+                + " and actual: "
+                + FailureMessages.toString(actual));
       }
     }
 
@@ -1761,9 +1813,9 @@ public class Assert {
       } else {
         fail(
             "Arrays not equal: expected: "
-                + Arrays.toString(expected)
+                + FailureMessages.toString(expected)
                 + " and actual: "
-                + Arrays.toString(actual));
+                + FailureMessages.toString(actual));
       }
     }
     if (actual.length != expected.length) {
@@ -1774,8 +1826,6 @@ public class Assert {
     for (int i = 0; i < expected.length; i++) {
       Object e = expected[i];
       Object a = actual[i];
-      String explanation = "Arrays differ at element [" + i + "]: " + e + " != " + a;
-      String errorMessage = message == null ? explanation : message + ": " + explanation;
       if (a == null && e == null) {
         continue;
       }
@@ -1783,6 +1833,18 @@ public class Assert {
         failNotEquals(a, e, message);
       }
       // Compare by value for multi-dimensional array.
+      if (e.getClass().isArray() ? areArraysEqual(a, e) : areEqualImpl(a, e)) {
+        continue;
+      }
+      // The explanation is only worth building for the elements that differ.
+      String explanation =
+          "Arrays differ at element ["
+              + i
+              + "]: "
+              + FailureMessages.toString(e)
+              + " != "
+              + FailureMessages.toString(a);
+      String errorMessage = message == null ? explanation : message + ": " + explanation;
       if (e.getClass().isArray()) {
         assertEquals(a, e, errorMessage);
       } else {
@@ -1809,9 +1871,9 @@ public class Assert {
     if (actual == null || expected == null) {
       failAssertNoEqual(
           "Arrays not equal: expected: "
-              + Arrays.toString(expected)
+              + FailureMessages.toString(expected)
               + " and actual: "
-              + Arrays.toString(actual),
+              + FailureMessages.toString(actual),
           message);
     }
 
@@ -1827,9 +1889,9 @@ public class Assert {
     if (!actualCollection.isEmpty()) {
       failAssertNoEqual(
           "Arrays not equal: expected: "
-              + Arrays.toString(expected)
+              + FailureMessages.toString(expected)
               + " and actual: "
-              + Arrays.toString(actual),
+              + FailureMessages.toString(actual),
           message);
     }
   }
@@ -1854,7 +1916,11 @@ public class Assert {
     actualCollection.removeAll(expected);
     if (!actualCollection.isEmpty()) {
       failAssertNoEqual(
-          "Collections not equal: expected: " + expected + " and actual: " + actual, message);
+          "Collections not equal: expected: "
+              + FailureMessages.toString(expected)
+              + " and actual: "
+              + FailureMessages.toString(actual),
+          message);
     }
   }
 
@@ -1883,23 +1949,13 @@ public class Assert {
     if (!actualCollection.isEmpty()) {
       failAssertNoEqual(
           "Iterators not equal: expected: "
-              + toString(expected)
+              + FailureMessages.toString(expected)
               + " and actual: "
-              + toString(actual),
+              + FailureMessages.toString(actual),
           message);
     }
   }
 
-  private static String toString(Iterator<?> iterator) {
-    if (iterator == null) {
-      return null;
-    }
-    Iterable<Object> iterable = () -> (Iterator<Object>) iterator;
-    return StreamSupport.stream(iterable.spliterator(), false)
-        .map(Object::toString)
-        .collect(Collectors.joining(", "));
-  }
-
   private static void failAssertNoEqual(String defaultMessage, String message) {
     if (message != null) {
       fail(message);
@@ -1954,6 +2010,91 @@ public class Assert {
     assertEqualsNoOrder(actual, expected, null);
   }
 
+  /**
+   * Asserts that two arrays contain the same elements, as often, in no particular order. If they do
+   * not, an {@code AssertionError} listing the missing and unexpected elements is thrown. Unlike
+   * {@link #assertEqualsNoOrder(Object[], Object[])}, the elements which are arrays as well are
+   * compared by content, and the elements are matched by hash, in linear time.
+   *
+   * @param actual the actual value
+   * @param expected the expected value
+   */
+  public static void assertEqualsDeepNoOrder(Object[] actual, Object[] expected) {
+    assertEqualsDeepNoOrder(actual, expected, null);
+  }
+
+  /**
+   * Asserts that two arrays contain the same elements, as often, in no particular order. If they do
+   * not, an {@code AssertionError}, with the given message, is thrown. Unlike {@link
+   * #assertEqualsNoOrder(Object[], Object[], String)}, the elements which are arrays as well are
+   * compared by content, and the elements are matched by hash, in linear time.
+   *
+   * @param actual the actual value
+   * @param expected the expected value
+   * @param message the assertion error message
+   */
+  public static void assertEqualsDeepNoOrder(Object[] actual, Object[] expected, String message) {
+    if (actual == expected) {
+      return;
+    }
+    if (actual == null || expected == null) {
+      failAssertNoEqual(
+          "Arrays not equal: expected: "
+              + FailureMessages.toString(expected)
+              + " and actual: "
+              + FailureMessages.toString(actual),
+          message);
+    }
+    assertEqualsDeepNoOrder(Arrays.asList(actual), Arrays.asList(expected), "Arrays", message);
+  }
+
+  /**
+   * Asserts that two collections contain the same elements, as often, in no particular order. If
+   * they do not, an {@code AssertionError} listing the missing and unexpected elements is thrown.
+   * Unlike {@link #assertEqualsNoOrder(Collection, Collection)}, the elements which are arrays are
+   * compared by content, and the elements are matched by hash, in linear time.
+   *
+   * @param actual the actual value
+   * @param expected the expected value
+   */
+  public static void assertEqualsDeepNoOrder(Collection<?> actual, Collection<?> expected) {
+    assertEqualsDeepNoOrder(actual, expected, null);
+  }
+
+  /**
+   * Asserts that two collections contain the same elements, as often, in no particular order. If
+   * they do not, an {@code AssertionError}, with the given message, is thrown. Unlike {@link
+   * #assertEqualsNoOrder(Collection, Collection, String)}, the elements which are arrays are
+   * compared by content, and the elements are matched by hash, in linear time.
+   *
+   * @param actual the actual value
+   * @param expected the expected value
+   * @param message the assertion error message
+   */
+  public static void assertEqualsDeepNoOrder(
+      Collection<?> actual, Collection<?> expected, String message) {
+    if (actual == expected) {
+      return;
+    }
+    if (actual == null || expected == null) {
+      failAssertNoEqual(
+          "Collections not equal: expected: "
+              + FailureMessages.toString(expected)
+              + " and actual: "
+              + FailureMessages.toString(actual),
+          message);
+    }
+    assertEqualsDeepNoOrder(actual, expected, "Collections", message);
+  }
+
+  private static void assertEqualsDeepNoOrder(
+      Collection<?> actual, Collection<?> expected, String kind, String message) {
+    UnorderedComparison comparison = new UnorderedComparison(actual, expected, Assert::areEqual);
+    if (!comparison.isEqual()) {
+      fail(message != null ? message : kind + " not equal: " + comparison.describeDifference());
+    }
+  }
+
   /**
    * Asserts that two sets are equal.
    *
@@ -1964,60 +2105,82 @@ public class Assert {
     assertEquals(actual, expected, null);
   }
 
-  /** returns not equal reason or null if equal */
-  private static String getNotEqualReason(Collection<?> actual, Collection<?> expected) {
+  /** returns the (lazily rendered) not equal reason or null if equal */
+  private static Supplier<String> getNotEqualReason(
+      Collection<?> actual, Collection<?> expected) {
     if (actual == expected) { // We don't use Arrays.equals here because order is checked
       return null;
     }
 
     if (actual == null || expected == null) {
       // Keep the back compatible
-      return "Collections not equal: expected: " + expected + " and actual: " + actual;
+      return () ->
+          "Collections not equal: expected: "
+              + FailureMessages.toString(expected)
+              + " and actual: "
+              + FailureMessages.toString(actual);
     }
 
     if (!Objects.equals(actual, expected)) {
-      return "Collections differ: expected " + expected + " but got " + actual;
+      return () ->
+          "Collections differ: expected "
+              + FailureMessages.toString(expected)
+              + " but got "
+              + FailureMessages.toString(actual)
+              + FailureMessages.describeDifferingElements(actual, expected);
     }
 
     return getNotEqualReason(actual.iterator(), expected.iterator());
   }
 
-  private static String getNotEqualReason(Iterator<?> actual, Iterator<?> expected) {
+  private static Supplier<String> getNotEqualReason(Iterator<?> actual, Iterator<?> expected) {
     if (actual == expected) { // We don't use Arrays.equals here because order is checked
       return null;
     }
 
     if (actual == null || expected == null) {
       // Keep the back compatible
-      return "Iterators not equal: expected: "
-          + toString(expected)
-          + " and actual: "
-          + toString(actual);
+      return () ->
+          "Iterators not equal: expected: "
+              + FailureMessages.toString(expected)
+              + " and actual: "
+              + FailureMessages.toString(actual);
     }
 
     while (actual.hasNext() && expected.hasNext()) {
       if (!Objects.equals(actual.next(), expected.next())) {
-        return "Iterators not same element order: expected: "
-            + toString(expected)
-            + " and actual: "
-            + toString(actual);
+        // Renders the elements that follow the first mismatch
+        return () ->
+            "Iterators not same element order: expected: "
+                + FailureMessages.toString(expected)
+                + " and actual: "
+                + FailureMessages.toString(actual);
       }
     }
     return null;
   }
 
-  private static String getNotEqualReason(Set<?> actual, Set<?> expected) {
+  private static Supplier<String> getNotEqualReason(Set<?> actual, Set<?> expected) {
     if (actual == expected) {
       return null;
     }
 
     if (actual == null || expected == null) {
       // Keep the back compatible
-      return "Sets not equal: expected: " + expected + " and actual: " + actual;
+      return () ->
+          "Sets not equal: expected: "
+              + FailureMessages.toString(expected)
+              + " and actual: "
+              + FailureMessages.toString(actual);
     }
 
     if (!Objects.equals(actual, expected)) {
-      return "Sets differ: expected " + expected + " but got " + actual;
+      return () ->
+          "Sets differ: expected "
+              + FailureMessages.toString(expected)
+              + " but got "
+              + FailureMessages.toString(actual)
+              + FailureMessages.describeDifference(actual, expected);
     }
     return null;
   }
@@ -2030,56 +2193,45 @@ public class Assert {
    * @param message The message
    */
   public static void assertEquals(Set<?> actual, Set<?> expected, String message) {
-    String notEqualReason = getNotEqualReason(actual, expected);
+    Supplier<String> notEqualReason = getNotEqualReason(actual, expected);
     if (null != notEqualReason) {
       // Keep the back compatible
       if (message == null) {
-        fail(notEqualReason);
+        fail(notEqualReason.get());
       } else {
         fail(message);
       }
     }
   }
 
-  /** returns not equal deep reason or null if equal */
-  private static String getNotEqualDeepReason(Set<?> actual, Set<?> expected) {
+  /** returns the (lazily rendered) not equal deep reason or null if equal */
+  private static Supplier<String> getNotEqualDeepReason(Set<?> actual, Set<?> expected) {
     if (Objects.equals(actual, expected)) {
       return null;
     }
 
-    if (actual == null || expected == null) {
+    if (actual == null || expected == null || expected.size() != actual.size()) {
       // Keep the back compatible
-      return "Sets not equal: expected: " + expected + " and actual: " + actual;
-    }
-
-    if (expected.size() != actual.size()) {
-      return "Sets not equal: expected: " + expected + " and actual: " + actual;
+      return () ->
+          "Sets not equal: expected: "
+              + FailureMessages.toString(expected)
+              + " and actual: "
+              + FailureMessages.toString(actual);
     }
 
-    Iterator<?> actualIterator = actual.iterator();
-    Iterator<?> expectedIterator = expected.iterator();
-    while (expectedIterator.hasNext()) {
-      Object expectedValue = expectedIterator.next();
-      Object value = actualIterator.next();
-      if (expectedValue.getClass().isArray()) {
-        String arrayNotEqualReason = getArrayNotEqualReason(value, expectedValue);
-        if (arrayNotEqualReason != null) {
-          return arrayNotEqualReason;
-        }
-      } else {
-        if (!areEqualImpl(value, expected)) {
-          return "Sets not equal: expected: " + expectedValue + " and actual: " + value;
-        }
-      }
+    // The iteration orders of the sets need not match, hence the elements are matched by hash.
+    UnorderedComparison comparison = new UnorderedComparison(actual, expected, Assert::areEqual);
+    if (comparison.isEqual()) {
+      return null;
     }
-    return null;
+    return () -> "Sets not equal: " + comparison.describeDifference();
   }
 
   public static void assertEqualsDeep(Set<?> actual, Set<?> expected, String message) {
-    String notEqualDeepReason = getNotEqualDeepReason(actual, expected);
+    Supplier<String> notEqualDeepReason = getNotEqualDeepReason(actual, expected);
     if (notEqualDeepReason != null) {
       if (message == null) {
-        fail(notEqualDeepReason);
+        fail(notEqualDeepReason.get());
       } else {
         fail(message);
       }
@@ -2090,17 +2242,26 @@ public class Assert {
     assertEquals(actual, expected, null);
   }
 
-  private static String getNotEqualReason(Map<?, ?> actual, Map<?, ?> expected) {
+  private static Supplier<String> getNotEqualReason(Map<?, ?> actual, Map<?, ?> expected) {
     if (Objects.equals(actual, expected)) {
       return null;
     }
 
     if (actual == null || expected == null) {
-      return "Maps not equal: expected: " + expected + " and actual: " + actual;
+      return () ->
+          "Maps not equal: expected: "
+              + FailureMessages.toString(expected)
+              + " and actual: "
+              + FailureMessages.toString(actual);
     }
 
     if (actual.size() != expected.size()) {
-      return "Maps do not have the same size:" + actual.size() + " != " + expected.size();
+      return () ->
+          "Maps do not have the same size:"
+              + actual.size()
+              + " != "
+              + expected.size()
+              + FailureMessages.describeDifference(actual, expected);
     }
 
     Set<?> entrySet = actual.entrySet();
@@ -2110,12 +2271,13 @@ public class Assert {
       Object value = entry.getValue();
       Object expectedValue = expected.get(key);
       if (!areEqualImpl(value, expectedValue)) {
-        String assertMessage =
-            "Maps do not match for key:" + key + " actual:" + value + " expected:" + expectedValue;
-        return assertMessage;
+        return () -> getMapMismatchReason(key, value, expectedValue);
       }
       if (value == null && !expected.containsKey(key)) {
-        return "Maps do not match for key:" + key + " actual: null but not present in expected";
+        return () ->
+            "Maps do not match for key:"
+                + FailureMessages.toString(key)
+                + " actual: null but not present in expected";
       }
     }
     return null;
@@ -2129,10 +2291,10 @@ public class Assert {
    * @param message The message
    */
   public static void assertEquals(Map<?, ?> actual, Map<?, ?> expected, String message) {
-    String notEqualReason = getNotEqualReason(actual, expected);
+    Supplier<String> notEqualReason = getNotEqualReason(actual, expected);
     if (notEqualReason != null) {
       if (message == null) {
-        fail(notEqualReason);
+        fail(notEqualReason.get());
       } else {
         fail(message);
       }
@@ -2143,18 +2305,27 @@ public class Assert {
     assertEqualsDeep(actual, expected, null);
   }
 
-  /** returns not equal deep reason or null if equal */
-  private static String getNotEqualDeepReason(Map<?, ?> actual, Map<?, ?> expected) {
+  /** returns the (lazily rendered) not equal deep reason or null if equal */
+  private static Supplier<String> getNotEqualDeepReason(Map<?, ?> actual, Map<?, ?> expected) {
     if (Objects.equals(actual, expected)) {
       return null;
     }
 
     if (actual == null || expected == null) {
-      return "Maps not equal: expected: " + expected + " and actual: " + actual;
+      return () ->
+          "Maps not equal: expected: "
+              + FailureMessages.toString(expected)
+              + " and actual: "
+              + FailureMessages.toString(actual);
     }
 
     if (actual.size() != expected.size()) {
-      return "Maps do not have the same size:" + actual.size() + " != " + expected.size();
+      return () ->
+          "Maps do not have the same size:"
+              + actual.size()
+              + " != "
+              + expected.size()
+              + FailureMessages.describeDifference(actual, expected);
     }
 
     Set<?> entrySet = actual.entrySet();
@@ -2163,26 +2334,33 @@ public class Assert {
       Object key = entry.getKey();
       Object value = entry.getValue();
       Object expectedValue = expected.get(key);
-      String assertMessage =
-          "Maps do not match for key:" + key + " actual:" + value + " expected:" + expectedValue;
       if (expectedValue.getClass().isArray()) {
         if (!areArraysEqual(value, expectedValue)) {
-          return assertMessage;
+          return () -> getMapMismatchReason(key, value, expectedValue);
         }
       } else {
         if (!areEqualImpl(value, expectedValue)) {
-          return assertMessage;
+          return () -> getMapMismatchReason(key, value, expectedValue);
         }
       }
     }
     return null;
   }
 
+  private static String getMapMismatchReason(Object key, Object value, Object expectedValue) {
+    return "Maps do not match for key:"
+        + FailureMessages.toString(key)
+        + " actual:"
+        + FailureMessages.toString(value)
+        + " expected:"
+        + FailureMessages.toString(expectedValue);
+  }
+
   public static void assertEqualsDeep(Map<?, ?> actual, Map<?, ?> expected, String message) {
-    String notEqualDeepReason = getNotEqualDeepReason(actual, expected);
+    Supplier<String> notEqualDeepReason = getNotEqualDeepReason(actual, expected);
     if (notEqualDeepReason != null) {
       if (message == null) {
-        fail(notEqualDeepReason);
+        fail(notEqualDeepReason.get());
       } else {
         fail(message);
       }
@@ -2206,14 +2384,14 @@ public class Assert {
   }
 
   public static void assertNotEquals(Iterator<?> actual, Iterator<?> expected, String message) {
-    String notEqualReason = getNotEqualReason(actual, expected);
+    Supplier<String> notEqualReason = getNotEqualReason(actual, expected);
     if (notEqualReason == null) {
       Assert.fail(format(actual, expected, message, false));
     }
   }
 
   public static void assertNotEquals(Collection<?> actual, Collection<?> expected, String message) {
-    String notEqualReason = getNotEqualReason(actual, expected);
+    Supplier<String> notEqualReason = getNotEqualReason(actual, expected);
     if (notEqualReason == null) {
       Assert.fail(format(actual, expected, message, false));
     }
@@ -2308,7 +2486,7 @@ public class Assert {
   }
 
   public static void assertNotEquals(Set<?> actual, Set<?> expected, String message) {
-    String notEqualReason = getNotEqualReason(actual, expected);
+    Supplier<String> notEqualReason = getNotEqualReason(actual, expected);
     if (notEqualReason == null) {
       Assert.fail(format(actual, expected, message, false));
     }
@@ -2319,7 +2497,7 @@ public class Assert {
   }
 
   public static void assertNotEqualsDeep(Set<?> actual, Set<?> expected, String message) {
-    String notEqualDeepReason = getNotEqualDeepReason(actual, expected);
+    Supplier<String> notEqualDeepReason = getNotEqualDeepReason(actual, expected);
     if (notEqualDeepReason == null) {
       Assert.fail(format(actual, expected, message, false));
     }
@@ -2330,7 +2508,7 @@ public class Assert {
   }
 
   public static void assertNotEquals(Map<?, ?> actual, Map<?, ?> expected, String message) {
-    String notEqualReason = getNotEqualReason(actual, expected);
+    Supplier<String> notEqualReason = getNotEqualReason(actual, expected);
     if (notEqualReason == null) {
       Assert.fail(format(actual, expected, message, false));
     }
@@ -2341,7 +2519,7 @@ public class Assert {
   }
 
   public static void assertNotEqualsDeep(Map<?, ?> actual, Map<?, ?> expected, String message) {
-    String notEqualDeepReason = getNotEqualDeepReason(actual, expected);
+    Supplier<String> notEqualDeepReason = getNotEqualDeepReason(actual, expected);
     if (notEqualDeepReason == null) {
       Assert.fail(format(actual, expected, message, false));
     }
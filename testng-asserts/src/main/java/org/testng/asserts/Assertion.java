@@ -492,6 +492,48 @@ public class Assertion implements IAssertLifecycle {
         });
   }
 
+  public void assertEqualsDeepNoOrder(
+      final Object[] actual, final Object[] expected, final String message) {
+    doAssert(
+        new SimpleAssert<Object[]>(actual, expected, message) {
+          @Override
+          public void doAssert() {
+            org.testng.Assert.assertEqualsDeepNoOrder(actual, expected, message);
+          }
+        });
+  }
+
+  public void assertEqualsDeepNoOrder(final Object[] actual, final Object[] expected) {
+    doAssert(
+        new SimpleAssert<Object[]>(actual, expected) {
+          @Override
+          public void doAssert() {
+            org.testng.Assert.assertEqualsDeepNoOrder(actual, expected);
+          }
+        });
+  }
+
+  public void assertEqualsDeepNoOrder(
+      final Collection<?> actual, final Collection<?> expected, final String message) {
+    doAssert(
+        new SimpleAssert<Collection<?>>(actual, expected, message) {
+          @Override
+          public void doAssert() {
+            org.testng.Assert.assertEqualsDeepNoOrder(actual, expected, message);
+          }
+        });
+  }
+
+  public void assertEqualsDeepNoOrder(final Collection<?> actual, final Collection<?> expected) {
+    doAssert(
+        new SimpleAssert<Collection<?>>(actual, expected) {
+          @Override
+          public void doAssert() {
+            org.testng.Assert.assertEqualsDeepNoOrder(actual, expected);
+          }
+        });
+  }
+
   public void assertEquals(final byte[] actual, final byte[] expected) {
     doAssert(
         new SimpleAssert<byte[]>(actual, expected) {
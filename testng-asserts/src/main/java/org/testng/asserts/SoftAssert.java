@@ -1,15 +1,15 @@
 package org.testng.asserts;
 
-import java.util.Map;
-import org.testng.collections.Maps;
+import java.util.List;
+import org.testng.collections.Lists;
 
 /**
  * When an assertion fails, don't throw an exception but record the failure. Calling {@code
  * assertAll()} will cause an exception to be thrown if at least one assertion failed.
  */
 public class SoftAssert extends Assertion {
-  // LinkedHashMap to preserve the order
-  private final Map<AssertionError, IAssert<?>> m_errors = Maps.newLinkedHashMap();
+  // Only the errors are kept, rather than the asserts holding on to the values they compared
+  private final List<AssertionError> m_errors = Lists.newArrayList();
   private static final String DEFAULT_SOFT_ASSERT_MESSAGE = "The following asserts failed:";
 
   @Override
@@ -20,7 +20,7 @@ public class SoftAssert extends Assertion {
       onAssertSuccess(a);
     } catch (AssertionError ex) {
       onAssertFailure(a, ex);
-      m_errors.put(ex, a);
+      m_errors.add(ex);
     } finally {
       onAfterAssert(a);
     }
@@ -34,7 +34,7 @@ public class SoftAssert extends Assertion {
     if (!m_errors.isEmpty()) {
       StringBuilder sb = new StringBuilder(null == message ? DEFAULT_SOFT_ASSERT_MESSAGE : message);
       boolean first = true;
-      for (AssertionError error : m_errors.keySet()) {
+      for (AssertionError error : m_errors) {
         if (first) {
           first = false;
         } else {
@@ -0,0 +1,209 @@
+package org.testng.internal;
+
+import java.util.Arrays;
+
+/**
+ * Finds the first index at which two arrays differ, without boxing their elements. The primitive
+ * arrays are compared with {@link Arrays#mismatch}, which the JVM vectorizes.
+ *
+ * <p>Every <code>mismatch</code> method returns the index of the first element that differs, the
+ * length of the shorter array if one array is a prefix of the other, or <code>-1</code> if the
+ * arrays are equal.
+ */
+public final class ArrayComparison {
+
+  /**
+   * Returned by {@link #mismatch(Object, Object)} for arrays that are not primitive arrays of the
+   * same type, whose elements are then up to the caller to compare.
+   */
+  public static final int INCOMPARABLE = -2;
+
+  private ArrayComparison() {
+    // Utility class. Defeat instantiation.
+  }
+
+  /**
+   * Compares two arrays as {@link Object#equals(Object)} would compare their (boxed) elements.
+   *
+   * @param actual the actual array
+   * @param expected the expected array
+   * @return - The index of the first mismatch, <code>-1</code> or {@link #INCOMPARABLE}.
+   */
+  public static int mismatch(Object actual, Object expected) {
+    Class<?> type = expected.getClass().getComponentType();
+    if (type == null || !type.isPrimitive() || type != actual.getClass().getComponentType()) {
+      return INCOMPARABLE;
+    }
+    if (type == int.class) {
+      return Arrays.mismatch((int[]) actual, (int[]) expected);
+    }
+    if (type == long.class) {
+      return Arrays.mismatch((long[]) actual, (long[]) expected);
+    }
+    if (type == byte.class) {
+      return Arrays.mismatch((byte[]) actual, (byte[]) expected);
+    }
+    if (type == double.class) {
+      // As Double.equals(): NaN equals NaN, and 0.0 differs from -0.0
+      return Arrays.mismatch((double[]) actual, (double[]) expected);
+    }
+    if (type == float.class) {
+      return Arrays.mismatch((float[]) actual, (float[]) expected);
+    }
+    if (type == char.class) {
+      return Arrays.mismatch((char[]) actual, (char[]) expected);
+    }
+    if (type == short.class) {
+      return Arrays.mismatch((short[]) actual, (short[]) expected);
+    }
+    return Arrays.mismatch((boolean[]) actual, (boolean[]) expected);
+  }
+
+  public static int mismatch(boolean[] actual, boolean[] expected) {
+    return Arrays.mismatch(actual, expected);
+  }
+
+  public static int mismatch(byte[] actual, byte[] expected) {
+    return Arrays.mismatch(actual, expected);
+  }
+
+  public static int mismatch(char[] actual, char[] expected) {
+    return Arrays.mismatch(actual, expected);
+  }
+
+  public static int mismatch(short[] actual, short[] expected) {
+    return Arrays.mismatch(actual, expected);
+  }
+
+  public static int mismatch(int[] actual, int[] expected) {
+    return Arrays.mismatch(actual, expected);
+  }
+
+  public static int mismatch(long[] actual, long[] expected) {
+    return Arrays.mismatch(actual, expected);
+  }
+
+  /**
+   * Compares two arrays as <code>==</code> compares their elements, except that NaN equals NaN.
+   * Hence 0.0 equals -0.0, unlike with {@link Arrays#mismatch(float[], float[])}.
+   */
+  public static int mismatch(float[] actual, float[] expected) {
+    int length = Math.min(actual.length, expected.length);
+    int from = 0;
+    while (from < length) {
+      int i = Arrays.mismatch(actual, from, length, expected, from, length);
+      if (i < 0) {
+        break;
+      }
+      i += from;
+      if (actual[i] != expected[i]) {
+        return i;
+      }
+      from = i + 1;
+    }
+    return actual.length == expected.length ? -1 : length;
+  }
+
+  /**
+   * Compares two arrays as {@link #areEqual(float, float, float)} compares their elements.
+   *
+   * @param delta the absolute tolerable difference between the actual and expected values
+   */
+  public static int mismatch(float[] actual, float[] expected, float delta) {
+    int length = Math.min(actual.length, expected.length);
+    int from = 0;
+    while (from < length) {
+      // Identical elements only ever differ by a delta that is negative or NaN.
+      int i =
+          delta >= 0 ? Arrays.mismatch(actual, from, length, expected, from, length) : 0;
+      if (i < 0) {
+        break;
+      }
+      i += from;
+      if (!areEqual(actual[i], expected[i], delta)) {
+        return i;
+      }
+      from = i + 1;
+    }
+    return actual.length == expected.length ? -1 : length;
+  }
+
+  /**
+   * Compares two arrays as <code>==</code> compares their elements, except that NaN equals NaN.
+   * Hence 0.0 equals -0.0, unlike with {@link Arrays#mismatch(double[], double[])}.
+   */
+  public static int mismatch(double[] actual, double[] expected) {
+    int length = Math.min(actual.length, expected.length);
+    int from = 0;
+    while (from < length) {
+      int i = Arrays.mismatch(actual, from, length, expected, from, length);
+      if (i < 0) {
+        break;
+      }
+      i += from;
+      if (actual[i] != expected[i]) {
+        return i;
+      }
+      from = i + 1;
+    }
+    return actual.length == expected.length ? -1 : length;
+  }
+
+  /**
+   * Compares two arrays as {@link #areEqual(double, double, double)} compares their elements.
+   *
+   * @param delta the absolute tolerable difference between the actual and expected values
+   */
+  public static int mismatch(double[] actual, double[] expected, double delta) {
+    int length = Math.min(actual.length, expected.length);
+    int from = 0;
+    while (from < length) {
+      // Identical elements only ever differ by a delta that is negative or NaN.
+      int i =
+          delta >= 0 ? Arrays.mismatch(actual, from, length, expected, from, length) : 0;
+      if (i < 0) {
+        break;
+      }
+      i += from;
+      if (!areEqual(actual[i], expected[i], delta)) {
+        return i;
+      }
+      from = i + 1;
+    }
+    return actual.length == expected.length ? -1 : length;
+  }
+
+  /**
+   * @return - <code>true</code> if the values differ by no more than <code>delta</code>. The delta
+   *     is ignored if the expected value is infinite or NaN, in which case the actual value has to
+   *     be the same.
+   */
+  public static boolean areEqual(float actual, float expected, float delta) {
+    // handle infinity specially since subtracting to infinite values gives NaN and
+    // the following test fails
+    if (Float.isInfinite(expected)) {
+      return expected == actual;
+    }
+    if (Float.isNaN(expected)) {
+      return Float.isNaN(actual);
+    }
+    return Math.abs(expected - actual) <= delta;
+  }
+
+  /**
+   * @return - <code>true</code> if the values differ by no more than <code>delta</code>. The delta
+   *     is ignored if the expected value is infinite or NaN, in which case the actual value has to
+   *     be the same.
+   */
+  public static boolean areEqual(double actual, double expected, double delta) {
+    // handle infinity specially since subtracting to infinite values gives NaN and the
+    // the following test fails
+    if (Double.isInfinite(expected)) {
+      return expected == actual;
+    }
+    if (Double.isNaN(expected)) {
+      return Double.isNaN(actual);
+    }
+    return Math.abs(expected - actual) <= delta;
+  }
+}
@@ -0,0 +1,214 @@
+package org.testng.internal;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.testng.collections.Lists;
+
+/**
+ * Renders the values of failed assertions with a bounded length. Collections, maps, iterators and
+ * arrays are cut after their first {@link #MAX_ELEMENTS} elements, so that an assertion failing on
+ * a huge collection neither allocates a huge message nor runs the JVM out of memory.
+ *
+ * <p>The values that do not need to be cut are rendered exactly as their <code>toString()</code>
+ * renders them.
+ */
+public final class FailureMessages {
+
+  /**
+   * The number of elements rendered for a collection, map, iterator or array, which can be changed
+   * with the <code>testng.assert.max.elements</code> system property. Defaults to 50.
+   */
+  public static final int MAX_ELEMENTS =
+      Math.max(1, Integer.getInteger("testng.assert.max.elements", 50));
+
+  private static final String NO_ELEMENT = "(no element)";
+
+  private FailureMessages() {
+    // Utility class. Defeat instantiation.
+  }
+
+  /**
+   * @param value - The value to render
+   * @return - The <code>toString()</code> of the value, cut if it is a collection or a map with
+   *     more than {@link #MAX_ELEMENTS} elements.
+   */
+  public static String toString(Object value) {
+    if (value instanceof Collection && ((Collection<?>) value).size() > MAX_ELEMENTS) {
+      return render(((Collection<?>) value).iterator(), value, "[", "]");
+    }
+    if (value instanceof Map && ((Map<?, ?>) value).size() > MAX_ELEMENTS) {
+      return render(((Map<?, ?>) value).entrySet().iterator(), value, "{", "}");
+    }
+    return String.valueOf(value);
+  }
+
+  /**
+   * @param array - The array to render
+   * @return - The {@link Arrays#toString(Object[])} of the array, cut if it has more than {@link
+   *     #MAX_ELEMENTS} elements.
+   */
+  public static String toString(Object[] array) {
+    if (array == null || array.length <= MAX_ELEMENTS) {
+      return Arrays.toString(array);
+    }
+    return render(Arrays.asList(array).iterator(), array, "[", "]");
+  }
+
+  /**
+   * @param iterator - The iterator to render, which is exhausted afterwards
+   * @return - The remaining elements of the iterator, separated by commas and cut after {@link
+   *     #MAX_ELEMENTS} elements.
+   */
+  public static String toString(Iterator<?> iterator) {
+    if (iterator == null) {
+      return null;
+    }
+    return render(iterator, iterator, "", "");
+  }
+
+  /**
+   * Summarizes how two sets differ, since their cut renderings may well not show it.
+   *
+   * @param actual - The actual set
+   * @param expected - The expected set
+   * @return - The (first) missing and unexpected elements, or an empty string if none of the sets
+   *     is big enough to be cut.
+   */
+  public static String describeDifference(Set<?> actual, Set<?> expected) {
+    if (actual.size() <= MAX_ELEMENTS && expected.size() <= MAX_ELEMENTS) {
+      return "";
+    }
+    return "; "
+        + describeElementsNotIn(expected, actual, "missing elements")
+        + "; "
+        + describeElementsNotIn(actual, expected, "unexpected elements");
+  }
+
+  /**
+   * Summarizes how the keys of two maps differ, since their cut renderings may well not show it.
+   *
+   * @param actual - The actual map
+   * @param expected - The expected map
+   * @return - The (first) missing and unexpected keys, or an empty string if none of the maps is
+   *     big enough to be cut.
+   */
+  public static String describeDifference(Map<?, ?> actual, Map<?, ?> expected) {
+    if (actual.size() <= MAX_ELEMENTS && expected.size() <= MAX_ELEMENTS) {
+      return "";
+    }
+    return "; "
+        + describeElementsNotIn(expected.keySet(), actual.keySet(), "missing keys")
+        + "; "
+        + describeElementsNotIn(actual.keySet(), expected.keySet(), "unexpected keys");
+  }
+
+  /**
+   * Summarizes where two ordered collections differ, since their cut renderings may well not show
+   * it.
+   *
+   * @param actual - The actual collection
+   * @param expected - The expected collection
+   * @return - The (first) positions at which the elements differ, along with the expected and the
+   *     actual elements, or an empty string if none of the collections is big enough to be cut.
+   */
+  public static String describeDifferingElements(Collection<?> actual, Collection<?> expected) {
+    if (actual.size() <= MAX_ELEMENTS && expected.size() <= MAX_ELEMENTS) {
+      return "";
+    }
+    Collection<String> found = Lists.newArrayList();
+    int count = 0;
+    Iterator<?> actualElements = actual.iterator();
+    Iterator<?> expectedElements = expected.iterator();
+    for (int i = 0; actualElements.hasNext() || expectedElements.hasNext(); i++) {
+      boolean hasActual = actualElements.hasNext();
+      boolean hasExpected = expectedElements.hasNext();
+      Object a = hasActual ? actualElements.next() : null;
+      Object e = hasExpected ? expectedElements.next() : null;
+      if (hasActual && hasExpected && Objects.deepEquals(a, e)) {
+        continue;
+      }
+      if (count < MAX_ELEMENTS) {
+        found.add(
+            "["
+                + i
+                + "] "
+                + (hasExpected ? toString(e) : NO_ELEMENT)
+                + " != "
+                + (hasActual ? toString(a) : NO_ELEMENT));
+      }
+      count++;
+    }
+    return "; " + describeElements("differing elements", found, count);
+  }
+
+  private static String describeElementsNotIn(
+      Collection<?> elements, Collection<?> others, String description) {
+    Collection<Object> found = Lists.newArrayList();
+    int count = 0;
+    for (Object element : elements) {
+      if (!others.contains(element)) {
+        if (count < MAX_ELEMENTS) {
+          found.add(element);
+        }
+        count++;
+      }
+    }
+    return describeElements(description, found, count);
+  }
+
+  /**
+   * @param description - What the elements are, e.g. "missing elements"
+   * @param elements - The first elements, of which at most {@link #MAX_ELEMENTS} are rendered
+   * @param count - The number of all the elements, which may be more than the first ones
+   * @return - The description, the number and the (first) elements.
+   */
+  public static String describeElements(String description, Collection<?> elements, int count) {
+    StringBuilder sb = new StringBuilder(description).append(" (").append(count).append("): [");
+    appendElements(sb, elements.iterator(), elements);
+    return appendElided(sb, count).append(']').toString();
+  }
+
+  private static String render(Iterator<?> elements, Object container, String open, String close) {
+    StringBuilder sb = new StringBuilder(open);
+    int count = appendElements(sb, elements, container);
+    return appendElided(sb, count).append(close).toString();
+  }
+
+  /** Appends the first {@link #MAX_ELEMENTS} elements and returns the number of all of them. */
+  private static int appendElements(StringBuilder sb, Iterator<?> elements, Object container) {
+    int count = 0;
+    while (elements.hasNext()) {
+      Object element = elements.next();
+      if (count < MAX_ELEMENTS) {
+        if (count > 0) {
+          sb.append(", ");
+        }
+        if (container instanceof Map) {
+          Map.Entry<?, ?> entry = (Map.Entry<?, ?>) element;
+          sb.append(render(entry.getKey(), container, "(this Map)"))
+              .append('=')
+              .append(render(entry.getValue(), container, "(this Map)"));
+        } else {
+          sb.append(render(element, container, "(this Collection)"));
+        }
+      }
+      count++;
+    }
+    return count;
+  }
+
+  private static String render(Object element, Object container, String self) {
+    return element == container ? self : toString(element);
+  }
+
+  private static StringBuilder appendElided(StringBuilder sb, int count) {
+    if (count > MAX_ELEMENTS) {
+      sb.append(", ... (").append(count - MAX_ELEMENTS).append(" more)");
+    }
+    return sb;
+  }
+}
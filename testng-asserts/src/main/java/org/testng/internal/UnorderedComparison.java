@@ -0,0 +1,102 @@
+package org.testng.internal;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import org.testng.collections.Lists;
+
+/**
+ * Compares two groups of elements regardless of their order, as multisets: the occurrences of every
+ * element are counted in a hash map, so that the comparison takes linear time rather than looking
+ * up every expected element among the actual ones.
+ *
+ * <p>The elements which are arrays are hashed by content, so that the given equality can match
+ * them by content as well.
+ */
+public final class UnorderedComparison {
+
+  /** The expected occurrences minus the actual occurrences of every element that differs. */
+  private final Map<Element, Integer> balances = new LinkedHashMap<>();
+
+  /**
+   * @param actual - The actual elements
+   * @param expected - The expected elements
+   * @param equality - Tells whether two elements are equal. It has to be symmetric and consistent
+   *     with {@link Arrays#deepHashCode(Object[])}.
+   */
+  public UnorderedComparison(
+      Iterable<?> actual, Iterable<?> expected, BiPredicate<Object, Object> equality) {
+    for (Object element : expected) {
+      balances.merge(new Element(element, equality), 1, Integer::sum);
+    }
+    for (Object element : actual) {
+      balances.merge(new Element(element, equality), -1, Integer::sum);
+    }
+    balances.values().removeIf(balance -> balance == 0);
+  }
+
+  /** @return - <code>true</code> if both groups have the same elements, as often. */
+  public boolean isEqual() {
+    return balances.isEmpty();
+  }
+
+  /**
+   * @return - The (first) elements that are missing from the actual ones and the (first) elements
+   *     that were not expected, each as often as they are missing or unexpected.
+   */
+  public String describeDifference() {
+    return describeElements("missing elements", 1)
+        + "; "
+        + describeElements("unexpected elements", -1);
+  }
+
+  private String describeElements(String description, int sign) {
+    Collection<String> elements = Lists.newArrayList();
+    int count = 0;
+    for (Map.Entry<Element, Integer> entry : balances.entrySet()) {
+      int occurrences = entry.getValue() * sign;
+      if (occurrences <= 0) {
+        continue;
+      }
+      for (int i = 0; i < occurrences && elements.size() < FailureMessages.MAX_ELEMENTS; i++) {
+        elements.add(entry.getKey().toString());
+      }
+      count += occurrences;
+    }
+    return FailureMessages.describeElements(description, elements, count);
+  }
+
+  private static final class Element {
+    private final Object value;
+    private final BiPredicate<Object, Object> equality;
+    private final int hashCode;
+
+    Element(Object value, BiPredicate<Object, Object> equality) {
+      this.value = value;
+      this.equality = equality;
+      // Arrays are hashed by content, and their primitive elements as their boxed values
+      this.hashCode = Arrays.deepHashCode(new Object[] {value});
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof Element && equality.test(((Element) o).value, value);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    @Override
+    public String toString() {
+      if (value != null && value.getClass().isArray()) {
+        String rendered = Arrays.deepToString(new Object[] {value});
+        return rendered.substring(1, rendered.length() - 1);
+      }
+      return FailureMessages.toString(value);
+    }
+  }
+}
@@ -2,6 +2,8 @@ package org.testng;
 
 import com.google.common.collect.ImmutableMap;
 import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.testng.annotations.Test;
 import org.testng.collections.Lists;
 import org.testng.collections.Maps;
@@ -305,6 +307,143 @@ public class AssertTest {
     Assert.assertEquals(actual, expected, 0.1d);
   }
 
+  @Test(
+      expectedExceptions = AssertionError.class,
+      expectedExceptionsMessageRegExp = "arrays differ firstly at element \\[3\\]; .*")
+  public void compareDoubleArraysShouldReportTheFirstMismatch() {
+    double[] actual = {0.0d, Double.NaN, 1.0d, 2.0d, 5.0d};
+    double[] expected = {-0.0d, Double.NaN, 1.0d, 3.0d, 4.0d};
+    Assert.assertEquals(actual, expected);
+  }
+
+  @Test(
+      expectedExceptions = AssertionError.class,
+      expectedExceptionsMessageRegExp =
+          "Sets not equal: missing elements \\(1\\): \\[\\[1, 5, 3\\]\\]; "
+              + "unexpected elements \\(1\\): \\[\\[1, 2, 3\\]\\]")
+  public void assertEqualsDeepShouldReportTheMismatchingArrays() {
+    Set<Object> actual = Sets.newHashSet();
+    actual.add(new int[] {1, 2, 3});
+    Set<Object> expected = Sets.newHashSet();
+    expected.add(new int[] {1, 5, 3});
+    Assert.assertEqualsDeep(actual, expected, null);
+  }
+
+  @Test
+  public void assertEqualsDeepShouldNotDependOnTheIterationOrder() {
+    Set<Object> actual = Sets.newHashSet();
+    Set<Object> expected = Sets.newHashSet();
+    for (int i = 0; i < 100; i++) {
+      actual.add(new int[] {i, i + 1});
+      expected.add(new int[] {i, i + 1});
+      actual.add("value" + i);
+      expected.add("value" + i);
+    }
+    Assert.assertEqualsDeep(actual, expected, null);
+  }
+
+  @Test
+  public void assertEqualsDeepNoOrderShouldCompareArrayElementsByContent() {
+    Object[] actual = {new String[] {"a"}, new int[] {1, 2}, "b", new int[] {1, 2}};
+    Object[] expected = {new int[] {1, 2}, "b", new int[] {1, 2}, new String[] {"a"}};
+    Assert.assertEqualsDeepNoOrder(actual, expected);
+    Assert.assertEqualsDeepNoOrder(Arrays.asList(actual), Arrays.asList(expected));
+    Assert.assertEqualsDeepNoOrder(new String[][] {{}}, new String[][] {{}});
+  }
+
+  @Test(
+      expectedExceptions = AssertionError.class,
+      expectedExceptionsMessageRegExp =
+          "Collections not equal: missing elements \\(1\\): \\[b\\]; "
+              + "unexpected elements \\(2\\): \\[a, \\[1\\]\\]")
+  public void assertEqualsDeepNoOrderShouldReportTheMissingAndUnexpectedElements() {
+    List<Object> actual = Arrays.asList("a", "a", new int[] {1});
+    List<Object> expected = Arrays.asList("b", "a");
+    Assert.assertEqualsDeepNoOrder(actual, expected);
+  }
+
+  @Test(expectedExceptions = AssertionError.class, expectedExceptionsMessageRegExp = "message")
+  public void assertEqualsDeepNoOrderShouldFailWithTheMessage() {
+    Assert.assertEqualsDeepNoOrder(new Object[] {"a"}, null, "message");
+  }
+
+  @Test
+  public void compareArraysOfDifferentComponentTypes() {
+    Assert.assertEquals(new Integer[] {1, 2}, (Object) new Object[] {1, 2});
+    Assert.assertEquals(new int[] {1, 2}, (Object) new Integer[] {1, 2});
+    Assert.assertNotEquals(new int[] {1, 2}, (Object) new long[] {1, 2});
+  }
+
+  @Test(
+      expectedExceptions = AssertionError.class,
+      expectedExceptionsMessageRegExp =
+          "Sets differ: expected \\[0, 1, .*, \\.\\.\\. \\(99950 more\\)\\] but got .*; "
+              + "missing elements \\(1\\): \\[5\\]; unexpected elements \\(1\\): \\[-1\\]")
+  public void assertEqualsShouldCutTheMessageOfBigSets() {
+    Set<Integer> expected = IntStream.range(0, 100_000).boxed().collect(Collectors.toSet());
+    Set<Integer> actual = new HashSet<>(expected);
+    actual.remove(5);
+    actual.add(-1);
+    Assert.assertEquals(actual, expected);
+  }
+
+  @Test
+  public void assertEqualsShouldCutTheMessageOfBigLists() {
+    List<List<Integer>> expected = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      expected.add(IntStream.range(0, 100_000).boxed().collect(Collectors.toList()));
+    }
+    List<List<Integer>> actual = new ArrayList<>(expected);
+    actual.set(2, new ArrayList<>(expected.get(2).subList(1, 100_000)));
+    try {
+      Assert.assertEquals(actual, expected);
+      Assert.fail("The lists should differ");
+    } catch (AssertionError e) {
+      Assert.assertTrue(e.getMessage().startsWith("Lists differ at element [2]: [0, 1, "));
+      Assert.assertTrue(e.getMessage().length() < 2_000, e.getMessage());
+    }
+  }
+
+  @Test
+  public void assertEqualsShouldListTheDifferingElementsOfBigLists() {
+    List<Integer> expected = IntStream.range(0, 100_000).boxed().collect(Collectors.toList());
+    List<Integer> actual = new ArrayList<>(expected);
+    actual.set(10, -1);
+    actual.set(99_999, -1);
+    AssertionError e =
+        Assert.expectThrows(AssertionError.class, () -> Assert.assertEquals(actual, expected));
+    Assert.assertTrue(
+        e.getMessage()
+            .startsWith(
+                "Lists differ at element [10]: 10 != -1; "
+                    + "differing elements (2): [[10] 10 != -1, [99999] 99999 != -1]"),
+        e.getMessage());
+  }
+
+  @Test
+  public void assertEqualsShouldNotConsumeTheIteratorWhenTheOtherOneIsNull() {
+    Iterator<Integer> actual = Arrays.asList(1, 2).iterator();
+    AssertionError e =
+        Assert.expectThrows(
+            AssertionError.class, () -> Assert.assertEquals(actual, (Iterator<?>) null));
+    Assert.assertEquals(
+        e.getMessage(), "Iterators not equal: expected: null and actual: " + actual);
+    Assert.assertTrue(actual.hasNext());
+  }
+
+  @Test(
+      expectedExceptions = AssertionError.class,
+      expectedExceptionsMessageRegExp =
+          "Maps do not have the same size:100000 != 100001; "
+              + "missing keys \\(1\\): \\[100000\\]; unexpected keys \\(0\\): \\[\\]")
+  public void assertEqualsShouldDescribeTheKeysOfBigMaps() {
+    Map<Integer, Integer> expected = new HashMap<>();
+    IntStream.rangeClosed(0, 100_000).forEach(i -> expected.put(i, i));
+    Map<Integer, Integer> actual = new HashMap<>(expected);
+    actual.remove(100_000);
+    Assert.assertEquals(actual, expected);
+  }
+
   @SuppressWarnings("serial")
   @Test(expectedExceptions = AssertionError.class)
   public void assertEqualsMapShouldFail() {
@@ -0,0 +1,68 @@
+package org.testng.internal;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.Test;
+
+public class ArrayComparisonTest {
+
+  @Test
+  public void integralArraysShouldReportTheirFirstMismatch() {
+    assertEquals(ArrayComparison.mismatch(new int[] {1, 2, 3}, new int[] {1, 2, 3}), -1);
+    assertEquals(ArrayComparison.mismatch(new long[] {1, 2, 3}, new long[] {1, 5, 3}), 1);
+    assertEquals(ArrayComparison.mismatch(new byte[] {1, 2}, new byte[] {1, 2, 3}), 2);
+    assertEquals(ArrayComparison.mismatch(new char[] {'a'}, new char[] {'b'}), 0);
+  }
+
+  @Test
+  public void floatingPointArraysShouldBeComparedAsValues() {
+    double[] actual = {0.0d, Double.NaN, 1.0d, 2.0d};
+    double[] expected = {-0.0d, Double.NaN, 1.0d, 3.0d};
+    assertEquals(ArrayComparison.mismatch(actual, expected), 3);
+
+    float[] actualFloats = {-0.0f, Float.NaN, 1.0f};
+    float[] expectedFloats = {0.0f, Float.NaN, 1.0f};
+    assertEquals(ArrayComparison.mismatch(actualFloats, expectedFloats), -1);
+    assertEquals(ArrayComparison.mismatch(new float[] {Float.NaN}, new float[] {1.0f}), 0);
+  }
+
+  @Test
+  public void floatingPointArraysShouldBeComparedWithinDelta() {
+    double[] actual = {1.0d, 2.0d, 3.0d, Double.POSITIVE_INFINITY, 5.0d};
+    double[] expected = {1.0d, 2.05d, 3.0d, Double.POSITIVE_INFINITY, 5.2d};
+    assertEquals(ArrayComparison.mismatch(actual, expected, 0.1d), 4);
+    assertEquals(ArrayComparison.mismatch(actual, expected, 0.01d), 1);
+
+    float[] actualFloats = {1.0f, 2.0f};
+    float[] expectedFloats = {1.0f, 2.0f};
+    assertEquals(ArrayComparison.mismatch(actualFloats, expectedFloats, 0.0f), -1);
+    // Not even identical values are within a negative delta.
+    assertEquals(ArrayComparison.mismatch(actualFloats, expectedFloats, -1.0f), 0);
+    assertEquals(ArrayComparison.mismatch(actualFloats, expectedFloats, Float.NaN), 0);
+  }
+
+  @Test
+  public void arraysShouldBeComparedAsTheirBoxedElementsWouldBe() {
+    assertEquals(ArrayComparison.mismatch((Object) new int[] {1, 2}, new int[] {1, 3}), 1);
+    // Double.equals() tells 0.0 from -0.0
+    assertEquals(ArrayComparison.mismatch((Object) new double[] {0.0d}, new double[] {-0.0d}), 0);
+    assertEquals(
+        ArrayComparison.mismatch((Object) new boolean[] {true}, new boolean[] {true}), -1);
+    assertEquals(
+        ArrayComparison.mismatch((Object) new int[] {1}, new long[] {1}),
+        ArrayComparison.INCOMPARABLE);
+    assertEquals(
+        ArrayComparison.mismatch((Object) new Integer[] {1}, new Integer[] {1}),
+        ArrayComparison.INCOMPARABLE);
+  }
+
+  @Test
+  public void valuesShouldBeEqualWithinDelta() {
+    assertTrue(ArrayComparison.areEqual(1.0d, 1.05d, 0.1d));
+    assertFalse(ArrayComparison.areEqual(1.0d, 1.5d, 0.1d));
+    assertTrue(ArrayComparison.areEqual(Float.NaN, Float.NaN, 0.0f));
+    assertFalse(ArrayComparison.areEqual(1.0f, Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY));
+  }
+}
@@ -0,0 +1,85 @@
+package org.testng.internal;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.testng.annotations.Test;
+
+public class FailureMessagesTest {
+
+  private static final int MAX = FailureMessages.MAX_ELEMENTS;
+
+  @Test
+  public void smallValuesShouldBeRenderedAsTheirToString() {
+    List<Integer> list = range(0, MAX);
+    assertEquals(FailureMessages.toString(list), list.toString());
+    assertEquals(FailureMessages.toString((Object) null), "null");
+    Object[] array = list.toArray();
+    assertEquals(FailureMessages.toString(array), Arrays.toString(array));
+    assertEquals(FailureMessages.toString(Arrays.asList("a", "b").iterator()), "a, b");
+  }
+
+  @Test
+  public void bigValuesShouldBeCut() {
+    List<Integer> list = range(0, MAX + 10);
+    String rendered = FailureMessages.toString(list);
+    assertTrue(rendered.startsWith(range(0, MAX).toString().replace("]", ", ... (10 more)]")));
+    assertTrue(rendered.endsWith("(10 more)]"), rendered);
+    assertTrue(FailureMessages.toString(list.toArray()).endsWith(", ... (10 more)]"));
+    assertTrue(FailureMessages.toString(list.iterator()).endsWith(", ... (10 more)"));
+
+    Map<Integer, List<Integer>> map = new TreeMap<>();
+    list.forEach(i -> map.put(i, range(0, MAX + 1)));
+    String renderedMap = FailureMessages.toString(map);
+    assertTrue(renderedMap.startsWith("{0=[0, 1, "), renderedMap);
+    assertTrue(renderedMap.contains(", ... (1 more)], 1="), renderedMap);
+    assertTrue(renderedMap.endsWith(", ... (10 more)}"), renderedMap);
+  }
+
+  @Test
+  public void setDifferencesShouldOnlyBeDescribedForBigSets() {
+    Set<Integer> expected = new TreeSet<>(range(0, MAX + 10));
+    Set<Integer> actual = new TreeSet<>(range(5, MAX + 10));
+    actual.add(-1);
+    assertEquals(
+        FailureMessages.describeDifference(actual, expected),
+        "; missing elements (5): [0, 1, 2, 3, 4]; unexpected elements (1): [-1]");
+    assertEquals(
+        FailureMessages.describeDifference(Collections.singleton(1), Collections.singleton(2)),
+        "");
+
+    Set<Integer> empty = Collections.emptySet();
+    assertTrue(
+        FailureMessages.describeDifference(empty, expected)
+            .startsWith("; missing elements (" + (MAX + 10) + "): [0, 1, "));
+    assertTrue(
+        FailureMessages.describeDifference(empty, expected)
+            .endsWith(", ... (10 more)]; unexpected elements (0): []"));
+  }
+
+  @Test
+  public void listDifferencesShouldOnlyBeDescribedForBigLists() {
+    List<Integer> expected = range(0, MAX + 2);
+    List<Integer> actual = range(0, MAX + 1);
+    actual.set(3, -1);
+    assertEquals(
+        FailureMessages.describeDifferingElements(actual, expected),
+        String.format(
+            "; differing elements (2): [[3] 3 != -1, [%d] %d != (no element)]", MAX + 1, MAX + 1));
+    assertEquals(
+        FailureMessages.describeDifferingElements(Arrays.asList(1, 2), Arrays.asList(2, 1)), "");
+  }
+
+  private static List<Integer> range(int from, int to) {
+    return IntStream.range(from, to).boxed().collect(Collectors.toList());
+  }
+}
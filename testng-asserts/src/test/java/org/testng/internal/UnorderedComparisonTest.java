@@ -0,0 +1,57 @@
+package org.testng.internal;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Objects;
+import org.testng.annotations.Test;
+
+public class UnorderedComparisonTest {
+
+  @Test
+  public void elementsShouldBeCountedRegardlessOfTheirOrder() {
+    UnorderedComparison comparison =
+        new UnorderedComparison(
+            Arrays.asList("a", "b", "a"), Arrays.asList("a", "a", "b"), Objects::equals);
+    assertTrue(comparison.isEqual());
+
+    comparison =
+        new UnorderedComparison(
+            Arrays.asList("a", "b", "b", null), Arrays.asList("a", "a", "b", "c"), Objects::equals);
+    assertFalse(comparison.isEqual());
+    assertEquals(
+        comparison.describeDifference(),
+        "missing elements (2): [a, c]; unexpected elements (2): [b, null]");
+  }
+
+  @Test
+  public void arraysShouldBeMatchedByTheGivenEquality() {
+    UnorderedComparison comparison =
+        new UnorderedComparison(
+            Arrays.asList(new long[] {1L}, new Object[] {new int[] {2}}),
+            Arrays.asList(new Object[] {new int[] {2}}, new long[] {1L}),
+            (a, b) -> Arrays.deepEquals(new Object[] {a}, new Object[] {b}));
+    assertTrue(comparison.isEqual());
+
+    comparison =
+        new UnorderedComparison(
+            Collections.singletonList(new int[] {1}), Collections.emptyList(), Objects::equals);
+    assertEquals(
+        comparison.describeDifference(),
+        "missing elements (0): []; unexpected elements (1): [[1]]");
+  }
+
+  @Test
+  public void repeatedElementsShouldBeCutAsTheOthers() {
+    String[] actual = new String[FailureMessages.MAX_ELEMENTS + 3];
+    Arrays.fill(actual, "x");
+    UnorderedComparison comparison =
+        new UnorderedComparison(Arrays.asList(actual), Collections.emptyList(), Objects::equals);
+    assertTrue(
+        comparison.describeDifference().endsWith("x, x, ... (3 more)]"),
+        comparison.describeDifference());
+  }
+}
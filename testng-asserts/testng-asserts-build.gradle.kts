@@ -2,6 +2,14 @@ plugins {
     id("testng.java-library")
 }
 
+val jmh by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[jmh.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[jmh.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
 dependencies {
     implementation(projects.testngCollections) {
         because("Lists.newArrayList")
@@ -11,4 +19,15 @@ dependencies {
         because("core depends on assertions and we need testng to test assertions")
     }
     testImplementation(projects.testngTestKit)
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:_")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:_")
+}
+
+// Runs the benchmarks from src/jmh, e.g. ./gradlew :testng-asserts:jmh -Pjmh.includes=ArrayAssertion
+tasks.register<JavaExec>("jmh") {
+    description = "Runs the JMH benchmarks"
+    group = LifecycleBasePlugin.VERIFICATION_GROUP
+    classpath = jmh.runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    args(project.findProperty("jmh.includes")?.toString() ?: ".*")
 }
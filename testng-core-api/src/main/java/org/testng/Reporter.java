@@ -1,10 +1,11 @@
 package org.testng;
 
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 import org.testng.collections.Lists;
-import org.testng.collections.Maps;
+import org.testng.internal.BufferedReporterOutputStore;
+import org.testng.internal.DefaultReporterOutputStore;
+import org.testng.internal.IReporterOutputStore;
+import org.testng.internal.RuntimeBehavior;
 import org.testng.internal.Utils;
 import org.testng.util.Strings;
 
@@ -14,10 +15,14 @@ import org.testng.util.Strings;
  * <br>
  * <b>Implementation details</b> <br>
  * <br>
- * The reporter keeps a combined output of strings (in m_output) and also a record of which method
- * output which line. In order to do this, callers specify what the current method is with
- * setCurrentTestResult() and the Reporter maintains a mapping of each test result with a list of
- * integers. These integers are indices in the combined output (avoids duplicating the output).
+ * The reporter keeps a combined output of strings and also a record of which method output which
+ * line. In order to do this, callers specify what the current method is with
+ * setCurrentTestResult(). The output itself is kept by a {@link IReporterOutputStore}. By default
+ * all the threads share a single combined list of strings and the store maps each test result
+ * with a list of indices in it (avoids duplicating the output). When the JVM argument <code>
+ * -Dtestng.reporter.output.buffered=true</code> is set, a lock-free store that can optionally
+ * spill old output to disk (See <code>-Dtestng.reporter.output.spill.threshold</code>) is used
+ * instead.
  *
  * <p>Created on Nov 2, 2005
  *
@@ -30,28 +35,28 @@ public class Reporter {
   private static final ThreadLocal<ITestResult> m_currentTestResult =
       new InheritableThreadLocal<>();
 
-  /** All output logged in a sequential order. */
-  private static final List<String> m_output = new LinkedList<>();
-
-  private static final Map<String, List<Integer>> m_methodOutputMap = Maps.newConcurrentMap();
+  private static final IReporterOutputStore m_store = newOutputStore();
 
   private static boolean m_escapeHtml = false;
-  // This variable is responsible for persisting all output that is yet to be associated with any
-  // valid TestResult objects.
-  private static final ThreadLocal<List<String>> m_orphanedOutput = new InheritableThreadLocal<>();
+
+  private static IReporterOutputStore newOutputStore() {
+    if (RuntimeBehavior.useBufferedReporterOutput()) {
+      return new BufferedReporterOutputStore(RuntimeBehavior.getReporterOutputSpillThreshold());
+    }
+    return new DefaultReporterOutputStore();
+  }
 
   public static void setCurrentTestResult(ITestResult m) {
     m_currentTestResult.set(m);
   }
 
   public static List<String> getOutput() {
-    return m_output;
+    return m_store.getOutput();
   }
 
   /** Erase the content of all the output generated so far. */
   public static void clear() {
-    m_methodOutputMap.clear();
-    m_output.clear();
+    m_store.clear();
   }
 
   /** @return If true, use HTML entities for special HTML characters (&lt;, &gt;, &amp;, ...). */
@@ -67,36 +72,12 @@ public class Reporter {
     m_escapeHtml = escapeHtml;
   }
 
-  private static synchronized void log(String s, ITestResult m) {
+  private static void log(String s, ITestResult m) {
     // Escape for the HTML reports.
     if (m_escapeHtml) {
       s = Strings.escapeHtml(s);
     }
-
-    if (m == null) {
-      // Persist the output temporarily into a ThreadLocal String list.
-      if (m_orphanedOutput.get() == null) {
-        m_orphanedOutput.set(new LinkedList<>());
-      }
-      m_orphanedOutput.get().add(s);
-      return;
-    }
-
-    // Synchronization needed to ensure the line number and m_output are updated atomically.
-    int n = getOutput().size();
-
-    List<Integer> lines = m_methodOutputMap.computeIfAbsent(m.id(), k -> Lists.newLinkedList());
-
-    // Check if there was already some orphaned output for the current thread.
-    if (m_orphanedOutput.get() != null) {
-      n = n + m_orphanedOutput.get().size();
-      getOutput().addAll(m_orphanedOutput.get());
-      // Since we have already added all of the orphaned output to the current
-      // TestResult, let's clear it off.
-      m_orphanedOutput.remove();
-    }
-    lines.add(n);
-    getOutput().add(s);
+    m_store.log(s, m);
   }
 
   /**
@@ -157,20 +138,12 @@ public class Reporter {
     return m_currentTestResult.get();
   }
 
-  public static synchronized List<String> getOutput(ITestResult tr) {
-    List<String> result = Lists.newArrayList();
+  public static List<String> getOutput(ITestResult tr) {
     if (tr == null) {
       // Guard against a possible NPE in scenarios wherein the test result object itself could be a
       // null value.
-      return result;
+      return Lists.newArrayList();
     }
-    List<Integer> lines = m_methodOutputMap.get(tr.id());
-    if (lines != null) {
-      for (Integer n : lines) {
-        result.add(getOutput().get(n));
-      }
-    }
-
-    return result;
+    return m_store.getOutput(tr);
   }
 }
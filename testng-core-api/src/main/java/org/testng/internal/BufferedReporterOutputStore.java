@@ -0,0 +1,244 @@
+package org.testng.internal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import org.testng.ITestResult;
+import org.testng.TestNGException;
+import org.testng.collections.Lists;
+import org.testng.collections.Maps;
+import org.testng.log4testng.Logger;
+
+/**
+ * A {@link IReporterOutputStore} that does not serialize the threads that log. Output that is not
+ * yet attached to a result is buffered per thread, and every line is appended to lock-free queues
+ * (one per result and one for the combined output).
+ *
+ * <p>When a spill threshold is set, the oldest lines are moved to a temporary file as soon as the
+ * number of characters held in memory exceeds it. Such lines are read back when asked for.
+ */
+public class BufferedReporterOutputStore implements IReporterOutputStore {
+
+  private static final Logger LOGGER = Logger.getLogger(BufferedReporterOutputStore.class);
+
+  /** All output logged in a sequential order. */
+  private final Queue<Line> m_output = new ConcurrentLinkedQueue<>();
+
+  private final Map<String, Queue<Line>> m_methodOutputMap = Maps.newConcurrentMap();
+
+  // This variable is responsible for persisting all output that is yet to be associated with any
+  // valid TestResult objects.
+  private final ThreadLocal<List<String>> m_orphanedOutput = new InheritableThreadLocal<>();
+
+  /** The lines that are still held in memory, oldest first. */
+  private final Queue<Line> m_inMemory = new ConcurrentLinkedQueue<>();
+
+  private final AtomicLong m_charsInMemory = new AtomicLong();
+  private final ReentrantLock m_spillLock = new ReentrantLock();
+  private final long m_spillThreshold;
+  private volatile FileChannel m_spillFile;
+  private long m_spillPosition;
+  private volatile boolean m_spillDisabled;
+
+  public BufferedReporterOutputStore() {
+    this(0);
+  }
+
+  /**
+   * @param spillThreshold - The number of characters that can be held in memory before the oldest
+   *     lines are spilled to disk. A value that is not positive disables spilling.
+   */
+  public BufferedReporterOutputStore(long spillThreshold) {
+    m_spillThreshold = spillThreshold;
+    m_spillDisabled = spillThreshold <= 0;
+  }
+
+  @Override
+  public void log(String s, ITestResult m) {
+    if (m == null) {
+      // Persist the output temporarily into a ThreadLocal String list.
+      if (m_orphanedOutput.get() == null) {
+        m_orphanedOutput.set(new LinkedList<>());
+      }
+      m_orphanedOutput.get().add(s);
+      return;
+    }
+
+    // Check if there was already some orphaned output for the current thread.
+    List<String> orphaned = m_orphanedOutput.get();
+    if (orphaned != null) {
+      orphaned.forEach(each -> m_output.add(newLine(each)));
+      // Since we have already added all of the orphaned output to the current
+      // TestResult, let's clear it off.
+      m_orphanedOutput.remove();
+    }
+    Line line = newLine(s);
+    m_methodOutputMap.computeIfAbsent(m.id(), k -> new ConcurrentLinkedQueue<>()).add(line);
+    m_output.add(line);
+    spillIfNeeded();
+  }
+
+  @Override
+  public List<String> getOutput() {
+    return read(m_output);
+  }
+
+  @Override
+  public List<String> getOutput(ITestResult tr) {
+    Queue<Line> lines = m_methodOutputMap.get(tr.id());
+    if (lines == null) {
+      return Lists.newArrayList();
+    }
+    return read(lines);
+  }
+
+  @Override
+  public void clear() {
+    m_spillLock.lock();
+    try {
+      m_methodOutputMap.clear();
+      m_output.clear();
+      m_inMemory.clear();
+      m_charsInMemory.set(0);
+      closeSpillFile();
+    } finally {
+      m_spillLock.unlock();
+    }
+  }
+
+  private Line newLine(String s) {
+    Line line = new Line(s);
+    if (!m_spillDisabled) {
+      m_inMemory.add(line);
+      m_charsInMemory.addAndGet(s.length());
+    }
+    return line;
+  }
+
+  private List<String> read(Queue<Line> lines) {
+    List<String> result = Lists.newArrayList();
+    for (Line line : lines) {
+      String text = read(line);
+      if (text != null) {
+        result.add(text);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * @return - The text of the line, or <code>null</code> if it was spilled to a file that {@link
+   *     #clear()} has closed since.
+   */
+  private String read(Line line) {
+    String text = line.m_text;
+    if (text != null) {
+      return text;
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(line.m_length);
+    // Held so that the file is not closed by clear() while it is read.
+    m_spillLock.lock();
+    try {
+      FileChannel channel = line.m_file;
+      if (!channel.isOpen()) {
+        return null;
+      }
+      long position = line.m_offset;
+      while (buffer.hasRemaining()) {
+        if (channel.read(buffer, position + buffer.position()) < 0) {
+          break;
+        }
+      }
+    } catch (IOException e) {
+      throw new TestNGException("Unable to read back the reporter output that was spilled", e);
+    } finally {
+      m_spillLock.unlock();
+    }
+    return new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+  }
+
+  private void spillIfNeeded() {
+    if (m_spillDisabled || m_charsInMemory.get() <= m_spillThreshold) {
+      return;
+    }
+    // Only one thread spills at a time. Others continue logging and leave the work to it.
+    if (!m_spillLock.tryLock()) {
+      return;
+    }
+    try {
+      long target = m_spillThreshold / 2;
+      while (m_charsInMemory.get() > target) {
+        Line line = m_inMemory.poll();
+        if (line == null) {
+          break;
+        }
+        spill(line);
+        m_charsInMemory.addAndGet(-line.m_text.length());
+        line.m_text = null;
+      }
+    } catch (IOException e) {
+      LOGGER.warn("Unable to spill the reporter output to disk. Keeping it in memory.", e);
+      m_spillDisabled = true;
+      m_inMemory.clear();
+    } finally {
+      m_spillLock.unlock();
+    }
+  }
+
+  private void spill(Line line) throws IOException {
+    if (m_spillFile == null) {
+      Path file = Files.createTempFile("testng-reporter-output", ".txt");
+      file.toFile().deleteOnExit();
+      m_spillFile =
+          FileChannel.open(
+              file,
+              StandardOpenOption.READ,
+              StandardOpenOption.WRITE,
+              StandardOpenOption.DELETE_ON_CLOSE);
+      m_spillPosition = 0;
+    }
+    ByteBuffer bytes = ByteBuffer.wrap(line.m_text.getBytes(StandardCharsets.UTF_8));
+    line.m_file = m_spillFile;
+    line.m_offset = m_spillPosition;
+    line.m_length = bytes.remaining();
+    while (bytes.hasRemaining()) {
+      m_spillPosition += m_spillFile.write(bytes, m_spillPosition);
+    }
+  }
+
+  private void closeSpillFile() {
+    FileChannel channel = m_spillFile;
+    m_spillFile = null;
+    if (channel == null) {
+      return;
+    }
+    try {
+      channel.close();
+    } catch (IOException e) {
+      LOGGER.warn("Unable to close the file that holds the spilled reporter output.", e);
+    }
+  }
+
+  private static final class Line {
+    // Written before m_text is cleared, and hence visible to anyone that sees it cleared.
+    private FileChannel m_file;
+    private long m_offset;
+    private int m_length;
+    private volatile String m_text;
+
+    Line(String text) {
+      m_text = text;
+    }
+  }
+}
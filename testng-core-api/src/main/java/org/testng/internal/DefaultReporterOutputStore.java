@@ -0,0 +1,75 @@
+package org.testng.internal;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import org.testng.ITestResult;
+import org.testng.collections.Lists;
+import org.testng.collections.Maps;
+
+/**
+ * Keeps a combined output of strings and a mapping of each test result with a list of integers.
+ * These integers are indices in the combined output (avoids duplicating the output).
+ */
+public class DefaultReporterOutputStore implements IReporterOutputStore {
+
+  /** All output logged in a sequential order. */
+  private final List<String> m_output = new LinkedList<>();
+
+  private final Map<String, List<Integer>> m_methodOutputMap = Maps.newConcurrentMap();
+
+  // This variable is responsible for persisting all output that is yet to be associated with any
+  // valid TestResult objects.
+  private final ThreadLocal<List<String>> m_orphanedOutput = new InheritableThreadLocal<>();
+
+  @Override
+  public synchronized void log(String s, ITestResult m) {
+    if (m == null) {
+      // Persist the output temporarily into a ThreadLocal String list.
+      if (m_orphanedOutput.get() == null) {
+        m_orphanedOutput.set(new LinkedList<>());
+      }
+      m_orphanedOutput.get().add(s);
+      return;
+    }
+
+    // Synchronization needed to ensure the line number and m_output are updated atomically.
+    int n = m_output.size();
+
+    List<Integer> lines = m_methodOutputMap.computeIfAbsent(m.id(), k -> Lists.newLinkedList());
+
+    // Check if there was already some orphaned output for the current thread.
+    if (m_orphanedOutput.get() != null) {
+      n = n + m_orphanedOutput.get().size();
+      m_output.addAll(m_orphanedOutput.get());
+      // Since we have already added all of the orphaned output to the current
+      // TestResult, let's clear it off.
+      m_orphanedOutput.remove();
+    }
+    lines.add(n);
+    m_output.add(s);
+  }
+
+  @Override
+  public List<String> getOutput() {
+    return m_output;
+  }
+
+  @Override
+  public synchronized List<String> getOutput(ITestResult tr) {
+    List<String> result = Lists.newArrayList();
+    List<Integer> lines = m_methodOutputMap.get(tr.id());
+    if (lines != null) {
+      for (Integer n : lines) {
+        result.add(m_output.get(n));
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public synchronized void clear() {
+    m_methodOutputMap.clear();
+    m_output.clear();
+  }
+}
@@ -0,0 +1,27 @@
+package org.testng.internal;
+
+import java.util.List;
+import org.testng.ITestResult;
+
+/**
+ * Represents the storage that backs {@link org.testng.Reporter}. It keeps a record of every line
+ * that was logged along with the {@link ITestResult} that logged it.
+ */
+public interface IReporterOutputStore {
+
+  /**
+   * @param s - The line to store.
+   * @param tr - The result that logged the line. A <code>null</code> value means that the line
+   *     should be attached to the next result that the current thread logs for.
+   */
+  void log(String s, ITestResult tr);
+
+  /** @return - All the lines that were attached to a result, in the order they were logged. */
+  List<String> getOutput();
+
+  /** @return - All the lines that were attached to the given result. */
+  List<String> getOutput(ITestResult tr);
+
+  /** Erase the content of all the output stored so far. */
+  void clear();
+}
@@ -17,6 +17,7 @@ import java.util.function.Function;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 import org.testng.collections.Lists;
+import org.testng.internal.protocols.ClasspathIndex;
 import org.testng.internal.protocols.Input;
 import org.testng.internal.protocols.Processor;
 import org.testng.internal.protocols.UnhandledIOException;
@@ -75,10 +76,20 @@ public class PackageUtils {
         .filter(Objects::nonNull)
         .flatMap(asURLs(packageDirName))
         .filter(url -> matchTestClasspath(url, packageDirName, recursive))
-        .flatMap(url -> Processor.newInstance(url.getProtocol()).process(input, url).stream())
+        .flatMap(url -> findClasses(input, url).stream())
         .toArray(String[]::new);
   }
 
+  private static List<String> findClasses(Input input, URL url) {
+    if (RuntimeBehavior.useClasspathIndex()) {
+      List<String> classes = ClasspathIndex.findClasses(input, url);
+      if (classes != null) {
+        return classes;
+      }
+    }
+    return Processor.newInstance(url.getProtocol()).process(input, url);
+  }
+
   private static String[] getTestClasspath() {
     if (null != testClassPaths) {
       return testClassPaths;
@@ -22,6 +22,28 @@ public final class RuntimeBehavior {
   public static final String PREFERENTIAL_LISTENERS = "testng.preferential.listeners.package";
   public static final String FAVOR_CUSTOM_THREAD_POOL_EXECUTOR =
       "testng.favor.custom.thread-pool.executor";
+  public static final String INDEXED_RESULT_MAP = "testng.resultmap.indexed";
+  public static final String DATA_PROVIDER_STREAMING = "testng.dataprovider.streaming";
+  public static final String DATA_PROVIDER_STREAMING_WINDOW =
+      "testng.dataprovider.streaming.window";
+  public static final String SHARED_TIMEOUT_WATCHDOG = "testng.timeout.shared";
+  public static final String INCREMENTAL_GRAPH = "testng.graph.incremental";
+  public static final String BUFFERED_REPORTER_OUTPUT = "testng.reporter.output.buffered";
+  public static final String REPORTER_OUTPUT_SPILL_THRESHOLD =
+      "testng.reporter.output.spill.threshold";
+  public static final String VIRTUAL_THREADS = "testng.thread.virtual";
+  public static final String VIRTUAL_THREADS_LIMIT = "testng.thread.virtual.limit";
+  public static final String RUN_CACHE_SIZE = "testng.run.cache.size";
+  public static final String CACHED_ANNOTATION_LOOKUPS = "testng.annotations.cached";
+  public static final String INDEXED_DEPENDENCY_OUTCOMES = "testng.dependencies.indexed";
+  public static final String PARALLEL_REPORTERS = "testng.reporters.parallel";
+  public static final String REPORTER_THREAD_COUNT = "testng.reporters.threads";
+  public static final String CLASSPATH_INDEX = "testng.classpath.index";
+  public static final String CLASSPATH_INDEX_FILE = "testng.classpath.index.file";
+  public static final String PARALLEL_CLASS_DISCOVERY = "testng.discovery.parallel";
+  public static final String CLASS_DISCOVERY_THREAD_COUNT = "testng.discovery.threads";
+  public static final String PARALLEL_SUITE_PARSING = "testng.parser.parallel";
+  public static final String SUITE_PARSER_THREAD_COUNT = "testng.parser.threads";
 
   private RuntimeBehavior() {}
 
@@ -49,6 +71,187 @@ public final class RuntimeBehavior {
     return Arrays.asList(packages.split(","));
   }
 
+  /**
+   * @return - <code>true</code> if TestNG should keep the results of a test in maps that are
+   *     indexed by test method (See {@link org.testng.IResultMap}). Defaults to <code>false</code>
+   */
+  public static boolean useIndexedResultMap() {
+    return Boolean.getBoolean(INDEXED_RESULT_MAP);
+  }
+
+  /**
+   * @return - <code>true</code> if the rows of a parallel data provider should be pulled only as
+   *     workers free up, instead of being scheduled all at once. The result of every row is then
+   *     only reported to the listeners and the result maps, and is not kept once the row completed.
+   *     Defaults to <code>false</code>
+   */
+  public static boolean streamDataProviderRows() {
+    return Boolean.getBoolean(DATA_PROVIDER_STREAMING);
+  }
+
+  /**
+   * @return - The maximum number of rows of a parallel data provider that can be in flight when
+   *     running with <code>-Dtestng.dataprovider.streaming=true</code>. Defaults to <code>0</code>
+   *     which means twice the number of threads of the pool that runs the rows.
+   */
+  public static int getDataProviderStreamingWindow() {
+    return Integer.getInteger(DATA_PROVIDER_STREAMING_WINDOW, 0);
+  }
+
+  /**
+   * @return - <code>true</code> if the time-outs of test methods should be enforced by a shared
+   *     timer thread and a pool of re-usable threads, instead of a new thread or executor per timed
+   *     method. Defaults to <code>false</code>
+   */
+  public static boolean useSharedTimeoutWatchdog() {
+    return Boolean.getBoolean(SHARED_TIMEOUT_WATCHDOG);
+  }
+
+  /**
+   * @return - <code>true</code> if the graphs of methods and suites should keep track of their
+   *     free nodes as nodes finish, instead of looking at every node each time free nodes are
+   *     asked for. Defaults to <code>false</code>
+   */
+  public static boolean useIncrementalGraph() {
+    return Boolean.getBoolean(INCREMENTAL_GRAPH);
+  }
+
+  /**
+   * @return - <code>true</code> if {@link org.testng.Reporter} should keep its output in a store
+   *     that does not serialize the threads that log. Defaults to <code>false</code>
+   */
+  public static boolean useBufferedReporterOutput() {
+    return Boolean.getBoolean(BUFFERED_REPORTER_OUTPUT);
+  }
+
+  /**
+   * @return - The number of characters of {@link org.testng.Reporter} output that can be held in
+   *     memory before the oldest output is spilled to disk. Only honoured along with <code>
+   *     -Dtestng.reporter.output.buffered=true</code>. Defaults to <code>0</code> which means that
+   *     the output is never spilled.
+   */
+  public static long getReporterOutputSpillThreshold() {
+    return Long.getLong(REPORTER_OUTPUT_SPILL_THRESHOLD, 0L);
+  }
+
+  /**
+   * @return - <code>true</code> if suites, tests and data driven methods should run on virtual
+   *     threads, a new one per task, instead of on pools of <code>thread-count</code> threads. The
+   *     threads are still pooled when thread affinity is enforced. Only honoured on JDKs that
+   *     support virtual threads. Defaults to <code>false</code>
+   */
+  public static boolean useVirtualThreads() {
+    return Boolean.getBoolean(VIRTUAL_THREADS);
+  }
+
+  /**
+   * @return - The maximum number of tasks that can run at the same time on the virtual threads of
+   *     each executor. Only honoured along with <code>-Dtestng.thread.virtual=true</code>. Defaults
+   *     to <code>0</code> which means that there is no limit.
+   */
+  public static int getVirtualThreadsLimit() {
+    return Integer.getInteger(VIRTUAL_THREADS_LIMIT, 0);
+  }
+
+  /**
+   * @return - The maximum number of entries held by each of the caches that TestNG uses while
+   *     running (for e.g., the method name and group pattern matches). These caches are cleared
+   *     once a run ends. Defaults to <code>4096</code>
+   */
+  public static int getRunCacheSize() {
+    return Integer.getInteger(RUN_CACHE_SIZE, 4096);
+  }
+
+  /**
+   * @return - <code>true</code> if the annotation finder should resolve and transform the
+   *     annotations of every (member, annotation type) pair only once per run. Defaults to <code>
+   *     false</code>
+   */
+  public static boolean cacheAnnotationLookups() {
+    return Boolean.getBoolean(CACHED_ANNOTATION_LOOKUPS);
+  }
+
+  /**
+   * @return - <code>true</code> if the outcomes of the test methods are to be indexed by method and
+   *     instance as they are recorded, so that the methods a method depends upon can be checked
+   *     without scanning all the results. Defaults to <code>false</code>
+   */
+  public static boolean indexDependencyOutcomes() {
+    return Boolean.getBoolean(INDEXED_DEPENDENCY_OUTCOMES);
+  }
+
+  /**
+   * @return - <code>true</code> if the reporters are to generate their reports concurrently, on a
+   *     bounded pool of threads. The exit code listener still runs once all of them are done.
+   *     Defaults to <code>false</code>
+   */
+  public static boolean runReportersInParallel() {
+    return Boolean.getBoolean(PARALLEL_REPORTERS);
+  }
+
+  /**
+   * @return - The maximum number of reporters that generate their reports at the same time, when
+   *     they run in parallel. Defaults to the number of available processors
+   */
+  public static int getReporterThreadCount() {
+    return Integer.getInteger(REPORTER_THREAD_COUNT, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * @return - <code>true</code> if the classes of the packages are to be looked up in an index of
+   *     the classpath, which enumerates every jar and directory only once per run. Defaults to
+   *     <code>false</code>
+   */
+  public static boolean useClasspathIndex() {
+    return Boolean.getBoolean(CLASSPATH_INDEX);
+  }
+
+  /**
+   * @return - The file that the classpath index persists the content of the jars to, so that the
+   *     jars which did not change are not opened again by the next runs. Defaults to <code>null
+   *     </code>, i.e., the index is not persisted
+   */
+  public static String getClasspathIndexFile() {
+    return System.getProperty(CLASSPATH_INDEX_FILE);
+  }
+
+  /**
+   * @return - <code>true</code> if the test classes are to be inspected concurrently on a bounded
+   *     pool of threads. The factory constructors of the classes that no earlier factory method can
+   *     interfere with are invoked on the pool as well, whereas the other factories are still
+   *     invoked one after the other, in the order of the classes. Defaults to <code>false</code>
+   */
+  public static boolean discoverClassesInParallel() {
+    return Boolean.getBoolean(PARALLEL_CLASS_DISCOVERY);
+  }
+
+  /**
+   * @return - The number of threads that inspect the test classes, when they are discovered in
+   *     parallel. Defaults to the number of available processors
+   */
+  public static int getClassDiscoveryThreadCount() {
+    return Integer.getInteger(
+        CLASS_DISCOVERY_THREAD_COUNT, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * @return - <code>true</code> if the suite files that a suite refers to (via <code>
+   *     &lt;suite-files&gt;</code>) are to be parsed concurrently on a bounded pool of threads.
+   *     Defaults to <code>false</code>
+   */
+  public static boolean parseSuitesInParallel() {
+    return Boolean.getBoolean(PARALLEL_SUITE_PARSING);
+  }
+
+  /**
+   * @return - The number of threads that parse the suite files, when they are parsed in parallel.
+   *     Defaults to the number of available processors
+   */
+  public static int getSuiteParserThreadCount() {
+    return Integer.getInteger(
+        SUITE_PARSER_THREAD_COUNT, Runtime.getRuntime().availableProcessors());
+  }
+
   public static boolean strictParallelism() {
     return Boolean.getBoolean(STRICTLY_HONOUR_PARALLEL_MODE);
   }
@@ -12,7 +12,9 @@ import java.io.StringReader;
 import java.io.StringWriter;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -23,6 +25,7 @@ import org.testng.ITestNGMethod;
 import org.testng.TestNGException;
 import org.testng.collections.Lists;
 import org.testng.log4testng.Logger;
+import org.testng.reporters.ChannelStringBuffer;
 import org.testng.reporters.XMLStringBuffer;
 
 /** Helper methods to parse annotations. */
@@ -78,6 +81,18 @@ public final class Utils {
       if (!file.exists()) {
         boolean ignored = file.createNewFile();
       }
+      if (xsb.getStringBuffer() instanceof ChannelStringBuffer) {
+        // Hand the content over to the report without decoding it.
+        try (final FileChannel channel =
+            FileChannel.open(
+                file.toPath(), StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+          if (prefix != null) {
+            channel.write(StandardCharsets.UTF_8.encode(prefix));
+          }
+          ((ChannelStringBuffer) xsb.getStringBuffer()).transferTo(channel);
+        }
+        return;
+      }
       try (final OutputStreamWriter w =
           new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
         if (prefix != null) {
@@ -0,0 +1,308 @@
+package org.testng.internal.protocols;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import org.testng.collections.Lists;
+import org.testng.internal.RuntimeBehavior;
+import org.testng.internal.Utils;
+import org.testng.log4testng.Logger;
+
+/**
+ * An index of the classes that each root of the classpath (i.e., a jar or a directory) holds. Every
+ * root is enumerated only once, so that looking up the classes of a package boils down to finding
+ * the entries of the root that start with the directory of the package.
+ *
+ * <p>The entries of the jars can additionally be persisted to a file (see {@link
+ * RuntimeBehavior#getClasspathIndexFile()}), so that the jars which did not change (as per their
+ * last modification time and size) are not opened at all by later runs. The directories are never
+ * persisted, since their content changes as the tests are being worked upon.
+ *
+ * <p>The index is released (and persisted, if need be) once a run ends, see {@link #release()}.
+ */
+public final class ClasspathIndex {
+
+  private static final Logger LOGGER = Logger.getLogger(ClasspathIndex.class);
+  private static final String HEADER = "#testng-classpath-index 1";
+
+  private static final Map<String, Root> ROOTS = new ConcurrentHashMap<>();
+  private static volatile Map<String, Root> persisted;
+  private static volatile boolean dirty;
+
+  private ClasspathIndex() {
+    // Utility class. Defeat instantiation.
+  }
+
+  /**
+   * @param input - The package to find the classes of
+   * @param url - The location of the package, as found by a class loader
+   * @return - The classes of the package that are found at <code>url</code>, or <code>null</code>
+   *     if <code>url</code> is not a (local) jar or directory, in which case it is up to the {@link
+   *     Processor} of its protocol to find them.
+   */
+  public static List<String> findClasses(Input input, URL url) {
+    String packageDirName = input.getPackageDirName();
+    if (packageDirName.isEmpty()) {
+      // The default package is left to the processors, which have their own rules for it.
+      return null;
+    }
+    Root root;
+    try {
+      root = rootOf(url, packageDirName);
+    } catch (IOException e) {
+      throw new UnhandledIOException(e);
+    }
+    if (root == null) {
+      return null;
+    }
+    List<String> result = Lists.newArrayList();
+    for (String entry : root.entries) {
+      if (!entry.startsWith(packageDirName)) {
+        continue;
+      }
+      int idx = entry.lastIndexOf('/');
+      if (!input.isRecursive() && idx != packageDirName.length() - 1) {
+        // it's inside a deeper dir
+        continue;
+      }
+      String packageName = entry.substring(0, idx).replace('/', '.');
+      String className = entry.substring(idx + 1, entry.lastIndexOf('.'));
+      result.addAll(
+          Processor.includeOrExcludeClass(
+              packageName, className, input.getIncluded(), input.getExcluded()));
+    }
+    return result;
+  }
+
+  /** Persists the jars that were indexed (if a file is configured) and forgets all the roots. */
+  public static synchronized void release() {
+    String file = RuntimeBehavior.getClasspathIndexFile();
+    if (file != null && dirty) {
+      save(Paths.get(file));
+    }
+    ROOTS.clear();
+    persisted = null;
+    dirty = false;
+  }
+
+  private static Root rootOf(URL url, String packageDirName) throws IOException {
+    String protocol = url.getProtocol().toLowerCase();
+    if ("file".equals(protocol)) {
+      String path = URLDecoder.decode(url.getFile(), UTF_8);
+      if (!path.endsWith("/")) {
+        path += "/";
+      }
+      if (!path.endsWith("/" + packageDirName)) {
+        return null;
+      }
+      String dir = path.substring(0, path.length() - packageDirName.length());
+      Root result = ROOTS.get(dir);
+      if (result == null) {
+        result = ROOTS.computeIfAbsent(dir, ClasspathIndex::indexDirectory);
+      }
+      return result;
+    }
+    if ("jar".equals(protocol)) {
+      String spec = url.getFile();
+      int separator = spec.indexOf("!/");
+      if (separator == -1 || spec.indexOf("!/", separator + 2) != -1) {
+        // A jar that is nested within another jar.
+        return null;
+      }
+      URL jarUrl = new URL(spec.substring(0, separator));
+      if (!"file".equalsIgnoreCase(jarUrl.getProtocol())) {
+        return null;
+      }
+      File jar = new File(URLDecoder.decode(jarUrl.getFile(), UTF_8));
+      if (!jar.isFile()) {
+        return null;
+      }
+      return indexedJar(jar);
+    }
+    return null;
+  }
+
+  private static Root indexedJar(File jar) throws IOException {
+    String key = jar.getAbsolutePath();
+    long lastModified = jar.lastModified();
+    long size = jar.length();
+    Root result = ROOTS.get(key);
+    if (result != null && result.isIndexOf(lastModified, size)) {
+      return result;
+    }
+    result = persisted().get(key);
+    if (result == null || !result.isIndexOf(lastModified, size)) {
+      result = indexJar(jar, lastModified, size);
+      dirty = true;
+    }
+    ROOTS.put(key, result);
+    return result;
+  }
+
+  private static Root indexJar(File file, long lastModified, long size) throws IOException {
+    Utils.log(Processor.CLS_NAME, 4, "Indexing the classes in the jar: " + file);
+    List<String> entries = Lists.newArrayList();
+    try (JarFile jar = new JarFile(file)) {
+      Enumeration<JarEntry> jarEntries = jar.entries();
+      while (jarEntries.hasMoreElements()) {
+        JarEntry entry = jarEntries.nextElement();
+        String name = entry.getName();
+        if (name.startsWith("module-info") || name.startsWith("META-INF")) {
+          continue;
+        }
+        if (name.charAt(0) == '/') {
+          name = name.substring(1);
+        }
+        if (name.endsWith(".class") && !entry.isDirectory()) {
+          entries.add(name);
+        }
+      }
+    }
+    return new Root(entries, lastModified, size);
+  }
+
+  private static Root indexDirectory(String dir) {
+    Utils.log(Processor.CLS_NAME, 4, "Indexing the classes in the directory: " + dir);
+    List<String> entries = Lists.newArrayList();
+    indexDirectory(new File(dir), "", entries);
+    return new Root(entries, -1, -1);
+  }
+
+  private static void indexDirectory(File dir, String path, List<String> entries) {
+    // Same files and same order as Processor.findClassesInDirPackage()
+    File[] files =
+        dir.listFiles(
+            file ->
+                file.isDirectory()
+                    || file.getName().endsWith(".class")
+                    || file.getName().endsWith(".groovy"));
+    if (files == null) {
+      return;
+    }
+    for (File file : files) {
+      if (file.isDirectory()) {
+        indexDirectory(file, path + file.getName() + "/", entries);
+      } else {
+        entries.add(path + file.getName());
+      }
+    }
+  }
+
+  private static Map<String, Root> persisted() {
+    Map<String, Root> result = persisted;
+    if (result == null) {
+      synchronized (ClasspathIndex.class) {
+        result = persisted;
+        if (result == null) {
+          String file = RuntimeBehavior.getClasspathIndexFile();
+          result = file == null ? Collections.emptyMap() : load(Paths.get(file));
+          persisted = result;
+        }
+      }
+    }
+    return result;
+  }
+
+  private static Map<String, Root> load(Path file) {
+    Map<String, Root> result = new ConcurrentHashMap<>();
+    if (!Files.isRegularFile(file)) {
+      return result;
+    }
+    try (BufferedReader reader = Files.newBufferedReader(file, UTF_8)) {
+      if (!HEADER.equals(reader.readLine())) {
+        LOGGER.warn("Ignoring the classpath index " + file + ", whose format is unknown.");
+        return result;
+      }
+      String line;
+      while ((line = reader.readLine()) != null) {
+        String[] parts = line.split("\t");
+        long lastModified = Long.parseLong(parts[1]);
+        long size = Long.parseLong(parts[2]);
+        int count = Integer.parseInt(parts[3]);
+        List<String> entries = Lists.newArrayList(count);
+        for (int i = 0; i < count; i++) {
+          entries.add(reader.readLine());
+        }
+        result.put(parts[0], new Root(entries, lastModified, size));
+      }
+    } catch (IOException | RuntimeException e) {
+      LOGGER.error("Unable to read the classpath index " + file + ". Ignoring it.", e);
+      result.clear();
+    }
+    return result;
+  }
+
+  private static void save(Path file) {
+    Map<String, Root> jars = new TreeMap<>();
+    // Keep the jars that other runs indexed for as long as they are still around, unchanged.
+    persisted()
+        .forEach(
+            (key, root) -> {
+              File jar = new File(key);
+              if (root.isIndexOf(jar.lastModified(), jar.length())) {
+                jars.put(key, root);
+              }
+            });
+    ROOTS.forEach(
+        (key, root) -> {
+          if (root.size >= 0) {
+            jars.put(key, root);
+          }
+        });
+    try {
+      Path parent = file.toAbsolutePath().getParent();
+      Files.createDirectories(parent);
+      Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+      try (BufferedWriter writer = Files.newBufferedWriter(temp, UTF_8)) {
+        writer.write(HEADER);
+        writer.newLine();
+        for (Map.Entry<String, Root> jar : jars.entrySet()) {
+          Root root = jar.getValue();
+          writer.write(jar.getKey() + "\t" + root.lastModified + "\t" + root.size);
+          writer.write("\t" + root.entries.size());
+          writer.newLine();
+          for (String entry : root.entries) {
+            writer.write(entry);
+            writer.newLine();
+          }
+        }
+      }
+      Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      LOGGER.error("Unable to write the classpath index " + file, e);
+    }
+  }
+
+  private static final class Root {
+    private final List<String> entries;
+    private final long lastModified;
+    private final long size;
+
+    Root(List<String> entries, long lastModified, long size) {
+      this.entries = entries;
+      this.lastModified = lastModified;
+      this.size = size;
+    }
+
+    boolean isIndexOf(long lastModified, long size) {
+      return this.lastModified == lastModified && this.size == size;
+    }
+  }
+}
@@ -2,6 +2,18 @@ package org.testng.reporters;
 
 public class Buffer {
   public static IBuffer create() {
+    if (RuntimeBehavior.useChannelBuffer()) {
+      return new ChannelStringBuffer();
+    }
     return new FileStringBuffer();
   }
+
+  /**
+   * Releases the temporary file that the buffer may hold. The buffer must not be used afterwards.
+   */
+  public static void release(IBuffer buffer) {
+    if (buffer instanceof ChannelStringBuffer) {
+      ((ChannelStringBuffer) buffer).close();
+    }
+  }
 }
@@ -0,0 +1,223 @@
+package org.testng.reporters;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.testng.log4testng.Logger;
+
+/**
+ * A string buffer that, just like {@link FileStringBuffer}, moves its content to a temporary file
+ * whenever the internal string buffer becomes larger than a threshold. The content is encoded as
+ * UTF-8 and written through a {@link FileChannel} that stays open for as long as the buffer is in
+ * use, via a direct {@link ByteBuffer} that is re-used by all the buffers of a thread.
+ *
+ * <p>Since the temporary file holds the content in the same encoding as the reports, {@link
+ * #transferTo(WritableByteChannel)} can hand it over to the final report file without it passing
+ * through the heap. {@link #toWriter(Writer)} decodes it in chunks, and only {@link #toString()}
+ * loads it in memory as a whole.
+ *
+ * <p>This class is not multi thread safe.
+ */
+public class ChannelStringBuffer implements IBuffer, Closeable {
+
+  private static final int MAX = 100000;
+  private static final int CHUNK_SIZE = 64 * 1024;
+  private static final Logger LOGGER = Logger.getLogger(ChannelStringBuffer.class);
+
+  private static final ThreadLocal<ByteBuffer> BYTES =
+      ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(CHUNK_SIZE));
+
+  private final int m_maxCharacters;
+  private StringBuilder m_sb = new StringBuilder();
+  private FileChannel m_channel;
+  private CharsetEncoder m_encoder;
+  private boolean m_inMemoryOnly;
+
+  public ChannelStringBuffer() {
+    this(MAX);
+  }
+
+  public ChannelStringBuffer(int maxCharacters) {
+    m_maxCharacters = maxCharacters;
+  }
+
+  @Override
+  public ChannelStringBuffer append(CharSequence s) {
+    if (s == null) {
+      throw new IllegalArgumentException(
+          "CharSequence (Argument 0 of ChannelStringBuffer#append) should not be null");
+    }
+    if (m_sb.length() > m_maxCharacters) {
+      flush();
+    }
+    m_sb.append(s);
+    if (s.length() >= MAX) {
+      // Big string, move it to the temporary file right away
+      flush();
+    }
+    return this;
+  }
+
+  @Override
+  public void toWriter(Writer fw) {
+    if (fw == null) {
+      throw new IllegalArgumentException(
+          "Writer (Argument 0 of ChannelStringBuffer#toWriter) should not be null");
+    }
+    try {
+      if (m_channel != null) {
+        decodeTo(fw);
+      }
+      fw.write(m_sb.toString());
+      fw.flush();
+    } catch (IOException e) {
+      LOGGER.error(e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Writes the content of this buffer, encoded as UTF-8, to a channel. The part of the content that
+   * was moved to the temporary file is transferred by the file system without being copied to the
+   * heap (if the target channel allows for it).
+   *
+   * @param target - The channel to write to (for e.g., the {@link FileChannel} of a report file)
+   * @throws IOException - If the content could not be written
+   */
+  public void transferTo(WritableByteChannel target) throws IOException {
+    if (m_channel != null) {
+      long size = m_channel.size();
+      long position = 0;
+      while (position < size) {
+        position += m_channel.transferTo(position, size - position, target);
+      }
+    }
+    ByteBuffer tail = StandardCharsets.UTF_8.encode(CharBuffer.wrap(m_sb));
+    while (tail.hasRemaining()) {
+      target.write(tail);
+    }
+  }
+
+  /** Releases the temporary file (if any). The buffer must not be used afterwards. */
+  @Override
+  public void close() {
+    if (m_channel == null) {
+      return;
+    }
+    try {
+      m_channel.close();
+    } catch (IOException e) {
+      LOGGER.error(e.getMessage(), e);
+    }
+    m_channel = null;
+  }
+
+  private void flush() {
+    if (m_sb.length() == 0 || m_inMemoryOnly) {
+      return;
+    }
+    if (m_channel == null && !openChannel()) {
+      m_inMemoryOnly = true;
+      return;
+    }
+    StringBuilder sb = m_sb;
+    m_sb = new StringBuilder();
+    encode(sb);
+  }
+
+  private boolean openChannel() {
+    try {
+      Path file = Files.createTempFile("testng", "channelStringBuffer");
+      file.toFile().deleteOnExit();
+      m_channel =
+          FileChannel.open(
+              file,
+              StandardOpenOption.READ,
+              StandardOpenOption.WRITE,
+              StandardOpenOption.DELETE_ON_CLOSE);
+    } catch (IOException e) {
+      LOGGER.error("Unable to create a temporary file. Keeping the content in memory.", e);
+      return false;
+    }
+    m_encoder =
+        StandardCharsets.UTF_8
+            .newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    return true;
+  }
+
+  private void encode(CharSequence s) {
+    try {
+      CharBuffer chars = CharBuffer.wrap(s);
+      ByteBuffer bytes = BYTES.get();
+      bytes.clear();
+      while (true) {
+        CoderResult result = m_encoder.encode(chars, bytes, false);
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+          m_channel.write(bytes);
+        }
+        bytes.clear();
+        if (result.isUnderflow()) {
+          break;
+        }
+      }
+      // A high surrogate whose low surrogate is yet to be appended.
+      if (chars.hasRemaining()) {
+        m_sb.append(chars);
+      }
+    } catch (IOException e) {
+      LOGGER.error(e.getMessage(), e);
+    }
+  }
+
+  private void decodeTo(Writer writer) throws IOException {
+    CharsetDecoder decoder =
+        StandardCharsets.UTF_8
+            .newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    ByteBuffer bytes = BYTES.get();
+    bytes.clear();
+    CharBuffer chars = CharBuffer.allocate(CHUNK_SIZE);
+    long position = 0;
+    long size = m_channel.size();
+    while (position < size) {
+      int read = m_channel.read(bytes, position);
+      if (read < 0) {
+        break;
+      }
+      position += read;
+      bytes.flip();
+      decoder.decode(bytes, chars, position >= size);
+      bytes.compact();
+      chars.flip();
+      writer.write(chars.array(), chars.arrayOffset() + chars.position(), chars.remaining());
+      chars.clear();
+    }
+    bytes.clear();
+  }
+
+  @Override
+  public String toString() {
+    if (m_channel == null) {
+      return m_sb.toString();
+    }
+    StringWriter writer = new StringWriter();
+    toWriter(writer);
+    return writer.toString();
+  }
+}
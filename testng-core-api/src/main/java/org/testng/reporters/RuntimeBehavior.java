@@ -10,6 +10,30 @@ public class RuntimeBehavior {
     return System.getProperty("fileStringBuffer") != null;
   }
 
+  /**
+   * @return - <code>true</code> if the reports are to be buffered using a {@link
+   *     ChannelStringBuffer} instead of a {@link FileStringBuffer}.
+   */
+  public static boolean useChannelBuffer() {
+    return Boolean.getBoolean("testng.report.buffer.channel");
+  }
+
+  /**
+   * @return - <code>true</code> if the HTML report is to be generated as a shell page that loads
+   *     the results from chunks on demand, rather than as a single page holding all of them.
+   */
+  public static boolean useChunkedHtmlReport() {
+    return Boolean.getBoolean("testng.report.html.chunked");
+  }
+
+  /**
+   * @return - <code>true</code> if the XML report is to be streamed to its file result by result,
+   *     rather than built in memory as a whole first.
+   */
+  public static boolean useStreamingXmlReport() {
+    return Boolean.getBoolean("testng.report.xml.streaming");
+  }
+
   public static String getDefaultEmailableReport2Name() {
     return System.getProperty("emailable.report2.name");
   }
@@ -1,5 +1,6 @@
 package org.testng.reporters;
 
+import java.io.Closeable;
 import java.io.Writer;
 import java.util.Properties;
 import java.util.Stack;
@@ -12,7 +13,7 @@ import javax.annotation.Nullable;
  *
  * @author <a href="mailto:cedric@beust.com">Cedric Beust</a> Jul 21, 2003
  */
-public class XMLStringBuffer {
+public class XMLStringBuffer implements Closeable {
   /** End of line, value of 'line.separator' system property or '\n' */
   public static final String EOL = RuntimeBehavior.getLineSeparatorOrNewLine();
 
@@ -345,6 +346,15 @@ public class XMLStringBuffer {
   public void toWriter(Writer fw) {
     m_buffer.toWriter(fw);
   }
+
+  /**
+   * Releases the temporary file that the internal buffer may hold, once the document was written.
+   * The buffer must not be used afterwards.
+   */
+  @Override
+  public void close() {
+    Buffer.release(m_buffer);
+  }
 }
 
 ////////////////////////
@@ -39,7 +39,9 @@ public final class XMLUtils {
     }
     xmlClose(result, "", name, XMLUtils.extractComment(name, attributes));
 
-    return result.toString();
+    String xml = result.toString();
+    Buffer.release(result);
+    return xml;
   }
 
   public static String extractComment(String tag, Properties properties) {
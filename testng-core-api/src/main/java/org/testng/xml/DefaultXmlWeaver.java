@@ -32,266 +32,272 @@ class DefaultXmlWeaver implements IWeaveXml {
 
   @Override
   public String asXml(XmlSuite xmlSuite) {
-    XMLStringBuffer xsb = new XMLStringBuffer();
-    xsb.setDefaultComment(defaultComment);
-    xsb.setDocType("suite SYSTEM \"" + HTTPS_TESTNG_DTD_URL + '\"');
-    Properties p = new Properties();
-    p.setProperty("name", xmlSuite.getName());
-    if (xmlSuite.getVerbose() != null) {
+    try (XMLStringBuffer xsb = new XMLStringBuffer()) {
+      xsb.setDefaultComment(defaultComment);
+      xsb.setDocType("suite SYSTEM \"" + HTTPS_TESTNG_DTD_URL + '\"');
+      Properties p = new Properties();
+      p.setProperty("name", xmlSuite.getName());
+      if (xmlSuite.getVerbose() != null) {
+        XmlUtils.setProperty(
+            p, "verbose", xmlSuite.getVerbose().toString(), DEFAULT_VERBOSE.toString());
+      }
+      final XmlSuite.ParallelMode parallel = xmlSuite.getParallel();
+      if (parallel != null && !XmlSuite.DEFAULT_PARALLEL.equals(parallel)) {
+        p.setProperty("parallel", parallel.toString());
+      }
       XmlUtils.setProperty(
-          p, "verbose", xmlSuite.getVerbose().toString(), DEFAULT_VERBOSE.toString());
-    }
-    final XmlSuite.ParallelMode parallel = xmlSuite.getParallel();
-    if (parallel != null && !XmlSuite.DEFAULT_PARALLEL.equals(parallel)) {
-      p.setProperty("parallel", parallel.toString());
-    }
-    XmlUtils.setProperty(
-        p,
-        "group-by-instances",
-        String.valueOf(xmlSuite.getGroupByInstances()),
-        DEFAULT_GROUP_BY_INSTANCES.toString());
-    XmlUtils.setProperty(
-        p,
-        "configfailurepolicy",
-        xmlSuite.getConfigFailurePolicy().toString(),
-        DEFAULT_CONFIG_FAILURE_POLICY.toString());
-    XmlUtils.setProperty(
-        p,
-        "thread-count",
-        String.valueOf(xmlSuite.getThreadCount()),
-        DEFAULT_THREAD_COUNT.toString());
-    XmlUtils.setProperty(
-        p,
-        "data-provider-thread-count",
-        String.valueOf(xmlSuite.getDataProviderThreadCount()),
-        DEFAULT_DATA_PROVIDER_THREAD_COUNT.toString());
-    if (isStringNotEmpty(xmlSuite.getTimeOut())) {
-      p.setProperty("time-out", xmlSuite.getTimeOut());
-    }
-    XmlUtils.setProperty(
-        p,
-        "skipfailedinvocationcounts",
-        xmlSuite.skipFailedInvocationCounts().toString(),
-        DEFAULT_SKIP_FAILED_INVOCATION_COUNTS.toString());
-    if (null != xmlSuite.getObjectFactoryClass()) {
-      p.setProperty("object-factory", xmlSuite.getObjectFactoryClass().getName());
-    }
-    if (isStringNotEmpty(xmlSuite.getParentModule())) {
-      p.setProperty("parent-module", xmlSuite.getParentModule());
-    }
-    if (isStringNotEmpty(xmlSuite.getGuiceStage())) {
-      p.setProperty("guice-stage", xmlSuite.getGuiceStage());
-    }
-    XmlUtils.setProperty(
-        p,
-        "allow-return-values",
-        String.valueOf(xmlSuite.getAllowReturnValues()),
-        DEFAULT_ALLOW_RETURN_VALUES.toString());
-    xsb.push("suite", p);
-
-    List<String> included = xmlSuite.getIncludedGroups();
-    List<String> excluded = xmlSuite.getExcludedGroups();
-    if (hasElements(included) || hasElements(excluded)) {
-      xsb.push("groups");
-      xsb.push("run");
-      for (String g : included) {
-        xsb.addEmptyElement("include", "name", g);
+          p,
+          "group-by-instances",
+          String.valueOf(xmlSuite.getGroupByInstances()),
+          DEFAULT_GROUP_BY_INSTANCES.toString());
+      XmlUtils.setProperty(
+          p,
+          "configfailurepolicy",
+          xmlSuite.getConfigFailurePolicy().toString(),
+          DEFAULT_CONFIG_FAILURE_POLICY.toString());
+      XmlUtils.setProperty(
+          p,
+          "thread-count",
+          String.valueOf(xmlSuite.getThreadCount()),
+          DEFAULT_THREAD_COUNT.toString());
+      XmlUtils.setProperty(
+          p,
+          "data-provider-thread-count",
+          String.valueOf(xmlSuite.getDataProviderThreadCount()),
+          DEFAULT_DATA_PROVIDER_THREAD_COUNT.toString());
+      if (isStringNotEmpty(xmlSuite.getTimeOut())) {
+        p.setProperty("time-out", xmlSuite.getTimeOut());
       }
-      for (String g : excluded) {
-        xsb.addEmptyElement("exclude", "name", g);
+      XmlUtils.setProperty(
+          p,
+          "skipfailedinvocationcounts",
+          xmlSuite.skipFailedInvocationCounts().toString(),
+          DEFAULT_SKIP_FAILED_INVOCATION_COUNTS.toString());
+      if (null != xmlSuite.getObjectFactoryClass()) {
+        p.setProperty("object-factory", xmlSuite.getObjectFactoryClass().getName());
+      }
+      if (isStringNotEmpty(xmlSuite.getParentModule())) {
+        p.setProperty("parent-module", xmlSuite.getParentModule());
+      }
+      if (isStringNotEmpty(xmlSuite.getGuiceStage())) {
+        p.setProperty("guice-stage", xmlSuite.getGuiceStage());
+      }
+      XmlUtils.setProperty(
+          p,
+          "allow-return-values",
+          String.valueOf(xmlSuite.getAllowReturnValues()),
+          DEFAULT_ALLOW_RETURN_VALUES.toString());
+      xsb.push("suite", p);
+
+      List<String> included = xmlSuite.getIncludedGroups();
+      List<String> excluded = xmlSuite.getExcludedGroups();
+      if (hasElements(included) || hasElements(excluded)) {
+        xsb.push("groups");
+        xsb.push("run");
+        for (String g : included) {
+          xsb.addEmptyElement("include", "name", g);
+        }
+        for (String g : excluded) {
+          xsb.addEmptyElement("exclude", "name", g);
+        }
+        xsb.pop("run");
+        xsb.pop("groups");
       }
-      xsb.pop("run");
-      xsb.pop("groups");
-    }
 
-    if (xmlSuite.getGroups() != null) {
-      xsb.getStringBuffer().append(xmlSuite.getGroups().toXml("  "));
-    }
+      if (xmlSuite.getGroups() != null) {
+        xsb.getStringBuffer().append(xmlSuite.getGroups().toXml("  "));
+      }
 
-    XmlUtils.dumpParameters(xsb, xmlSuite.getParameters());
+      XmlUtils.dumpParameters(xsb, xmlSuite.getParameters());
 
-    if (hasElements(xmlSuite.getListeners())) {
-      xsb.push("listeners");
-      for (String listenerName : xmlSuite.getLocalListeners()) {
-        Properties listenerProps = new Properties();
-        listenerProps.setProperty("class-name", listenerName);
-        xsb.addEmptyElement("listener", listenerProps);
+      if (hasElements(xmlSuite.getListeners())) {
+        xsb.push("listeners");
+        for (String listenerName : xmlSuite.getLocalListeners()) {
+          Properties listenerProps = new Properties();
+          listenerProps.setProperty("class-name", listenerName);
+          xsb.addEmptyElement("listener", listenerProps);
+        }
+        xsb.pop("listeners");
       }
-      xsb.pop("listeners");
-    }
 
-    if (hasElements(xmlSuite.getXmlPackages())) {
-      xsb.push("packages");
+      if (hasElements(xmlSuite.getXmlPackages())) {
+        xsb.push("packages");
+
+        for (XmlPackage pack : xmlSuite.getXmlPackages()) {
+          xsb.getStringBuffer().append(pack.toXml("    "));
+        }
 
-      for (XmlPackage pack : xmlSuite.getXmlPackages()) {
-        xsb.getStringBuffer().append(pack.toXml("    "));
+        xsb.pop("packages");
       }
 
-      xsb.pop("packages");
-    }
+      if (xmlSuite.getXmlMethodSelectors() != null) {
+        xsb.getStringBuffer().append(xmlSuite.getXmlMethodSelectors().toXml("  "));
+      } else {
+        if (hasElements(xmlSuite.getMethodSelectors())) {
+          xsb.push("method-selectors");
+          for (XmlMethodSelector selector : xmlSuite.getMethodSelectors()) {
+            xsb.getStringBuffer().append(selector.toXml("  "));
+          }
 
-    if (xmlSuite.getXmlMethodSelectors() != null) {
-      xsb.getStringBuffer().append(xmlSuite.getXmlMethodSelectors().toXml("  "));
-    } else {
-      if (hasElements(xmlSuite.getMethodSelectors())) {
-        xsb.push("method-selectors");
-        for (XmlMethodSelector selector : xmlSuite.getMethodSelectors()) {
-          xsb.getStringBuffer().append(selector.toXml("  "));
+          xsb.pop("method-selectors");
         }
-
-        xsb.pop("method-selectors");
       }
-    }
 
-    List<String> suiteFiles = xmlSuite.getSuiteFiles();
-    if (!suiteFiles.isEmpty()) {
-      xsb.push("suite-files");
-      for (String sf : suiteFiles) {
-        Properties prop = new Properties();
-        prop.setProperty("path", sf);
-        xsb.addEmptyElement("suite-file", prop);
+      List<String> suiteFiles = xmlSuite.getSuiteFiles();
+      if (!suiteFiles.isEmpty()) {
+        xsb.push("suite-files");
+        for (String sf : suiteFiles) {
+          Properties prop = new Properties();
+          prop.setProperty("path", sf);
+          xsb.addEmptyElement("suite-file", prop);
+        }
+        xsb.pop("suite-files");
       }
-      xsb.pop("suite-files");
-    }
 
-    for (XmlTest test : xmlSuite.getTests()) {
-      xsb.getStringBuffer().append(test.toXml("  "));
-    }
+      for (XmlTest test : xmlSuite.getTests()) {
+        xsb.getStringBuffer().append(test.toXml("  "));
+      }
 
-    xsb.pop("suite");
+      xsb.pop("suite");
 
-    return xsb.toXML();
+      return xsb.toXML();
+    }
   }
 
   @Override
   public String asXml(XmlTest xmlTest, String indent) {
-    XMLStringBuffer xsb = new XMLStringBuffer(indent);
-    xsb.setDefaultComment(defaultComment);
-    Properties p = new Properties();
-    p.setProperty("name", xmlTest.getName());
-    XmlUtils.setProperty(
-        p, "parallel", xmlTest.getParallel().toString(), XmlSuite.DEFAULT_PARALLEL.toString());
-    XmlUtils.setProperty(
-        p, "verbose", Integer.toString(xmlTest.getVerbose()), XmlSuite.DEFAULT_VERBOSE.toString());
-
-    if (null != xmlTest.getTimeOut()) {
-      p.setProperty("time-out", xmlTest.getTimeOut());
-    }
+    try (XMLStringBuffer xsb = new XMLStringBuffer(indent)) {
+      xsb.setDefaultComment(defaultComment);
+      Properties p = new Properties();
+      p.setProperty("name", xmlTest.getName());
+      XmlUtils.setProperty(
+          p, "parallel", xmlTest.getParallel().toString(), XmlSuite.DEFAULT_PARALLEL.toString());
+      XmlUtils.setProperty(
+          p,
+          "verbose",
+          Integer.toString(xmlTest.getVerbose()),
+          XmlSuite.DEFAULT_VERBOSE.toString());
 
-    if (xmlTest.getPreserveOrder() != null
-        && !XmlSuite.DEFAULT_PRESERVE_ORDER.equals(xmlTest.getPreserveOrder())) {
-      p.setProperty("preserve-order", xmlTest.getPreserveOrder().toString());
-    }
+      if (null != xmlTest.getTimeOut()) {
+        p.setProperty("time-out", xmlTest.getTimeOut());
+      }
 
-    if (xmlTest.getThreadCount() != -1) {
-      p.setProperty("thread-count", Integer.toString(xmlTest.getThreadCount()));
-    }
+      if (xmlTest.getPreserveOrder() != null
+          && !XmlSuite.DEFAULT_PRESERVE_ORDER.equals(xmlTest.getPreserveOrder())) {
+        p.setProperty("preserve-order", xmlTest.getPreserveOrder().toString());
+      }
 
-    XmlUtils.setProperty(
-        p,
-        "group-by-instances",
-        String.valueOf(xmlTest.getGroupByInstances()),
-        XmlSuite.DEFAULT_GROUP_BY_INSTANCES.toString());
+      if (xmlTest.getThreadCount() != -1) {
+        p.setProperty("thread-count", Integer.toString(xmlTest.getThreadCount()));
+      }
 
-    xsb.push("test", p);
+      XmlUtils.setProperty(
+          p,
+          "group-by-instances",
+          String.valueOf(xmlTest.getGroupByInstances()),
+          XmlSuite.DEFAULT_GROUP_BY_INSTANCES.toString());
 
-    if (null != xmlTest.getMethodSelectors() && !xmlTest.getMethodSelectors().isEmpty()) {
-      xsb.push("method-selectors");
-      for (XmlMethodSelector selector : xmlTest.getMethodSelectors()) {
-        xsb.getStringBuffer().append(selector.toXml(indent + "    "));
+      xsb.push("test", p);
+
+      if (null != xmlTest.getMethodSelectors() && !xmlTest.getMethodSelectors().isEmpty()) {
+        xsb.push("method-selectors");
+        for (XmlMethodSelector selector : xmlTest.getMethodSelectors()) {
+          xsb.getStringBuffer().append(selector.toXml(indent + "    "));
+        }
+
+        xsb.pop("method-selectors");
       }
 
-      xsb.pop("method-selectors");
-    }
+      XmlUtils.dumpParameters(xsb, xmlTest.getLocalParameters());
+
+      // groups
 
-    XmlUtils.dumpParameters(xsb, xmlTest.getLocalParameters());
+      if ((xmlTest.getXmlGroups() != null
+              && (!xmlTest.getXmlGroups().getDefines().isEmpty()
+                  || (xmlTest.getXmlGroups().getRun() != null
+                      && (!xmlTest.getXmlGroups().getRun().getIncludes().isEmpty()
+                          || !xmlTest.getXmlGroups().getRun().getExcludes().isEmpty()))))
+          || !xmlTest.getXmlDependencyGroups().isEmpty()) {
+        xsb.push("groups");
 
-    // groups
+        // define
+        if (xmlTest.getXmlGroups() != null) {
+          for (XmlDefine define : xmlTest.getXmlGroups().getDefines()) {
+            Properties metaGroupProp = new Properties();
+            metaGroupProp.setProperty("name", define.getName());
 
-    if ((xmlTest.getXmlGroups() != null
-            && (!xmlTest.getXmlGroups().getDefines().isEmpty()
-                || (xmlTest.getXmlGroups().getRun() != null
-                    && (!xmlTest.getXmlGroups().getRun().getIncludes().isEmpty()
-                        || !xmlTest.getXmlGroups().getRun().getExcludes().isEmpty()))))
-        || !xmlTest.getXmlDependencyGroups().isEmpty()) {
-      xsb.push("groups");
+            xsb.push("define", metaGroupProp);
 
-      // define
-      if (xmlTest.getXmlGroups() != null) {
-        for (XmlDefine define : xmlTest.getXmlGroups().getDefines()) {
-          Properties metaGroupProp = new Properties();
-          metaGroupProp.setProperty("name", define.getName());
+            for (String groupName : define.getIncludes()) {
+              Properties includeProps = new Properties();
+              includeProps.setProperty("name", groupName);
 
-          xsb.push("define", metaGroupProp);
+              xsb.addEmptyElement("include", includeProps);
+            }
 
-          for (String groupName : define.getIncludes()) {
+            xsb.pop("define");
+          }
+        }
+
+        // run
+        if ((xmlTest.getXmlGroups() != null && xmlTest.getXmlGroups().getRun() != null)
+            && (!xmlTest.getXmlGroups().getRun().getIncludes().isEmpty()
+                || !xmlTest.getXmlGroups().getRun().getExcludes().isEmpty())) {
+          xsb.push("run");
+
+          for (String includeGroupName : xmlTest.getXmlGroups().getRun().getIncludes()) {
             Properties includeProps = new Properties();
-            includeProps.setProperty("name", groupName);
+            includeProps.setProperty("name", includeGroupName);
 
             xsb.addEmptyElement("include", includeProps);
           }
 
-          xsb.pop("define");
-        }
-      }
+          for (String excludeGroupName : xmlTest.getXmlGroups().getRun().getExcludes()) {
+            Properties excludeProps = new Properties();
+            excludeProps.setProperty("name", excludeGroupName);
 
-      // run
-      if ((xmlTest.getXmlGroups() != null && xmlTest.getXmlGroups().getRun() != null)
-          && (!xmlTest.getXmlGroups().getRun().getIncludes().isEmpty()
-              || !xmlTest.getXmlGroups().getRun().getExcludes().isEmpty())) {
-        xsb.push("run");
-
-        for (String includeGroupName : xmlTest.getXmlGroups().getRun().getIncludes()) {
-          Properties includeProps = new Properties();
-          includeProps.setProperty("name", includeGroupName);
+            xsb.addEmptyElement("exclude", excludeProps);
+          }
 
-          xsb.addEmptyElement("include", includeProps);
+          xsb.pop("run");
         }
 
-        for (String excludeGroupName : xmlTest.getXmlGroups().getRun().getExcludes()) {
-          Properties excludeProps = new Properties();
-          excludeProps.setProperty("name", excludeGroupName);
+        // group dependencies
 
-          xsb.addEmptyElement("exclude", excludeProps);
+        if (xmlTest.getXmlDependencyGroups() != null
+            && !xmlTest.getXmlDependencyGroups().isEmpty()) {
+          xsb.push("dependencies");
+          for (Map.Entry<String, String> entry : xmlTest.getXmlDependencyGroups().entrySet()) {
+            xsb.addEmptyElement("group", "name", entry.getKey(), "depends-on", entry.getValue());
+          }
+          xsb.pop("dependencies");
         }
 
-        xsb.pop("run");
+        xsb.pop("groups");
       }
 
-      // group dependencies
+      if (null != xmlTest.getXmlPackages() && !xmlTest.getXmlPackages().isEmpty()) {
+        xsb.push("packages");
 
-      if (xmlTest.getXmlDependencyGroups() != null && !xmlTest.getXmlDependencyGroups().isEmpty()) {
-        xsb.push("dependencies");
-        for (Map.Entry<String, String> entry : xmlTest.getXmlDependencyGroups().entrySet()) {
-          xsb.addEmptyElement("group", "name", entry.getKey(), "depends-on", entry.getValue());
+        for (XmlPackage pack : xmlTest.getXmlPackages()) {
+          xsb.getStringBuffer().append(pack.toXml("      "));
         }
-        xsb.pop("dependencies");
-      }
-
-      xsb.pop("groups");
-    }
 
-    if (null != xmlTest.getXmlPackages() && !xmlTest.getXmlPackages().isEmpty()) {
-      xsb.push("packages");
-
-      for (XmlPackage pack : xmlTest.getXmlPackages()) {
-        xsb.getStringBuffer().append(pack.toXml("      "));
+        xsb.pop("packages");
       }
 
-      xsb.pop("packages");
-    }
-
-    // classes
-    if (null != xmlTest.getXmlClasses() && !xmlTest.getXmlClasses().isEmpty()) {
-      xsb.push("classes");
-      for (XmlClass cls : xmlTest.getXmlClasses()) {
-        xsb.getStringBuffer().append(cls.toXml(indent + "    "));
+      // classes
+      if (null != xmlTest.getXmlClasses() && !xmlTest.getXmlClasses().isEmpty()) {
+        xsb.push("classes");
+        for (XmlClass cls : xmlTest.getXmlClasses()) {
+          xsb.getStringBuffer().append(cls.toXml(indent + "    "));
+        }
+        xsb.pop("classes");
       }
-      xsb.pop("classes");
-    }
 
-    xsb.pop("test");
+      xsb.pop("test");
 
-    return xsb.toXML();
+      return xsb.toXML();
+    }
   }
 }
@@ -127,38 +127,39 @@ public class XmlClass implements Cloneable {
   }
 
   public String toXml(String indent) {
-    XMLStringBuffer xsb = new XMLStringBuffer(indent);
-    Properties prop = new Properties();
-    prop.setProperty("name", getName());
-
-    boolean hasMethods = !m_includedMethods.isEmpty() || !m_excludedMethods.isEmpty();
-    boolean hasParameters = !m_parameters.isEmpty();
-    if (hasParameters || hasMethods) {
-      xsb.push("class", prop);
-      XmlUtils.dumpParameters(xsb, m_parameters);
-
-      if (hasMethods) {
-        xsb.push("methods");
-
-        for (XmlInclude m : getIncludedMethods()) {
-          xsb.getStringBuffer().append(m.toXml(indent + "    "));
+    try (XMLStringBuffer xsb = new XMLStringBuffer(indent)) {
+      Properties prop = new Properties();
+      prop.setProperty("name", getName());
+
+      boolean hasMethods = !m_includedMethods.isEmpty() || !m_excludedMethods.isEmpty();
+      boolean hasParameters = !m_parameters.isEmpty();
+      if (hasParameters || hasMethods) {
+        xsb.push("class", prop);
+        XmlUtils.dumpParameters(xsb, m_parameters);
+
+        if (hasMethods) {
+          xsb.push("methods");
+
+          for (XmlInclude m : getIncludedMethods()) {
+            xsb.getStringBuffer().append(m.toXml(indent + "    "));
+          }
+
+          for (String m : getExcludedMethods()) {
+            Properties p = new Properties();
+            p.setProperty("name", m);
+            xsb.addEmptyElement("exclude", p);
+          }
+
+          xsb.pop("methods");
         }
 
-        for (String m : getExcludedMethods()) {
-          Properties p = new Properties();
-          p.setProperty("name", m);
-          xsb.addEmptyElement("exclude", p);
-        }
-
-        xsb.pop("methods");
+        xsb.pop("class");
+      } else {
+        xsb.addEmptyElement("class", prop);
       }
 
-      xsb.pop("class");
-    } else {
-      xsb.addEmptyElement("class", prop);
+      return xsb.toXML();
     }
-
-    return xsb.toXML();
   }
 
   public static String listToString(List<Integer> invocationNumbers) {
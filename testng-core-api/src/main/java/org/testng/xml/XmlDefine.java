@@ -19,19 +19,20 @@ public class XmlDefine {
   }
 
   public String toXml(String indent) {
-    XMLStringBuffer xsb = new XMLStringBuffer(indent);
-    boolean hasElements = hasElements(m_includes);
-    if (hasElements) {
-      xsb.push("define", "name", m_name);
-    }
-    for (String s : m_includes) {
-      xsb.addEmptyElement("include", "name", s);
-    }
-    if (hasElements) {
-      xsb.pop("define");
-    }
+    try (XMLStringBuffer xsb = new XMLStringBuffer(indent)) {
+      boolean hasElements = hasElements(m_includes);
+      if (hasElements) {
+        xsb.push("define", "name", m_name);
+      }
+      for (String s : m_includes) {
+        xsb.addEmptyElement("include", "name", s);
+      }
+      if (hasElements) {
+        xsb.pop("define");
+      }
 
-    return xsb.toXML();
+      return xsb.toXML();
+    }
   }
 
   private List<String> m_includes = Lists.newArrayList();
@@ -19,18 +19,19 @@ public class XmlDependencies {
   }
 
   public String toXml(String indent) {
-    XMLStringBuffer xsb = new XMLStringBuffer(indent);
-    boolean hasElements = hasElements(m_xmlDependencyGroups);
-    if (hasElements) {
-      xsb.push("dependencies");
+    try (XMLStringBuffer xsb = new XMLStringBuffer(indent)) {
+      boolean hasElements = hasElements(m_xmlDependencyGroups);
+      if (hasElements) {
+        xsb.push("dependencies");
+      }
+      for (Map.Entry<String, String> entry : m_xmlDependencyGroups.entrySet()) {
+        xsb.addEmptyElement("include", "name", entry.getKey(), "depends-on", entry.getValue());
+      }
+      if (hasElements) {
+        xsb.pop("dependencies");
+      }
+
+      return xsb.toXML();
     }
-    for (Map.Entry<String, String> entry : m_xmlDependencyGroups.entrySet()) {
-      xsb.addEmptyElement("include", "name", entry.getKey(), "depends-on", entry.getValue());
-    }
-    if (hasElements) {
-      xsb.pop("dependencies");
-    }
-
-    return xsb.toXML();
   }
 }
@@ -41,33 +41,34 @@ public class XmlGroups {
   }
 
   public String toXml(String indent) {
-    XMLStringBuffer xsb = new XMLStringBuffer(indent);
-    String indent2 = indent + "  ";
+    try (XMLStringBuffer xsb = new XMLStringBuffer(indent)) {
+      String indent2 = indent + "  ";
 
-    boolean hasGroups = hasElements(m_defines) || m_run != null || hasElements(m_dependencies);
+      boolean hasGroups = hasElements(m_defines) || m_run != null || hasElements(m_dependencies);
 
-    if (hasGroups) {
-      xsb.push("groups");
-    }
+      if (hasGroups) {
+        xsb.push("groups");
+      }
 
-    for (XmlDefine d : m_defines) {
-      xsb.getStringBuffer().append(d.toXml(indent2));
-    }
+      for (XmlDefine d : m_defines) {
+        xsb.getStringBuffer().append(d.toXml(indent2));
+      }
 
-    if (null != m_run) {
-      // XmlRun is optional and is not always available. So check if its available before running
-      // toXml()
-      xsb.getStringBuffer().append(m_run.toXml(indent2));
-    }
+      if (null != m_run) {
+        // XmlRun is optional and is not always available. So check if its available before running
+        // toXml()
+        xsb.getStringBuffer().append(m_run.toXml(indent2));
+      }
 
-    for (XmlDependencies d : m_dependencies) {
-      xsb.getStringBuffer().append(d.toXml(indent2));
-    }
+      for (XmlDependencies d : m_dependencies) {
+        xsb.getStringBuffer().append(d.toXml(indent2));
+      }
 
-    if (hasGroups) {
-      xsb.pop("groups");
-    }
+      if (hasGroups) {
+        xsb.pop("groups");
+      }
 
-    return xsb.toXML();
+      return xsb.toXML();
+    }
   }
 }
@@ -72,23 +72,24 @@ public class XmlInclude {
   }
 
   public String toXml(String indent) {
-    XMLStringBuffer xsb = new XMLStringBuffer(indent);
-    Properties p = new Properties();
-    p.setProperty("name", getName());
-    List<Integer> invocationNumbers = getInvocationNumbers();
-    if (invocationNumbers != null && !invocationNumbers.isEmpty()) {
-      p.setProperty("invocation-numbers", XmlClass.listToString(invocationNumbers));
+    try (XMLStringBuffer xsb = new XMLStringBuffer(indent)) {
+      Properties p = new Properties();
+      p.setProperty("name", getName());
+      List<Integer> invocationNumbers = getInvocationNumbers();
+      if (invocationNumbers != null && !invocationNumbers.isEmpty()) {
+        p.setProperty("invocation-numbers", XmlClass.listToString(invocationNumbers));
+      }
+
+      if (!m_parameters.isEmpty()) {
+        xsb.push("include", p);
+        XmlUtils.dumpParameters(xsb, m_parameters);
+        xsb.pop("include");
+      } else {
+        xsb.addEmptyElement("include", p);
+      }
+
+      return xsb.toXML();
     }
-
-    if (!m_parameters.isEmpty()) {
-      xsb.push("include", p);
-      XmlUtils.dumpParameters(xsb, m_parameters);
-      xsb.pop("include");
-    } else {
-      xsb.addEmptyElement("include", p);
-    }
-
-    return xsb.toXML();
   }
 
   @Override
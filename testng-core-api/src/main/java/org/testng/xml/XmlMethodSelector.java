@@ -49,30 +49,31 @@ public class XmlMethodSelector {
   }
 
   public String toXml(String indent) {
-    XMLStringBuffer xsb = new XMLStringBuffer(indent);
-
-    xsb.push("method-selector");
-
-    if (null != m_className) {
-      Properties clsProp = new Properties();
-      clsProp.setProperty("name", getClassName());
-      if (getPriority() != -1) {
-        clsProp.setProperty("priority", String.valueOf(getPriority()));
+    try (XMLStringBuffer xsb = new XMLStringBuffer(indent)) {
+      xsb.push("method-selector");
+
+      if (null != m_className) {
+        Properties clsProp = new Properties();
+        clsProp.setProperty("name", getClassName());
+        if (getPriority() != -1) {
+          clsProp.setProperty("priority", String.valueOf(getPriority()));
+        }
+        xsb.addEmptyElement("selector-class", clsProp);
+      } else if (getScript() != null && getScript().getLanguage() != null) {
+        Properties scriptProp = new Properties();
+        scriptProp.setProperty("language", getScript().getLanguage());
+        xsb.push("script", scriptProp);
+        xsb.addCDATA(getScript().getExpression());
+        xsb.pop("script");
+      } else {
+        throw new TestNGException(
+            "Invalid Method Selector:  found neither class name nor language");
       }
-      xsb.addEmptyElement("selector-class", clsProp);
-    } else if (getScript() != null && getScript().getLanguage() != null) {
-      Properties scriptProp = new Properties();
-      scriptProp.setProperty("language", getScript().getLanguage());
-      xsb.push("script", scriptProp);
-      xsb.addCDATA(getScript().getExpression());
-      xsb.pop("script");
-    } else {
-      throw new TestNGException("Invalid Method Selector:  found neither class name nor language");
-    }
 
-    xsb.pop("method-selector");
+      xsb.pop("method-selector");
 
-    return xsb.toXML();
+      return xsb.toXML();
+    }
   }
 
   @Override
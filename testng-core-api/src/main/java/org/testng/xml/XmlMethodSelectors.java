@@ -21,15 +21,16 @@ public class XmlMethodSelectors {
   }
 
   public String toXml(String indent) {
-    XMLStringBuffer xsb = new XMLStringBuffer(indent);
-    if (hasElements(m_methodSelectors)) {
-      xsb.push("method-selectors");
-      for (XmlMethodSelector selector : m_methodSelectors) {
-        xsb.getStringBuffer().append(selector.toXml(indent + "  "));
+    try (XMLStringBuffer xsb = new XMLStringBuffer(indent)) {
+      if (hasElements(m_methodSelectors)) {
+        xsb.push("method-selectors");
+        for (XmlMethodSelector selector : m_methodSelectors) {
+          xsb.getStringBuffer().append(selector.toXml(indent + "  "));
+        }
+
+        xsb.pop("method-selectors");
       }
-
-      xsb.pop("method-selectors");
+      return xsb.toXML();
     }
-    return xsb.toXML();
   }
 }
@@ -79,30 +79,31 @@ public class XmlPackage {
   }
 
   public String toXml(String indent) {
-    XMLStringBuffer xsb = new XMLStringBuffer(indent);
-    Properties p = new Properties();
-    p.setProperty("name", getName());
-
-    if (getInclude().isEmpty() && getExclude().isEmpty()) {
-      xsb.addEmptyElement("package", p);
-    } else {
-      xsb.push("package", p);
-
-      for (String m : getInclude()) {
-        Properties includeProp = new Properties();
-        includeProp.setProperty("name", m);
-        xsb.addEmptyElement("include", includeProp);
-      }
-      for (String m : getExclude()) {
-        Properties excludeProp = new Properties();
-        excludeProp.setProperty("name", m);
-        xsb.addEmptyElement("exclude", excludeProp);
+    try (XMLStringBuffer xsb = new XMLStringBuffer(indent)) {
+      Properties p = new Properties();
+      p.setProperty("name", getName());
+
+      if (getInclude().isEmpty() && getExclude().isEmpty()) {
+        xsb.addEmptyElement("package", p);
+      } else {
+        xsb.push("package", p);
+
+        for (String m : getInclude()) {
+          Properties includeProp = new Properties();
+          includeProp.setProperty("name", m);
+          xsb.addEmptyElement("include", includeProp);
+        }
+        for (String m : getExclude()) {
+          Properties excludeProp = new Properties();
+          excludeProp.setProperty("name", m);
+          xsb.addEmptyElement("exclude", excludeProp);
+        }
+
+        xsb.pop("package");
       }
 
-      xsb.pop("package");
+      return xsb.toXML();
     }
-
-    return xsb.toXML();
   }
 
   @Override
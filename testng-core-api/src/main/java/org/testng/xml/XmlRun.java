@@ -9,22 +9,23 @@ import org.testng.reporters.XMLStringBuffer;
 public class XmlRun {
 
   public String toXml(String indent) {
-    XMLStringBuffer xsb = new XMLStringBuffer(indent);
-    boolean hasElements = hasElements(m_excludes) || hasElements(m_includes);
-    if (hasElements) {
-      xsb.push("run");
+    try (XMLStringBuffer xsb = new XMLStringBuffer(indent)) {
+      boolean hasElements = hasElements(m_excludes) || hasElements(m_includes);
+      if (hasElements) {
+        xsb.push("run");
+      }
+      for (String s : m_includes) {
+        xsb.addEmptyElement("include", "name", s);
+      }
+      for (String s : m_excludes) {
+        xsb.addEmptyElement("exclude", "name", s);
+      }
+      if (hasElements) {
+        xsb.pop("run");
+      }
+
+      return xsb.toXML();
     }
-    for (String s : m_includes) {
-      xsb.addEmptyElement("include", "name", s);
-    }
-    for (String s : m_excludes) {
-      xsb.addEmptyElement("exclude", "name", s);
-    }
-    if (hasElements) {
-      xsb.pop("run");
-    }
-
-    return xsb.toXML();
   }
 
   private List<String> m_excludes = Lists.newArrayList();
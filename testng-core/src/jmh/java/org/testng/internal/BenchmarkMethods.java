@@ -0,0 +1,76 @@
+package org.testng.internal;
+
+import java.lang.reflect.Proxy;
+import org.testng.ITestNGMethod;
+
+/** Creates light weight {@link ITestNGMethod} instances that the benchmarks can work with. */
+final class BenchmarkMethods {
+
+  private BenchmarkMethods() {}
+
+  /**
+   * @param name - The name to be returned by {@link ITestNGMethod#getMethodName()}
+   * @return - An {@link ITestNGMethod} which only answers to its name, and that is equal only to
+   *     itself. Every other method returns the default value of its return type.
+   */
+  static ITestNGMethod newMethod(String name) {
+    return newMethod(name, 0);
+  }
+
+  /**
+   * @param name - The name to be returned by {@link ITestNGMethod#getMethodName()}
+   * @param priority - The priority to be returned by {@link ITestNGMethod#getPriority()}
+   * @return - An {@link ITestNGMethod} which only answers to its name and priority, and that is
+   *     equal only to itself. Every other method returns the default value of its return type.
+   */
+  static ITestNGMethod newMethod(String name, int priority) {
+    return (ITestNGMethod)
+        Proxy.newProxyInstance(
+            BenchmarkMethods.class.getClassLoader(),
+            new Class<?>[] {ITestNGMethod.class},
+            (proxy, method, args) -> {
+              switch (method.getName()) {
+                case "getMethodName":
+                case "getQualifiedName":
+                case "toString":
+                  return name;
+                case "getPriority":
+                  return priority;
+                case "equals":
+                  return proxy == args[0];
+                case "hashCode":
+                  return System.identityHashCode(proxy);
+                default:
+                  return defaultValue(method.getReturnType());
+              }
+            });
+  }
+
+  private static Object defaultValue(Class<?> type) {
+    if (!type.isPrimitive() || type == void.class) {
+      return null;
+    }
+    if (type == boolean.class) {
+      return false;
+    }
+    if (type == long.class) {
+      return 0L;
+    }
+    if (type == int.class) {
+      return 0;
+    }
+    if (type == double.class) {
+      return 0d;
+    }
+    if (type == float.class) {
+      return 0f;
+    }
+    if (type == char.class) {
+      return '\0';
+    }
+    if (type == short.class) {
+      return (short) 0;
+    }
+    return (byte) 0;
+  }
+}
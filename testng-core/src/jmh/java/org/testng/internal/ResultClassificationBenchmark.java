@@ -0,0 +1,94 @@
+package org.testng.internal;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testng.TestListenerAdapter;
+import org.testng.TestNG;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+/**
+ * Runs {@link #invocations} short invocations of data driven methods on {@link #threads} threads
+ * (via a parallel data provider), so that the classification of the outcome of every invocation
+ * (expected exceptions, success percentage) is done under contention. Half of the invocations
+ * throw an exception.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResultClassificationBenchmark {
+
+  @Param({"1", "8", "64"})
+  public int threads;
+
+  @Param({"5000"})
+  public int invocations;
+
+  private static volatile Object[][] rows;
+
+  @Setup
+  public void setup() {
+    rows = new Object[invocations][];
+    for (int i = 0; i < invocations; i++) {
+      rows[i] = new Object[] {i};
+    }
+  }
+
+  @Benchmark
+  public int runShortMethods() {
+    XmlSuite suite = new XmlSuite();
+    suite.setName("contention");
+    suite.setDataProviderThreadCount(threads);
+    XmlTest test = new XmlTest(suite);
+    test.setName("contention");
+    test.setXmlClasses(Collections.singletonList(new XmlClass(ShortMethods.class)));
+
+    TestListenerAdapter listener = new TestListenerAdapter();
+    TestNG testng = new TestNG();
+    testng.setVerbose(0);
+    testng.setUseDefaultListeners(false);
+    testng.setXmlSuites(Collections.singletonList(suite));
+    testng.addListener(listener);
+    testng.run();
+    return listener.getPassedTests().size() + listener.getFailedTests().size();
+  }
+
+  public static class ShortMethods {
+
+    @DataProvider(parallel = true)
+    public Object[][] rows() {
+      return rows;
+    }
+
+    @Test(dataProvider = "rows", expectedExceptions = IllegalStateException.class)
+    public void expectedException(int row) {
+      if (row % 2 == 0) {
+        throw new IllegalStateException();
+      }
+    }
+
+    @Test(dataProvider = "rows", successPercentage = 50)
+    public void withinSuccessPercentage(int row) {
+      if (row % 2 == 0) {
+        throw new IllegalStateException();
+      }
+    }
+  }
+}
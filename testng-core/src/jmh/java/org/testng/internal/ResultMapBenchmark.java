@@ -0,0 +1,89 @@
+package org.testng.internal;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testng.IResultMap;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.collections.Lists;
+
+/**
+ * Compares {@link ResultMap} with {@link IndexedResultMap} for suites where every test method is
+ * data driven and hence has {@link #invocationsPerMethod} results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResultMapBenchmark {
+
+  @Param({"flat", "indexed"})
+  public String implementation;
+
+  @Param({"1000", "150000"})
+  public int results;
+
+  @Param({"100"})
+  public int invocationsPerMethod;
+
+  private final List<ITestNGMethod> methods = Lists.newArrayList();
+  private IResultMap map;
+
+  @Setup
+  public void setup() {
+    map = "indexed".equals(implementation) ? new IndexedResultMap() : new ResultMap();
+    int methodCount = Math.max(1, results / invocationsPerMethod);
+    for (int i = 0; i < methodCount; i++) {
+      methods.add(BenchmarkMethods.newMethod("method" + i));
+    }
+    for (int i = 0; i < results; i++) {
+      map.addResult(newResult(methods.get(i % methodCount), i));
+    }
+  }
+
+  @Benchmark
+  public Set<ITestResult> getResults() {
+    return map.getResults(randomMethod());
+  }
+
+  @Benchmark
+  public Collection<ITestNGMethod> getAllMethods() {
+    return map.getAllMethods();
+  }
+
+  @Benchmark
+  public int removeAndAddResults() {
+    ITestNGMethod method = randomMethod();
+    Set<ITestResult> removed = map.getResults(method);
+    map.removeResult(method);
+    removed.forEach(map::addResult);
+    return removed.size();
+  }
+
+  private ITestNGMethod randomMethod() {
+    return methods.get(ThreadLocalRandom.current().nextInt(methods.size()));
+  }
+
+  private static ITestResult newResult(ITestNGMethod method, int index) {
+    TestResult result = TestResult.newTestResultFor(method);
+    result.setParameterIndex(index);
+    result.setStatus(index % 10 == 0 ? ITestResult.FAILURE : ITestResult.SUCCESS);
+    return result;
+  }
+}
@@ -0,0 +1,81 @@
+package org.testng.internal;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.testng.IDynamicGraph;
+import org.testng.ITestNGMethod;
+import org.testng.TestRunner;
+
+/**
+ * Compares the ways of running prioritized methods sequentially: sorting the free nodes of the
+ * graph after every method (which is quadratic in the number of methods) and handing them out via
+ * a {@link SequentialPriorityScheduler} (which scales linearly as long as few methods have
+ * dependents). One in every {@link #dependencyInterval} methods depends upon another method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SequentialSchedulerBenchmark {
+
+  @Param({"1000", "2000", "4000", "8000"})
+  public int methods;
+
+  @Param({"100"})
+  public int dependencyInterval;
+
+  private IDynamicGraph<ITestNGMethod> graph;
+
+  @Setup(Level.Invocation)
+  public void setup() {
+    Random random = new Random(methods);
+    ITestNGMethod[] nodes = new ITestNGMethod[methods];
+    graph = new DynamicGraph<>();
+    for (int i = 0; i < methods; i++) {
+      nodes[i] = BenchmarkMethods.newMethod("method" + i, random.nextInt(methods));
+      graph.addNode(nodes[i]);
+    }
+    for (int i = dependencyInterval; i < methods; i += dependencyInterval) {
+      graph.addEdge(TestRunner.PriorityWeight.dependsOnMethods.ordinal(), nodes[i], nodes[i - 1]);
+    }
+  }
+
+  @Benchmark
+  public void resortAfterEveryMethod(Blackhole bh) {
+    List<ITestNGMethod> freeNodes = graph.getFreeNodes();
+    while (!freeNodes.isEmpty()) {
+      freeNodes.sort(TestMethodComparator::compareStatic);
+      ITestNGMethod next = freeNodes.get(0);
+      bh.consume(next);
+      graph.setStatus(next, IDynamicGraph.Status.FINISHED);
+      freeNodes = graph.getFreeNodes();
+    }
+  }
+
+  @Benchmark
+  public void priorityQueue(Blackhole bh) {
+    SequentialPriorityScheduler<ITestNGMethod> scheduler =
+        new SequentialPriorityScheduler<>(
+            graph, TestMethodComparator::compareStatic, graph.getFreeNodes());
+    for (ITestNGMethod next = scheduler.next(); next != null; next = scheduler.next()) {
+      bh.consume(next);
+      scheduler.finished(next);
+    }
+  }
+}
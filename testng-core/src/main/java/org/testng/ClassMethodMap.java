@@ -1,11 +1,11 @@
 package org.testng;
 
-import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import org.testng.collections.Maps;
+import org.testng.internal.PendingMethods;
 import org.testng.internal.XmlMethodSelector;
 
 /**
@@ -13,10 +13,13 @@ import org.testng.internal.XmlMethodSelector;
  * determine if the method they just ran is the last of its class, in which case it's time to invoke
  * all the afterClass methods.
  *
+ * <p>The enabled methods that are yet to run are kept per instance and per test class, so that
+ * telling whether a method is the last of its class takes constant time.
+ *
  * @author <a href='mailto:the[dot]mindstorm[at]gmail[dot]com'>Alex Popescu</a>
  */
 public class ClassMethodMap {
-  private final Map<Object, Collection<ITestNGMethod>> classMap = Maps.newConcurrentMap();
+  private final Map<Object, Map<ITestClass, PendingMethods>> classMap = Maps.newConcurrentMap();
   // These two variables are used throughout the workers to keep track
   // of what beforeClass/afterClass methods have been invoked
   private final Map<ITestClass, Set<Object>> beforeClassMethods = Maps.newConcurrentMap();
@@ -32,12 +35,11 @@ public class ClassMethodMap {
       }
 
       Object instance = m.getInstance();
-      Collection<ITestNGMethod> l = classMap.get(instance);
-      if (l == null) {
-        l = new ConcurrentLinkedQueue<>();
-        classMap.put(instance, l);
+      // Only read once this constructor is done, hence no need for a concurrent map.
+      Map<ITestClass, PendingMethods> l = classMap.computeIfAbsent(instance, k -> new HashMap<>());
+      if (m.getEnabled()) {
+        l.computeIfAbsent(m.getTestClass(), k -> new PendingMethods()).add(m);
       }
-      l.add(m);
     }
   }
 
@@ -49,20 +51,19 @@ public class ClassMethodMap {
    * @return true if it is the last of its class
    */
   public boolean removeAndCheckIfLast(ITestNGMethod m, Object instance) {
-    Collection<ITestNGMethod> l = classMap.get(instance);
+    Map<ITestClass, PendingMethods> l = classMap.get(instance);
     if (l == null) {
       throw new IllegalStateException(
           "Could not find any methods associated with test class instance " + instance);
     }
-    l.remove(m);
-    // It's the last method of this class if all the methods remaining in the list belong to a
-    // different class
-    for (ITestNGMethod tm : l) {
-      if (tm.getEnabled() && tm.getTestClass().equals(m.getTestClass())) {
-        return false;
-      }
+    PendingMethods pending = l.get(m.getTestClass());
+    if (pending == null) {
+      // No enabled method of this class was ever associated with the instance
+      return true;
     }
-    return true;
+    pending.remove(m);
+    // It's the last method of this class if no enabled method of the class remains
+    return pending.isEmpty();
   }
 
   public Map<ITestClass, Set<Object>> getInvokedBeforeClassMethods() {
@@ -2,12 +2,11 @@ package org.testng;
 
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import org.testng.internal.IConfiguration;
 import org.testng.internal.RuntimeBehavior;
 import org.testng.internal.Utils;
-import org.testng.internal.thread.TestNGThreadFactory;
+import org.testng.internal.thread.ThreadUtil;
 import org.testng.internal.thread.graph.GraphOrchestrator;
 import org.testng.log4testng.Logger;
 import org.testng.thread.IExecutorFactory;
@@ -57,14 +56,7 @@ class SuiteTaskExecutor {
       executor.run();
       service = executor;
     } else {
-      service =
-          new ThreadPoolExecutor(
-              threadPoolSize,
-              threadPoolSize,
-              Integer.MAX_VALUE,
-              TimeUnit.MILLISECONDS,
-              queue,
-              new TestNGThreadFactory(name));
+      service = ThreadUtil.newExecutor(name, threadPoolSize, Integer.MAX_VALUE, queue);
       GraphOrchestrator<ISuite> executor = new GraphOrchestrator<>(service, factory, graph, null);
       executor.run();
     }
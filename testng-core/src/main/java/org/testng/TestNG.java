@@ -26,13 +26,15 @@ import org.testng.collections.Maps;
 import org.testng.collections.Sets;
 import org.testng.internal.ClassHelper;
 import org.testng.internal.Configuration;
-import org.testng.internal.DynamicGraph;
+import org.testng.internal.DynamicGraphHelper;
 import org.testng.internal.ExitCode;
 import org.testng.internal.IConfiguration;
 import org.testng.internal.ListenerOrderDeterminer;
 import org.testng.internal.ObjectBag;
 import org.testng.internal.OverrideProcessor;
 import org.testng.internal.ReporterConfig;
+import org.testng.internal.ReporterRunner;
+import org.testng.internal.RunScopedCache;
 import org.testng.internal.RuntimeBehavior;
 import org.testng.internal.Systematiser;
 import org.testng.internal.Utils;
@@ -47,6 +49,7 @@ import org.testng.internal.objects.Dispenser;
 import org.testng.internal.objects.IObjectDispenser;
 import org.testng.internal.objects.pojo.BasicAttributes;
 import org.testng.internal.objects.pojo.CreationAttributes;
+import org.testng.internal.protocols.ClasspathIndex;
 import org.testng.internal.thread.graph.SuiteWorkerFactory;
 import org.testng.log4testng.Logger;
 import org.testng.reporters.EmailableReporter2;
@@ -117,6 +120,9 @@ public class TestNG {
   private static final String DEFAULT_THREADPOOL_FACTORY =
       "org.testng.internal.thread.DefaultThreadPoolExecutorFactory";
 
+  private static final String VIRTUAL_THREADPOOL_FACTORY =
+      "org.testng.internal.thread.VirtualThreadExecutorFactory";
+
   /** The default name of the result's output directory (keep public, used by Eclipse). */
   public static final String DEFAULT_OUTPUTDIR = "test-output";
 
@@ -859,7 +865,11 @@ public class TestNG {
   @Deprecated
   public IExecutorFactory getExecutorFactory() {
     if (this.m_executorFactory == null) {
-      this.m_executorFactory = createExecutorFactoryInstanceUsing(DEFAULT_THREADPOOL_FACTORY);
+      String clazzName =
+          RuntimeBehavior.useVirtualThreads()
+              ? VIRTUAL_THREADPOOL_FACTORY
+              : DEFAULT_THREADPOOL_FACTORY;
+      this.m_executorFactory = createExecutorFactoryInstanceUsing(clazzName);
     }
     return this.m_executorFactory;
   }
@@ -1076,24 +1086,32 @@ public class TestNG {
 
   /** Run TestNG. */
   public void run() {
-    initializeEverything();
-    sanityCheck();
+    RunScopedCache.Run run = RunScopedCache.runStarted();
+    try {
+      initializeEverything();
+      sanityCheck();
 
-    runExecutionListeners(true /* start */);
+      runExecutionListeners(true /* start */);
 
-    runSuiteAlterationListeners();
+      runSuiteAlterationListeners();
 
-    m_start = System.currentTimeMillis();
-    List<ISuite> suiteRunners = runSuites();
+      m_start = System.currentTimeMillis();
+      List<ISuite> suiteRunners = runSuites();
 
-    m_end = System.currentTimeMillis();
+      m_end = System.currentTimeMillis();
 
-    if (null != suiteRunners) {
-      suiteRunners.forEach(ObjectBag::cleanup);
-      generateReports(suiteRunners);
-    }
+      if (null != suiteRunners) {
+        suiteRunners.forEach(ObjectBag::cleanup);
+        generateReports(suiteRunners);
+      }
 
-    runExecutionListeners(false /* finish */);
+      runExecutionListeners(false /* finish */);
+    } finally {
+      run.finished();
+      if (RuntimeBehavior.useClasspathIndex()) {
+        ClasspathIndex.release();
+      }
+    }
     exitCode = this.exitCodeListener.getStatus();
 
     if (exitCodeListener.noTestsFound()) {
@@ -1154,23 +1172,14 @@ public class TestNG {
   }
 
   private void generateReports(List<ISuite> suiteRunners) {
-    List<IReporter> reporters = new ArrayList<>(m_reporters.values());
-    // Add our Exit code listener as the last of the reporter so that we can still accommodate
+    int threadCount =
+        RuntimeBehavior.runReportersInParallel() ? RuntimeBehavior.getReporterThreadCount() : 1;
+    new ReporterRunner(threadCount)
+        .run(new ArrayList<>(m_reporters.values()), m_suites, suiteRunners, m_outputDir);
+    // Run our Exit code listener after all the other reporters so that we can still accommodate
     // whatever changes were done by a user's reporting listener
-    reporters.add(exitCodeListener);
-    for (IReporter reporter : reporters) {
-      try {
-        long start = System.currentTimeMillis();
-        reporter.generateReport(m_suites, suiteRunners, m_outputDir);
-        Utils.log(
-            "TestNG",
-            2,
-            "Time taken by " + reporter + ": " + (System.currentTimeMillis() - start) + " ms");
-      } catch (Exception ex) {
-        System.err.println("[TestNG] Reporter " + reporter + " failed");
-        ex.printStackTrace(System.err);
-      }
-    }
+    new ReporterRunner(1)
+        .run(Collections.singletonList(exitCodeListener), m_suites, suiteRunners, m_outputDir);
   }
 
   /**
@@ -1222,7 +1231,7 @@ public class TestNG {
     // Multithreaded: generate a dynamic graph that stores the suite hierarchy. This is then
     // used to run related suites in specific order. Parent suites are run only
     // once all the child suites have completed execution
-    IDynamicGraph<ISuite> suiteGraph = new DynamicGraph<>();
+    IDynamicGraph<ISuite> suiteGraph = DynamicGraphHelper.newDynamicGraph();
     for (XmlSuite xmlSuite : m_suites) {
       populateSuiteGraph(suiteGraph, suiteRunnerMap, xmlSuite);
     }
@@ -6,6 +6,7 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
@@ -27,6 +28,7 @@ import org.testng.internal.ClassBasedWrapper;
 import org.testng.internal.ClassInfoMap;
 import org.testng.internal.ConfigurationGroupMethods;
 import org.testng.internal.DefaultListenerFactory;
+import org.testng.internal.DependencyOutcomeIndex;
 import org.testng.internal.DynamicGraphHelper;
 import org.testng.internal.GroupsHelper;
 import org.testng.internal.IConfigEavesdropper;
@@ -34,12 +36,14 @@ import org.testng.internal.IConfiguration;
 import org.testng.internal.IContainer;
 import org.testng.internal.ITestClassConfigInfo;
 import org.testng.internal.ITestResultNotifier;
+import org.testng.internal.IndexedResultMap;
 import org.testng.internal.ListenerOrderDeterminer;
 import org.testng.internal.MethodGroupsHelper;
 import org.testng.internal.MethodHelper;
 import org.testng.internal.ResultMap;
 import org.testng.internal.RunInfo;
 import org.testng.internal.RuntimeBehavior;
+import org.testng.internal.SequentialPriorityScheduler;
 import org.testng.internal.Systematiser;
 import org.testng.internal.TestListenerHelper;
 import org.testng.internal.TestMethodComparator;
@@ -132,10 +136,14 @@ public class TestRunner
   private final Map<String, List<String>> m_metaGroups = Maps.newHashMap();
 
   // All the tests that were run along with their result
-  private final IResultMap m_passedTests = new ResultMap();
-  private final IResultMap m_failedTests = new ResultMap();
-  private final IResultMap m_failedButWithinSuccessPercentageTests = new ResultMap();
-  private final IResultMap m_skippedTests = new ResultMap();
+  private final IResultMap m_passedTests = newResultMap();
+  private final IResultMap m_failedTests = newResultMap();
+  private final IResultMap m_failedButWithinSuccessPercentageTests = newResultMap();
+  private final IResultMap m_skippedTests = newResultMap();
+  private final DependencyOutcomeIndex m_dependencyOutcomes =
+      RuntimeBehavior.indexDependencyOutcomes()
+          ? new DependencyOutcomeIndex(m_passedTests, m_failedTests, m_skippedTests)
+          : null;
 
   private final RunInfo m_runInfo = new RunInfo(this::getCurrentXmlTest);
 
@@ -715,15 +723,19 @@ public class TestRunner
       throw new TestNGException("No free nodes found in:" + graph);
     }
 
-    while (!freeNodes.isEmpty()) {
-      if (needPrioritySort) {
-        freeNodes.sort(methodComparator);
-        // Since this is sequential, let's run one at a time and fetch/sort freeNodes after each
-        // method.
-        // Future task: To optimize this, we can only update freeNodes after running a test that
-        // another test is dependent upon.
-        freeNodes = freeNodes.subList(0, 1);
+    if (needPrioritySort) {
+      // Since this is sequential, let's run one at a time. The free nodes are fetched again only
+      // after running a test that another test is dependent upon.
+      SequentialPriorityScheduler<ITestNGMethod> scheduler =
+          new SequentialPriorityScheduler<>(graph, methodComparator, freeNodes);
+      for (ITestNGMethod next = scheduler.next(); next != null; next = scheduler.next()) {
+        createWorkers(Collections.singletonList(next)).forEach(Runnable::run);
+        scheduler.finished(next);
       }
+      return;
+    }
+
+    while (!freeNodes.isEmpty()) {
       createWorkers(freeNodes).forEach(Runnable::run);
       graph.setStatus(freeNodes, IDynamicGraph.Status.FINISHED);
       freeNodes = graph.getFreeNodes();
@@ -984,6 +996,9 @@ public class TestRunner
   @Override
   public void addPassedTest(ITestNGMethod tm, ITestResult tr) {
     m_passedTests.addResult(tr);
+    if (m_dependencyOutcomes != null) {
+      m_dependencyOutcomes.addPassedTest(tr);
+    }
   }
 
   @Override
@@ -1004,6 +1019,9 @@ public class TestRunner
   @Override
   public void addSkippedTest(ITestNGMethod tm, ITestResult tr) {
     m_skippedTests.addResult(tr);
+    if (m_dependencyOutcomes != null) {
+      m_dependencyOutcomes.addSkippedTest(tr);
+    }
   }
 
   @Override
@@ -1041,6 +1059,9 @@ public class TestRunner
       m_failedButWithinSuccessPercentageTests.addResult(tr);
     } else {
       m_failedTests.addResult(tr);
+      if (m_dependencyOutcomes != null) {
+        m_dependencyOutcomes.addFailedTest(tr);
+      }
     }
   }
 
@@ -1128,14 +1149,26 @@ public class TestRunner
     return Objects.requireNonNull(exitCodeListener, "ExitCodeListener cannot be null.");
   }
 
+  @Override
+  public DependencyOutcomeIndex getDependencyOutcomeIndex() {
+    return m_dependencyOutcomes;
+  }
+
   private void dumpInvokedMethods() {
     MethodHelper.dumpInvokedMethodInfoToConsole(getAllTestMethods(), getVerbose());
   }
 
-  private final IResultMap m_passedConfigurations = new ResultMap();
-  private final IResultMap m_skippedConfigurations = new ResultMap();
-  private final IResultMap m_failedConfigurations = new ResultMap();
-  private final IResultMap m_configsToBeInvoked = new ResultMap();
+  private static IResultMap newResultMap() {
+    if (RuntimeBehavior.useIndexedResultMap()) {
+      return new IndexedResultMap();
+    }
+    return new ResultMap();
+  }
+
+  private final IResultMap m_passedConfigurations = newResultMap();
+  private final IResultMap m_skippedConfigurations = newResultMap();
+  private final IResultMap m_failedConfigurations = newResultMap();
+  private final IResultMap m_configsToBeInvoked = newResultMap();
 
   private class ConfigurationListener implements IConfigurationListener {
     @Override
@@ -1164,7 +1197,7 @@ public class TestRunner
     private void removeConfigurationResultAfterExecution(ITestResult itr) {
       // The remove method of ResultMap removes based on hashCode
       // So lets find the result based on the method and remove it off.
-      m_configsToBeInvoked.getAllResults().removeIf(tr -> tr.getMethod().equals(itr.getMethod()));
+      m_configsToBeInvoked.removeResult(itr.getMethod());
     }
   }
 
@@ -3,14 +3,13 @@ package org.testng;
 import java.util.Comparator;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import org.testng.internal.IConfiguration;
 import org.testng.internal.ObjectBag;
 import org.testng.internal.RuntimeBehavior;
 import org.testng.internal.Utils;
-import org.testng.internal.thread.TestNGThreadFactory;
+import org.testng.internal.thread.ThreadUtil;
 import org.testng.internal.thread.graph.GraphOrchestrator;
 import org.testng.log4testng.Logger;
 import org.testng.thread.IExecutorFactory;
@@ -67,15 +66,7 @@ class TestTaskExecutor {
       service = executor;
     } else {
       boolean reUse = xmlTest.getSuite().useGlobalThreadPool();
-      Supplier<Object> supplier =
-          () ->
-              new ThreadPoolExecutor(
-                  threadCount,
-                  threadCount,
-                  0,
-                  TimeUnit.MILLISECONDS,
-                  queue,
-                  new TestNGThreadFactory(name));
+      Supplier<Object> supplier = () -> ThreadUtil.newExecutor(name, threadCount, 0, queue);
       if (reUse) {
         ObjectBag bag = ObjectBag.getInstance(xmlTest.getSuite());
         service = (ExecutorService) bag.createIfRequired(ExecutorService.class, supplier);
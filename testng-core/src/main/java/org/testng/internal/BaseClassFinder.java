@@ -38,9 +38,19 @@ public abstract class BaseClassFinder implements ITestClassFinder {
 
     return m_classes.computeIfAbsent(
         cls,
-        key ->
-            new ClassImpl(
-                context, key, xmlClass, instance, m_classes, annotationFinder, objectFactory));
+        key -> createIClass(context, key, xmlClass, instance, annotationFinder, objectFactory));
+  }
+
+  /** @return - A new {@link IClass}, which is not registered (see {@link #putIClass}) yet. */
+  protected IClass createIClass(
+      ITestContext context,
+      Class<?> cls,
+      XmlClass xmlClass,
+      Object instance,
+      IAnnotationFinder annotationFinder,
+      ITestObjectFactory objectFactory) {
+    return new ClassImpl(
+        context, cls, xmlClass, instance, m_classes, annotationFinder, objectFactory);
   }
 
   protected boolean classExists(Class<?> cls) {
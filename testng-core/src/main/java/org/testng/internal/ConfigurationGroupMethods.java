@@ -12,9 +12,6 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.stream.Collectors;
 import org.testng.ITestNGMethod;
-import org.testng.collections.CollectionUtils;
-import org.testng.collections.Lists;
-import org.testng.collections.Maps;
 import org.testng.log4testng.Logger;
 
 /**
@@ -33,14 +30,21 @@ public class ConfigurationGroupMethods {
   private final Set<String> afterGroupsThatHaveAlreadyRun =
       Collections.newSetFromMap(new ConcurrentHashMap<>());
 
+  /**
+   * The afterGroups methods that were handed out to run. An afterGroups method of several groups is
+   * found by the last methods of each of them, which may complete their groups concurrently.
+   */
+  private final Set<ITestNGMethod> afterGroupMethodsThatHaveBeenClaimed =
+      ConcurrentHashMap.newKeySet();
+
   /** The list of afterGroups methods keyed by the name of the group */
   private final Map<String, List<ITestNGMethod>> m_afterGroupsMethods;
 
   /** The list of all test methods */
   private final ITestNGMethod[] m_allMethods;
 
-  /** A map that returns the last method belonging to the given group */
-  private volatile Map<String, List<ITestNGMethod>> m_afterGroupsMap = null;
+  /** Tells the last method belonging to the given group */
+  private volatile GroupCompletionTracker m_afterGroupsTracker = null;
 
   public ConfigurationGroupMethods(
       IContainer<ITestNGMethod> container,
@@ -60,7 +64,7 @@ public class ConfigurationGroupMethods {
   }
 
   public List<ITestNGMethod> getBeforeGroupMethodsForGroup(String[] groups) {
-    if (groups.length == 0) {
+    if (groups.length == 0 || haveAlreadyRun(groups)) {
       return Collections.emptyList();
     }
 
@@ -79,34 +83,59 @@ public class ConfigurationGroupMethods {
     }
 
     Set<String> methodGroups = new HashSet<>(Arrays.asList(testMethod.getGroups()));
+    GroupCompletionTracker tracker = afterGroupsTracker();
+
+    return methodGroups.stream()
+        .filter(t -> tracker.complete(t, testMethod))
+        .map(t -> retrieve(afterGroupsThatHaveAlreadyRun, m_afterGroupsMethods, t))
+        .filter(Objects::nonNull)
+        .flatMap(Collection::stream)
+        .filter(t -> isAfterGroupAllowedToRunAfterTestMethod(t, methodGroups, tracker))
+        .filter(afterGroupMethodsThatHaveBeenClaimed::add)
+        .collect(Collectors.toList());
+  }
 
-    synchronized (afterGroupsThatHaveAlreadyRun) {
-      if (m_afterGroupsMap == null) {
-        m_afterGroupsMap = initializeAfterGroupsMap();
+  /**
+   * @return - <code>true</code> if the beforeGroups methods of all the groups have already run, in
+   *     which case there is no need to wait for any of them.
+   */
+  private boolean haveAlreadyRun(String[] groups) {
+    for (String group : groups) {
+      CountDownLatch latch = beforeGroupsThatHaveAlreadyRun.get(group);
+      if (latch == null || latch.getCount() != 0) {
+        return false;
       }
+    }
+    return true;
+  }
 
-      return methodGroups.stream()
-          .filter(t -> isLastMethodForGroup(t, testMethod))
-          .map(t -> retrieve(afterGroupsThatHaveAlreadyRun, m_afterGroupsMethods, t))
-          .filter(Objects::nonNull)
-          .flatMap(Collection::stream)
-          .filter(t -> isAfterGroupAllowedToRunAfterTestMethod(t, methodGroups))
-          .collect(Collectors.toList());
+  private GroupCompletionTracker afterGroupsTracker() {
+    GroupCompletionTracker result = m_afterGroupsTracker;
+    if (result == null) {
+      synchronized (afterGroupsThatHaveAlreadyRun) {
+        result = m_afterGroupsTracker;
+        if (result == null) {
+          result = new GroupCompletionTracker(m_allMethods);
+          afterGroupsThatHaveAlreadyRun.clear();
+          afterGroupMethodsThatHaveBeenClaimed.clear();
+          m_afterGroupsTracker = result;
+        }
+      }
     }
+    return result;
   }
 
   private boolean isAfterGroupAllowedToRunAfterTestMethod(
-      ITestNGMethod afterGroupMethod, Set<String> testMethodGroups) {
+      ITestNGMethod afterGroupMethod,
+      Set<String> testMethodGroups,
+      GroupCompletionTracker tracker) {
     String[] afterGroupMethodGroups = afterGroupMethod.getAfterGroups();
     if (afterGroupMethodGroups.length == 1
         || testMethodGroups.containsAll(Arrays.asList(afterGroupMethodGroups))) {
       return true;
     }
     return Arrays.stream(afterGroupMethodGroups)
-        .allMatch(
-            t ->
-                testMethodGroups.contains(t)
-                    || !CollectionUtils.hasElements(m_afterGroupsMap.get(t)));
+        .allMatch(t -> testMethodGroups.contains(t) || tracker.isComplete(t));
   }
 
   public void removeBeforeGroups(String[] groups) {
@@ -122,42 +151,6 @@ public class ConfigurationGroupMethods {
     }
   }
 
-  /**
-   * @param group The group name
-   * @param method The test method
-   * @return true if the passed method is the last to run for the group. This method is used to
-   *     figure out when is the right time to invoke afterGroups methods.
-   */
-  private boolean isLastMethodForGroup(String group, ITestNGMethod method) {
-    List<ITestNGMethod> methodsInGroup = m_afterGroupsMap.get(group);
-
-    if (null == methodsInGroup || methodsInGroup.isEmpty()) {
-      return true;
-    }
-
-    methodsInGroup.remove(method);
-
-    // Note:  == is not good enough here as we may work with ITestNGMethod clones
-    return methodsInGroup.isEmpty();
-  }
-
-  private Map<String, List<ITestNGMethod>> initializeAfterGroupsMap() {
-    Map<String, List<ITestNGMethod>> result = Maps.newConcurrentMap();
-    for (ITestNGMethod m : m_allMethods) {
-      String[] groups = m.getGroups();
-      for (String g : groups) {
-        List<ITestNGMethod> methodsInGroup = result.computeIfAbsent(g, key -> Lists.newArrayList());
-        methodsInGroup.add(m);
-      }
-    }
-
-    synchronized (afterGroupsThatHaveAlreadyRun) {
-      afterGroupsThatHaveAlreadyRun.clear();
-    }
-
-    return result;
-  }
-
   private static List<ITestNGMethod> retrieve(
       Map<String, CountDownLatch> tracker, Map<String, List<ITestNGMethod>> map, String group) {
     if (tracker.containsKey(group)) {
@@ -175,10 +168,9 @@ public class ConfigurationGroupMethods {
 
   private static List<ITestNGMethod> retrieve(
       Set<String> tracker, Map<String, List<ITestNGMethod>> map, String group) {
-    if (tracker.contains(group)) {
+    if (!tracker.add(group)) {
       return Collections.emptyList();
     }
-    tracker.add(group);
     return map.get(group);
   }
 }
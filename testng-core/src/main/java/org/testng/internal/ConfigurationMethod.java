@@ -1,5 +1,6 @@
 package org.testng.internal;
 
+import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
 import java.util.Collections;
@@ -13,6 +14,7 @@ import org.testng.annotations.ITestAnnotation;
 import org.testng.collections.Lists;
 import org.testng.collections.Maps;
 import org.testng.internal.annotations.AnnotationHelper;
+import org.testng.internal.annotations.ClassMetadata;
 import org.testng.internal.annotations.ConfigurationAnnotation;
 import org.testng.internal.annotations.IAfterClass;
 import org.testng.internal.annotations.IAfterGroups;
@@ -525,8 +527,7 @@ public class ConfigurationMethod extends BaseTestMethod {
 
   public boolean isFirstTimeOnly() {
     boolean result = false;
-    IAnnotation before =
-        m_annotationFinder.findAnnotation(getConstructorOrMethod(), IBeforeMethod.class);
+    IAnnotation before = findMethodAnnotation(IBeforeMethod.class);
     if (before != null) {
       result = ((ConfigurationAnnotation) before).isFirstTimeOnly();
     }
@@ -535,8 +536,7 @@ public class ConfigurationMethod extends BaseTestMethod {
 
   public boolean isLastTimeOnly() {
     boolean result = false;
-    IAnnotation before =
-        m_annotationFinder.findAnnotation(getConstructorOrMethod(), IAfterMethod.class);
+    IAnnotation before = findMethodAnnotation(IAfterMethod.class);
     if (before != null) {
       result = ((ConfigurationAnnotation) before).isLastTimeOnly();
     }
@@ -545,13 +545,21 @@ public class ConfigurationMethod extends BaseTestMethod {
 
   public String[] getGroupFilters() {
     IBaseBeforeAfterMethod beforeAfter;
-    beforeAfter = m_annotationFinder.findAnnotation(getConstructorOrMethod(), IBeforeMethod.class);
+    beforeAfter = findMethodAnnotation(IBeforeMethod.class);
     if (beforeAfter == null) {
-      beforeAfter = m_annotationFinder.findAnnotation(getConstructorOrMethod(), IAfterMethod.class);
+      beforeAfter = findMethodAnnotation(IAfterMethod.class);
     }
     if (beforeAfter == null) {
       return new String[0];
     }
     return beforeAfter.getGroupFilters();
   }
+
+  private <A extends IAnnotation> A findMethodAnnotation(Class<A> annotationClass) {
+    Method m = getConstructorOrMethod().getMethod();
+    if (m != null && !ClassMetadata.isPresent(m, annotationClass)) {
+      return null;
+    }
+    return m_annotationFinder.findAnnotation(getConstructorOrMethod(), annotationClass);
+  }
 }
@@ -82,6 +82,11 @@ public class DynamicGraph<T> implements IDynamicGraph<T> {
     return dependencies(m_edges.from(node));
   }
 
+  /** @return - <code>true</code> if the node depends upon at least one other node. */
+  protected boolean hasUpstreamDependencies(T node) {
+    return m_edges.from(node) != null;
+  }
+
   public List<T> getDependenciesFor(T node) {
     return dependencies(m_edges.to(node));
   }
@@ -24,9 +24,20 @@ public final class DynamicGraphHelper {
     // Utility class. Defeat instantiation.
   }
 
+  /**
+   * @return - A {@link IncrementalDynamicGraph} when running with <code>
+   *     -Dtestng.graph.incremental=true</code> and a {@link DynamicGraph} otherwise.
+   */
+  public static <T> DynamicGraph<T> newDynamicGraph() {
+    if (RuntimeBehavior.useIncrementalGraph()) {
+      return new IncrementalDynamicGraph<>();
+    }
+    return new DynamicGraph<>();
+  }
+
   public static DynamicGraph<ITestNGMethod> createDynamicGraph(
       ITestNGMethod[] methods, XmlTest xmlTest) {
-    DynamicGraph<ITestNGMethod> result = new DynamicGraph<>();
+    DynamicGraph<ITestNGMethod> result = newDynamicGraph();
 
     DependencyMap dependencyMap = new DependencyMap(methods);
 
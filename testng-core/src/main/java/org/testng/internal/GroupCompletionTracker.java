@@ -0,0 +1,52 @@
+package org.testng.internal;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.testng.ITestNGMethod;
+
+/**
+ * Keeps track of the test methods of every group that are yet to complete, so that finding out
+ * whether a method is the last one of its groups (and hence when the <code>@AfterGroups</code>
+ * methods are due) takes constant time and no lock.
+ *
+ * <p>The methods are matched as {@link PendingMethods} does it, so that clones and wrappers of a
+ * method complete it just as the method itself does.
+ */
+final class GroupCompletionTracker {
+
+  private final Map<String, PendingMethods> groups = new ConcurrentHashMap<>();
+
+  GroupCompletionTracker(ITestNGMethod[] methods) {
+    for (ITestNGMethod method : methods) {
+      for (String group : method.getGroups()) {
+        groups.computeIfAbsent(group, k -> new PendingMethods()).add(method);
+      }
+    }
+  }
+
+  /**
+   * @param group - The name of the group
+   * @return - <code>true</code> if none of the methods of the group is pending, which includes the
+   *     groups that have no method at all.
+   */
+  boolean isComplete(String group) {
+    PendingMethods pending = groups.get(group);
+    return pending == null || pending.isEmpty();
+  }
+
+  /**
+   * Records that the method completed the group.
+   *
+   * @param group - The name of the group
+   * @param method - The method that completed
+   * @return - <code>true</code> if no method of the group is pending anymore.
+   */
+  boolean complete(String group, ITestNGMethod method) {
+    PendingMethods pending = groups.get(group);
+    if (pending == null) {
+      return true;
+    }
+    pending.remove(method);
+    return pending.isEmpty();
+  }
+}
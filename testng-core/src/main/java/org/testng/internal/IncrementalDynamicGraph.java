@@ -0,0 +1,98 @@
+package org.testng.internal;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import org.testng.collections.Lists;
+import org.testng.collections.Maps;
+
+/**
+ * A {@link DynamicGraph} that keeps track of the nodes which are ready and have no upstream
+ * dependencies as the graph changes, instead of computing them from scratch every time {@link
+ * #getFreeNodes()} is called. When a node finishes, only the nodes that depended upon it are
+ * looked at.
+ *
+ * <p>The free nodes are handed out in the same order as {@link DynamicGraph} would (i.e., the order
+ * in which they were added to the graph or were last marked as {@link Status#READY}). When every
+ * ready node has a dependency and nothing is running, this graph falls back to the behavior of
+ * {@link DynamicGraph} so that the lowest weighted edges can be ignored.
+ */
+public class IncrementalDynamicGraph<T> extends DynamicGraph<T> {
+
+  /** The ready nodes that have no upstream dependencies, keyed by the order they became ready. */
+  private final NavigableMap<Long, T> m_freeNodes = new TreeMap<>();
+
+  private final Map<T, Long> m_readyOrder = Maps.newHashMap();
+  private long m_counter = 0;
+
+  @Override
+  public synchronized boolean addNode(T node) {
+    boolean added = super.addNode(node);
+    if (added) {
+      markReady(node);
+    }
+    return added;
+  }
+
+  @Override
+  public synchronized void addEdge(int weight, T from, T to) {
+    super.addEdge(weight, from, to);
+    if (hasUpstreamDependencies(from)) {
+      unmarkFree(from);
+    }
+  }
+
+  @Override
+  public synchronized List<T> getFreeNodes() {
+    if (m_freeNodes.isEmpty() && getNodeCountWithStatus(Status.RUNNING) == 0) {
+      // Every ready node has a dependency. Let the lowest weighted edges be ignored.
+      return super.getFreeNodes();
+    }
+    return Lists.newArrayList(m_freeNodes.values());
+  }
+
+  @Override
+  public synchronized void setStatus(T node, Status status) {
+    switch (status) {
+      case RUNNING:
+        unmarkFree(node);
+        super.setStatus(node, status);
+        break;
+      case FINISHED:
+        unmarkFree(node);
+        m_readyOrder.remove(node);
+        List<T> dependents = getDependenciesFor(node);
+        super.setStatus(node, status);
+        for (T dependent : dependents) {
+          if (getNodesWithStatus(Status.READY).contains(dependent)
+              && !hasUpstreamDependencies(dependent)) {
+            m_freeNodes.put(m_readyOrder.get(dependent), dependent);
+          }
+        }
+        break;
+      case READY:
+        super.setStatus(node, status);
+        markReady(node);
+        break;
+      default:
+        super.setStatus(node, status);
+    }
+  }
+
+  private void markReady(T node) {
+    unmarkFree(node);
+    long order = m_counter++;
+    m_readyOrder.put(node, order);
+    if (!hasUpstreamDependencies(node)) {
+      m_freeNodes.put(order, node);
+    }
+  }
+
+  private void unmarkFree(T node) {
+    Long order = m_readyOrder.get(node);
+    if (order != null) {
+      m_freeNodes.remove(order);
+    }
+  }
+}
@@ -0,0 +1,178 @@
+package org.testng.internal;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.IResultMap;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.collections.Objects;
+import org.testng.collections.Sets;
+
+/**
+ * An {@link IResultMap} that keeps its results bucketed by {@link ITestNGMethod} so that {@link
+ * #getResults(ITestNGMethod)}, {@link #removeResult(ITestNGMethod)} and {@link #getAllMethods()}
+ * do not have to scan every result that was ever added. The number of results per status is
+ * tracked as results are added and removed.
+ *
+ * <p>The status that is counted is the one the result had when it was added to this map.
+ */
+public class IndexedResultMap implements IResultMap {
+
+  /** Every result held by this map, along with the status it had when it was added. */
+  private final Map<ITestResult, Integer> results = new ConcurrentHashMap<>();
+
+  private final Map<ITestNGMethod, Set<ITestResult>> resultsByMethod = new ConcurrentHashMap<>();
+  private final Map<Integer, AtomicInteger> countsByStatus = new ConcurrentHashMap<>();
+  private final Set<ITestResult> view = new ResultsView();
+
+  @Override
+  public void addResult(ITestResult result) {
+    int status = result.getStatus();
+    if (results.putIfAbsent(result, status) != null) {
+      return;
+    }
+    resultsByMethod.compute(
+        result.getMethod(),
+        (method, bucket) -> {
+          Set<ITestResult> answer = bucket == null ? ConcurrentHashMap.newKeySet() : bucket;
+          answer.add(result);
+          return answer;
+        });
+    countsByStatus.computeIfAbsent(status, k -> new AtomicInteger()).incrementAndGet();
+  }
+
+  @Override
+  public Set<ITestResult> getResults(ITestNGMethod method) {
+    Set<ITestResult> bucket = resultsByMethod.get(method);
+    if (bucket == null) {
+      return Sets.newHashSet();
+    }
+    return Sets.newHashSet(bucket);
+  }
+
+  @Override
+  public void removeResult(ITestNGMethod m) {
+    Set<ITestResult> bucket = resultsByMethod.remove(m);
+    if (bucket == null) {
+      return;
+    }
+    bucket.forEach(this::forget);
+  }
+
+  @Override
+  public void removeResult(ITestResult r) {
+    if (!forget(r)) {
+      return;
+    }
+    resultsByMethod.computeIfPresent(
+        r.getMethod(),
+        (method, bucket) -> {
+          bucket.remove(r);
+          return bucket.isEmpty() ? null : bucket;
+        });
+  }
+
+  /**
+   * The returned set is a live view of this map. Removing from it (directly, through its iterator
+   * or via {@link Set#removeIf(java.util.function.Predicate)}) keeps the per method index in sync.
+   */
+  @Override
+  public Set<ITestResult> getAllResults() {
+    return view;
+  }
+
+  @Override
+  public int size() {
+    return results.size();
+  }
+
+  @Override
+  public Collection<ITestNGMethod> getAllMethods() {
+    return Sets.newHashSet(resultsByMethod.keySet());
+  }
+
+  /**
+   * @param status - One of the status constants defined in {@link ITestResult}
+   * @return - The number of results in this map that had the given status when they were added.
+   */
+  public int getResultCount(int status) {
+    AtomicInteger count = countsByStatus.get(status);
+    return count == null ? 0 : count.get();
+  }
+
+  private boolean forget(ITestResult r) {
+    Integer status = results.remove(r);
+    if (status == null) {
+      return false;
+    }
+    countsByStatus.computeIfAbsent(status, k -> new AtomicInteger()).decrementAndGet();
+    return true;
+  }
+
+  @Override
+  public String toString() {
+    return Objects.toStringHelper(getClass()).add("map", results.keySet()).toString();
+  }
+
+  private class ResultsView extends AbstractSet<ITestResult> {
+
+    @Override
+    public Iterator<ITestResult> iterator() {
+      Iterator<ITestResult> iterator = results.keySet().iterator();
+      return new Iterator<ITestResult>() {
+        private ITestResult current;
+
+        @Override
+        public boolean hasNext() {
+          return iterator.hasNext();
+        }
+
+        @Override
+        public ITestResult next() {
+          current = iterator.next();
+          return current;
+        }
+
+        @Override
+        public void remove() {
+          if (current == null) {
+            throw new IllegalStateException();
+          }
+          removeResult(current);
+          current = null;
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return results.size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return results.containsKey(o);
+    }
+
+    @Override
+    public boolean add(ITestResult result) {
+      boolean absent = !results.containsKey(result);
+      addResult(result);
+      return absent;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+      if (!(o instanceof ITestResult) || !results.containsKey(o)) {
+        return false;
+      }
+      removeResult((ITestResult) o);
+      return true;
+    }
+  }
+}
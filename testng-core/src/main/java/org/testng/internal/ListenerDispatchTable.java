@@ -0,0 +1,93 @@
+package org.testng.internal;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Holds the listeners of one type in the order in which they are to be notified, as determined by
+ * {@link ListenerOrderDeterminer}: the forward order (for the "before" and "start" events) and the
+ * reverse order (for the "after" and "finish" events).
+ *
+ * <p>Both orders are computed once and are re-computed only when the listeners change. Finding out
+ * whether they changed consists of comparing the listeners (by identity) to the ones that the
+ * orders were computed for, which does not allocate anything.
+ */
+public final class ListenerDispatchTable<T> {
+
+  private volatile Table<T> table = new Table<>(new Object[0]);
+
+  /**
+   * @param listeners - The listeners that are currently registered
+   * @return - An immutable list of the listeners, as ordered by {@link
+   *     ListenerOrderDeterminer#order(Collection)}.
+   */
+  public List<T> inOrder(Collection<T> listeners) {
+    return tableFor(listeners).inOrder;
+  }
+
+  /**
+   * @param listeners - The listeners that are currently registered
+   * @return - An immutable list of the listeners, as ordered by {@link
+   *     ListenerOrderDeterminer#reversedOrder(Collection)}.
+   */
+  public List<T> inReverseOrder(Collection<T> listeners) {
+    return tableFor(listeners).inReverseOrder;
+  }
+
+  /**
+   * @param snapshot - The elements of a collection at some point in time
+   * @param current - The collection as it is now
+   * @return - <code>true</code> if the collection holds the very same elements (in the same order)
+   *     as it did when the snapshot was taken.
+   */
+  public static boolean isSnapshotOf(Object[] snapshot, Collection<?> current) {
+    if (current.size() != snapshot.length) {
+      return false;
+    }
+    if (current instanceof List && current instanceof RandomAccess) {
+      List<?> list = (List<?>) current;
+      for (int i = 0; i < snapshot.length; i++) {
+        if (list.get(i) != snapshot[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+    Iterator<?> iterator = current.iterator();
+    for (Object each : snapshot) {
+      if (!iterator.hasNext() || iterator.next() != each) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private Table<T> tableFor(Collection<T> listeners) {
+    Table<T> current = table;
+    if (isSnapshotOf(current.listeners, listeners)) {
+      return current;
+    }
+    current = new Table<>(listeners.toArray());
+    table = current;
+    return current;
+  }
+
+  private static final class Table<T> {
+    private final Object[] listeners;
+    private final List<T> inOrder;
+    private final List<T> inReverseOrder;
+
+    @SuppressWarnings("unchecked")
+    Table(Object[] listeners) {
+      this.listeners = listeners;
+      List<T> source = (List<T>) Arrays.asList(listeners);
+      this.inOrder = Collections.unmodifiableList(ListenerOrderDeterminer.order(source));
+      this.inReverseOrder =
+          Collections.unmodifiableList(ListenerOrderDeterminer.reversedOrder(source));
+    }
+  }
+}
@@ -6,7 +6,6 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -24,8 +23,10 @@ import org.testng.internal.collections.Pair;
 /** Collections of helper methods to help deal with test methods */
 public class MethodGroupsHelper {
 
-  private static final Map<String, Pattern> PATTERN_CACHE = new ConcurrentHashMap<>();
-  private static final Map<Pair<String, String>, Boolean> MATCH_CACHE = new ConcurrentHashMap<>();
+  private static final RunScopedCache<String, Pattern> PATTERN_CACHE =
+      RunScopedCache.newCache("MethodGroupsHelper.patterns");
+  private static final RunScopedCache<Pair<String, String>, Boolean> MATCH_CACHE =
+      RunScopedCache.newCache("MethodGroupsHelper.matches");
 
   /**
    * Collect all the methods that belong to the included groups and exclude all the methods that
@@ -8,7 +8,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
@@ -32,10 +31,12 @@ import org.testng.xml.XmlTest;
 
 /** Collection of helper methods to help sort and arrange methods. */
 public class MethodHelper {
-  private static final Map<ITestNGMethod[], Graph<ITestNGMethod>> GRAPH_CACHE =
-      new ConcurrentHashMap<>();
-  private static final Map<Method, String> CANONICAL_NAME_CACHE = new ConcurrentHashMap<>();
-  private static final Map<Pair<String, String>, Boolean> MATCH_CACHE = new ConcurrentHashMap<>();
+  private static final RunScopedCache<ITestNGMethod[], Graph<ITestNGMethod>> GRAPH_CACHE =
+      RunScopedCache.newCache("MethodHelper.graphs");
+  private static final RunScopedCache<Method, String> CANONICAL_NAME_CACHE =
+      RunScopedCache.newCache("MethodHelper.canonicalNames");
+  private static final RunScopedCache<Pair<String, String>, Boolean> MATCH_CACHE =
+      RunScopedCache.newCache("MethodHelper.matches");
 
   /**
    * Collects and orders test or configuration methods
@@ -0,0 +1,95 @@
+package org.testng.internal;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.ITestNGMethod;
+
+/**
+ * The test methods that are yet to run, as a multi-set that methods can be removed from (and that
+ * can be told to be empty) in constant time, without any lock.
+ *
+ * <p>The methods are matched the way {@link BaseTestMethod#equals(Object)} does it (i.e., by their
+ * class, their instance and their Java method), so that clones and wrappers of a method remove it
+ * just as the method itself does. A method that was added more than once has to be removed as
+ * many times.
+ */
+public final class PendingMethods {
+
+  private final Map<Object, AtomicInteger> counts = new ConcurrentHashMap<>();
+  private final AtomicInteger remaining = new AtomicInteger();
+
+  public void add(ITestNGMethod method) {
+    counts.computeIfAbsent(keyOf(method), k -> new AtomicInteger()).incrementAndGet();
+    remaining.incrementAndGet();
+  }
+
+  /**
+   * @param method - The method that ran
+   * @return - <code>true</code> if the method was pending (and is not anymore).
+   */
+  public boolean remove(ITestNGMethod method) {
+    AtomicInteger count = counts.get(keyOf(method));
+    if (count == null || !decrementIfPositive(count)) {
+      return false;
+    }
+    remaining.decrementAndGet();
+    return true;
+  }
+
+  public boolean isEmpty() {
+    return remaining.get() == 0;
+  }
+
+  private static boolean decrementIfPositive(AtomicInteger count) {
+    int current;
+    do {
+      current = count.get();
+      if (current == 0) {
+        return false;
+      }
+    } while (!count.compareAndSet(current, current - 1));
+    return true;
+  }
+
+  private static Object keyOf(ITestNGMethod method) {
+    ConstructorOrMethod consMethod = method.getConstructorOrMethod();
+    if (consMethod == null || method.getRealClass() == null) {
+      // Not backed by a Java method: only the method itself is a match.
+      return method;
+    }
+    return new MethodKey(method.getRealClass(), method.getInstance(), consMethod);
+  }
+
+  private static final class MethodKey {
+    private final Class<?> realClass;
+    private final Object instance;
+    private final ConstructorOrMethod consMethod;
+
+    MethodKey(Class<?> realClass, Object instance, ConstructorOrMethod consMethod) {
+      this.realClass = realClass;
+      this.instance = instance;
+      this.consMethod = consMethod;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof MethodKey)) {
+        return false;
+      }
+      MethodKey that = (MethodKey) o;
+      return realClass.equals(that.realClass)
+          && instance == that.instance
+          && consMethod.equals(that.consMethod);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(realClass, System.identityHashCode(instance), consMethod);
+    }
+  }
+}
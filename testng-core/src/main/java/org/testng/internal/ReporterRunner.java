@@ -0,0 +1,112 @@
+package org.testng.internal;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.testng.IReporter;
+import org.testng.ISuite;
+import org.testng.collections.Lists;
+import org.testng.internal.thread.TestNGThreadFactory;
+import org.testng.xml.XmlSuite;
+
+/**
+ * Runs the reporters once all the suites are done, either one after the other or (when there are
+ * more than one thread to run them) concurrently on a bounded pool of threads.
+ *
+ * <p>Every reporter is timed, and a reporter that fails does not prevent the others from generating
+ * their reports. When the reporters run one after the other, each outcome is logged as soon as the
+ * reporter is done. When they run concurrently, the outcomes are logged in the order of the
+ * reporters once all of them are done.
+ */
+public final class ReporterRunner {
+
+  private final int threadCount;
+
+  /** @param threadCount - The maximum number of reporters that run at the same time */
+  public ReporterRunner(int threadCount) {
+    this.threadCount = threadCount;
+  }
+
+  /**
+   * @param reporters - The reporters to run
+   * @param xmlSuites - The suites, as they were defined
+   * @param suites - The suites, as they ran
+   * @param outputDirectory - The directory that the reports are to be written to
+   */
+  public void run(
+      List<IReporter> reporters,
+      List<XmlSuite> xmlSuites,
+      List<ISuite> suites,
+      String outputDirectory) {
+    if (threadCount <= 1 || reporters.size() <= 1) {
+      for (IReporter reporter : reporters) {
+        log(reporter, generate(reporter, xmlSuites, suites, outputDirectory));
+      }
+      return;
+    }
+    List<Callable<Outcome>> tasks = Lists.newArrayList(reporters.size());
+    for (IReporter reporter : reporters) {
+      tasks.add(() -> generate(reporter, xmlSuites, suites, outputDirectory));
+    }
+    List<Outcome> outcomes = invokeAll(tasks);
+    for (int i = 0; i < reporters.size(); i++) {
+      log(reporters.get(i), outcomes.get(i));
+    }
+  }
+
+  private static void log(IReporter reporter, Outcome outcome) {
+    if (outcome.failure != null) {
+      System.err.println("[TestNG] Reporter " + reporter + " failed");
+      outcome.failure.printStackTrace(System.err);
+    } else {
+      Utils.log("TestNG", 2, "Time taken by " + reporter + ": " + outcome.duration + " ms");
+    }
+  }
+
+  private List<Outcome> invokeAll(List<Callable<Outcome>> tasks) {
+    int threads = Math.min(threadCount, tasks.size());
+    ExecutorService service =
+        Executors.newFixedThreadPool(threads, new TestNGThreadFactory("reporter"));
+    try {
+      List<Outcome> result = Lists.newArrayList(tasks.size());
+      for (Future<Outcome> future : service.invokeAll(tasks)) {
+        try {
+          result.add(future.get());
+        } catch (ExecutionException e) {
+          // Only errors make it this far, since generate() catches the exceptions.
+          throw (Error) e.getCause();
+        }
+      }
+      return result;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while the reporters were running", e);
+    } finally {
+      service.shutdownNow();
+    }
+  }
+
+  private static Outcome generate(
+      IReporter reporter, List<XmlSuite> xmlSuites, List<ISuite> suites, String outputDirectory) {
+    long start = System.currentTimeMillis();
+    try {
+      reporter.generateReport(xmlSuites, suites, outputDirectory);
+      return new Outcome(System.currentTimeMillis() - start, null);
+    } catch (Exception e) {
+      return new Outcome(System.currentTimeMillis() - start, e);
+    }
+  }
+
+  private static final class Outcome {
+    private final long duration;
+    private final Throwable failure;
+
+    Outcome(long duration, Throwable failure) {
+      this.duration = duration;
+      this.failure = failure;
+    }
+  }
+}
@@ -0,0 +1,278 @@
+package org.testng.internal;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import org.testng.collections.Objects;
+import org.testng.collections.Sets;
+
+/**
+ * A cache whose entries live no longer than the {@link org.testng.TestNG#run()} invocation that
+ * cached them. It holds at most a fixed number of entries (the entries that were cached first are
+ * evicted first) and keeps count of its hits, misses and evictions. Lookups do not lock: the
+ * entries are held in a {@link ConcurrentHashMap}.
+ *
+ * <p>The cache itself holds no entry. Every run gets entries of its own (see {@link
+ * #runStarted()}), which the threads of the run reach since they inherit the run from the thread
+ * that started it. The entries are dropped when the run ends, whatever other runs are in progress
+ * within the JVM, so that a JVM which launches TestNG over and over again does not hold on to the
+ * methods and graphs of runs that are long over. Outside of a run, nothing is cached.
+ */
+public final class RunScopedCache<K, V> {
+
+  private static final ThreadLocal<Run> CURRENT = new InheritableThreadLocal<>();
+
+  private final String name;
+  private final int maxSize;
+
+  private RunScopedCache(String name, int maxSize) {
+    this.name = name;
+    this.maxSize = Math.max(1, maxSize);
+  }
+
+  /**
+   * @param name - The name of the cache (used when reporting its statistics)
+   * @return - A new cache that holds at most {@link RuntimeBehavior#getRunCacheSize()} entries.
+   */
+  public static <K, V> RunScopedCache<K, V> newCache(String name) {
+    return newCache(name, RuntimeBehavior.getRunCacheSize());
+  }
+
+  /**
+   * @param name - The name of the cache (used when reporting its statistics)
+   * @param maxSize - The maximum number of entries the cache can hold
+   * @return - A new cache that holds at most <code>maxSize</code> entries.
+   */
+  public static <K, V> RunScopedCache<K, V> newCache(String name, int maxSize) {
+    return new RunScopedCache<>(name, maxSize);
+  }
+
+  /**
+   * Marks the beginning of a run on the current thread, and of the threads it starts from now on.
+   *
+   * @return - The run, which is to be {@link Run#finished() finished} by the same thread.
+   */
+  public static Run runStarted() {
+    Run run = new Run(CURRENT.get());
+    CURRENT.set(run);
+    return run;
+  }
+
+  /**
+   * @param key - The key whose value is to be returned
+   * @return - The cached value or <code>null</code> if the key is not cached.
+   */
+  public V get(K key) {
+    Entries<K, V> entries = entries();
+    return entries == null ? null : entries.get(key);
+  }
+
+  /**
+   * Returns the cached value for a key, computing it when it is not cached. The value is computed
+   * without holding any lock, which means that concurrent callers can end up computing the same
+   * value. The first value to be cached wins.
+   *
+   * @param key - The key whose value is to be returned
+   * @param mappingFunction - The function that computes the value of the key
+   * @return - The cached (or newly computed) value.
+   */
+  public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+    Entries<K, V> entries = entries();
+    if (entries == null) {
+      return mappingFunction.apply(key);
+    }
+    V value = entries.get(key);
+    if (value != null) {
+      return value;
+    }
+    V computed = mappingFunction.apply(key);
+    if (computed == null) {
+      return null;
+    }
+    return entries.putIfAbsent(key, computed);
+  }
+
+  public void put(K key, V value) {
+    Entries<K, V> entries = entries();
+    if (entries != null) {
+      entries.put(key, value);
+    }
+  }
+
+  public void remove(K key) {
+    Entries<K, V> entries = entries();
+    if (entries != null) {
+      entries.remove(key);
+    }
+  }
+
+  public void clear() {
+    Entries<K, V> entries = entries();
+    if (entries != null) {
+      entries.clear();
+    }
+  }
+
+  public int size() {
+    Entries<K, V> entries = entries();
+    return entries == null ? 0 : entries.size();
+  }
+
+  /** @return - The entries of the current run, or <code>null</code> outside of a run. */
+  @SuppressWarnings("unchecked")
+  private Entries<K, V> entries() {
+    Run run = CURRENT.get();
+    if (run == null || run.finished) {
+      return null;
+    }
+    return (Entries<K, V>) run.entries.computeIfAbsent(this, cache -> new Entries<>(maxSize));
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  public long getHits() {
+    Entries<K, V> entries = entries();
+    return entries == null ? 0 : entries.hits.sum();
+  }
+
+  public long getMisses() {
+    Entries<K, V> entries = entries();
+    return entries == null ? 0 : entries.misses.sum();
+  }
+
+  public long getEvictions() {
+    Entries<K, V> entries = entries();
+    return entries == null ? 0 : entries.evictions.sum();
+  }
+
+  @Override
+  public String toString() {
+    return Objects.toStringHelper(getClass())
+        .add("name", name)
+        .add("size", size())
+        .add("maxSize", maxSize)
+        .add("hits", getHits())
+        .add("misses", getMisses())
+        .add("evictions", getEvictions())
+        .toString();
+  }
+
+  /** A run in progress, along with the entries that its caches hold. */
+  public static final class Run {
+    private final Run previous;
+    private final Map<RunScopedCache<?, ?>, Entries<?, ?>> entries = new ConcurrentHashMap<>();
+    // The threads of the run that outlive it must not cache anything anymore
+    private volatile boolean finished = false;
+
+    private Run(Run previous) {
+      this.previous = previous;
+    }
+
+    /**
+     * Marks the end of the run: its entries are dropped, and the current thread goes back to the
+     * run it was part of (if any) before this run started.
+     */
+    public void finished() {
+      finished = true;
+      for (Map.Entry<RunScopedCache<?, ?>, Entries<?, ?>> each : entries.entrySet()) {
+        Utils.log("RunScopedCache", 3, each.getKey().getName() + ": " + each.getValue());
+        each.getValue().clear();
+      }
+      entries.clear();
+      if (previous == null) {
+        CURRENT.remove();
+      } else {
+        CURRENT.set(previous);
+      }
+    }
+
+    /** @return - The number of entries held by all the caches of the run. */
+    int size() {
+      return entries.values().stream().mapToInt(Entries::size).sum();
+    }
+  }
+
+  /**
+   * The entries of a cache for a run. Lookups do not lock, whereas the changes lock so that the
+   * order of the keys matches the entries.
+   */
+  private static final class Entries<K, V> {
+    private final int maxSize;
+    private final Map<K, V> values = new ConcurrentHashMap<>();
+    // The keys, in the order they were cached. Used to evict the oldest entries first.
+    private final Set<K> keys = Sets.newLinkedHashSet();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    Entries(int maxSize) {
+      this.maxSize = maxSize;
+    }
+
+    V get(K key) {
+      V value = values.get(key);
+      (value == null ? misses : hits).increment();
+      return value;
+    }
+
+    synchronized V putIfAbsent(K key, V value) {
+      V existing = values.putIfAbsent(key, value);
+      if (existing != null) {
+        return existing;
+      }
+      added(key);
+      return value;
+    }
+
+    synchronized void put(K key, V value) {
+      if (values.put(key, value) == null) {
+        added(key);
+      }
+    }
+
+    synchronized void remove(K key) {
+      if (values.remove(key) != null) {
+        keys.remove(key);
+      }
+    }
+
+    synchronized void clear() {
+      values.clear();
+      keys.clear();
+    }
+
+    int size() {
+      return values.size();
+    }
+
+    private void added(K key) {
+      keys.add(key);
+      Iterator<K> eldest = keys.iterator();
+      while (values.size() > maxSize && eldest.hasNext()) {
+        values.remove(eldest.next());
+        eldest.remove();
+        evictions.increment();
+      }
+    }
+
+    @Override
+    public String toString() {
+      return Objects.toStringHelper(getClass())
+          .add("size", size())
+          .add("maxSize", maxSize)
+          .add("hits", hits.sum())
+          .add("misses", misses.sum())
+          .add("evictions", evictions.sum())
+          .toString();
+    }
+  }
+}
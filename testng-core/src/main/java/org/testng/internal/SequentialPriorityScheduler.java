@@ -0,0 +1,83 @@
+package org.testng.internal;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import org.testng.IDynamicGraph;
+import org.testng.collections.Maps;
+
+/**
+ * Hands out the nodes of a {@link IDynamicGraph} one at a time, for a sequential run in which the
+ * free node with the highest priority is to be run first.
+ *
+ * <p>The free nodes are held in a priority queue. When a node finishes, only the nodes that
+ * depended upon it are looked at to find the nodes that it has freed. The graph is asked for all of
+ * its free nodes only when the queue runs dry or when the node that finished was itself made free
+ * in spite of having dependencies (which happens when every ready node has a dependency). Nodes
+ * that are equal as per the comparator are handed out in the order the graph holds them, which
+ * makes the order identical to sorting the free nodes of the graph after every node.
+ */
+public class SequentialPriorityScheduler<T> {
+
+  private final IDynamicGraph<T> graph;
+  private final PriorityQueue<T> queue;
+  private boolean stale;
+
+  /**
+   * @param graph - The graph whose nodes are to be scheduled. Every node must have been added to it
+   *     already.
+   * @param comparator - The {@link Comparator} that orders the free nodes.
+   * @param freeNodes - The nodes of the graph that are free to begin with.
+   */
+  public SequentialPriorityScheduler(
+      IDynamicGraph<T> graph, Comparator<T> comparator, List<T> freeNodes) {
+    this.graph = graph;
+    Map<T, Integer> readyOrder = Maps.newHashMap();
+    for (T node : graph.getNodesWithStatus(IDynamicGraph.Status.READY)) {
+      readyOrder.put(node, readyOrder.size());
+    }
+    Comparator<T> byReadyOrder =
+        Comparator.comparingInt(node -> readyOrder.getOrDefault(node, Integer.MAX_VALUE));
+    this.queue =
+        new PriorityQueue<>(
+            Math.max(1, freeNodes.size()), comparator.thenComparing(byReadyOrder));
+    this.queue.addAll(freeNodes);
+  }
+
+  /** @return - The next node to be run, or <code>null</code> if there are no free nodes left. */
+  public T next() {
+    if (stale || queue.isEmpty()) {
+      queue.clear();
+      queue.addAll(graph.getFreeNodes());
+      stale = false;
+    }
+    return queue.poll();
+  }
+
+  /**
+   * Marks a node (that was handed out by {@link #next()}) as {@link IDynamicGraph.Status#FINISHED}.
+   *
+   * @param node - The node that has finished running.
+   */
+  public void finished(T node) {
+    if (!graph.getUpstreamDependenciesFor(node).isEmpty()) {
+      // The node was free only because every ready node had a dependency. Start afresh.
+      graph.setStatus(node, IDynamicGraph.Status.FINISHED);
+      stale = true;
+      return;
+    }
+    List<T> dependents = graph.getDependenciesFor(node);
+    graph.setStatus(node, IDynamicGraph.Status.FINISHED);
+    if (stale) {
+      return;
+    }
+    Set<T> ready = graph.getNodesWithStatus(IDynamicGraph.Status.READY);
+    for (T dependent : dependents) {
+      if (ready.contains(dependent) && graph.getUpstreamDependenciesFor(dependent).isEmpty()) {
+        queue.add(dependent);
+      }
+    }
+  }
+}
@@ -94,29 +94,33 @@ public final class TestListenerHelper {
    */
   public static void runTestListeners(ITestResult tr, List<ITestListener> listeners) {
     for (ITestListener itl : listeners) {
-      switch (tr.getStatus()) {
-        case ITestResult.SKIP:
-          itl.onTestSkipped(tr);
-          break;
-        case ITestResult.SUCCESS_PERCENTAGE_FAILURE:
-          itl.onTestFailedButWithinSuccessPercentage(tr);
-          break;
-        case ITestResult.FAILURE:
-          if (ITestResult.wasFailureDueToTimeout(tr)) {
-            itl.onTestFailedWithTimeout(tr);
-          } else {
-            itl.onTestFailure(tr);
-          }
-          break;
-        case ITestResult.SUCCESS:
-          itl.onTestSuccess(tr);
-          break;
-        case ITestResult.STARTED:
-          itl.onTestStart(tr);
-          break;
-        default:
-          throw new AssertionError("Unknown status: " + tr.getStatus());
-      }
+      runTestListener(tr, itl);
+    }
+  }
+
+  public static void runTestListener(ITestResult tr, ITestListener itl) {
+    switch (tr.getStatus()) {
+      case ITestResult.SKIP:
+        itl.onTestSkipped(tr);
+        break;
+      case ITestResult.SUCCESS_PERCENTAGE_FAILURE:
+        itl.onTestFailedButWithinSuccessPercentage(tr);
+        break;
+      case ITestResult.FAILURE:
+        if (ITestResult.wasFailureDueToTimeout(tr)) {
+          itl.onTestFailedWithTimeout(tr);
+        } else {
+          itl.onTestFailure(tr);
+        }
+        break;
+      case ITestResult.SUCCESS:
+        itl.onTestSuccess(tr);
+        break;
+      case ITestResult.STARTED:
+        itl.onTestStart(tr);
+        break;
+      default:
+        throw new AssertionError("Unknown status: " + tr.getStatus());
     }
   }
 
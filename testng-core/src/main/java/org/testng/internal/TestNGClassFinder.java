@@ -1,15 +1,18 @@
 package org.testng.internal;
 
-import static org.testng.internal.ClassHelper.getAvailableMethods;
-
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import org.testng.DataProviderHolder;
 import org.testng.IClass;
@@ -18,11 +21,14 @@ import org.testng.ITestContext;
 import org.testng.ITestObjectFactory;
 import org.testng.TestNGException;
 import org.testng.annotations.IAnnotation;
+import org.testng.annotations.IListenersAnnotation;
 import org.testng.annotations.IObjectFactoryAnnotation;
 import org.testng.collections.Lists;
 import org.testng.collections.Maps;
 import org.testng.internal.annotations.AnnotationHelper;
+import org.testng.internal.annotations.ClassMetadata;
 import org.testng.internal.annotations.IAnnotationFinder;
+import org.testng.internal.thread.TestNGThreadFactory;
 import org.testng.xml.XmlClass;
 
 /**
@@ -38,6 +44,7 @@ public class TestNGClassFinder extends BaseClassFinder {
   private final DataProviderHolder holder;
   private final ITestObjectFactory objectFactory;
   private final IAnnotationFinder annotationFinder;
+  private final ExecutorService executor;
 
   private String m_factoryCreationFailedMessage = null;
 
@@ -51,6 +58,16 @@ public class TestNGClassFinder extends BaseClassFinder {
       IConfiguration configuration,
       ITestContext testContext,
       DataProviderHolder holder) {
+    this(cim, instanceMap, configuration, testContext, holder, null);
+  }
+
+  private TestNGClassFinder(
+      ClassInfoMap cim,
+      Map<Class<?>, List<Object>> instanceMap,
+      IConfiguration configuration,
+      ITestContext testContext,
+      DataProviderHolder holder,
+      ExecutorService executor) {
     if (instanceMap == null) {
       throw new IllegalArgumentException("instanceMap must not be null");
     }
@@ -64,8 +81,26 @@ public class TestNGClassFinder extends BaseClassFinder {
 
     objectFactory = createObjectFactory(allClasses, configuration.getObjectFactory());
 
-    for (Class<?> cls : allClasses) {
-      processClass(cim, instanceMap, configuration, cls);
+    boolean ownsExecutor = executor == null && RuntimeBehavior.discoverClassesInParallel();
+    if (ownsExecutor) {
+      executor =
+          Executors.newFixedThreadPool(
+              RuntimeBehavior.getClassDiscoveryThreadCount(),
+              new TestNGThreadFactory("class-discovery"));
+    }
+    this.executor = executor;
+    try {
+      if (executor == null) {
+        for (Class<?> cls : allClasses) {
+          processClass(cim, instanceMap, configuration, cls);
+        }
+      } else {
+        processClassesConcurrently(cim, instanceMap, configuration, allClasses);
+      }
+    } finally {
+      if (ownsExecutor) {
+        executor.shutdownNow();
+      }
     }
 
     //
@@ -92,23 +127,190 @@ public class TestNGClassFinder extends BaseClassFinder {
       return;
     }
 
-    if (isNotTestNGClass(cls, annotationFinder)) { // if not TestNG class
-      Utils.log(PREFIX, 3, "SKIPPING CLASS " + cls + " no TestNG annotations found");
+    IClass ic = registerClass(cim, instanceMap, cls, isTestNGClass(cls, annotationFinder));
+    if (ic == null) {
       return;
     }
-    List<Object> allInstances = instanceMap.get(cls);
-    Object thisInstance =
-        (allInstances != null && !allInstances.isEmpty()) ? allInstances.get(0) : null;
+
+    List<ConstructorOrMethod> factoryMethods =
+        ClassHelper.findDeclaredFactoryMethods(cls, annotationFinder);
+    for (ConstructorOrMethod factoryMethod : factoryMethods) {
+      processMethod(configuration, ic, factoryMethod);
+    }
+  }
+
+  /**
+   * Inspects the classes concurrently, each class on a thread of its own. The classes are then
+   * registered one after the other, in their order. A factory may produce instances of a class
+   * that comes later, so a class can only be instantiated once the factories of the classes before
+   * it have registered what they produced.
+   *
+   * <p>The factories of the classes that no earlier factory can interfere with (see {@link
+   * #isIndependent}) are invoked on the pool as well, and the instances they produced are merged in
+   * the order of the classes. The other factories are invoked on the calling thread. This way, the
+   * test classes and their instances are the same (and are in the same order) as when the classes
+   * are processed sequentially, and no constructor or factory is invoked more than once.
+   */
+  private void processClassesConcurrently(
+      ClassInfoMap cim,
+      Map<Class<?>, List<Object>> instanceMap,
+      IConfiguration configuration,
+      Set<Class<?>> allClasses) {
+    Map<Class<?>, Future<Discovery>> discoveries = Maps.newLinkedHashMap();
+    for (Class<?> cls : allClasses) {
+      if (cls != null) {
+        discoveries.put(cls, executor.submit(() -> discover(cls)));
+      }
+    }
+
+    Map<Class<?>, Future<Instantiation>> instantiations = Maps.newHashMap();
+    for (Map.Entry<Class<?>, Future<Discovery>> each : discoveries.entrySet()) {
+      Class<?> cls = each.getKey();
+      Discovery discovery = await(each.getValue());
+      Object thisInstance = firstInstance(instanceMap.get(cls));
+      if (isIndependent(cls, thisInstance, discovery)) {
+        instantiations.put(
+            cls, executor.submit(() -> instantiate(cim, cls, thisInstance, discovery)));
+      } else if (interferes(discovery)) {
+        break;
+      }
+    }
+
+    for (Class<?> cls : allClasses) {
+      if (null == cls) {
+        Utils.log(PREFIX, 5, "[WARN] FOUND NULL CLASS");
+        continue;
+      }
+      Future<Instantiation> instantiation = instantiations.get(cls);
+      if (instantiation != null) {
+        Instantiation done = await(instantiation);
+        putIClass(cls, done.iClass);
+        for (FactoryInstances produced : done.produced) {
+          processInstances(configuration, produced);
+        }
+        continue;
+      }
+      Discovery discovery = await(discoveries.get(cls));
+      IClass ic = registerClass(cim, instanceMap, cls, discovery.testNGClass);
+      if (ic == null) {
+        continue;
+      }
+      for (ConstructorOrMethod factoryMethod : discovery.factoryMethods) {
+        processMethod(configuration, ic, factoryMethod);
+      }
+    }
+  }
+
+  /** Runs on a thread of the pool: nothing that it does may change the state of this finder. */
+  private Discovery discover(Class<?> cls) {
+    boolean testNGClass = isTestNGClass(cls, annotationFinder);
+    List<ConstructorOrMethod> factoryMethods =
+        testNGClass
+            ? ClassHelper.findDeclaredFactoryMethods(cls, annotationFinder)
+            : Collections.emptyList();
+    boolean listeners =
+        !factoryMethods.isEmpty()
+            && ClassMetadata.of(cls).isPresentOnClass(IListenersAnnotation.class);
+    return new Discovery(testNGClass, factoryMethods, listeners);
+  }
+
+  /**
+   * @return - <code>true</code> if the factories of the class may have an effect on the ones of
+   *     the classes that come after it: a factory method may produce instances of any class, and
+   *     the data provider listeners of a class apply to the factories that are invoked after its
+   *     own.
+   */
+  private static boolean interferes(Discovery discovery) {
+    return discovery.listeners
+        || discovery.factoryMethods.stream()
+            .anyMatch(factoryMethod -> factoryMethod.getEnabled() && !isConstructor(factoryMethod));
+  }
+
+  /**
+   * @return - <code>true</code> if the factories of the class can be invoked on the pool, given
+   *     that none of the classes before it {@link #interferes interferes}: they are all
+   *     constructors (which only produce instances of the class itself), and the class needs
+   *     neither the instance of an enclosing class nor any data provider listener of its own.
+   */
+  private static boolean isIndependent(Class<?> cls, Object thisInstance, Discovery discovery) {
+    if (!discovery.testNGClass || interferes(discovery)) {
+      return false;
+    }
+    if (discovery.factoryMethods.stream().noneMatch(ConstructorOrMethod::getEnabled)) {
+      return false;
+    }
+    boolean instantiable = !Modifier.isAbstract(cls.getModifiers()) && !cls.isAnonymousClass();
+    if (thisInstance == null && !instantiable) {
+      return false;
+    }
+    return cls.getEnclosingClass() == null || Modifier.isStatic(cls.getModifiers());
+  }
+
+  private static boolean isConstructor(ConstructorOrMethod factoryMethod) {
+    return factoryMethod.getConstructor() != null;
+  }
+
+  /**
+   * Runs on a thread of the pool: the class is not registered, and the instances that its
+   * factories produced are not added, until they are merged in the order of the classes.
+   */
+  private Instantiation instantiate(
+      ClassInfoMap cim, Class<?> cls, Object thisInstance, Discovery discovery) {
+    IClass ic =
+        createIClass(
+            m_testContext,
+            cls,
+            cim.getXmlClass(cls),
+            thisInstance,
+            annotationFinder,
+            objectFactory);
+    List<FactoryInstances> produced = Lists.newArrayList();
+    for (ConstructorOrMethod factoryMethod : discovery.factoryMethods) {
+      if (factoryMethod.getEnabled()) {
+        produced.add(invokeFactory(ic, factoryMethod));
+      }
+    }
+    return new Instantiation(ic, produced);
+  }
+
+  private static <T> T await(Future<T> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new TestNGException("Interrupted while discovering the test classes", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new TestNGException(cause);
+    }
+  }
+
+  private IClass registerClass(
+      ClassInfoMap cim,
+      Map<Class<?>, List<Object>> instanceMap,
+      Class<?> cls,
+      boolean isTestNGClass) {
+    if (!isTestNGClass) { // if not TestNG class
+      Utils.log(PREFIX, 3, "SKIPPING CLASS " + cls + " no TestNG annotations found");
+      return null;
+    }
+    Object thisInstance = firstInstance(instanceMap.get(cls));
 
     // If annotation class and instances are abstract, skip them
     if ((null == thisInstance) && Modifier.isAbstract(cls.getModifiers())) {
       Utils.log("", 5, "[WARN] Found an abstract class with no valid instance attached: " + cls);
-      return;
+      return null;
     }
 
     if ((null == thisInstance) && cls.isAnonymousClass()) {
       Utils.log("", 5, "[WARN] Found an anonymous class with no valid instance attached" + cls);
-      return;
+      return null;
     }
 
     IClass ic =
@@ -120,15 +322,14 @@ public class TestNGClassFinder extends BaseClassFinder {
             annotationFinder,
             objectFactory);
     if (ic == null) {
-      return;
+      return null;
     }
     putIClass(cls, ic);
+    return ic;
+  }
 
-    List<ConstructorOrMethod> factoryMethods =
-        ClassHelper.findDeclaredFactoryMethods(cls, annotationFinder);
-    for (ConstructorOrMethod factoryMethod : factoryMethods) {
-      processMethod(configuration, ic, factoryMethod);
-    }
+  private static Object firstInstance(List<Object> instances) {
+    return (instances != null && !instances.isEmpty()) ? instances.get(0) : null;
   }
 
   private void processMethod(
@@ -136,7 +337,11 @@ public class TestNGClassFinder extends BaseClassFinder {
     if (!factoryMethod.getEnabled()) {
       return;
     }
-    ClassInfoMap moreClasses = processFactory(ic, factoryMethod);
+    processInstances(configuration, invokeFactory(ic, factoryMethod));
+  }
+
+  private void processInstances(IConfiguration configuration, FactoryInstances produced) {
+    ClassInfoMap moreClasses = addInstances(produced);
 
     if (moreClasses.isEmpty()) {
       return;
@@ -144,7 +349,12 @@ public class TestNGClassFinder extends BaseClassFinder {
 
     TestNGClassFinder finder =
         new TestNGClassFinder(
-            moreClasses, m_instanceMap, configuration, m_testContext, new DataProviderHolder());
+            moreClasses,
+            m_instanceMap,
+            configuration,
+            m_testContext,
+            new DataProviderHolder(),
+            executor);
 
     for (IClass ic2 : finder.findTestClasses()) {
       putIClass(ic2.getRealClass(), ic2);
@@ -160,26 +370,39 @@ public class TestNGClassFinder extends BaseClassFinder {
             .containsAll(Arrays.asList(fm.getGroups()));
   }
 
-  private ClassInfoMap processFactory(IClass ic, ConstructorOrMethod factoryMethod) {
+  /**
+   * Invokes a factory, without adding the instances it produced.
+   *
+   * @return - The instances that the factory produced, or <code>null</code> if the factory is
+   *     excluded.
+   */
+  private FactoryInstances invokeFactory(IClass ic, ConstructorOrMethod factoryMethod) {
     Object[] theseInstances = ic.getInstances(false);
 
     Object instance = theseInstances.length != 0 ? theseInstances[0] : null;
     FactoryMethod fm =
         new FactoryMethod(
             factoryMethod, instance, annotationFinder, m_testContext, objectFactory, holder);
-    ClassInfoMap moreClasses = new ClassInfoMap();
 
     if (excludeFactory(fm, m_testContext)) {
+      return null;
+    }
+    return new FactoryInstances(fm, fm.invoke());
+  }
+
+  private ClassInfoMap addInstances(FactoryInstances produced) {
+    ClassInfoMap moreClasses = new ClassInfoMap();
+    if (produced == null) {
       return moreClasses;
     }
 
     // If the factory returned IInstanceInfo, get the class from it,
     // otherwise, just call getClass() on the returned instances
     int i = 0;
-    for (Object o : fm.invoke()) {
+    for (Object o : produced.instances) {
       if (o == null) {
         throw new TestNGException(
-            "The factory " + fm + " returned a null instance" + "at index " + i);
+            "The factory " + produced.factory + " returned a null instance" + "at index " + i);
       }
       Class<?> oneMoreClass;
       Object objToInspect = IParameterInfo.embeddedInstance(o);
@@ -196,7 +419,7 @@ public class TestNGClassFinder extends BaseClassFinder {
       }
       i++;
     }
-    this.m_factoryCreationFailedMessage = fm.getFactoryCreationFailedMessage();
+    this.m_factoryCreationFailedMessage = produced.factory.getFactoryCreationFailedMessage();
     return moreClasses;
   }
 
@@ -273,32 +496,36 @@ public class TestNGClassFinder extends BaseClassFinder {
     boolean result = false;
 
     try {
-      for (Class<? extends IAnnotation> annotation : AnnotationHelper.getAllAnnotations()) {
-        for (cls = c; cls != null; cls = cls.getSuperclass()) {
-          // Try on the methods
-          for (Method m : getAvailableMethods(cls)) {
-            IAnnotation ma = annotationFinder.findAnnotation(cls, m, annotation);
-            if (null != ma) {
-              // Don't short circuit. Lets run for all methods across all classes.
-              // This will in turn ensure that "IgnoreListener" will get called for all the combo.
+      // Read every class of the hierarchy once and only look up the annotations that are present.
+      // Don't short circuit. Lets run for all methods across all classes.
+      // This will in turn ensure that "IgnoreListener" will get called for all the combo.
+      for (cls = c; cls != null; cls = cls.getSuperclass()) {
+        ClassMetadata metadata = ClassMetadata.of(cls);
+        // Try on the methods
+        for (Method m : metadata.getAvailableMethods()) {
+          Set<Class<? extends IAnnotation>> present = ClassMetadata.annotationsOf(m);
+          for (Class<? extends IAnnotation> annotation : AnnotationHelper.getAllAnnotations()) {
+            if (present.contains(annotation)
+                && annotationFinder.findAnnotation(cls, m, annotation) != null) {
               result = true;
             }
           }
+        }
 
-          // Try on the class
-          IAnnotation a = annotationFinder.findAnnotation(cls, annotation);
-          if (null != a) {
-            // Don't short circuit. Lets run for all methods across all classes.
-            // This will in turn ensure that "IgnoreListener" will get called for all the combo.
+        // Try on the class
+        for (Class<? extends IAnnotation> annotation : AnnotationHelper.getAllAnnotations()) {
+          if (metadata.isPresentOnClass(annotation)
+              && annotationFinder.findAnnotation(cls, annotation) != null) {
             result = true;
           }
+        }
 
-          // Try on the constructors
-          for (Constructor<?> ctor : cls.getConstructors()) {
-            IAnnotation ca = annotationFinder.findAnnotation(ctor, annotation);
-            if (null != ca) {
-              // Don't short circuit. Lets run for all methods across all classes.
-              // This will in turn ensure that "IgnoreListener" will get called for all the combo.
+        // Try on the constructors
+        for (Constructor<?> ctor : cls.getConstructors()) {
+          Set<Class<? extends IAnnotation>> present = ClassMetadata.annotationsOf(ctor);
+          for (Class<? extends IAnnotation> annotation : AnnotationHelper.getAllAnnotations()) {
+            if (present.contains(annotation)
+                && annotationFinder.findAnnotation(ctor, annotation) != null) {
               result = true;
             }
           }
@@ -335,4 +562,39 @@ public class TestNGClassFinder extends BaseClassFinder {
     List<Object> instances = m_instanceMap.computeIfAbsent(clazz, key -> Lists.newArrayList());
     instances.add(instance);
   }
+
+  /** What was found out about a class on a thread of the pool. */
+  private static final class Discovery {
+    private final boolean testNGClass;
+    private final List<ConstructorOrMethod> factoryMethods;
+    private final boolean listeners;
+
+    Discovery(boolean testNGClass, List<ConstructorOrMethod> factoryMethods, boolean listeners) {
+      this.testNGClass = testNGClass;
+      this.factoryMethods = factoryMethods;
+      this.listeners = listeners;
+    }
+  }
+
+  /** An independent class, along with the instances that its factories produced on the pool. */
+  private static final class Instantiation {
+    private final IClass iClass;
+    private final List<FactoryInstances> produced;
+
+    Instantiation(IClass iClass, List<FactoryInstances> produced) {
+      this.iClass = iClass;
+      this.produced = produced;
+    }
+  }
+
+  /** The instances that a factory produced. */
+  private static final class FactoryInstances {
+    private final FactoryMethod factory;
+    private final Object[] instances;
+
+    FactoryInstances(FactoryMethod factory, Object[] instances) {
+      this.factory = factory;
+      this.instances = instances;
+    }
+  }
 }
@@ -13,6 +13,7 @@ import org.testng.annotations.IConfigurationAnnotation;
 import org.testng.annotations.ITestAnnotation;
 import org.testng.collections.Lists;
 import org.testng.internal.annotations.AnnotationHelper;
+import org.testng.internal.annotations.ClassMetadata;
 import org.testng.internal.annotations.IAnnotationFinder;
 import org.testng.xml.XmlTest;
 
@@ -117,6 +118,9 @@ public class TestNGMethodFinder implements ITestMethodFinder {
     Set<Method> methods = ClassHelper.getAvailableMethodsExcludingDefaults(clazz);
 
     for (Method m : methods) {
+      if (!ClassMetadata.isAnyPresent(m, AnnotationHelper.getConfigurationAnnotations())) {
+        continue;
+      }
       IConfigurationAnnotation configuration =
           AnnotationHelper.findConfiguration(annotationFinder, m);
 
@@ -5,18 +5,39 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.function.Predicate;
 import org.testng.ITestNGMethod;
 import org.testng.ITestObjectFactory;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterGroups;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
+import org.testng.annotations.AfterTest;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeGroups;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.BeforeSuite;
+import org.testng.annotations.BeforeTest;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Factory;
 import org.testng.annotations.IAnnotation;
 import org.testng.annotations.IConfigurationAnnotation;
 import org.testng.annotations.IDataProviderAnnotation;
 import org.testng.annotations.IFactoryAnnotation;
+import org.testng.annotations.IIgnoreAnnotation;
+import org.testng.annotations.IListenersAnnotation;
+import org.testng.annotations.IObjectFactoryAnnotation;
 import org.testng.annotations.IParametersAnnotation;
 import org.testng.annotations.ITestAnnotation;
+import org.testng.annotations.Ignore;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.ObjectFactory;
+import org.testng.annotations.Parameters;
+import org.testng.annotations.Test;
 import org.testng.collections.Maps;
 import org.testng.internal.ConstructorOrMethod;
 import org.testng.internal.TestNGMethod;
@@ -59,6 +80,10 @@ public class AnnotationHelper {
           IBeforeClass.class, IAfterClass.class,
           IBeforeMethod.class, IAfterMethod.class);
 
+  /** The Java annotations that back each of the TestNG annotation types. */
+  private static final Map<Class<? extends IAnnotation>, Class<? extends Annotation>>
+      JAVA_ANNOTATIONS = javaAnnotations();
+
   private AnnotationHelper() {
     // Utility class.defeat instantiation.
   }
@@ -217,6 +242,41 @@ public class AnnotationHelper {
     return ALL_ANNOTATIONS;
   }
 
+  /** @return - The annotations that mark configuration methods (e.g., {@code @BeforeClass}). */
+  public static List<Class<? extends IAnnotation>> getConfigurationAnnotations() {
+    return CONFIGURATION_CLASSES;
+  }
+
+  /** @return - The Java annotation that backs each of the TestNG annotation types. */
+  public static Map<Class<? extends IAnnotation>, Class<? extends Annotation>>
+      getJavaAnnotations() {
+    return JAVA_ANNOTATIONS;
+  }
+
+  private static Map<Class<? extends IAnnotation>, Class<? extends Annotation>>
+      javaAnnotations() {
+    Map<Class<? extends IAnnotation>, Class<? extends Annotation>> result = Maps.newLinkedHashMap();
+    result.put(IListenersAnnotation.class, Listeners.class);
+    result.put(IDataProviderAnnotation.class, DataProvider.class);
+    result.put(IFactoryAnnotation.class, Factory.class);
+    result.put(IObjectFactoryAnnotation.class, ObjectFactory.class);
+    result.put(IParametersAnnotation.class, Parameters.class);
+    result.put(ITestAnnotation.class, Test.class);
+    result.put(IIgnoreAnnotation.class, Ignore.class);
+    // internal
+    result.put(IBeforeSuite.class, BeforeSuite.class);
+    result.put(IAfterSuite.class, AfterSuite.class);
+    result.put(IBeforeTest.class, BeforeTest.class);
+    result.put(IAfterTest.class, AfterTest.class);
+    result.put(IBeforeClass.class, BeforeClass.class);
+    result.put(IAfterClass.class, AfterClass.class);
+    result.put(IBeforeGroups.class, BeforeGroups.class);
+    result.put(IAfterGroups.class, AfterGroups.class);
+    result.put(IBeforeMethod.class, BeforeMethod.class);
+    result.put(IAfterMethod.class, AfterMethod.class);
+    return Collections.unmodifiableMap(result);
+  }
+
   /* Delegation method for creating the list of <CODE>ITestMethod</CODE>s to be analysed. */
   public static ITestNGMethod[] findMethodsWithAnnotation(
       ITestObjectFactory objectFactory,
@@ -244,11 +304,15 @@ public class AnnotationHelper {
         boolean hasClassAnnotation = isAnnotationPresent(annotationFinder, cls, annotationClass);
         Method[] methods = ReflectionHelper.getLocalMethods(cls);
         for (Method m : methods) {
-          boolean hasMethodAnnotation = isAnnotationPresent(annotationFinder, m, annotationClass);
+          // A method that carries no TestNG annotation at all cannot be found by the finder.
+          boolean annotated = !ClassMetadata.annotationsOf(m).isEmpty();
+          boolean hasMethodAnnotation =
+              annotated && isAnnotationPresent(annotationFinder, m, annotationClass);
           boolean hasTestNGAnnotation =
-              isAnnotationPresent(annotationFinder, m, IFactoryAnnotation.class)
-                  || isAnnotationPresent(annotationFinder, m, ITestAnnotation.class)
-                  || isAnnotationPresent(annotationFinder, m);
+              annotated
+                  && (isAnnotationPresent(annotationFinder, m, IFactoryAnnotation.class)
+                      || isAnnotationPresent(annotationFinder, m, ITestAnnotation.class)
+                      || isAnnotationPresent(annotationFinder, m));
           boolean isPublic = Modifier.isPublic(m.getModifiers());
           boolean isSynthetic = m.isSynthetic();
           if ((isPublic && hasClassAnnotation && !isSynthetic && (!hasTestNGAnnotation))
@@ -0,0 +1,152 @@
+package org.testng.internal.annotations;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import org.testng.annotations.IAnnotation;
+import org.testng.annotations.IListenersAnnotation;
+import org.testng.collections.Maps;
+import org.testng.collections.Sets;
+import org.testng.internal.ClassHelper;
+import org.testng.internal.RunScopedCache;
+
+/**
+ * The TestNG annotations that are present on a class and on the methods and constructors that it
+ * declares, as found by reading the annotations of each of them once.
+ *
+ * <p>An {@link IAnnotationFinder} only ever finds an annotation on an element that carries the
+ * Java annotation backing it, so the lookups for the annotations that are known to be absent can be
+ * skipped altogether. The lookups for the annotations that are present still go through the finder,
+ * which means that the {@link org.testng.IAnnotationTransformer}s (for e.g., {@link
+ * IgnoreListener}) are run just as before.
+ *
+ * <p>The metadata of every class is computed once per run and is shared by the class finder, the
+ * method finder and the configuration methods.
+ */
+public final class ClassMetadata {
+
+  private static final RunScopedCache<Class<?>, ClassMetadata> CACHE =
+      RunScopedCache.newCache("ClassMetadata");
+
+  private static final Map<Class<? extends Annotation>, Class<? extends IAnnotation>>
+      TESTNG_ANNOTATIONS = Maps.newHashMap();
+
+  static {
+    AnnotationHelper.getJavaAnnotations()
+        .forEach((testng, java) -> TESTNG_ANNOTATIONS.put(java, testng));
+  }
+
+  private final Class<?> cls;
+  private final Set<Class<? extends IAnnotation>> onClass;
+  private final Map<Executable, Set<Class<? extends IAnnotation>>> onMembers =
+      Maps.newHashMap();
+  private volatile Set<Method> availableMethods;
+
+  private ClassMetadata(Class<?> cls) {
+    this.cls = cls;
+    this.onClass = annotationsOn(cls);
+    for (Method m : cls.getDeclaredMethods()) {
+      record(m);
+    }
+    for (Constructor<?> c : cls.getDeclaredConstructors()) {
+      record(c);
+    }
+  }
+
+  /** @return - The (possibly cached) metadata of a class. */
+  public static ClassMetadata of(Class<?> cls) {
+    return CACHE.computeIfAbsent(cls, ClassMetadata::new);
+  }
+
+  /**
+   * @param member - A method or a constructor
+   * @return - The TestNG annotations that are present on the member.
+   */
+  public static Set<Class<? extends IAnnotation>> annotationsOf(Executable member) {
+    return of(member.getDeclaringClass())
+        .onMembers
+        .getOrDefault(member, Collections.emptySet());
+  }
+
+  /**
+   * @param member - A method or a constructor
+   * @param annotationClasses - The TestNG annotations to look for
+   * @return - <code>true</code> if any of the annotations is present on the member.
+   */
+  public static boolean isAnyPresent(
+      Executable member, Collection<Class<? extends IAnnotation>> annotationClasses) {
+    Set<Class<? extends IAnnotation>> present = annotationsOf(member);
+    if (present.isEmpty()) {
+      return false;
+    }
+    for (Class<? extends IAnnotation> annotationClass : annotationClasses) {
+      if (present.contains(annotationClass)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @param member - A method or a constructor
+   * @param annotationClass - The TestNG annotation to look for
+   * @return - <code>true</code> if the annotation is present on the member.
+   */
+  public static boolean isPresent(Executable member, Class<? extends IAnnotation> annotationClass) {
+    return annotationsOf(member).contains(annotationClass);
+  }
+
+  /**
+   * @param annotationClass - The TestNG annotation to look for
+   * @return - <code>true</code> if the annotation is present on this class or (unless it is
+   *     {@link IListenersAnnotation}, which is not looked up in super classes) on one of its super
+   *     classes.
+   */
+  public boolean isPresentOnClass(Class<? extends IAnnotation> annotationClass) {
+    if (onClass.contains(annotationClass)) {
+      return true;
+    }
+    if (IListenersAnnotation.class.equals(annotationClass)) {
+      return false;
+    }
+    Class<?> superclass = cls.getSuperclass();
+    return superclass != null && of(superclass).isPresentOnClass(annotationClass);
+  }
+
+  /** @return - The methods that are available on this class (see {@link ClassHelper}). */
+  public Set<Method> getAvailableMethods() {
+    Set<Method> result = availableMethods;
+    if (result == null) {
+      result = Collections.unmodifiableSet(ClassHelper.getAvailableMethods(cls));
+      availableMethods = result;
+    }
+    return result;
+  }
+
+  private void record(Executable member) {
+    Set<Class<? extends IAnnotation>> found = annotationsOn(member);
+    if (!found.isEmpty()) {
+      onMembers.put(member, found);
+    }
+  }
+
+  private static Set<Class<? extends IAnnotation>> annotationsOn(AnnotatedElement element) {
+    Set<Class<? extends IAnnotation>> result = null;
+    for (Annotation annotation : element.getAnnotations()) {
+      Class<? extends IAnnotation> found = TESTNG_ANNOTATIONS.get(annotation.annotationType());
+      if (found != null) {
+        if (result == null) {
+          result = Sets.newHashSet();
+        }
+        result.add(found);
+      }
+    }
+    return result == null ? Collections.emptySet() : Collections.unmodifiableSet(result);
+  }
+}
@@ -9,69 +9,58 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import org.testng.IAnnotationTransformer;
 import org.testng.ITestNGMethod;
-import org.testng.annotations.AfterClass;
-import org.testng.annotations.AfterGroups;
-import org.testng.annotations.AfterMethod;
-import org.testng.annotations.AfterSuite;
-import org.testng.annotations.AfterTest;
-import org.testng.annotations.BeforeClass;
-import org.testng.annotations.BeforeGroups;
-import org.testng.annotations.BeforeMethod;
-import org.testng.annotations.BeforeSuite;
-import org.testng.annotations.BeforeTest;
-import org.testng.annotations.DataProvider;
-import org.testng.annotations.Factory;
 import org.testng.annotations.IAnnotation;
 import org.testng.annotations.IConfigurationAnnotation;
 import org.testng.annotations.IDataProviderAnnotation;
 import org.testng.annotations.IFactoryAnnotation;
-import org.testng.annotations.IIgnoreAnnotation;
 import org.testng.annotations.IListenersAnnotation;
-import org.testng.annotations.IObjectFactoryAnnotation;
-import org.testng.annotations.IParametersAnnotation;
 import org.testng.annotations.ITestAnnotation;
-import org.testng.annotations.Ignore;
-import org.testng.annotations.Listeners;
-import org.testng.annotations.ObjectFactory;
 import org.testng.annotations.Optional;
-import org.testng.annotations.Parameters;
-import org.testng.annotations.Test;
 import org.testng.annotations.TestInstance;
 import org.testng.internal.ConstructorOrMethod;
+import org.testng.internal.RuntimeBehavior;
 import org.testng.internal.collections.Pair;
 
-/** This class implements IAnnotationFinder with JDK5 annotations */
+/**
+ * This class implements IAnnotationFinder with JDK5 annotations.
+ *
+ * <p>When lookups are cached (see {@link RuntimeBehavior#cacheAnnotationLookups()}), every
+ * (member, annotation type) pair is resolved and transformed only once. Later lookups of the same
+ * pair neither touch the reflection APIs nor run the {@link IAnnotationTransformer} again.
+ */
 public class JDK15AnnotationFinder implements IAnnotationFinder {
 
+  /** Stands for the absence of an annotation in {@link #m_lookups}. */
+  private static final Object NO_ANNOTATION = new Object();
+
   private final JDK15TagFactory m_tagFactory = new JDK15TagFactory();
   private final Map<Class<? extends IAnnotation>, Class<? extends Annotation>> m_annotationMap =
       new ConcurrentHashMap<>();
   private final Map<String, IAnnotation> m_annotations = new ConcurrentHashMap<>();
+  private final Map<LookupKey, Object> m_lookups = new ConcurrentHashMap<>();
 
   private final IAnnotationTransformer m_transformer;
+  // The transformers are not required to be thread safe, whereas the test classes (and so their
+  // annotations) can be discovered concurrently.
+  private final Object m_transformerLock = new Object();
+  private final boolean m_cacheLookups;
 
   public JDK15AnnotationFinder(IAnnotationTransformer transformer) {
+    this(transformer, RuntimeBehavior.cacheAnnotationLookups());
+  }
+
+  /**
+   * @param transformer - The {@link IAnnotationTransformer} to be applied to the annotations
+   * @param cacheLookups - <code>true</code> if every (member, annotation type) pair should be
+   *     resolved and transformed only once.
+   */
+  public JDK15AnnotationFinder(IAnnotationTransformer transformer, boolean cacheLookups) {
     m_transformer = transformer;
-    m_annotationMap.put(IListenersAnnotation.class, Listeners.class);
-    m_annotationMap.put(IDataProviderAnnotation.class, DataProvider.class);
-    m_annotationMap.put(IFactoryAnnotation.class, Factory.class);
-    m_annotationMap.put(IObjectFactoryAnnotation.class, ObjectFactory.class);
-    m_annotationMap.put(IParametersAnnotation.class, Parameters.class);
-    m_annotationMap.put(ITestAnnotation.class, Test.class);
-    m_annotationMap.put(IIgnoreAnnotation.class, Ignore.class);
-    // internal
-    m_annotationMap.put(IBeforeSuite.class, BeforeSuite.class);
-    m_annotationMap.put(IAfterSuite.class, AfterSuite.class);
-    m_annotationMap.put(IBeforeTest.class, BeforeTest.class);
-    m_annotationMap.put(IAfterTest.class, AfterTest.class);
-    m_annotationMap.put(IBeforeClass.class, BeforeClass.class);
-    m_annotationMap.put(IAfterClass.class, AfterClass.class);
-    m_annotationMap.put(IBeforeGroups.class, BeforeGroups.class);
-    m_annotationMap.put(IAfterGroups.class, AfterGroups.class);
-    m_annotationMap.put(IBeforeMethod.class, BeforeMethod.class);
-    m_annotationMap.put(IAfterMethod.class, AfterMethod.class);
+    m_cacheLookups = cacheLookups;
+    m_annotationMap.putAll(AnnotationHelper.getJavaAnnotations());
   }
 
   private <A extends Annotation> A findAnnotationInSuperClasses(Class<?> cls, Class<A> a) {
@@ -104,6 +93,11 @@ public class JDK15AnnotationFinder implements IAnnotationFinder {
   @Override
   public <A extends IAnnotation> A findAnnotation(
       Class<?> clazz, Method m, Class<A> annotationClass) {
+    return lookup(
+        Lookup.METHOD, m, clazz, annotationClass, () -> resolve(clazz, m, annotationClass));
+  }
+
+  private <A extends IAnnotation> A resolve(Class<?> clazz, Method m, Class<A> annotationClass) {
     final Class<? extends Annotation> a = m_annotationMap.get(annotationClass);
     if (a == null) {
       throw new IllegalArgumentException(
@@ -123,16 +117,27 @@ public class JDK15AnnotationFinder implements IAnnotationFinder {
 
   @Override
   public <A extends IAnnotation> A findAnnotation(ITestNGMethod tm, Class<A> annotationClass) {
-    final Class<? extends Annotation> a = m_annotationMap.get(annotationClass);
-    if (a == null) {
-      throw new IllegalArgumentException(
-          "Java @Annotation class for '" + annotationClass + "' not found.");
-    }
     Method m = tm.getConstructorOrMethod().getMethod();
     Class<?> testClass = m.getDeclaringClass();
     if (tm.getInstance() != null) {
       testClass = tm.getInstance().getClass();
     }
+    Class<?> clazz = testClass;
+    return lookup(
+        Lookup.TEST_METHOD,
+        m,
+        testClass,
+        annotationClass,
+        () -> resolveForTestMethod(clazz, m, annotationClass));
+  }
+
+  private <A extends IAnnotation> A resolveForTestMethod(
+      Class<?> testClass, Method m, Class<A> annotationClass) {
+    final Class<? extends Annotation> a = m_annotationMap.get(annotationClass);
+    if (a == null) {
+      throw new IllegalArgumentException(
+          "Java @Annotation class for '" + annotationClass + "' not found.");
+    }
     Annotation annotation = AnnotationHelper.getAnnotationFromMethod(m, a);
     if (annotation == null) {
       annotation = AnnotationHelper.getAnnotationFromClass(testClass, a);
@@ -159,6 +164,17 @@ public class JDK15AnnotationFinder implements IAnnotationFinder {
       Constructor<?> testConstructor,
       Method testMethod,
       Class<?> whichClass) {
+    synchronized (m_transformerLock) {
+      doTransform(a, testClass, testConstructor, testMethod, whichClass);
+    }
+  }
+
+  private void doTransform(
+      IAnnotation a,
+      Class<?> testClass,
+      Constructor<?> testConstructor,
+      Method testMethod,
+      Class<?> whichClass) {
     //
     // Transform @Test
     //
@@ -185,6 +201,10 @@ public class JDK15AnnotationFinder implements IAnnotationFinder {
 
   @Override
   public <A extends IAnnotation> A findAnnotation(Class<?> cls, Class<A> annotationClass) {
+    return lookup(Lookup.CLASS, cls, null, annotationClass, () -> resolve(cls, annotationClass));
+  }
+
+  private <A extends IAnnotation> A resolve(Class<?> cls, Class<A> annotationClass) {
     final Class<? extends Annotation> a = m_annotationMap.get(annotationClass);
     if (a == null) {
       throw new IllegalArgumentException(
@@ -197,6 +217,11 @@ public class JDK15AnnotationFinder implements IAnnotationFinder {
 
   @Override
   public <A extends IAnnotation> A findAnnotation(Constructor<?> cons, Class<A> annotationClass) {
+    return lookup(
+        Lookup.CONSTRUCTOR, cons, null, annotationClass, () -> resolve(cons, annotationClass));
+  }
+
+  private <A extends IAnnotation> A resolve(Constructor<?> cons, Class<A> annotationClass) {
     final Class<? extends Annotation> a = m_annotationMap.get(annotationClass);
     if (a == null) {
       throw new IllegalArgumentException(
@@ -286,6 +311,26 @@ public class JDK15AnnotationFinder implements IAnnotationFinder {
     return (A) result;
   }
 
+  private <A extends IAnnotation> A lookup(
+      Lookup lookup,
+      Object member,
+      Class<?> context,
+      Class<A> annotationClass,
+      Supplier<A> resolver) {
+    if (!m_cacheLookups) {
+      return resolver.get();
+    }
+    LookupKey key = new LookupKey(lookup, member, context, annotationClass);
+    Object result = m_lookups.get(key);
+    if (result == null) {
+      A resolved = resolver.get();
+      Object value = resolved == null ? NO_ANNOTATION : resolved;
+      Object existing = m_lookups.putIfAbsent(key, value);
+      result = existing == null ? value : existing;
+    }
+    return result == NO_ANNOTATION ? null : annotationClass.cast(result);
+  }
+
   @Override
   public boolean hasTestInstance(Method method, int i) {
     final Annotation[][] annotations = method.getParameterAnnotations();
@@ -322,4 +367,48 @@ public class JDK15AnnotationFinder implements IAnnotationFinder {
     }
     return result;
   }
+
+  /** The kinds of lookups, each of which resolves annotations in its own way. */
+  private enum Lookup {
+    METHOD,
+    TEST_METHOD,
+    CLASS,
+    CONSTRUCTOR
+  }
+
+  private static final class LookupKey {
+    private final Lookup lookup;
+    private final Object member;
+    private final Class<?> context;
+    private final Class<?> annotationClass;
+    private final int hash;
+
+    LookupKey(Lookup lookup, Object member, Class<?> context, Class<?> annotationClass) {
+      this.lookup = lookup;
+      this.member = member;
+      this.context = context;
+      this.annotationClass = annotationClass;
+      this.hash = Objects.hash(lookup, member, context, annotationClass);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof LookupKey)) {
+        return false;
+      }
+      LookupKey other = (LookupKey) o;
+      return lookup == other.lookup
+          && member.equals(other.member)
+          && context == other.context
+          && annotationClass == other.annotationClass;
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
 }
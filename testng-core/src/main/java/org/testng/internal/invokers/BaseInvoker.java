@@ -14,13 +14,15 @@ import org.testng.SuiteRunState;
 import org.testng.collections.Maps;
 import org.testng.internal.IConfiguration;
 import org.testng.internal.ITestResultNotifier;
-import org.testng.internal.ListenerOrderDeterminer;
+import org.testng.internal.ListenerDispatchTable;
 import org.testng.internal.Utils;
 import org.testng.internal.annotations.IAnnotationFinder;
 
 class BaseInvoker {
 
   private final Collection<IInvokedMethodListener> m_invokedMethodListeners;
+  private final ListenerDispatchTable<IInvokedMethodListener> invokedMethodListeners =
+      new ListenerDispatchTable<>();
   protected final ITestResultNotifier m_notifier;
   protected final ITestContext m_testContext;
   protected final SuiteRunState m_suiteState;
@@ -70,8 +72,8 @@ class BaseInvoker {
     boolean isAfterInvocation = InvokedMethodListenerMethod.AFTER_INVOCATION == listenerMethod;
     Collection<IInvokedMethodListener> listeners =
         isAfterInvocation
-            ? ListenerOrderDeterminer.reversedOrder(m_invokedMethodListeners)
-            : ListenerOrderDeterminer.order(m_invokedMethodListeners);
+            ? invokedMethodListeners.inReverseOrder(m_invokedMethodListeners)
+            : invokedMethodListeners.inOrder(m_invokedMethodListeners);
     if (!isAfterInvocation) {
       suiteRunner.beforeInvocation(invokedMethod, testResult);
     }
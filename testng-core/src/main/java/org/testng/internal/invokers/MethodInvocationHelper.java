@@ -17,6 +17,7 @@ import java.util.concurrent.Future;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
@@ -27,10 +28,12 @@ import org.testng.IHookable;
 import org.testng.ITestContext;
 import org.testng.ITestNGMethod;
 import org.testng.ITestResult;
+import org.testng.Reporter;
 import org.testng.TestNGException;
 import org.testng.TestNotInvokedException;
 import org.testng.internal.ConstructorOrMethod;
 import org.testng.internal.MethodHelper;
+import org.testng.internal.RuntimeBehavior;
 import org.testng.internal.Utils;
 import org.testng.internal.annotations.IAnnotationFinder;
 import org.testng.internal.collections.ArrayIterator;
@@ -42,6 +45,7 @@ import org.testng.internal.thread.TestNGThreadFactory;
 import org.testng.internal.thread.ThreadExecutionException;
 import org.testng.internal.thread.ThreadTimeoutException;
 import org.testng.internal.thread.ThreadUtil;
+import org.testng.internal.thread.TimeoutWatchdog;
 import org.testng.xml.XmlSuite;
 
 /** Collections of helper methods to help deal with invocation of TestNG methods */
@@ -299,6 +303,9 @@ public class MethodInvocationHelper {
       // We are already running in our own executor, don't create another one (or we will
       // lose the time out of the enclosing executor).
       return invokeWithTimeoutWithNoExecutor(tm, instance, parameterValues, testResult, hookable);
+    } else if (RuntimeBehavior.useSharedTimeoutWatchdog()) {
+      return invokeWithTimeoutWithSharedExecutor(
+          tm, instance, parameterValues, testResult, hookable);
     } else {
       return invokeWithTimeoutWithNewExecutor(tm, instance, parameterValues, testResult, hookable);
     }
@@ -325,29 +332,34 @@ public class MethodInvocationHelper {
     AtomicBoolean finished = new AtomicBoolean(false);
     AtomicBoolean interruptByMonitor = new AtomicBoolean(false);
     Thread monitorThread = null;
+    TimeoutWatchdog.Watch watch = null;
     boolean wasInvoked = false;
     try {
       Thread currentThread = Thread.currentThread();
-      monitorThread =
-          new Thread(
-              () -> {
-                try {
-                  TimeUnit.MILLISECONDS.sleep(realTimeOut);
-                } catch (InterruptedException e) {
-                  Thread.currentThread().interrupt();
-                }
-                if (!finished.get()) {
-                  interruptByMonitor.set(true);
-                  currentThread.interrupt();
-                }
-              });
-      monitorThread.start();
+      if (RuntimeBehavior.useSharedTimeoutWatchdog()) {
+        watch = TimeoutWatchdog.getInstance().arm(currentThread, realTimeOut);
+      } else {
+        monitorThread =
+            new Thread(
+                () -> {
+                  try {
+                    TimeUnit.MILLISECONDS.sleep(realTimeOut);
+                  } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                  }
+                  if (!finished.get()) {
+                    interruptByMonitor.set(true);
+                    currentThread.interrupt();
+                  }
+                });
+        monitorThread.start();
+      }
       wasInvoked = imr.run();
       notTimedout = System.currentTimeMillis() <= startTime + realTimeOut;
       if (notTimedout) {
         testResult.setStatus(ITestResult.SUCCESS);
       } else {
-        failureMarker.accept(new ThreadTimeoutException(tm, realTimeOut));
+        failureMarker.accept(newTimeoutException(tm, realTimeOut, watch));
       }
       return wasInvoked;
     } catch (TestNotInvokedException e) {
@@ -355,9 +367,10 @@ public class MethodInvocationHelper {
       return wasInvoked;
     } catch (Exception ex) {
       Throwable e = ex.getCause();
-      boolean wasTimedOut = !(notTimedout && !interruptByMonitor.get());
+      boolean interrupted = interruptByMonitor.get() || (watch != null && watch.hasFired());
+      boolean wasTimedOut = !(notTimedout && !interrupted);
       if (wasTimedOut) {
-        e = new ThreadTimeoutException(tm, realTimeOut);
+        e = newTimeoutException(tm, realTimeOut, watch);
       } else {
         if (e instanceof TestNGRuntimeException) {
           e = e.getCause();
@@ -368,6 +381,71 @@ public class MethodInvocationHelper {
     } finally {
       finished.set(true);
       Optional.ofNullable(monitorThread).filter(Thread::isAlive).ifPresent(Thread::interrupt);
+      Optional.ofNullable(watch).ifPresent(TimeoutWatchdog.Watch::disarm);
+    }
+  }
+
+  private static ThreadTimeoutException newTimeoutException(
+      ITestNGMethod tm, long realTimeOut, TimeoutWatchdog.Watch watch) {
+    ThreadTimeoutException exception = new ThreadTimeoutException(tm, realTimeOut);
+    StackTraceElement[] realStackTrace = watch == null ? null : watch.getStackTrace();
+    if (realStackTrace != null) {
+      exception.setStackTrace(realStackTrace);
+    }
+    return exception;
+  }
+
+  /**
+   * Runs the method on one of the threads of the {@link TimeoutWatchdog} instead of creating a new
+   * executor for it.
+   */
+  private static boolean invokeWithTimeoutWithSharedExecutor(
+      ITestNGMethod tm,
+      Object instance,
+      Object[] parameterValues,
+      ITestResult testResult,
+      IHookable hookable)
+      throws InterruptedException, ThreadExecutionException {
+    InvokeMethodRunnable imr =
+        new InvokeMethodRunnable(tm, instance, parameterValues, hookable, testResult);
+    AtomicReference<Thread> runner = new AtomicReference<>();
+    // The re-used threads would otherwise log to the result of the method that they ran first
+    ITestResult currentTestResult = Reporter.getCurrentTestResult();
+    Future<Boolean> future =
+        TimeoutWatchdog.getInstance()
+            .submit(
+                () -> {
+                  runner.set(Thread.currentThread());
+                  Reporter.setCurrentTestResult(currentTestResult);
+                  try {
+                    return imr.call();
+                  } finally {
+                    Reporter.setCurrentTestResult(null);
+                    runner.set(null);
+                  }
+                });
+    long realTimeOut = MethodHelper.calculateTimeOut(tm);
+    try {
+      boolean flag = future.get(realTimeOut, TimeUnit.MILLISECONDS);
+      Utils.log(
+          "Invoker " + Thread.currentThread().hashCode(),
+          3,
+          "Method " + tm.getMethodName() + " completed within the time-out " + tm.getTimeOut());
+      testResult.setStatus(ITestResult.SUCCESS); // if no exception till here then SUCCESS.
+      return flag;
+    } catch (TimeoutException e) {
+      ThreadTimeoutException exception = new ThreadTimeoutException(tm, realTimeOut);
+      Thread thread = runner.get();
+      if (thread != null) {
+        exception.setStackTrace(thread.getStackTrace());
+      }
+      // interrupt after getting real stacktrace from thread
+      future.cancel(true);
+      testResult.setThrowable(exception);
+      testResult.setStatus(ITestResult.FAILURE);
+      return false;
+    } catch (ExecutionException e) {
+      throw new ThreadExecutionException(e.getCause());
     }
   }
 
@@ -5,12 +5,14 @@ import static java.util.concurrent.CompletableFuture.supplyAsync;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
@@ -21,9 +23,10 @@ import org.testng.collections.CollectionUtils;
 import org.testng.collections.Lists;
 import org.testng.internal.ObjectBag;
 import org.testng.internal.Parameters;
+import org.testng.internal.RuntimeBehavior;
 import org.testng.internal.invokers.ITestInvoker.FailureContext;
 import org.testng.internal.invokers.TestMethodArguments.Builder;
-import org.testng.internal.thread.TestNGThreadFactory;
+import org.testng.internal.thread.ThreadUtil;
 import org.testng.xml.XmlSuite;
 
 public class MethodRunner implements IMethodRunner {
@@ -107,11 +110,50 @@ public class MethodRunner implements IMethodRunner {
       Iterator<Object[]> allParamValues,
       boolean skipFailedInvocationCounts) {
     XmlSuite suite = context.getSuite().getXmlSuite();
-    int parametersIndex = 0;
     ObjectBag objectBag = ObjectBag.getInstance(context.getSuite());
     boolean reUse = suite.isShareThreadPoolForDataProviders() || suite.useGlobalThreadPool();
 
     ExecutorService service = getOrCreate(reUse, suite, objectBag);
+    try {
+      if (RuntimeBehavior.streamDataProviderRows()) {
+        runInParallelStreaming(
+            arguments,
+            testInvoker,
+            context,
+            invocationCount,
+            failure,
+            allParamValues,
+            skipFailedInvocationCounts,
+            service,
+            streamingWindow(reUse, suite));
+        return Collections.emptyList();
+      }
+      return runAllInParallel(
+          arguments,
+          testInvoker,
+          context,
+          invocationCount,
+          failure,
+          allParamValues,
+          skipFailedInvocationCounts,
+          service);
+    } finally {
+      if (!reUse) {
+        service.shutdown();
+      }
+    }
+  }
+
+  private static List<ITestResult> runAllInParallel(
+      TestMethodArguments arguments,
+      ITestInvoker testInvoker,
+      ITestContext context,
+      AtomicInteger invocationCount,
+      FailureContext failure,
+      Iterator<Object[]> allParamValues,
+      boolean skipFailedInvocationCounts,
+      ExecutorService service) {
+    int parametersIndex = 0;
     List<CompletableFuture<List<ITestResult>>> all = new ArrayList<>();
     for (Object[] next : CollectionUtils.asIterable(allParamValues)) {
       if (next == null) {
@@ -119,27 +161,16 @@ public class MethodRunner implements IMethodRunner {
         parametersIndex += 1;
         continue;
       }
-      Object[] parameterValues =
-          Parameters.injectParameters(
-              next, arguments.getTestMethod().getConstructorOrMethod().getMethod(), context);
-
       TestMethodWithDataProviderMethodWorker w =
-          new TestMethodWithDataProviderMethodWorker(
+          newWorker(
+              arguments,
               testInvoker,
-              arguments.getTestMethod(),
-              parametersIndex,
-              parameterValues,
-              arguments.getInstance(),
-              arguments.getParameters(),
-              arguments.getTestClass(),
-              arguments.getBeforeMethods(),
-              arguments.getAfterMethods(),
-              arguments.getGroupMethods(),
               context,
-              skipFailedInvocationCounts,
-              invocationCount.get(),
-              failure.count.get(),
-              testInvoker.getNotifier());
+              invocationCount,
+              failure,
+              next,
+              parametersIndex,
+              skipFailedInvocationCounts);
       all.add(supplyAsync(w::call, service));
       // testng387: increment the param index in the bag.
       parametersIndex += 1;
@@ -150,25 +181,134 @@ public class MethodRunner implements IMethodRunner {
 
     // Now start processing the results of each of the CompletableFutures as and when they
     // become available
-    List<ITestResult> result =
-        combined
-            .thenApply(
-                ignored ->
-                    all.stream()
-                        .map(CompletableFuture::join)
-                        .flatMap(Collection::stream)
-                        .collect(Collectors.toList()))
-            .join();
-    if (!reUse) {
-      service.shutdown();
+    return combined
+        .thenApply(
+            ignored ->
+                all.stream()
+                    .map(CompletableFuture::join)
+                    .flatMap(Collection::stream)
+                    .collect(Collectors.toList()))
+        .join();
+  }
+
+  /**
+   * Pulls the rows of the data provider only as the workers free up, so that at most <code>window
+   * </code> rows are in flight at any point in time. The invoker hands the result of every row to
+   * the listeners and to the result maps of the test context as soon as the row completes, and no
+   * reference is kept to the rows nor to their results afterwards, so that the heap use stays flat
+   * however many rows the data provider yields.
+   */
+  private static void runInParallelStreaming(
+      TestMethodArguments arguments,
+      ITestInvoker testInvoker,
+      ITestContext context,
+      AtomicInteger invocationCount,
+      FailureContext failure,
+      Iterator<Object[]> allParamValues,
+      boolean skipFailedInvocationCounts,
+      ExecutorService service,
+      int window) {
+    AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+    Semaphore inFlight = new Semaphore(window);
+    int parametersIndex = 0;
+    while (true) {
+      // Wait for a free slot before pulling the next row out of the data provider.
+      inFlight.acquireUninterruptibly();
+      if (!allParamValues.hasNext()) {
+        inFlight.release();
+        break;
+      }
+      Object[] next = allParamValues.next();
+      if (next == null) {
+        // skipped value
+        inFlight.release();
+        parametersIndex += 1;
+        continue;
+      }
+      TestMethodWithDataProviderMethodWorker w =
+          newWorker(
+              arguments,
+              testInvoker,
+              context,
+              invocationCount,
+              failure,
+              next,
+              parametersIndex,
+              skipFailedInvocationCounts);
+      try {
+        supplyAsync(w::call, service)
+            .whenComplete(
+                (results, throwable) -> {
+                  if (throwable != null) {
+                    firstFailure.compareAndSet(null, throwable);
+                  }
+                  inFlight.release();
+                });
+      } catch (RuntimeException e) {
+        inFlight.release();
+        throw e;
+      }
+      // testng387: increment the param index in the bag.
+      parametersIndex += 1;
+    }
+    // Wait for the rows that are still in flight.
+    inFlight.acquireUninterruptibly(window);
+    Throwable throwable = firstFailure.get();
+    if (throwable != null) {
+      throw throwable instanceof CompletionException
+          ? (CompletionException) throwable
+          : new CompletionException(throwable);
     }
-    return result;
+  }
+
+  private static int streamingWindow(boolean reUse, XmlSuite suite) {
+    int window = RuntimeBehavior.getDataProviderStreamingWindow();
+    if (window > 0) {
+      return window;
+    }
+    int threads =
+        reUse && suite.useGlobalThreadPool()
+            ? suite.getThreadCount()
+            : suite.getDataProviderThreadCount();
+    return Math.max(1, threads) * 2;
+  }
+
+  private static TestMethodWithDataProviderMethodWorker newWorker(
+      TestMethodArguments arguments,
+      ITestInvoker testInvoker,
+      ITestContext context,
+      AtomicInteger invocationCount,
+      FailureContext failure,
+      Object[] next,
+      int parametersIndex,
+      boolean skipFailedInvocationCounts) {
+    Object[] parameterValues =
+        Parameters.injectParameters(
+            next, arguments.getTestMethod().getConstructorOrMethod().getMethod(), context);
+
+    return new TestMethodWithDataProviderMethodWorker(
+        testInvoker,
+        arguments.getTestMethod(),
+        parametersIndex,
+        parameterValues,
+        arguments.getInstance(),
+        arguments.getParameters(),
+        arguments.getTestClass(),
+        arguments.getBeforeMethods(),
+        arguments.getAfterMethods(),
+        arguments.getGroupMethods(),
+        context,
+        skipFailedInvocationCounts,
+        invocationCount.get(),
+        failure.count.get(),
+        testInvoker.getNotifier());
   }
 
   private static ExecutorService getOrCreate(boolean reUse, XmlSuite suite, ObjectBag objectBag) {
     AtomicReference<Integer> count = new AtomicReference<>();
     count.set(suite.getDataProviderThreadCount());
-    Supplier<Object> supplier = () -> Executors.newFixedThreadPool(count.get(), threadFactory());
+    Supplier<Object> supplier =
+        () -> ThreadUtil.newExecutor("PoolService", count.get(), 0, new LinkedBlockingQueue<>());
     if (reUse) {
       if (suite.useGlobalThreadPool()) {
         count.set(suite.getThreadCount());
@@ -177,8 +317,4 @@ public class MethodRunner implements IMethodRunner {
     }
     return (ExecutorService) supplier.get();
   }
-
-  private static ThreadFactory threadFactory() {
-    return new TestNGThreadFactory("PoolService");
-  }
 }
@@ -59,6 +59,8 @@ class TestInvoker extends BaseInvoker implements ITestInvoker {
   private final DataProviderHolder holder;
   private final List<IClassListener> m_classListeners;
   private final boolean m_skipFailedInvocationCounts;
+  private final ListenerDispatchTable<ITestListener> testListeners = new ListenerDispatchTable<>();
+  private volatile CachedDataProviderHolder dataProviderHolder;
 
   public TestInvoker(
       ITestResultNotifier m_notifier,
@@ -258,29 +260,56 @@ class TestInvoker extends BaseInvoker implements ITestInvoker {
     boolean isFinished = tr.getStatus() != ITestResult.STARTED;
     List<ITestListener> listeners =
         isFinished
-            ? ListenerOrderDeterminer.reversedOrder(m_notifier.getTestListeners())
-            : ListenerOrderDeterminer.order(m_notifier.getTestListeners());
+            ? testListeners.inReverseOrder(m_notifier.getTestListeners())
+            : testListeners.inOrder(m_notifier.getTestListeners());
     TestListenerHelper.runTestListeners(tr, listeners);
-    TestListenerHelper.runTestListeners(
-        tr, Collections.singletonList(m_notifier.getExitCodeListener()));
+    TestListenerHelper.runTestListener(tr, m_notifier.getExitCodeListener());
   }
 
-  private Collection<IDataProviderListener> dataProviderListeners() {
+  private Collection<IDataProviderListener> suiteDataProviderListeners() {
     ISuite suite = this.m_testContext.getSuite();
-    Collection<IDataProviderListener> dpListeners = Sets.newHashSet(this.holder.getListeners());
     if (suite instanceof SuiteRunner) {
-      Collection<IDataProviderListener> listeners =
-          ((SuiteRunner) suite).getDataProviderListeners();
-      dpListeners.addAll(listeners);
+      return ((SuiteRunner) suite).getDataProviderListeners();
     }
-    return dpListeners;
+    return Collections.emptyList();
   }
 
+  /**
+   * @return - A holder with the data provider listeners of the test and of the suite, along with
+   *     the interceptors of the test. The holder is built anew only when one of them changes.
+   */
   private DataProviderHolder buildDataProviderHolder() {
-    DataProviderHolder holder = new DataProviderHolder();
-    holder.addListeners(dataProviderListeners());
-    holder.addInterceptors(this.holder.getInterceptors());
-    return holder;
+    Collection<IDataProviderListener> suiteListeners = suiteDataProviderListeners();
+    CachedDataProviderHolder cached = this.dataProviderHolder;
+    if (cached == null || !cached.isFor(this.holder, suiteListeners)) {
+      cached = new CachedDataProviderHolder(this.holder, suiteListeners);
+      this.dataProviderHolder = cached;
+    }
+    return cached.holder;
+  }
+
+  private static final class CachedDataProviderHolder {
+    private final Object[] listeners;
+    private final Object[] suiteListeners;
+    private final Object[] interceptors;
+    private final DataProviderHolder holder = new DataProviderHolder();
+
+    CachedDataProviderHolder(
+        DataProviderHolder source, Collection<IDataProviderListener> suiteListeners) {
+      this.listeners = source.getListeners().toArray();
+      this.suiteListeners = suiteListeners.toArray();
+      this.interceptors = source.getInterceptors().toArray();
+      Collection<IDataProviderListener> all = Sets.newHashSet(source.getListeners());
+      all.addAll(suiteListeners);
+      holder.addListeners(all);
+      holder.addInterceptors(source.getInterceptors());
+    }
+
+    boolean isFor(DataProviderHolder source, Collection<IDataProviderListener> suiteListeners) {
+      return ListenerDispatchTable.isSnapshotOf(listeners, source.getListeners())
+          && ListenerDispatchTable.isSnapshotOf(this.suiteListeners, suiteListeners)
+          && ListenerDispatchTable.isSnapshotOf(interceptors, source.getInterceptors());
+    }
   }
 
   /**
@@ -403,6 +432,10 @@ class TestInvoker extends BaseInvoker implements ITestInvoker {
 
   private boolean failuresPresentInUpstreamDependency(
       ITestNGMethod testMethod, ITestNGMethod[] methods) {
+    DependencyOutcomeIndex index = m_notifier.getDependencyOutcomeIndex();
+    if (index != null) {
+      return Arrays.stream(methods).anyMatch(method -> index.hasFailures(testMethod, method));
+    }
     // Make sure the method has been run successfully
     for (ITestNGMethod method : methods) {
       Set<ITestResult> results = keepSameInstances(testMethod, m_notifier.getPassedTests(method));
@@ -419,7 +452,7 @@ class TestInvoker extends BaseInvoker implements ITestInvoker {
       }
 
       Optional<ITestResult> found =
-          results.parallelStream().filter(testResult -> !testResult.isSuccess()).findAny();
+          results.stream().filter(testResult -> !testResult.isSuccess()).findAny();
       if (found.isPresent()) {
         return true;
       }
@@ -429,8 +462,7 @@ class TestInvoker extends BaseInvoker implements ITestInvoker {
 
   /** @return the test results that apply to one of the instances of the testMethod. */
   private Set<ITestResult> keepSameInstances(ITestNGMethod method, Set<ITestResult> results) {
-    return results
-        .parallelStream()
+    return results.stream()
         .filter(
             r -> {
               Object instance =
@@ -826,50 +858,51 @@ class TestInvoker extends BaseInvoker implements ITestInvoker {
     return result;
   }
 
-  private static final Object LOCK = new Object();
-
+  /**
+   * Classifies the outcome of an invocation. No lock is needed: the result belongs to the calling
+   * thread, the exceptions holder is immutable and the failure count is only ever moved forward
+   * atomically (every failure gets a count of its own).
+   */
   private StatusHolder considerExceptions(
       ITestNGMethod tm,
       ITestResult testResult,
       ExpectedExceptionsHolder exceptionsHolder,
       FailureContext failure) {
-    synchronized (LOCK) {
-      StatusHolder holder = new StatusHolder();
-      int status = testResult.getStatus();
-      holder.handled = false;
-
-      Throwable ite = testResult.getThrowable();
-      if (status == ITestResult.FAILURE && ite != null) {
-
-        //  Invocation caused an exception, see if the method was annotated with @ExpectedException
-        if (exceptionsHolder != null) {
-          if (exceptionsHolder.isExpectedException(ite)) {
-            testResult.setStatus(ITestResult.SUCCESS);
-            status = ITestResult.SUCCESS;
+    StatusHolder holder = new StatusHolder();
+    int status = testResult.getStatus();
+    holder.handled = false;
+
+    Throwable ite = testResult.getThrowable();
+    if (status == ITestResult.FAILURE && ite != null) {
+
+      //  Invocation caused an exception, see if the method was annotated with @ExpectedException
+      if (exceptionsHolder != null) {
+        if (exceptionsHolder.isExpectedException(ite)) {
+          testResult.setStatus(ITestResult.SUCCESS);
+          status = ITestResult.SUCCESS;
+        } else {
+          if (isSkipExceptionAndSkip(ite)) {
+            status = ITestResult.SKIP;
           } else {
-            if (isSkipExceptionAndSkip(ite)) {
-              status = ITestResult.SKIP;
-            } else {
-              testResult.setThrowable(exceptionsHolder.wrongException(ite));
-              status = ITestResult.FAILURE;
-            }
+            testResult.setThrowable(exceptionsHolder.wrongException(ite));
+            status = ITestResult.FAILURE;
           }
-        } else {
-          handleException(ite, tm, testResult, failure.count.getAndIncrement());
-          holder.handled = true;
-          status = testResult.getStatus();
-        }
-      } else if (status != ITestResult.SKIP && exceptionsHolder != null) {
-        TestException exception = exceptionsHolder.noException(tm);
-        if (exception != null) {
-          testResult.setThrowable(exception);
-          status = ITestResult.FAILURE;
         }
+      } else {
+        handleException(ite, tm, testResult, failure.count.getAndIncrement());
+        holder.handled = true;
+        status = testResult.getStatus();
+      }
+    } else if (status != ITestResult.SKIP && exceptionsHolder != null) {
+      TestException exception = exceptionsHolder.noException(tm);
+      if (exception != null) {
+        testResult.setThrowable(exception);
+        status = ITestResult.FAILURE;
       }
-      holder.originalStatus = testResult.getStatus();
-      holder.status = status;
-      return holder;
     }
+    holder.originalStatus = testResult.getStatus();
+    holder.status = status;
+    return holder;
   }
 
   private static void updateStatusHolderAccordingToTestResult(
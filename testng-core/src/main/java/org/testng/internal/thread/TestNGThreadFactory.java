@@ -12,20 +12,41 @@ public class TestNGThreadFactory implements ThreadFactory {
 
   private final AtomicInteger threadNumber = new AtomicInteger(1);
   private final String name;
+  private final boolean virtual;
   private final Set<Thread> threads = Collections.newSetFromMap(new WeakHashMap<>());
 
   public TestNGThreadFactory(String name) {
+    this(name, false);
+  }
+
+  /**
+   * @param name - The name to be used as a prefix for all created threads.
+   * @param virtual - <code>true</code> if virtual threads are to be created. Platform threads are
+   *     created when the JDK does not support virtual threads.
+   */
+  public TestNGThreadFactory(String name, boolean virtual) {
     this.name = ThreadUtil.THREAD_NAME + "-" + name + "-";
+    this.virtual = virtual && VirtualThreads.isSupportedOrWarn();
+  }
+
+  /** @return - <code>true</code> if this factory creates virtual threads. */
+  public boolean isVirtual() {
+    return virtual;
   }
 
   public Collection<Thread> getRunningThreads() {
-    return threads.stream().filter(Thread::isAlive).collect(Collectors.toList());
+    synchronized (threads) {
+      return threads.stream().filter(Thread::isAlive).collect(Collectors.toList());
+    }
   }
 
   @Override
   public Thread newThread(Runnable r) {
-    Thread thread = new Thread(r, name + threadNumber.getAndIncrement());
-    threads.add(thread);
+    String threadName = name + threadNumber.getAndIncrement();
+    Thread thread = virtual ? VirtualThreads.newThread(threadName, r) : new Thread(r, threadName);
+    synchronized (threads) {
+      threads.add(thread);
+    }
     return thread;
   }
 }
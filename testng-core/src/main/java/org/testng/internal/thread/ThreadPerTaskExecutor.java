@@ -0,0 +1,141 @@
+package org.testng.internal.thread;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.collections.Lists;
+
+/**
+ * An executor that starts a new thread for every task instead of handing the tasks to a fixed
+ * number of pooled threads, which is how virtual threads are meant to be used. The tasks wait in
+ * the queue, and are started in its order, only while the number of running tasks has reached the
+ * limit (if any).
+ */
+class ThreadPerTaskExecutor extends AbstractExecutorService {
+
+  private final ThreadFactory threadFactory;
+  private final BlockingQueue<Runnable> queue;
+  private final Semaphore permits;
+  private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+  // The tasks that were accepted and have not finished yet, be they queued or running
+  private final AtomicInteger pending = new AtomicInteger();
+  private final Object termination = new Object();
+  private volatile boolean shutdown = false;
+
+  /**
+   * @param threadFactory - The factory of the thread of every task
+   * @param queue - The queue of the tasks that wait for a thread
+   * @param limit - The maximum number of tasks that run at the same time, or <code>0</code> for no
+   *     limit
+   */
+  ThreadPerTaskExecutor(ThreadFactory threadFactory, BlockingQueue<Runnable> queue, int limit) {
+    this.threadFactory = threadFactory;
+    this.queue = queue;
+    this.permits = new Semaphore(limit > 0 ? limit : Integer.MAX_VALUE);
+  }
+
+  @Override
+  public void execute(Runnable task) {
+    Objects.requireNonNull(task);
+    if (shutdown) {
+      throw new RejectedExecutionException("The executor was shut down");
+    }
+    pending.incrementAndGet();
+    queue.add(task);
+    startQueuedTasks();
+  }
+
+  /** Starts the queued tasks, as long as there are permits left. */
+  private void startQueuedTasks() {
+    while (!queue.isEmpty() && permits.tryAcquire()) {
+      Runnable task = queue.poll();
+      if (task == null) {
+        permits.release();
+        continue;
+      }
+      try {
+        Thread thread = threadFactory.newThread(() -> run(task));
+        threads.add(thread);
+        thread.start();
+      } catch (RuntimeException | Error e) {
+        permits.release();
+        finished();
+        throw e;
+      }
+    }
+  }
+
+  private void run(Runnable task) {
+    try {
+      task.run();
+    } finally {
+      threads.remove(Thread.currentThread());
+      permits.release();
+      finished();
+      startQueuedTasks();
+    }
+  }
+
+  private void finished() {
+    if (pending.decrementAndGet() == 0) {
+      signalTermination();
+    }
+  }
+
+  private void signalTermination() {
+    synchronized (termination) {
+      termination.notifyAll();
+    }
+  }
+
+  @Override
+  public void shutdown() {
+    shutdown = true;
+    signalTermination();
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    shutdown = true;
+    List<Runnable> tasks = Lists.newArrayList();
+    queue.drainTo(tasks);
+    pending.addAndGet(-tasks.size());
+    threads.forEach(Thread::interrupt);
+    signalTermination();
+    return tasks;
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return shutdown;
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return shutdown && pending.get() == 0;
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    long nanos = unit.toNanos(timeout);
+    synchronized (termination) {
+      while (!isTerminated()) {
+        if (nanos <= 0) {
+          return false;
+        }
+        long start = System.nanoTime();
+        TimeUnit.NANOSECONDS.timedWait(termination, nanos);
+        nanos -= System.nanoTime() - start;
+      }
+      return true;
+    }
+  }
+}
@@ -1,13 +1,14 @@
 package org.testng.internal.thread;
 
 import java.util.List;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import org.testng.collections.Lists;
+import org.testng.internal.RuntimeBehavior;
 import org.testng.internal.Utils;
 import org.testng.log4testng.Logger;
 
@@ -43,13 +44,7 @@ public class ThreadUtil {
             + " threadPoolSize:"
             + threadPoolSize);
     ExecutorService pooledExecutor =
-        new ThreadPoolExecutor(
-            threadPoolSize,
-            threadPoolSize,
-            timeout,
-            TimeUnit.MILLISECONDS,
-            new LinkedBlockingQueue<>(),
-            new TestNGThreadFactory(name));
+        newExecutor(name, threadPoolSize, timeout, new LinkedBlockingQueue<>());
 
     List<Callable<Object>> callables = Lists.newArrayList();
     for (final Runnable task : tasks) {
@@ -80,8 +75,43 @@ public class ThreadUtil {
   }
 
   public static ExecutorService createExecutor(int threadCount, String threadFactoryName) {
-    ThreadFactory tf = new TestNGThreadFactory("method=" + threadFactoryName);
+    return newExecutor(
+        "method=" + threadFactoryName, threadCount, 0L, new LinkedBlockingQueue<>());
+  }
+
+  /**
+   * Creates the executor that runs the tasks of suites, tests and data driven methods. With
+   * <code>-Dtestng.thread.virtual=true</code>, every task gets a virtual thread of its own, and the
+   * tasks are only limited by <code>-Dtestng.thread.virtual.limit</code>, unless thread affinity is
+   * enforced, in which case the virtual threads are pooled.
+   *
+   * @param name - The name to be used as a prefix for all created threads
+   * @param threadCount - The number of pooled threads
+   * @param keepAliveTime - The time, in milliseconds, that the pooled threads wait for new tasks
+   * @param queue - The queue of the tasks that wait for a thread
+   * @return - The executor.
+   */
+  public static ExecutorService newExecutor(
+      String name, int threadCount, long keepAliveTime, BlockingQueue<Runnable> queue) {
+    boolean virtual = RuntimeBehavior.useVirtualThreads();
+    if (virtual && useThreadPerTask()) {
+      return new ThreadPerTaskExecutor(
+          new TestNGThreadFactory(name, true), queue, RuntimeBehavior.getVirtualThreadsLimit());
+    }
     return new ThreadPoolExecutor(
-        threadCount, threadCount, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), tf);
+        threadCount,
+        threadCount,
+        keepAliveTime,
+        TimeUnit.MILLISECONDS,
+        queue,
+        new TestNGThreadFactory(name, virtual));
+  }
+
+  /**
+   * @return - <code>true</code> if virtual threads can be created per task, i.e. when they are
+   *     supported and thread affinity, which needs pooled threads, is not enforced.
+   */
+  static boolean useThreadPerTask() {
+    return !RuntimeBehavior.enforceThreadAffinity() && VirtualThreads.isSupportedOrWarn();
   }
 }
@@ -0,0 +1,129 @@
+package org.testng.internal.thread;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A JVM wide service that enforces the time-outs of test methods without creating a thread (or an
+ * executor) per timed method. It consists of:
+ *
+ * <ul>
+ *   <li>a single timer thread that interrupts the threads whose time-out has elapsed and
+ *   <li>a pool of threads that is re-used to run the methods which cannot be run on the calling
+ *       thread.
+ * </ul>
+ *
+ * Both sets of threads are daemon threads, so that they never prevent the JVM from exiting.
+ */
+public final class TimeoutWatchdog {
+
+  private static final TimeoutWatchdog INSTANCE = new TimeoutWatchdog();
+
+  private static final long IDLE_RUNNER_KEEP_ALIVE_SECONDS = 60;
+
+  private final ScheduledThreadPoolExecutor timer;
+  private final ExecutorService runners;
+
+  private TimeoutWatchdog() {
+    timer = new ScheduledThreadPoolExecutor(1, daemon(new TestNGThreadFactory("timeout-watchdog")));
+    timer.setRemoveOnCancelPolicy(true);
+    runners =
+        new ThreadPoolExecutor(
+            0,
+            Integer.MAX_VALUE,
+            IDLE_RUNNER_KEEP_ALIVE_SECONDS,
+            TimeUnit.SECONDS,
+            new SynchronousQueue<>(),
+            daemon(new TestNGThreadFactory("method-timeout")));
+  }
+
+  public static TimeoutWatchdog getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Arms a time-out for a thread. Unless the returned {@link Watch} is disarmed before the time-out
+   * elapses, the stack trace of the thread is captured and the thread is interrupted.
+   *
+   * @param thread - The thread that is to be interrupted
+   * @param timeOut - The time-out in milliseconds
+   * @return - A {@link Watch} that represents the armed time-out.
+   */
+  public Watch arm(Thread thread, long timeOut) {
+    Watch watch = new Watch(thread);
+    watch.future = timer.schedule(watch::fire, timeOut, TimeUnit.MILLISECONDS);
+    return watch;
+  }
+
+  /**
+   * @param task - The task to run on one of the re-usable threads.
+   * @return - A {@link Future} that represents the pending completion of the task.
+   */
+  public <T> Future<T> submit(Callable<T> task) {
+    return runners.submit(task);
+  }
+
+  private static ThreadFactory daemon(ThreadFactory factory) {
+    return r -> {
+      Thread thread = factory.newThread(r);
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  /** Represents a time-out that was armed for a thread. */
+  public static final class Watch {
+    private static final int ARMED = 0;
+    private static final int DISARMED = 1;
+    private static final int FIRED = 2;
+
+    private final AtomicInteger state = new AtomicInteger(ARMED);
+    private final Thread thread;
+    private volatile StackTraceElement[] stackTrace;
+    private volatile ScheduledFuture<?> future;
+
+    private Watch(Thread thread) {
+      this.thread = thread;
+    }
+
+    private void fire() {
+      // Capture the stack trace before the interrupt unwinds it.
+      StackTraceElement[] captured = thread.getStackTrace();
+      if (state.compareAndSet(ARMED, FIRED)) {
+        stackTrace = captured;
+        thread.interrupt();
+      }
+    }
+
+    /** @return - <code>true</code> if the watch was disarmed before its time-out elapsed. */
+    public boolean disarm() {
+      boolean disarmed = state.compareAndSet(ARMED, DISARMED);
+      ScheduledFuture<?> scheduled = future;
+      if (disarmed && scheduled != null) {
+        scheduled.cancel(false);
+      }
+      return disarmed;
+    }
+
+    /** @return - <code>true</code> if the time-out elapsed and the thread was interrupted. */
+    public boolean hasFired() {
+      return state.get() == FIRED;
+    }
+
+    /**
+     * @return - The stack trace of the thread at the moment the time-out elapsed, or <code>null
+     *     </code> if it has not elapsed.
+     */
+    public StackTraceElement[] getStackTrace() {
+      return stackTrace;
+    }
+  }
+}
@@ -0,0 +1,112 @@
+package org.testng.internal.thread;
+
+import java.util.Comparator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.testng.IDynamicGraph;
+import org.testng.ISuite;
+import org.testng.ITestNGMethod;
+import org.testng.TestNGException;
+import org.testng.internal.RuntimeBehavior;
+import org.testng.internal.thread.graph.GraphOrchestrator;
+import org.testng.internal.thread.graph.GraphThreadPoolExecutor;
+import org.testng.thread.IExecutorFactory;
+import org.testng.thread.ITestNGThreadPoolExecutor;
+import org.testng.thread.IThreadWorkerFactory;
+
+/**
+ * An {@link IExecutorFactory} whose executors run suites and test methods on virtual threads, so
+ * that suites whose tests mostly block on I/O are not held back by the <code>thread-count</code>.
+ * Every suite or test method gets a virtual thread of its own, and only <code>
+ * -Dtestng.thread.virtual.limit</code> (if set) caps how many of them run at the same time. The
+ * threads are named the same way as the ones created by {@link DefaultThreadPoolExecutorFactory}
+ * (which keeps {@link ThreadUtil#isTestNGThread()} working).
+ *
+ * <p>When thread affinity is enforced (see <code>-Dtestng.thread.affinity=true</code>), the virtual
+ * threads are pooled instead, so that methods can be run on the thread of their upstream method.
+ * On JDKs that do not support virtual threads, this factory behaves exactly like {@link
+ * DefaultThreadPoolExecutorFactory}.
+ */
+@SuppressWarnings("deprecation")
+public class VirtualThreadExecutorFactory implements IExecutorFactory {
+
+  @Override
+  public ITestNGThreadPoolExecutor newSuiteExecutor(
+      String name,
+      IDynamicGraph<ISuite> graph,
+      IThreadWorkerFactory<ISuite> factory,
+      int corePoolSize,
+      int maximumPoolSize,
+      long keepAliveTime,
+      TimeUnit unit,
+      BlockingQueue<Runnable> workQueue,
+      Comparator<ISuite> comparator) {
+    if (ThreadUtil.useThreadPerTask()) {
+      return new GraphExecutor<>(name, graph, factory, workQueue, comparator);
+    }
+    return new GraphThreadPoolExecutor<>(
+        graph,
+        factory,
+        corePoolSize,
+        maximumPoolSize,
+        keepAliveTime,
+        unit,
+        workQueue,
+        comparator,
+        new TestNGThreadFactory(name, true));
+  }
+
+  @Override
+  public ITestNGThreadPoolExecutor newTestMethodExecutor(
+      String name,
+      IDynamicGraph<ITestNGMethod> graph,
+      IThreadWorkerFactory<ITestNGMethod> factory,
+      int corePoolSize,
+      int maximumPoolSize,
+      long keepAliveTime,
+      TimeUnit unit,
+      BlockingQueue<Runnable> workQueue,
+      Comparator<ITestNGMethod> comparator) {
+    if (ThreadUtil.useThreadPerTask()) {
+      return new GraphExecutor<>(name, graph, factory, workQueue, comparator);
+    }
+    return new GraphThreadPoolExecutor<>(
+        graph,
+        factory,
+        corePoolSize,
+        maximumPoolSize,
+        keepAliveTime,
+        unit,
+        workQueue,
+        comparator,
+        new TestNGThreadFactory(name, true));
+  }
+
+  /** Runs the nodes of the graph, each on a virtual thread of its own. */
+  private static class GraphExecutor<T> extends ThreadPerTaskExecutor
+      implements ITestNGThreadPoolExecutor {
+
+    private final GraphOrchestrator<T> orchestrator;
+
+    GraphExecutor(
+        String name,
+        IDynamicGraph<T> graph,
+        IThreadWorkerFactory<T> factory,
+        BlockingQueue<Runnable> workQueue,
+        Comparator<T> comparator) {
+      super(
+          new TestNGThreadFactory(name, true),
+          workQueue,
+          RuntimeBehavior.getVirtualThreadsLimit());
+      if (graph.getFreeNodes().isEmpty()) {
+        throw new TestNGException("The graph of methods contains a cycle:" + graph);
+      }
+      orchestrator = new GraphOrchestrator<>(this, factory, graph, comparator);
+    }
+
+    @Override
+    public void run() {
+      orchestrator.run();
+    }
+  }
+}
@@ -0,0 +1,104 @@
+package org.testng.internal.thread;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import org.testng.TestNGException;
+import org.testng.log4testng.Logger;
+
+/**
+ * Creates virtual threads on JDKs that support them. TestNG is compiled for JDKs that predate
+ * virtual threads, which is why <code>Thread.ofVirtual()</code> is looked up reflectively.
+ */
+public final class VirtualThreads {
+
+  private static final Logger LOGGER = Logger.getLogger(VirtualThreads.class);
+
+  private static final MethodHandle OF_VIRTUAL;
+  private static final MethodHandle NAME;
+  private static final MethodHandle UNSTARTED;
+
+  static {
+    MethodHandle ofVirtual = null;
+    MethodHandle name = null;
+    MethodHandle unstarted = null;
+    try {
+      MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+      Class<?> builder = Class.forName("java.lang.Thread$Builder");
+      Class<?> ofVirtualBuilder = Class.forName("java.lang.Thread$Builder$OfVirtual");
+      ofVirtual =
+          lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(ofVirtualBuilder));
+      name = lookup.findVirtual(builder, "name", MethodType.methodType(builder, String.class));
+      unstarted =
+          lookup.findVirtual(
+              builder, "unstarted", MethodType.methodType(Thread.class, Runnable.class));
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      ofVirtual = null;
+    }
+    if (ofVirtual != null && !canCreateThreads(ofVirtual, unstarted)) {
+      ofVirtual = null;
+    }
+    OF_VIRTUAL = ofVirtual;
+    NAME = name;
+    UNSTARTED = unstarted;
+  }
+
+  private static volatile boolean warned = false;
+
+  private VirtualThreads() {}
+
+  /**
+   * The API is there as a preview feature on JDK 19 and 20, where it throws an {@link
+   * UnsupportedOperationException} unless <code>--enable-preview</code> is set. Hence a thread is
+   * actually built (but not started) to find out whether virtual threads can be used.
+   */
+  private static boolean canCreateThreads(MethodHandle ofVirtual, MethodHandle unstarted) {
+    try {
+      Runnable task = () -> {};
+      return unstarted.invoke(ofVirtual.invoke(), task) != null;
+    } catch (UnsupportedOperationException e) {
+      return false;
+    } catch (Throwable e) {
+      LOGGER.debug("Unable to create a virtual thread: " + e.getMessage());
+      return false;
+    }
+  }
+
+  /** @return - <code>true</code> if the running JDK is capable of creating virtual threads. */
+  public static boolean isSupported() {
+    return OF_VIRTUAL != null;
+  }
+
+  /**
+   * @return - <code>true</code> if virtual threads are supported. When they are not, a warning is
+   *     logged (only once) so that the fallback to platform threads does not go unnoticed.
+   */
+  static boolean isSupportedOrWarn() {
+    if (isSupported()) {
+      return true;
+    }
+    if (!warned) {
+      warned = true;
+      LOGGER.warn(
+          "Virtual threads are not supported by this JDK ("
+              + System.getProperty("java.version")
+              + "). Falling back to platform threads.");
+    }
+    return false;
+  }
+
+  /**
+   * @param name - The name of the thread
+   * @param task - The task to be run by the thread
+   * @return - A virtual thread that has not been started yet.
+   */
+  static Thread newThread(String name, Runnable task) {
+    try {
+      Object builder = OF_VIRTUAL.invoke();
+      builder = NAME.invoke(builder, name);
+      return (Thread) UNSTARTED.invoke(builder, task);
+    } catch (Throwable e) {
+      throw new TestNGException("Unable to create the virtual thread " + name, e);
+    }
+  }
+}
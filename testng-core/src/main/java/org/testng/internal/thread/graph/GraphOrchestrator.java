@@ -47,9 +47,9 @@ public class GraphOrchestrator<T> {
   private void runNodes(List<T> freeNodes) {
     List<IWorker<T>> workers = factory.createWorkers(freeNodes);
     mapNodeToWorker(workers, freeNodes);
+    mapNodeToParent(freeNodes);
 
     for (IWorker<T> worker : workers) {
-      mapNodeToParent(freeNodes);
       setStatus(worker, IDynamicGraph.Status.RUNNING);
       try {
         TestNGFutureTask<T> task = new TestNGFutureTask<>(worker, this::afterExecute);
@@ -4,6 +4,7 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import org.testng.IDynamicGraph;
@@ -45,13 +46,29 @@ public class GraphThreadPoolExecutor<T> extends ThreadPoolExecutor
       TimeUnit unit,
       BlockingQueue<Runnable> workQueue,
       Comparator<T> comparator) {
-    super(
+    this(
+        graph,
+        factory,
         corePoolSize,
         maximumPoolSize,
         keepAliveTime,
         unit,
         workQueue,
+        comparator,
         new TestNGThreadFactory(name));
+  }
+
+  public GraphThreadPoolExecutor(
+      IDynamicGraph<T> graph,
+      IThreadWorkerFactory<T> factory,
+      int corePoolSize,
+      int maximumPoolSize,
+      long keepAliveTime,
+      TimeUnit unit,
+      BlockingQueue<Runnable> workQueue,
+      Comparator<T> comparator,
+      ThreadFactory threadFactory) {
+    super(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, threadFactory);
     m_graph = graph;
     m_factory = factory;
     m_comparator = comparator;
@@ -67,12 +67,13 @@ public abstract class AbstractXmlReporter implements IReporter, ICustomizeXmlRep
   }
 
   private void writeSuiteToFile(File suiteFile, ISuite suite) {
-    XMLStringBuffer xmlBuffer = new XMLStringBuffer();
-    writeSuiteToBuffer(xmlBuffer, suite);
-    File parentDir = suiteFile.getParentFile();
-    boolean ignored = suiteFile.getParentFile().mkdirs();
-    if (parentDir.exists() || suiteFile.getParentFile().exists()) {
-      Utils.writeUtf8File(parentDir.getAbsolutePath(), fileName(), xmlBuffer.toXML());
+    try (XMLStringBuffer xmlBuffer = new XMLStringBuffer()) {
+      writeSuiteToBuffer(xmlBuffer, suite);
+      File parentDir = suiteFile.getParentFile();
+      boolean ignored = suiteFile.getParentFile().mkdirs();
+      if (parentDir.exists() || suiteFile.getParentFile().exists()) {
+        Utils.writeUtf8File(parentDir.getAbsolutePath(), fileName(), xmlBuffer.toXML());
+      }
     }
   }
 
@@ -122,7 +123,7 @@ public abstract class AbstractXmlReporter implements IReporter, ICustomizeXmlRep
     xmlBuffer.pop();
   }
 
-  private Properties getSuiteAttributes(ISuite suite) {
+  Properties getSuiteAttributes(ISuite suite) {
     Properties props = new Properties();
     props.setProperty(XMLReporterConfig.ATTR_NAME, suite.getName());
 
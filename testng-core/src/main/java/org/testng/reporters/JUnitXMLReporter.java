@@ -103,42 +103,43 @@ public class JUnitXMLReporter implements IResultListener2 {
    */
   protected void generateReport(ITestContext context) {
 
-    XMLStringBuffer document = new XMLStringBuffer();
-    document.addComment("Generated by " + getClass().getName());
-
-    Properties attrs = new Properties();
-    attrs.setProperty(XMLConstants.ATTR_ERRORS, "0");
-    attrs.setProperty(XMLConstants.ATTR_FAILURES, Integer.toString(m_numFailed));
-    attrs.setProperty(
-        XMLConstants.ATTR_IGNORED, Integer.toString(context.getExcludedMethods().size()));
-    try {
-      attrs.setProperty(XMLConstants.ATTR_HOSTNAME, InetAddress.getLocalHost().getHostName());
-    } catch (UnknownHostException e) {
-      // ignore
-    }
-    Set<String> packages = getPackages(context);
-    if (!packages.isEmpty()) {
-      attrs.setProperty(XMLConstants.ATTR_NAME, context.getCurrentXmlTest().getName());
-      //        attrs.setProperty(XMLConstants.ATTR_PACKAGE, packages.iterator().next());
-    }
+    try (XMLStringBuffer document = new XMLStringBuffer()) {
+      document.addComment("Generated by " + getClass().getName());
+
+      Properties attrs = new Properties();
+      attrs.setProperty(XMLConstants.ATTR_ERRORS, "0");
+      attrs.setProperty(XMLConstants.ATTR_FAILURES, Integer.toString(m_numFailed));
+      attrs.setProperty(
+          XMLConstants.ATTR_IGNORED, Integer.toString(context.getExcludedMethods().size()));
+      try {
+        attrs.setProperty(XMLConstants.ATTR_HOSTNAME, InetAddress.getLocalHost().getHostName());
+      } catch (UnknownHostException e) {
+        // ignore
+      }
+      Set<String> packages = getPackages(context);
+      if (!packages.isEmpty()) {
+        attrs.setProperty(XMLConstants.ATTR_NAME, context.getCurrentXmlTest().getName());
+        //        attrs.setProperty(XMLConstants.ATTR_PACKAGE, packages.iterator().next());
+      }
 
-    attrs.setProperty(XMLConstants.ATTR_TESTS, Integer.toString(m_allTests.size()));
-    attrs.setProperty(
-        XMLConstants.ATTR_TIME,
-        Double.toString(
-            (context.getEndDate().getTime() - context.getStartDate().getTime()) / 1000.0));
+      attrs.setProperty(XMLConstants.ATTR_TESTS, Integer.toString(m_allTests.size()));
+      attrs.setProperty(
+          XMLConstants.ATTR_TIME,
+          Double.toString(
+              (context.getEndDate().getTime() - context.getStartDate().getTime()) / 1000.0));
 
-    attrs.setProperty(XMLConstants.ATTR_TIMESTAMP, formattedTime());
+      attrs.setProperty(XMLConstants.ATTR_TIMESTAMP, formattedTime());
 
-    document.push(XMLConstants.TESTSUITE, attrs);
+      document.push(XMLConstants.TESTSUITE, attrs);
 
-    createElementFromTestResults(document, m_configIssues);
-    createElementFromTestResults(document, m_allTests);
-    createElementFromIgnoredTests(document, context);
+      createElementFromTestResults(document, m_configIssues);
+      createElementFromTestResults(document, m_allTests);
+      createElementFromIgnoredTests(document, context);
 
-    document.pop();
-    Utils.writeUtf8File(
-        context.getOutputDirectory(), generateFileName(context) + ".xml", document.toXML());
+      document.pop();
+      Utils.writeUtf8File(
+          context.getOutputDirectory(), generateFileName(context) + ".xml", document.toXML());
+    }
   }
 
   static String formattedTime() {
@@ -25,14 +25,15 @@ public class PerSuiteXMLReporter extends AbstractXmlReporter {
 
     for (ISuite s : suites) {
       Count count = computeCountForSuite(s);
-      XMLStringBuffer rootBuffer = new XMLStringBuffer();
       Properties p = writeSummaryCount(count);
-      rootBuffer.push(XMLReporterConfig.TAG_TESTNG_RESULTS, p);
-      writeReporterOutput(rootBuffer, getOutput(s));
-      writeSuite(rootBuffer, s);
-      rootBuffer.pop();
-      String dir = getConfig().getOutputDirectory() + "/" + s.getName();
-      Utils.writeUtf8File(dir, fileName(), rootBuffer, null /* no prefix */);
+      try (XMLStringBuffer rootBuffer = new XMLStringBuffer()) {
+        rootBuffer.push(XMLReporterConfig.TAG_TESTNG_RESULTS, p);
+        writeReporterOutput(rootBuffer, getOutput(s));
+        writeSuite(rootBuffer, s);
+        rootBuffer.pop();
+        String dir = getConfig().getOutputDirectory() + "/" + s.getName();
+        Utils.writeUtf8File(dir, fileName(), rootBuffer, null /* no prefix */);
+      }
     }
   }
 
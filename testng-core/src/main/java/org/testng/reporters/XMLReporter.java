@@ -1,14 +1,19 @@
 package org.testng.reporters;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Properties;
+import javax.xml.stream.XMLStreamException;
 import org.testng.ISuite;
 import org.testng.internal.Utils;
+import org.testng.log4testng.Logger;
 import org.testng.xml.XmlSuite;
 
 /** The main entry for the XML generation operation */
 public class XMLReporter extends AbstractXmlReporter {
 
+  private static final Logger LOGGER = Logger.getLogger(XMLReporter.class);
+
   @Override
   public void generateReport(
       List<XmlSuite> xmlSuites, List<ISuite> suites, String outputDirectory) {
@@ -22,15 +27,25 @@ public class XMLReporter extends AbstractXmlReporter {
       count.add(computeCountForSuite(s));
     }
 
-    XMLStringBuffer rootBuffer = new XMLStringBuffer();
     Properties p = writeSummaryCount(count);
-    rootBuffer.push(XMLReporterConfig.TAG_TESTNG_RESULTS, p);
-    writeReporterOutput(rootBuffer);
-    for (ISuite suite : suites) {
-      writeSuite(rootBuffer, suite);
+    if (RuntimeBehavior.useStreamingXmlReport()) {
+      try {
+        new XMLStreamReportWriter(this).write(suites, p, fileName());
+      } catch (IOException | XMLStreamException e) {
+        LOGGER.error(e.getMessage(), e);
+      }
+      return;
+    }
+
+    try (XMLStringBuffer rootBuffer = new XMLStringBuffer()) {
+      rootBuffer.push(XMLReporterConfig.TAG_TESTNG_RESULTS, p);
+      writeReporterOutput(rootBuffer);
+      for (ISuite suite : suites) {
+        writeSuite(rootBuffer, suite);
+      }
+      rootBuffer.pop();
+      Utils.writeUtf8File(
+          getConfig().getOutputDirectory(), fileName(), rootBuffer, null /* no prefix */);
     }
-    rootBuffer.pop();
-    Utils.writeUtf8File(
-        getConfig().getOutputDirectory(), fileName(), rootBuffer, null /* no prefix */);
   }
 }
@@ -0,0 +1,437 @@
+package org.testng.reporters;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.regex.Pattern;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import org.testng.IResultMap;
+import org.testng.ISuite;
+import org.testng.ISuiteResult;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+import org.testng.annotations.CustomAttribute;
+import org.testng.collections.Lists;
+import org.testng.internal.Utils;
+
+/**
+ * Writes the same documents as {@link XMLReporter}, but streams them through an {@link
+ * XMLStreamWriter} to a buffered {@link FileChannel} instead of building them in an {@link
+ * XMLStringBuffer} first. Every result is written as soon as it is visited, so that the memory used
+ * while reporting does not grow with the number of results.
+ *
+ * <p>The custom tags of {@link ICustomizeXmlReport#addCustomTagsFor(XMLStringBuffer, ITestResult)}
+ * are still built in an {@link XMLStringBuffer}, one result at a time.
+ */
+class XMLStreamReportWriter {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final String INDENT_INCREMENT = "  ";
+
+  // Same as XMLStringBuffer: the characters that XML does not allow, and the control characters
+  // that are removed from the character data
+  private static final Pattern INVALID_XML_CHARS =
+      Pattern.compile(
+          "[^\\u0009\\u000A\\u000D\\u0020-\\uD7FF\\uE000-\\uFFFD\uD800\uDC00-\uDBFF\uDFFF]");
+  private static final Pattern CONTROL_CHARS = Pattern.compile("[\\p{Cc}&&[^\\r\\n]]");
+
+  private static final XMLOutputFactory FACTORY = XMLOutputFactory.newFactory();
+
+  private final AbstractXmlReporter reporter;
+  private final XMLReporterConfig config;
+  private final XMLSuiteResultWriter suiteResultWriter;
+
+  private Writer out;
+  private XMLStreamWriter xml;
+  private String indent = "";
+
+  XMLStreamReportWriter(AbstractXmlReporter reporter) {
+    this.reporter = reporter;
+    this.config = reporter.getConfig();
+    this.suiteResultWriter = new XMLSuiteResultWriter(config, reporter);
+  }
+
+  /**
+   * Writes the results of all the suites, along with the files of the suites and of their tests if
+   * the fragmentation level asks for them.
+   *
+   * @param suites - The suites to report
+   * @param summary - The attributes of the root element, i.e. the counts of the results
+   * @param fileName - The name of the report, in the output directory of the configuration
+   */
+  void write(List<ISuite> suites, Properties summary, String fileName)
+      throws IOException, XMLStreamException {
+    Document document = open(new File(config.getOutputDirectory(), fileName));
+    try {
+      start(XMLReporterConfig.TAG_TESTNG_RESULTS, summary);
+      writeReporterOutput(Reporter.getOutput());
+      for (ISuite suite : suites) {
+        if (config.getFileFragmentationLevel() == XMLReporterConfig.FF_LEVEL_NONE) {
+          writeSuite(suite);
+        } else {
+          String relativePath = suite.getName() + File.separatorChar + fileName;
+          empty(XMLReporterConfig.TAG_SUITE, XMLReporterConfig.ATTR_URL, relativePath);
+          writeToFile(
+              new File(config.getOutputDirectory(), relativePath), () -> writeSuite(suite));
+        }
+      }
+      end();
+    } finally {
+      document.close();
+    }
+  }
+
+  private void writeSuite(ISuite suite) throws IOException, XMLStreamException {
+    start(XMLReporterConfig.TAG_SUITE, reporter.getSuiteAttributes(suite));
+    writeSuiteGroups(suite);
+    for (ISuiteResult suiteResult : suite.getResults().values()) {
+      if (config.getFileFragmentationLevel() == XMLReporterConfig.FF_LEVEL_SUITE_RESULT) {
+        String fileName = suiteResult.getTestContext().getName() + ".xml";
+        empty(XMLReporterConfig.TAG_TEST, XMLReporterConfig.ATTR_URL, fileName);
+        File suiteDirectory = new File(config.getOutputDirectory(), suite.getName());
+        writeToFile(new File(suiteDirectory, fileName), () -> writeSuiteResult(suiteResult));
+      } else {
+        writeSuiteResult(suiteResult);
+      }
+    }
+    end();
+  }
+
+  /** Writes the content to a document of its own, then carries on with the current document. */
+  private void writeToFile(File file, Content content) throws IOException, XMLStreamException {
+    Writer parentOut = out;
+    XMLStreamWriter parentXml = xml;
+    String parentIndent = indent;
+    try {
+      Document document = open(file);
+      try {
+        content.write();
+      } finally {
+        document.close();
+      }
+    } finally {
+      out = parentOut;
+      xml = parentXml;
+      indent = parentIndent;
+    }
+  }
+
+  private void writeSuiteGroups(ISuite suite) throws XMLStreamException {
+    start(XMLReporterConfig.TAG_GROUPS);
+    for (Map.Entry<String, Collection<ITestNGMethod>> entry :
+        suite.getMethodsByGroups().entrySet()) {
+      start(XMLReporterConfig.TAG_GROUP, XMLReporterConfig.ATTR_NAME, entry.getKey());
+      for (ITestNGMethod method : new LinkedHashSet<>(entry.getValue())) {
+        empty(
+            XMLReporterConfig.TAG_METHOD,
+            XMLReporterConfig.ATTR_NAME,
+            method.getMethodName(),
+            XMLReporterConfig.ATTR_METHOD_SIG,
+            method.toString(),
+            XMLReporterConfig.ATTR_CLASS,
+            method.getRealClass().getName());
+      }
+      end();
+    }
+    end();
+  }
+
+  private void writeSuiteResult(ISuiteResult suiteResult) throws IOException, XMLStreamException {
+    start(XMLReporterConfig.TAG_TEST, suiteResultWriter.getSuiteResultAttributes(suiteResult));
+    String className = null;
+    for (ITestResult testResult : sortByClass(suiteResult.getTestContext())) {
+      String resultClassName = testResult.getTestClass().getName();
+      if (!resultClassName.equals(className)) {
+        if (className != null) {
+          end();
+        }
+        className = resultClassName;
+        start(XMLReporterConfig.TAG_CLASS, suiteResultWriter.getClassAttributes(className));
+      }
+      writeTestResult(testResult);
+    }
+    if (className != null) {
+      end();
+    }
+    end();
+  }
+
+  /**
+   * @return - The results of the test, without duplicates, sorted by class and then as {@link
+   *     XMLSuiteResultWriter} sorts them within a class. Only the references to the results are
+   *     copied, instead of regrouping them in a list per class.
+   */
+  private static List<ITestResult> sortByClass(ITestContext context) {
+    Set<ITestResult> results = new LinkedHashSet<>();
+    IResultMap[] maps = {
+      context.getPassedTests(),
+      context.getFailedTests(),
+      context.getSkippedTests(),
+      context.getPassedConfigurations(),
+      context.getSkippedConfigurations(),
+      context.getFailedConfigurations(),
+      context.getFailedButWithinSuccessPercentageTests()
+    };
+    for (IResultMap map : maps) {
+      if (map != null) {
+        results.addAll(map.getAllResults());
+      }
+    }
+    List<ITestResult> sorted = Lists.newArrayList(results);
+    sorted.sort(
+        Comparator.comparing((ITestResult result) -> result.getTestClass().getName())
+            .thenComparing(Comparator.naturalOrder()));
+    return sorted;
+  }
+
+  private void writeTestResult(ITestResult testResult) throws IOException, XMLStreamException {
+    Properties attributes = suiteResultWriter.getTestResultAttributes(testResult);
+    String status = XMLSuiteResultWriter.getStatusString(testResult.getStatus());
+    attributes.setProperty(XMLReporterConfig.ATTR_STATUS, status);
+    if (testResult.wasRetried()) {
+      attributes.setProperty(XMLReporterConfig.ATTR_RETRIED, Boolean.TRUE.toString());
+    }
+    start(XMLReporterConfig.TAG_TEST_METHOD, attributes);
+    writeParameters(testResult.getParameters());
+    writeException(testResult);
+    writeReporterOutput(Reporter.getOutput(testResult));
+    if (config.isGenerateTestResultAttributes()) {
+      writeAttributes(testResult);
+    }
+    writeCustomAttributes(testResult.getMethod().getAttributes());
+    writeCustomTags(testResult);
+    end();
+  }
+
+  private void writeParameters(Object[] parameters) throws XMLStreamException {
+    if (parameters == null || parameters.length == 0) {
+      return;
+    }
+    start(XMLReporterConfig.TAG_PARAMS);
+    for (int i = 0; i < parameters.length; i++) {
+      start(XMLReporterConfig.TAG_PARAM, XMLReporterConfig.ATTR_INDEX, String.valueOf(i));
+      if (parameters[i] == null) {
+        empty(XMLReporterConfig.TAG_PARAM_VALUE, XMLReporterConfig.ATTR_IS_NULL, "true");
+      } else {
+        cdata(XMLReporterConfig.TAG_PARAM_VALUE, parameters[i].toString());
+      }
+      end();
+    }
+    end();
+  }
+
+  private void writeException(ITestResult testResult) throws XMLStreamException {
+    Throwable exception = testResult.getThrowable();
+    if (exception == null) {
+      return;
+    }
+    start(
+        XMLReporterConfig.TAG_EXCEPTION,
+        XMLReporterConfig.ATTR_CLASS,
+        exception.getClass().getName());
+    if (!Utils.isStringEmpty(exception.getMessage())) {
+      cdata(XMLReporterConfig.TAG_MESSAGE, exception.getMessage());
+    }
+    switch (suiteResultWriter.calculateStackTraceLevels(testResult)) {
+      case SHORT:
+        cdata(XMLReporterConfig.TAG_SHORT_STACKTRACE, Utils.shortStackTrace(exception, false));
+        break;
+      case FULL:
+        cdata(XMLReporterConfig.TAG_FULL_STACKTRACE, Utils.longStackTrace(exception, false));
+        break;
+      default:
+        // everything else is ignored for now.
+    }
+    end();
+  }
+
+  private void writeReporterOutput(List<String> output) throws XMLStreamException {
+    start(XMLReporterConfig.TAG_REPORTER_OUTPUT);
+    for (String line : output) {
+      if (line != null) {
+        cdata(XMLReporterConfig.TAG_LINE, line);
+      }
+    }
+    end();
+  }
+
+  private void writeAttributes(ITestResult testResult) throws XMLStreamException {
+    Set<String> names = testResult.getAttributeNames();
+    if (names == null || names.isEmpty()) {
+      return;
+    }
+    start(XMLReporterConfig.TAG_ATTRIBUTES);
+    for (String name : names) {
+      if (name == null) {
+        continue;
+      }
+      Object value = testResult.getAttribute(name);
+      if (value == null) {
+        empty(
+            XMLReporterConfig.TAG_ATTRIBUTE,
+            XMLReporterConfig.ATTR_NAME,
+            name,
+            XMLReporterConfig.ATTR_IS_NULL,
+            "true");
+      } else {
+        start(XMLReporterConfig.TAG_ATTRIBUTE, XMLReporterConfig.ATTR_NAME, name);
+        text(value.toString());
+        end();
+      }
+    }
+    end();
+  }
+
+  private void writeCustomAttributes(CustomAttribute[] attributes) throws XMLStreamException {
+    if (attributes == null || attributes.length == 0) {
+      return;
+    }
+    start(XMLReporterConfig.TAG_CUSTOM_ATTRIBUTES);
+    for (CustomAttribute attribute : attributes) {
+      start(XMLReporterConfig.TAG_CUSTOM_ATTRIBUTE);
+      start(
+          XMLReporterConfig.TAG_CUSTOM_ATTRIBUTE_NAME,
+          XMLReporterConfig.TAG_CUSTOM_ATTRIBUTE_VALUE,
+          attribute.name());
+      end();
+      cdata(XMLReporterConfig.TAG_CUSTOM_ATTRIBUTE_VALUE, Arrays.toString(attribute.values()));
+      end();
+    }
+    end();
+  }
+
+  /** Copies the tags of the customizer, which come after the last element of the result. */
+  private void writeCustomTags(ITestResult testResult) throws IOException, XMLStreamException {
+    try (XMLStringBuffer tags = new XMLStringBuffer(Buffer.create(), indent)) {
+      reporter.addCustomTagsFor(tags, testResult);
+      String content = tags.toXML();
+      if (!content.isEmpty()) {
+        xml.flush();
+        out.write(XMLStringBuffer.EOL);
+        // The buffer ends with a line separator, which the next element adds back
+        out.write(content.substring(0, content.length() - XMLStringBuffer.EOL.length()));
+      }
+    }
+  }
+
+  private void start(String tagName, String... attributes) throws XMLStreamException {
+    newLine();
+    xml.writeStartElement(tagName);
+    for (int i = 0; i < attributes.length; i += 2) {
+      xml.writeAttribute(attributes[i], sanitize(attributes[i + 1]));
+    }
+    indent += INDENT_INCREMENT;
+  }
+
+  private void start(String tagName, Properties attributes) throws XMLStreamException {
+    newLine();
+    xml.writeStartElement(tagName);
+    for (Map.Entry<Object, Object> attribute : attributes.entrySet()) {
+      xml.writeAttribute(attribute.getKey().toString(), sanitize(attribute.getValue().toString()));
+    }
+    indent += INDENT_INCREMENT;
+  }
+
+  private void end() throws XMLStreamException {
+    indent = indent.substring(INDENT_INCREMENT.length());
+    newLine();
+    xml.writeEndElement();
+  }
+
+  private void empty(String tagName, String... attributes) throws XMLStreamException {
+    newLine();
+    xml.writeEmptyElement(tagName);
+    for (int i = 0; i < attributes.length; i += 2) {
+      xml.writeAttribute(attributes[i], sanitize(attributes[i + 1]));
+    }
+  }
+
+  private void cdata(String tagName, String content) throws XMLStreamException {
+    start(tagName);
+    text(content);
+    end();
+  }
+
+  /** Writes the content as {@link XMLStringBuffer#addCDATA(String)} does. */
+  private void text(String content) throws XMLStreamException {
+    newLine();
+    String data =
+        content == null ? "null" : sanitize(CONTROL_CHARS.matcher(content).replaceAll(""));
+    // A section cannot hold "]]>", which is split across two sections instead
+    int from = 0;
+    for (int end = data.indexOf("]]>"); end >= 0; end = data.indexOf("]]>", from)) {
+      xml.writeCData(data.substring(from, end + 2));
+      from = end + 2;
+    }
+    xml.writeCData(data.substring(from));
+  }
+
+  private void newLine() throws XMLStreamException {
+    xml.writeCharacters(XMLStringBuffer.EOL);
+    xml.writeCharacters(indent);
+  }
+
+  private static String sanitize(String s) {
+    return INVALID_XML_CHARS.matcher(s).replaceAll("");
+  }
+
+  /** Starts a document in the file, which is written once the document is closed. */
+  private Document open(File file) throws IOException, XMLStreamException {
+    File parent = file.getParentFile();
+    if (parent != null && !parent.exists() && !parent.mkdirs() && !parent.exists()) {
+      throw new IOException("Couldn't create the directory " + parent);
+    }
+    FileChannel channel =
+        FileChannel.open(
+            file.toPath(),
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING);
+    out = Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), BUFFER_SIZE);
+    xml = FACTORY.createXMLStreamWriter(out);
+    indent = "";
+    xml.writeStartDocument("UTF-8", "1.0");
+    return new Document(out, xml);
+  }
+
+  private interface Content {
+    void write() throws IOException, XMLStreamException;
+  }
+
+  /** Ends a document, then closes its writers and its channel. */
+  private static class Document {
+    private final Writer out;
+    private final XMLStreamWriter xml;
+
+    Document(Writer out, XMLStreamWriter xml) {
+      this.out = out;
+      this.xml = xml;
+    }
+
+    void close() throws IOException, XMLStreamException {
+      try {
+        xml.writeEndDocument();
+        xml.close();
+        out.write(XMLStringBuffer.EOL);
+      } finally {
+        out.close();
+      }
+    }
+  }
+}
@@ -58,10 +58,11 @@ public class XMLSuiteResultWriter {
               + File.separatorChar
               + suiteResult.getTestContext().getSuite().getName();
       File file = referenceSuiteResult(xmlBuffer, parentDir, suiteResult);
-      XMLStringBuffer suiteXmlBuffer = new XMLStringBuffer();
-      writeAllToBuffer(suiteXmlBuffer, suiteResult);
-      Utils.writeUtf8File(
-          file.getAbsoluteFile().getParent(), file.getName(), suiteXmlBuffer.toXML());
+      try (XMLStringBuffer suiteXmlBuffer = new XMLStringBuffer()) {
+        writeAllToBuffer(suiteXmlBuffer, suiteResult);
+        Utils.writeUtf8File(
+            file.getAbsoluteFile().getParent(), file.getName(), suiteXmlBuffer.toXML());
+      }
     }
   }
 
@@ -99,7 +100,7 @@ public class XMLSuiteResultWriter {
     return new File(parentDir + File.separatorChar + suiteResultName);
   }
 
-  private Properties getSuiteResultAttributes(ISuiteResult suiteResult) {
+  Properties getSuiteResultAttributes(ISuiteResult suiteResult) {
     Properties attributes = new Properties();
     ITestContext tc = suiteResult.getTestContext();
     attributes.setProperty(XMLReporterConfig.ATTR_NAME, tc.getName());
@@ -123,8 +124,11 @@ public class XMLSuiteResultWriter {
   }
 
   private Properties buildProperties(Map.Entry<String, List<ITestResult>> result) {
+    return getClassAttributes(result.getKey());
+  }
+
+  Properties getClassAttributes(String className) {
     Properties attributes = new Properties();
-    String className = result.getKey();
     if (config.isSplitClassAndPackageNames()) {
       int dot = className.lastIndexOf('.');
       attributes.setProperty(
@@ -165,7 +169,7 @@ public class XMLSuiteResultWriter {
     xmlBuffer.pop();
   }
 
-  private String getStatusString(int testResultStatus) {
+  static String getStatusString(int testResultStatus) {
     switch (testResultStatus) {
       case ITestResult.SUCCESS:
         return "PASS";
@@ -180,7 +184,7 @@ public class XMLSuiteResultWriter {
     }
   }
 
-  private Properties getTestResultAttributes(ITestResult testResult) {
+  Properties getTestResultAttributes(ITestResult testResult) {
     Properties attributes = new Properties();
     if (!testResult.getMethod().isTest()) {
       attributes.setProperty(XMLReporterConfig.ATTR_IS_CONFIG, "true");
@@ -308,7 +312,7 @@ public class XMLSuiteResultWriter {
     }
   }
 
-  private XMLReporterConfig.StackTraceLevels calculateStackTraceLevels(ITestResult testResult) {
+  XMLReporterConfig.StackTraceLevels calculateStackTraceLevels(ITestResult testResult) {
     XMLReporterConfig.StackTraceLevels stackTraceoutputMethod = config.getStackTraceOutput();
     if (testResult.isSuccess()) {
       stackTraceoutputMethod = config.getStackTraceOutputLevelForPassedTests();
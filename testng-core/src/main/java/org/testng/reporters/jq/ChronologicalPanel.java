@@ -25,46 +25,47 @@ public class ChronologicalPanel extends BaseMultiSuitePanel {
 
   @Override
   public String getContent(ISuite suite, XMLStringBuffer main) {
-    XMLStringBuffer xsb = new XMLStringBuffer(main.getCurrentIndent());
-    List<IInvokedMethod> invokedMethods = suite.getAllInvokedMethods();
+    try (XMLStringBuffer xsb = new XMLStringBuffer(main.getCurrentIndent())) {
+      List<IInvokedMethod> invokedMethods = suite.getAllInvokedMethods();
 
-    invokedMethods.sort(
-        (m1, m2) ->
-            (int) (m1.getTestResult().getStartMillis() - m2.getTestResult().getStartMillis()));
+      invokedMethods.sort(
+          (m1, m2) ->
+              (int) (m1.getTestResult().getStartMillis() - m2.getTestResult().getStartMillis()));
 
-    String currentClass = "";
-    long start = 0;
-    for (IInvokedMethod im : invokedMethods) {
-      ITestNGMethod m = im.getTestMethod();
-      String cls = extractMethodType(m);
-      ITestResult tr = im.getTestResult();
-      String methodName = Model.getTestResultName(tr);
+      String currentClass = "";
+      long start = 0;
+      for (IInvokedMethod im : invokedMethods) {
+        ITestNGMethod m = im.getTestMethod();
+        String cls = extractMethodType(m);
+        ITestResult tr = im.getTestResult();
+        String methodName = Model.getTestResultName(tr);
 
-      if (!m.getTestClass().getName().equals(currentClass)) {
-        if (!"".equals(currentClass)) {
-          xsb.pop(D);
+        if (!m.getTestClass().getName().equals(currentClass)) {
+          if (!"".equals(currentClass)) {
+            xsb.pop(D);
+          }
+          xsb.push(D, C, "chronological-class");
+          xsb.addRequired(D, m.getTestClass().getName(), C, "chronological-class-name");
+          currentClass = m.getTestClass().getName();
+        }
+        xsb.push(D, C, cls);
+        if (tr.getStatus() == ITestResult.FAILURE) {
+          xsb.push("img", "src", Model.getImage("failed"));
+          xsb.pop("img");
         }
-        xsb.push(D, C, "chronological-class");
-        xsb.addRequired(D, m.getTestClass().getName(), C, "chronological-class-name");
-        currentClass = m.getTestClass().getName();
-      }
-      xsb.push(D, C, cls);
-      if (tr.getStatus() == ITestResult.FAILURE) {
-        xsb.push("img", "src", Model.getImage("failed"));
-        xsb.pop("img");
-      }
 
-      // No need to check for skipped methods since by definition, they were never
-      // invoked.
+        // No need to check for skipped methods since by definition, they were never
+        // invoked.
 
-      xsb.addRequired(S, methodName, C, "method-name");
-      if (start == 0) {
-        start = tr.getStartMillis();
+        xsb.addRequired(S, methodName, C, "method-name");
+        if (start == 0) {
+          start = tr.getStartMillis();
+        }
+        xsb.addRequired(S, tr.getStartMillis() - start + " ms", C, "method-start");
+        xsb.pop(D);
       }
-      xsb.addRequired(S, tr.getStartMillis() - start + " ms", C, "method-start");
-      xsb.pop(D);
+      return xsb.toXML();
     }
-    return xsb.toXML();
   }
 
   private static String extractMethodType(ITestNGMethod m) {
@@ -0,0 +1,345 @@
+package org.testng.reporters.jq;
+
+import static org.testng.reporters.jq.BasePanel.C;
+import static org.testng.reporters.jq.BasePanel.D;
+import static org.testng.reporters.jq.BasePanel.S;
+
+import java.io.File;
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.testng.IResultMap;
+import org.testng.ISuite;
+import org.testng.ISuiteResult;
+import org.testng.ITestContext;
+import org.testng.ITestResult;
+import org.testng.annotations.CustomAttribute;
+import org.testng.internal.Utils;
+import org.testng.reporters.XMLStringBuffer;
+import org.testng.util.Strings;
+
+/**
+ * Generates the report as a shell page that only holds the banner, the navigator and an empty
+ * panel per suite, along with chunks of results that the page loads on demand. Every suite gets a
+ * chunk that lists its classes, and the results of every class are split into chunks of at most
+ * {@link #RESULTS_PER_CHUNK} results, so that neither the page nor the browser has to hold all the
+ * results of a big run.
+ *
+ * <p>The chunks are streamed to disk one at a time, as JSON documents passed to <code>
+ * testngChunks.loaded()</code>: the page loads them as scripts, which browsers allow for the pages
+ * that are opened from the file system, unlike requests for JSON files.
+ */
+class ChunkedReport {
+
+  static final String CHUNK_DIRECTORY = "chunks";
+  static final int RESULTS_PER_CHUNK = 500;
+
+  private static final String PASSED = "passed";
+  private static final String SKIPPED = "skipped";
+  private static final String FAILED = "failed";
+
+  private final List<ISuite> m_suites;
+  private final File m_chunkDirectory;
+
+  ChunkedReport(List<ISuite> suites, String outputDirectory) {
+    m_suites = suites;
+    m_chunkDirectory = new File(outputDirectory, CHUNK_DIRECTORY);
+  }
+
+  /**
+   * Writes the chunks of all the suites.
+   *
+   * @param xsb - The buffer of the shell page, which gets the body that refers to the chunks.
+   */
+  void generate(XMLStringBuffer xsb) throws IOException {
+    if (!m_chunkDirectory.exists() && !m_chunkDirectory.mkdirs()) {
+      throw new IOException("Couldn't create the directory " + m_chunkDirectory);
+    }
+    generateBanner(xsb);
+
+    xsb.push(D, C, "navigator-root");
+    for (ISuite suite : m_suites) {
+      if (!suite.getResults().isEmpty()) {
+        generateNavigator(suite, xsb);
+      }
+    }
+    xsb.pop(D);
+
+    xsb.push(D, C, "wrapper");
+    xsb.push(D, C, "main-panel-root");
+    for (int i = 0; i < m_suites.size(); i++) {
+      ISuite suite = m_suites.get(i);
+      String chunk = writeSuite(suite, "suite-" + i);
+      String divName = BasePanel.suiteToTag(suite);
+      xsb.addRequired(
+          D,
+          "Loading the results...",
+          C,
+          "panel " + divName,
+          "panel-name",
+          "suite-" + divName,
+          "chunk",
+          CHUNK_DIRECTORY + "/" + chunk);
+    }
+    xsb.pop(D); // main-panel-root
+    xsb.pop(D); // wrapper
+
+    xsb.addString("  </body>\n");
+    xsb.addString("<script type=\"text/javascript\" src=\"testng-reports2.js\"></script>\n");
+    xsb.addString("<script type=\"text/javascript\" src=\"testng-reports-chunks.js\"></script>\n");
+    xsb.addString("</html>\n");
+  }
+
+  private void generateBanner(XMLStringBuffer xsb) {
+    int failedCount = 0;
+    for (ISuite suite : m_suites) {
+      for (ISuiteResult sr : suite.getResults().values()) {
+        failedCount += sr.getTestContext().getFailedTests().size();
+      }
+    }
+    xsb.push(D, C, "top-banner-root");
+    xsb.addRequired(S, "Test results", C, "top-banner-title-font");
+    xsb.addRequired(BasePanel.B, "Switch Retro Theme", BasePanel.I, "button", C, "button");
+    xsb.addEmptyElement("br");
+    String testResult =
+        failedCount > 0 ? ", " + BasePanel.pluralize(failedCount, "failed test") : "";
+    String subTitle = BasePanel.pluralize(m_suites.size(), "suite") + testResult;
+    xsb.addRequired(S, subTitle, C, "top-banner-font-1");
+    xsb.pop(D);
+  }
+
+  private static void generateNavigator(ISuite suite, XMLStringBuffer xsb) {
+    int failed = 0;
+    int skipped = 0;
+    int passed = 0;
+    for (ISuiteResult result : suite.getResults().values()) {
+      ITestContext context = result.getTestContext();
+      failed += context.getFailedTests().size();
+      skipped += context.getSkippedTests().size();
+      passed += context.getPassedTests().size();
+    }
+    String status = failed > 0 ? FAILED : skipped > 0 ? SKIPPED : PASSED;
+
+    xsb.push(D, C, "suite");
+    xsb.push(D, C, "rounded-window");
+    xsb.push(D, C, "suite-header light-rounded-window-top");
+    xsb.push(
+        "a",
+        "href",
+        "#",
+        "panel-name",
+        "suite-" + BasePanel.suiteToTag(suite),
+        C,
+        "navigator-link");
+    xsb.addOptional(S, suite.getName(), C, "suite-name border-" + status);
+    xsb.pop("a");
+    xsb.pop(D); // suite-header
+
+    xsb.push(D, C, "navigator-suite-content");
+    xsb.push(D, C, "suite-section-title");
+    xsb.addRequired(S, "Results");
+    xsb.pop(D);
+    String stats =
+        String.format(
+            "%s: %d failed, %d skipped, %d passed",
+            BasePanel.pluralize(failed + skipped + passed, "method"),
+            failed,
+            skipped,
+            passed);
+    xsb.push(D, C, "suite-section-content");
+    xsb.push("ul");
+    xsb.push("li");
+    xsb.addOptional(S, stats, C, "method-stats");
+    xsb.pop("li");
+    xsb.pop("ul");
+    xsb.pop(D); // suite-section-content
+    xsb.pop(D); // navigator-suite-content
+
+    xsb.pop(D); // rounded-window
+    xsb.pop(D); // suite
+  }
+
+  /**
+   * Writes the chunks of the classes of the suite, then the chunk that lists them. The results are
+   * grouped by class across the tests of the suite, so the references to the results of the whole
+   * suite are held until its chunks are written.
+   */
+  private String writeSuite(ISuite suite, String id) throws IOException {
+    // Failed, skipped then passed, as in the single page report
+    String[] statuses = new String[] {FAILED, SKIPPED, PASSED};
+    ResultsByClass[] results = new ResultsByClass[statuses.length];
+    for (int i = 0; i < results.length; i++) {
+      results[i] = new ResultsByClass();
+    }
+    for (ISuiteResult sr : suite.getResults().values()) {
+      ITestContext context = sr.getTestContext();
+      IResultMap[] maps = {
+        context.getFailedTests(), context.getSkippedTests(), context.getPassedTests()
+      };
+      for (int i = 0; i < maps.length; i++) {
+        for (ITestResult tr : maps[i].getAllResults()) {
+          results[i].addResult(tr.getTestClass().getRealClass(), tr);
+        }
+      }
+    }
+
+    String chunk = id + ".js";
+    try (Writer writer = newChunk(chunk, id)) {
+      writer.write("{\"name\":");
+      writeString(writer, suite.getName());
+      writer.write(",\"classes\":[");
+      int classIndex = 0;
+      for (int i = 0; i < statuses.length; i++) {
+        for (Class<?> c : results[i].getClasses()) {
+          List<ITestResult> classResults = results[i].getResults(c);
+          if (classIndex > 0) {
+            writer.write(',');
+          }
+          writer.write("\n{\"name\":");
+          writeString(writer, c.getName());
+          writer.write(",\"status\":");
+          writeString(writer, statuses[i]);
+          writer.write(",\"count\":" + classResults.size() + ",\"chunks\":[");
+          String classId = id + "-" + classIndex++;
+          for (int from = 0; from < classResults.size(); from += RESULTS_PER_CHUNK) {
+            List<ITestResult> page =
+                classResults.subList(
+                    from, Math.min(from + RESULTS_PER_CHUNK, classResults.size()));
+            String pageId = classId + "-" + from / RESULTS_PER_CHUNK;
+            writeResults(page, pageId);
+            if (from > 0) {
+              writer.write(',');
+            }
+            writeString(writer, CHUNK_DIRECTORY + "/" + pageId + ".js");
+          }
+          writer.write("]}");
+        }
+      }
+      writer.write("]}");
+    }
+    return chunk;
+  }
+
+  private void writeResults(List<ITestResult> results, String id) throws IOException {
+    try (Writer writer = newChunk(id + ".js", id)) {
+      writer.write('[');
+      for (int i = 0; i < results.size(); i++) {
+        if (i > 0) {
+          writer.write(',');
+        }
+        writer.write('\n');
+        writeResult(writer, results.get(i));
+      }
+      writer.write(']');
+    }
+  }
+
+  private static void writeResult(Writer writer, ITestResult tr) throws IOException {
+    writer.write("{\"name\":");
+    writeString(writer, Model.getTestResultName(tr));
+    writer.write(",\"method\":");
+    writeString(writer, tr.getMethod().getMethodName());
+    if (tr.getParameters().length > 0) {
+      String text =
+          Arrays.stream(tr.getParameters()).map(Utils::toString).collect(Collectors.joining(","));
+      writeField(writer, "parameters", text);
+    }
+    CustomAttribute[] attributes = tr.getMethod().getAttributes();
+    if (attributes != null && attributes.length > 0) {
+      String text =
+          Arrays.stream(attributes)
+              .map(
+                  attribute ->
+                      "{ " + attribute.name() + ", " + Arrays.toString(attribute.values()) + " }")
+              .collect(Collectors.joining(", "));
+      writeField(writer, "attributes", text);
+    }
+    if (tr.getStatus() != ITestResult.SUCCESS && tr.getThrowable() != null) {
+      writeField(writer, "stackTrace", Utils.shortStackTrace(tr.getThrowable(), false));
+    }
+    String description = tr.getMethod().getDescription();
+    if (!Strings.isNullOrEmpty(description)) {
+      writeField(writer, "description", description);
+    }
+    writer.write('}');
+  }
+
+  /** Opens a chunk, which is closed along with the writer. */
+  private Writer newChunk(String fileName, String id) throws IOException {
+    Writer writer =
+        Files.newBufferedWriter(
+            new File(m_chunkDirectory, fileName).toPath(), StandardCharsets.UTF_8);
+    writer.write("testngChunks.loaded(");
+    writeString(writer, id);
+    writer.write(", ");
+    return new ChunkWriter(writer);
+  }
+
+  private static void writeField(Writer writer, String name, String value) throws IOException {
+    writer.write(",\"");
+    writer.write(name);
+    writer.write("\":");
+    writeString(writer, value);
+  }
+
+  /** Writes the string as a JSON string, which is a valid JavaScript string as well. */
+  static void writeString(Writer writer, String s) throws IOException {
+    if (s == null) {
+      writer.write("null");
+      return;
+    }
+    writer.write('"');
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+      switch (c) {
+        case '"':
+          writer.write("\\\"");
+          break;
+        case '\\':
+          writer.write("\\\\");
+          break;
+        case '\n':
+          writer.write("\\n");
+          break;
+        case '\r':
+          writer.write("\\r");
+          break;
+        case '\t':
+          writer.write("\\t");
+          break;
+        case '<':
+          // Keeps "</script>" out of the chunks
+          writer.write("\\u003c");
+          break;
+        default:
+          // The control characters, and the line separators that JavaScript does not allow
+          // in strings
+          if (c < 0x20 || c == (char) 0x2028 || c == (char) 0x2029) {
+            writer.write(String.format("\\u%04x", (int) c));
+          } else {
+            writer.write(c);
+          }
+      }
+    }
+    writer.write('"');
+  }
+
+  /** Closes the call that passes the content of the chunk to the page. */
+  private static class ChunkWriter extends FilterWriter {
+
+    ChunkWriter(Writer out) {
+      super(out);
+    }
+
+    @Override
+    public void close() throws IOException {
+      out.write(");\n");
+      super.close();
+    }
+  }
+}
@@ -22,23 +22,24 @@ public class GroupPanel extends BaseMultiSuitePanel {
 
   @Override
   public String getContent(ISuite suite, XMLStringBuffer main) {
-    XMLStringBuffer xsb = new XMLStringBuffer(main.getCurrentIndent());
-    List<String> sortedGroups = getModel().getGroups(suite.getName());
-    Collections.sort(sortedGroups);
-    for (String group : sortedGroups) {
-      xsb.push(D, C, "test-group");
-      xsb.addRequired(S, group, C, "test-group-name");
-      xsb.addEmptyElement("br");
-      List<String> sortedMethods = getModel().getMethodsInGroup(group);
-      for (String method : sortedMethods) {
-        xsb.push(D, C, "method-in-group");
-        xsb.addRequired(S, method, C, "method-in-group-name");
+    try (XMLStringBuffer xsb = new XMLStringBuffer(main.getCurrentIndent())) {
+      List<String> sortedGroups = getModel().getGroups(suite.getName());
+      Collections.sort(sortedGroups);
+      for (String group : sortedGroups) {
+        xsb.push(D, C, "test-group");
+        xsb.addRequired(S, group, C, "test-group-name");
         xsb.addEmptyElement("br");
+        List<String> sortedMethods = getModel().getMethodsInGroup(group);
+        for (String method : sortedMethods) {
+          xsb.push(D, C, "method-in-group");
+          xsb.addRequired(S, method, C, "method-in-group-name");
+          xsb.addEmptyElement("br");
+          xsb.pop(D);
+        }
         xsb.pop(D);
       }
-      xsb.pop(D);
+      return xsb.toXML();
     }
-    return xsb.toXML();
   }
 
   @Override
@@ -24,25 +24,26 @@ public class IgnoredMethodsPanel extends BaseMultiSuitePanel {
 
   @Override
   public String getContent(ISuite suite, XMLStringBuffer main) {
-    XMLStringBuffer xsb = new XMLStringBuffer(main.getCurrentIndent());
-    SetMultiMap<Class<?>, ITestNGMethod> map = Maps.newSetMultiMap();
+    try (XMLStringBuffer xsb = new XMLStringBuffer(main.getCurrentIndent())) {
+      SetMultiMap<Class<?>, ITestNGMethod> map = Maps.newSetMultiMap();
 
-    for (ITestNGMethod method : suite.getExcludedMethods()) {
-      map.put(method.getTestClass().getRealClass(), method);
-    }
+      for (ITestNGMethod method : suite.getExcludedMethods()) {
+        map.put(method.getTestClass().getRealClass(), method);
+      }
 
-    for (Class<?> c : map.keySet()) {
-      xsb.push(D, C, "ignored-class-div");
-      xsb.addRequired(S, c.getName(), C, "ignored-class-name");
-      xsb.push(D, C, "ignored-methods-div");
-      for (ITestNGMethod m : map.get(c)) {
-        xsb.addRequired(S, m.getMethodName(), C, "ignored-method-name");
-        xsb.addEmptyElement("br");
+      for (Class<?> c : map.keySet()) {
+        xsb.push(D, C, "ignored-class-div");
+        xsb.addRequired(S, c.getName(), C, "ignored-class-name");
+        xsb.push(D, C, "ignored-methods-div");
+        for (ITestNGMethod m : map.get(c)) {
+          xsb.addRequired(S, m.getMethodName(), C, "ignored-method-name");
+          xsb.addEmptyElement("br");
+        }
+        xsb.pop(D);
+        xsb.pop(D);
       }
-      xsb.pop(D);
-      xsb.pop(D);
+      return xsb.toXML();
     }
-    return xsb.toXML();
   }
 
   @Override
@@ -13,6 +13,7 @@ import org.testng.ISuite;
 import org.testng.internal.Utils;
 import org.testng.log4testng.Logger;
 import org.testng.reporters.Files;
+import org.testng.reporters.RuntimeBehavior;
 import org.testng.reporters.XMLStringBuffer;
 import org.testng.xml.XmlSuite;
 
@@ -25,6 +26,7 @@ public class Main implements IReporter {
         "testng-reports.js",
         "testng-reports1.css",
         "testng-reports2.js",
+        "testng-reports-chunks.js",
         "passed.png",
         "failed.png",
         "skipped.png",
@@ -37,9 +39,20 @@ public class Main implements IReporter {
   @Override
   public void generateReport(
       List<XmlSuite> xmlSuites, List<ISuite> suites, String outputDirectory) {
-    Model m_model = new Model(suites);
+    try (XMLStringBuffer xsb = new XMLStringBuffer("    ")) {
+      if (RuntimeBehavior.useChunkedHtmlReport()) {
+        new ChunkedReport(suites, outputDirectory).generate(xsb);
+      } else {
+        generateSinglePage(suites, xsb);
+      }
+      writeReport(xsb, outputDirectory);
+    } catch (IOException e) {
+      Logger.getLogger(Main.class).error(e.getMessage(), e);
+    }
+  }
 
-    XMLStringBuffer xsb = new XMLStringBuffer("    ");
+  private static void generateSinglePage(List<ISuite> suites, XMLStringBuffer xsb) {
+    Model m_model = new Model(suites);
 
     // Generate the top banner
     new BannerPanel(m_model).generate(xsb);
@@ -77,7 +90,9 @@ public class Main implements IReporter {
     xsb.addString("  </body>\n");
     xsb.addString("<script type=\"text/javascript\" src=\"testng-reports2.js\"></script>\n");
     xsb.addString("</html>\n");
+  }
 
+  private void writeReport(XMLStringBuffer xsb, String outputDirectory) {
     String all;
     try {
       try (InputStream header =
@@ -36,50 +36,50 @@ public class NavigatorPanel extends BasePanel {
 
       String suiteName = "suite-" + suiteToTag(suite);
 
-      XMLStringBuffer header = new XMLStringBuffer(main.getCurrentIndent());
-
-      Map<String, ISuiteResult> results = suite.getResults();
-      int failed = 0;
-      int skipped = 0;
-      int passed = 0;
-      for (ISuiteResult result : results.values()) {
-        ITestContext context = result.getTestContext();
-        failed += context.getFailedTests().size();
-        skipped += context.getSkippedTests().size();
-        passed += context.getPassedTests().size();
-      }
-
-      // Suite name in big font
-      header.push(D, C, "suite");
-      header.push(D, C, "rounded-window");
-      // Extra div so the highlighting logic will only highlight this line and not
-      // the entire container
-      header.push(D, C, "suite-header light-rounded-window-top");
-      header.push("a", "href", "#", "panel-name", suiteName, C, "navigator-link");
-      header.addOptional(
-          S,
-          suite.getName(),
-          C,
-          "suite-name border-" + getModel().getStatusForSuite(suite.getName()));
-      header.pop("a");
-      header.pop(D);
+      try (XMLStringBuffer header = new XMLStringBuffer(main.getCurrentIndent())) {
+        Map<String, ISuiteResult> results = suite.getResults();
+        int failed = 0;
+        int skipped = 0;
+        int passed = 0;
+        for (ISuiteResult result : results.values()) {
+          ITestContext context = result.getTestContext();
+          failed += context.getFailedTests().size();
+          skipped += context.getSkippedTests().size();
+          passed += context.getPassedTests().size();
+        }
+
+        // Suite name in big font
+        header.push(D, C, "suite");
+        header.push(D, C, "rounded-window");
+        // Extra div so the highlighting logic will only highlight this line and not
+        // the entire container
+        header.push(D, C, "suite-header light-rounded-window-top");
+        header.push("a", "href", "#", "panel-name", suiteName, C, "navigator-link");
+        header.addOptional(
+            S,
+            suite.getName(),
+            C,
+            "suite-name border-" + getModel().getStatusForSuite(suite.getName()));
+        header.pop("a");
+        header.pop(D);
 
-      header.push(D, C, "navigator-suite-content");
+        header.push(D, C, "navigator-suite-content");
 
-      generateInfo(header, suite);
-      generateResult(header, failed, skipped, passed, suite, suiteName);
+        generateInfo(header, suite);
+        generateResult(header, failed, skipped, passed, suite, suiteName);
 
-      header.pop("ul");
+        header.pop("ul");
 
-      header.pop(D); // suite-section-content
-      header.pop(D); // suite-header
-      header.pop(D); // suite
+        header.pop(D); // suite-section-content
+        header.pop(D); // suite-header
+        header.pop(D); // suite
 
-      header.pop(D); // result-section
+        header.pop(D); // result-section
 
-      header.pop(D); // navigator-suite-content
+        header.pop(D); // navigator-suite-content
 
-      main.addString(header.toXML());
+        main.addString(header.toXML());
+      }
     }
     main.pop(D);
   }
@@ -221,70 +221,71 @@ public class NavigatorPanel extends BasePanel {
 
   private void generateMethodList(
       String name, IResultProvider provider, String suiteName, XMLStringBuffer main) {
-    XMLStringBuffer xsb = new XMLStringBuffer(main.getCurrentIndent());
-    String type = provider.getType();
-    String image = Model.getImage(type);
-
-    xsb.push("li");
-
-    // The methods themselves
-    xsb.addRequired(S, name, C, "method-list-title " + type);
-
-    // The mark up to show the (hide)/(show) links
-    xsb.push(S, C, "show-or-hide-methods " + type);
-    xsb.addRequired(
-        "a",
-        " (hide)",
-        "href",
-        "#",
-        C,
-        "hide-methods " + type + " " + suiteName,
-        "panel-name",
-        suiteName);
-    xsb.addRequired(
-        "a",
-        " (show)",
-        "href",
-        "#",
-        C,
-        "show-methods " + type + " " + suiteName,
-        "panel-name",
-        suiteName);
-    xsb.pop(S);
-
-    // List of methods
-    xsb.push(D, C, "method-list-content " + type + " " + suiteName);
-    int count = 0;
-    List<ITestResult> testResults = provider.getResults();
-    if (testResults != null) {
-      testResults.sort(ResultsByClass.METHOD_NAME_COMPARATOR);
-      for (ITestResult tr : testResults) {
-        String testName = Model.getTestResultName(tr);
-        xsb.push(S);
-        xsb.addEmptyElement("img", "src", image, "width", "3%");
-        xsb.addRequired(
-            "a",
-            testName,
-            "href",
-            "#",
-            "hash-for-method",
-            getModel().getTag(tr),
-            "panel-name",
-            suiteName,
-            "title",
-            tr.getTestClass().getName(),
-            C,
-            "method navigator-link");
-        xsb.pop(S);
-        xsb.addEmptyElement("br");
-        count++;
+    try (XMLStringBuffer xsb = new XMLStringBuffer(main.getCurrentIndent())) {
+      String type = provider.getType();
+      String image = Model.getImage(type);
+
+      xsb.push("li");
+
+      // The methods themselves
+      xsb.addRequired(S, name, C, "method-list-title " + type);
+
+      // The mark up to show the (hide)/(show) links
+      xsb.push(S, C, "show-or-hide-methods " + type);
+      xsb.addRequired(
+          "a",
+          " (hide)",
+          "href",
+          "#",
+          C,
+          "hide-methods " + type + " " + suiteName,
+          "panel-name",
+          suiteName);
+      xsb.addRequired(
+          "a",
+          " (show)",
+          "href",
+          "#",
+          C,
+          "show-methods " + type + " " + suiteName,
+          "panel-name",
+          suiteName);
+      xsb.pop(S);
+
+      // List of methods
+      xsb.push(D, C, "method-list-content " + type + " " + suiteName);
+      int count = 0;
+      List<ITestResult> testResults = provider.getResults();
+      if (testResults != null) {
+        testResults.sort(ResultsByClass.METHOD_NAME_COMPARATOR);
+        for (ITestResult tr : testResults) {
+          String testName = Model.getTestResultName(tr);
+          xsb.push(S);
+          xsb.addEmptyElement("img", "src", image, "width", "3%");
+          xsb.addRequired(
+              "a",
+              testName,
+              "href",
+              "#",
+              "hash-for-method",
+              getModel().getTag(tr),
+              "panel-name",
+              suiteName,
+              "title",
+              tr.getTestClass().getName(),
+              C,
+              "method navigator-link");
+          xsb.pop(S);
+          xsb.addEmptyElement("br");
+          count++;
+        }
       }
-    }
-    xsb.pop(D);
-    xsb.pop("li");
+      xsb.pop(D);
+      xsb.pop("li");
 
-    if (count > 0) {
-      main.addString(xsb.toXML());
+      if (count > 0) {
+        main.addString(xsb.toXML());
+      }
     }
   }
 }
@@ -25,21 +25,22 @@ public class ReporterPanel extends BaseMultiSuitePanel {
 
   @Override
   public String getContent(ISuite suite, XMLStringBuffer main) {
-    XMLStringBuffer xsb = new XMLStringBuffer(main.getCurrentIndent());
-    for (ITestResult tr : getModel().getAllTestResults(suite)) {
-      List<String> lines = Reporter.getOutput(tr);
-      if (!lines.isEmpty()) {
-        xsb.push(D, C, "reporter-method-div");
-        xsb.addRequired(S, Model.getTestResultName(tr), C, "reporter-method-name");
-        xsb.push(D, C, "reporter-method-output-div");
-        for (String output : lines) {
-          xsb.addRequired(S, output, C, "reporter-method-output");
+    try (XMLStringBuffer xsb = new XMLStringBuffer(main.getCurrentIndent())) {
+      for (ITestResult tr : getModel().getAllTestResults(suite)) {
+        List<String> lines = Reporter.getOutput(tr);
+        if (!lines.isEmpty()) {
+          xsb.push(D, C, "reporter-method-div");
+          xsb.addRequired(S, Model.getTestResultName(tr), C, "reporter-method-name");
+          xsb.push(D, C, "reporter-method-output-div");
+          for (String output : lines) {
+            xsb.addRequired(S, output, C, "reporter-method-output");
+          }
+          xsb.pop(D);
+          xsb.pop(D);
         }
-        xsb.pop(D);
-        xsb.pop(D);
       }
+      return xsb.toXML();
     }
-    return xsb.toXML();
   }
 
   @Override
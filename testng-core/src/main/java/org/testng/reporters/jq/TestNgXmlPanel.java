@@ -22,11 +22,12 @@ public class TestNgXmlPanel extends BaseMultiSuitePanel {
 
   @Override
   public String getContent(ISuite suite, XMLStringBuffer main) {
-    XMLStringBuffer xsb = new XMLStringBuffer(main.getCurrentIndent());
-    xsb.push("pre");
-    xsb.addString(Utils.escapeHtml(suite.getXmlSuite().toXml()));
-    xsb.pop("pre");
-    return xsb.toXML();
+    try (XMLStringBuffer xsb = new XMLStringBuffer(main.getCurrentIndent())) {
+      xsb.push("pre");
+      xsb.addString(Utils.escapeHtml(suite.getXmlSuite().toXml()));
+      xsb.pop("pre");
+      return xsb.toXML();
+    }
   }
 
   @Override
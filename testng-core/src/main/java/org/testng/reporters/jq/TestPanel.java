@@ -23,19 +23,19 @@ public class TestPanel extends BaseMultiSuitePanel {
 
   @Override
   public String getContent(ISuite suite, XMLStringBuffer main) {
-    XMLStringBuffer xsb = new XMLStringBuffer(main.getCurrentIndent());
-
-    xsb.push("ul");
-    for (XmlTest test : suite.getXmlSuite().getTests()) {
-      xsb.push("li");
-      int count = test.getXmlClasses().size();
-      String name = test.getName() + " (" + pluralize(count, "class") + ")";
-      xsb.addRequired(S, name, C, "test-name");
-      xsb.pop("li");
+    try (XMLStringBuffer xsb = new XMLStringBuffer(main.getCurrentIndent())) {
+      xsb.push("ul");
+      for (XmlTest test : suite.getXmlSuite().getTests()) {
+        xsb.push("li");
+        int count = test.getXmlClasses().size();
+        String name = test.getName() + " (" + pluralize(count, "class") + ")";
+        xsb.addRequired(S, name, C, "test-name");
+        xsb.pop("li");
+      }
+      xsb.pop("ul");
+
+      return xsb.toXML();
     }
-    xsb.pop("ul");
-
-    return xsb.toXML();
   }
 
   @Override
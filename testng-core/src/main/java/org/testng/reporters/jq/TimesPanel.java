@@ -99,18 +99,19 @@ public class TimesPanel extends BaseMultiSuitePanel {
 
   @Override
   public String getContent(ISuite suite, XMLStringBuffer main) {
-    XMLStringBuffer xsb = new XMLStringBuffer(main.getCurrentIndent());
-    xsb.push(D, C, "times-div");
-    xsb.push("script", "type", "text/javascript");
-    xsb.addString(js(suite));
-    xsb.pop("script");
-    long time = maxTime(suite);
-    xsb.addRequired(
-        S, String.format("Total running time: %s", prettyDuration(time)), C, "suite-total-time");
-    xsb.push(D, "id", "times-div-" + suiteToTag(suite));
-    xsb.pop(D);
-    xsb.pop(D);
-    return xsb.toXML();
+    try (XMLStringBuffer xsb = new XMLStringBuffer(main.getCurrentIndent())) {
+      xsb.push(D, C, "times-div");
+      xsb.push("script", "type", "text/javascript");
+      xsb.addString(js(suite));
+      xsb.pop("script");
+      long time = maxTime(suite);
+      xsb.addRequired(
+          S, String.format("Total running time: %s", prettyDuration(time)), C, "suite-total-time");
+      xsb.push(D, "id", "times-div-" + suiteToTag(suite));
+      xsb.pop(D);
+      xsb.pop(D);
+      return xsb.toXML();
+    }
   }
 
   private String prettyDuration(long totalTime) {
@@ -7,14 +7,20 @@ import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
 import org.testng.TestNGException;
+import org.testng.internal.RuntimeBehavior;
 import org.testng.log4testng.Logger;
 import org.xml.sax.SAXException;
 import org.xml.sax.helpers.DefaultHandler;
 
 public abstract class XMLParser<T> implements IFileParser<T> {
 
+  private static final SAXParserFactory m_saxParserFactory;
   private static final SAXParser m_saxParser;
 
+  /** The parsers that are used when the suites are parsed in parallel, one for each thread. */
+  private static final ThreadLocal<SAXParser> m_threadSaxParsers =
+      ThreadLocal.withInitial(XMLParser::newSAXParser);
+
   static {
     SAXParserFactory spf = loadSAXParserFactory();
 
@@ -29,15 +35,32 @@ public abstract class XMLParser<T> implements IFileParser<T> {
     } catch (ParserConfigurationException | SAXException e) {
       Logger.getLogger(XMLParser.class).error(e.getMessage(), e);
     }
+    m_saxParserFactory = spf;
     m_saxParser = parser;
   }
 
   public void parse(InputStream is, DefaultHandler dh) throws SAXException, IOException {
+    if (RuntimeBehavior.parseSuitesInParallel()) {
+      // A parser of its own for every thread, so that parsing does not need to be serialized.
+      m_threadSaxParsers.get().parse(is, dh);
+      return;
+    }
     synchronized (m_saxParser) {
       m_saxParser.parse(is, dh);
     }
   }
 
+  private static SAXParser newSAXParser() {
+    // A SAXParserFactory is not guaranteed to be thread-safe.
+    synchronized (m_saxParserFactory) {
+      try {
+        return m_saxParserFactory.newSAXParser();
+      } catch (ParserConfigurationException | SAXException e) {
+        throw new TestNGException("Cannot create a SAXParser. Root cause: " + e.getMessage(), e);
+      }
+    }
+  }
+
   /**
    * Tries to load a <code>SAXParserFactory</code> via <code>SAXParserFactory.newInstance()</code>.
    *
@@ -11,8 +11,17 @@ import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.testng.TestNGException;
 import org.testng.collections.Lists;
 import org.testng.collections.Maps;
+import org.testng.collections.Sets;
+import org.testng.internal.RuntimeBehavior;
+import org.testng.internal.thread.TestNGThreadFactory;
 import org.testng.xml.IFileParser;
 import org.testng.xml.IPostProcessor;
 import org.testng.xml.ISuiteParser;
@@ -112,15 +121,14 @@ public class Parser {
    *     testng.xml file is not found.
    */
   public Collection<XmlSuite> parse() throws IOException {
-    // Each suite found is put in this list, using their canonical
+    // Each suite found is put in this set, using their canonical
     // path to make sure we don't add a same file twice
     // (e.g. "testng.xml" and "./testng.xml")
-    List<String> processedSuites = Lists.newArrayList();
+    Set<String> processedSuites = Sets.newHashSet();
     XmlSuite resultSuite = null;
 
     List<String> toBeParsed = Lists.newArrayList();
     List<String> toBeAdded = Lists.newArrayList();
-    List<String> toBeRemoved = Lists.newArrayList();
 
     if (m_fileName != null) {
       URI uri = constructURI(m_fileName);
@@ -139,69 +147,55 @@ public class Parser {
      * Keeps a track of parent XmlSuite for each child suite
      */
     Map<String, Queue<XmlSuite>> childToParentMap = Maps.newHashMap();
-    while (!toBeParsed.isEmpty()) {
-
-      for (String currentFile : toBeParsed) {
-        File parentFile = null;
-        InputStream inputStream = null;
-
-        if (hasFileScheme(currentFile)) {
-          File currFile = new File(currentFile);
-          parentFile = currFile.getParentFile();
-          inputStream = m_inputStream != null ? m_inputStream : new FileInputStream(currFile);
+    ExecutorService executor = null;
+    try {
+      while (!toBeParsed.isEmpty()) {
+        if (executor == null && toBeParsed.size() > 1 && canParseInParallel()) {
+          executor =
+              Executors.newFixedThreadPool(
+                  RuntimeBehavior.getSuiteParserThreadCount(),
+                  new TestNGThreadFactory("suite-parser"));
         }
 
-        IFileParser<XmlSuite> fileParser = getParser(currentFile);
-        XmlSuite currentXmlSuite = fileParser.parse(currentFile, inputStream, m_loadClasses);
-        currentXmlSuite.setParsed(true);
-        processedSuites.add(currentFile);
-        toBeRemoved.add(currentFile);
-
-        if (childToParentMap.containsKey(currentFile)) {
-          XmlSuite parentSuite = childToParentMap.get(currentFile).remove();
-          // Set parent
-          currentXmlSuite.setParentSuite(parentSuite);
-          // append children
-          parentSuite.getChildSuites().add(currentXmlSuite);
-        }
+        // The files are parsed (concurrently, if need be) before being linked to one another one
+        // after the other, in the order in which they were found.
+        for (ParsedSuite parsedSuite : parseAll(toBeParsed, executor)) {
+          String currentFile = parsedSuite.file;
+          XmlSuite currentXmlSuite = parsedSuite.suite;
+          processedSuites.add(currentFile);
+
+          if (childToParentMap.containsKey(currentFile)) {
+            XmlSuite parentSuite = childToParentMap.get(currentFile).remove();
+            // Set parent
+            currentXmlSuite.setParentSuite(parentSuite);
+            // append children
+            parentSuite.getChildSuites().add(currentXmlSuite);
+          }
 
-        if (null == resultSuite) {
-          resultSuite = currentXmlSuite;
-        }
+          if (null == resultSuite) {
+            resultSuite = currentXmlSuite;
+          }
 
-        List<String> suiteFiles = currentXmlSuite.getSuiteFiles();
-        if (!suiteFiles.isEmpty()) {
-          for (String path : suiteFiles) {
-            String canonicalPath = path;
-            if (hasFileScheme(path)) {
-              if (parentFile != null && new File(parentFile, path).exists()) {
-                canonicalPath = new File(parentFile, path).getCanonicalPath();
-              } else {
-                canonicalPath = new File(path).getCanonicalPath();
-              }
-            }
+          for (String canonicalPath : parsedSuite.suiteFiles) {
             if (!processedSuites.contains(canonicalPath)) {
               toBeAdded.add(canonicalPath);
-              if (childToParentMap.containsKey(canonicalPath)) {
-                childToParentMap.get(canonicalPath).add(currentXmlSuite);
-              } else {
-                Queue<XmlSuite> parentQueue = new ArrayDeque<>();
-                parentQueue.add(currentXmlSuite);
-                childToParentMap.put(canonicalPath, parentQueue);
-              }
+              childToParentMap
+                  .computeIfAbsent(canonicalPath, k -> new ArrayDeque<>())
+                  .add(currentXmlSuite);
             }
           }
         }
-      }
 
-      //
-      // Add and remove files from toBeParsed before we loop
-      //
-      toBeParsed.removeAll(toBeRemoved);
-      toBeRemoved = Lists.newArrayList();
-
-      toBeParsed.addAll(toBeAdded);
-      toBeAdded = Lists.newArrayList();
+        //
+        // Parse the files that were added before we loop
+        //
+        toBeParsed = toBeAdded;
+        toBeAdded = Lists.newArrayList();
+      }
+    } finally {
+      if (executor != null) {
+        executor.shutdownNow();
+      }
     }
 
     // returning a list of single suite to keep changes minimum
@@ -215,6 +209,84 @@ public class Parser {
     }
   }
 
+  /**
+   * @return - <code>true</code> if the suite files are to be parsed concurrently. They never are
+   *     when parsing from a stream, since every file would then be read from the same stream.
+   */
+  private boolean canParseInParallel() {
+    return m_inputStream == null && RuntimeBehavior.parseSuitesInParallel();
+  }
+
+  private List<ParsedSuite> parseAll(List<String> files, ExecutorService executor)
+      throws IOException {
+    List<ParsedSuite> result = Lists.newArrayList(files.size());
+    if (executor == null || files.size() == 1) {
+      for (String file : files) {
+        result.add(parseSuite(file));
+      }
+      return result;
+    }
+    List<Future<ParsedSuite>> futures = Lists.newArrayList(files.size());
+    for (String file : files) {
+      futures.add(executor.submit(() -> parseSuite(file)));
+    }
+    for (Future<ParsedSuite> future : futures) {
+      result.add(await(future));
+    }
+    return result;
+  }
+
+  private ParsedSuite parseSuite(String currentFile) throws IOException {
+    File parentFile = null;
+    InputStream inputStream = null;
+
+    if (hasFileScheme(currentFile)) {
+      File currFile = new File(currentFile);
+      parentFile = currFile.getParentFile();
+      inputStream = m_inputStream != null ? m_inputStream : new FileInputStream(currFile);
+    }
+
+    IFileParser<XmlSuite> fileParser = getParser(currentFile);
+    XmlSuite currentXmlSuite = fileParser.parse(currentFile, inputStream, m_loadClasses);
+    currentXmlSuite.setParsed(true);
+
+    List<String> suiteFiles = currentXmlSuite.getSuiteFiles();
+    List<String> canonicalPaths = Lists.newArrayList(suiteFiles.size());
+    for (String path : suiteFiles) {
+      String canonicalPath = path;
+      if (hasFileScheme(path)) {
+        if (parentFile != null && new File(parentFile, path).exists()) {
+          canonicalPath = new File(parentFile, path).getCanonicalPath();
+        } else {
+          canonicalPath = new File(path).getCanonicalPath();
+        }
+      }
+      canonicalPaths.add(canonicalPath);
+    }
+    return new ParsedSuite(currentFile, currentXmlSuite, canonicalPaths);
+  }
+
+  private static ParsedSuite await(Future<ParsedSuite> future) throws IOException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new TestNGException("Interrupted while parsing the suites", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new TestNGException(cause);
+    }
+  }
+
   /**
    * @param uri - The uri to be verified.
    * @return - <code>true</code> if the uri has "file:" as its scheme.
@@ -275,4 +347,17 @@ public class Parser {
       return null;
     }
   }
+
+  /** A suite file, as parsed, along with the canonical paths of the suite files it refers to. */
+  private static final class ParsedSuite {
+    private final String file;
+    private final XmlSuite suite;
+    private final List<String> suiteFiles;
+
+    ParsedSuite(String file, XmlSuite suite, List<String> suiteFiles) {
+      this.file = file;
+      this.suite = suite;
+      this.suiteFiles = suiteFiles;
+    }
+  }
 }
@@ -0,0 +1,103 @@
+// Loads the results of the chunked report on demand, see org.testng.reporters.jq.ChunkedReport.
+// Every chunk is a script that passes its content to testngChunks.loaded().
+var testngChunks = (function () {
+    var callbacks = {};
+
+    function load(src, callback) {
+        var id = src.substring(src.lastIndexOf('/') + 1, src.length - '.js'.length);
+        callbacks[id] = callback;
+        var script = document.createElement('script');
+        script.type = 'text/javascript';
+        script.src = src;
+        document.body.appendChild(script);
+    }
+
+    function loaded(id, content) {
+        var callback = callbacks[id];
+        delete callbacks[id];
+        if (callback) {
+            callback(content);
+        }
+    }
+
+    return {load: load, loaded: loaded};
+})();
+
+$(document).ready(function () {
+    $('a.navigator-link').on("click", function () {
+        loadSuite($('.panel[panel-name="' + getPanelName($(this)) + '"]'));
+    });
+    // The first panel is shown before this handler is installed
+    loadSuite($('.panel:visible'));
+});
+
+function loadSuite(panel) {
+    if (panel.length === 0 || panel.attr('loaded')) {
+        return;
+    }
+    panel.attr('loaded', 'true');
+    testngChunks.load(panel.attr('chunk'), function (suite) {
+        panel.empty();
+        suite.classes.forEach(function (c) {
+            panel.append(createClassPanel(c));
+        });
+    });
+}
+
+function createClassPanel(c) {
+    var header = $('<div class="main-panel-header rounded-window-top"></div>')
+        .append($('<img>').attr('src', c.status + '.png'))
+        .append($('<span class="class-name"></span>').text(c.name));
+    var content = $('<div class="main-panel-content rounded-window-bottom"></div>');
+    var next = 0;
+    var shown = 0;
+    var more = $('<a href="#" class="load-results"></a>');
+
+    function updateMoreLink() {
+        if (next >= c.chunks.length) {
+            more.remove();
+        } else {
+            more.text(next === 0
+                ? 'Show the ' + c.count + ' results'
+                : 'Show more results (' + (c.count - shown) + ' left)');
+        }
+    }
+
+    more.on("click", function () {
+        if (next < c.chunks.length) {
+            more.text('Loading...');
+            testngChunks.load(c.chunks[next++], function (results) {
+                results.forEach(function (result) {
+                    more.before(createMethod(result));
+                });
+                shown += results.length;
+                updateMoreLink();
+            });
+        }
+        return false;
+    });
+    content.append(more);
+    updateMoreLink();
+    return $('<div></div>').append(header).append(content);
+}
+
+function createMethod(result) {
+    var method = $('<div class="method-content"></div>')
+        .append($('<a></a>').attr('name', result.name))
+        .append($('<span class="method-name"></span>').text(result.method));
+    if (result.parameters !== undefined) {
+        method.append($('<span class="parameters"></span>').text('(' + result.parameters + ')'));
+    }
+    if (result.attributes !== undefined) {
+        method.append($('<span class="parameters"></span>').text('(' + result.attributes + ')'));
+    }
+    if (result.stackTrace !== undefined) {
+        method.append($('<div class="stack-trace"></div>')
+            .css('white-space', 'pre-wrap')
+            .text(result.stackTrace));
+    }
+    if (result.description !== undefined) {
+        method.append($('<em></em>').text('(' + result.description + ')'));
+    }
+    return $('<div class="method"></div>').append(method);
+}
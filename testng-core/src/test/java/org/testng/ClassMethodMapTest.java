@@ -0,0 +1,87 @@
+package org.testng;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import org.testng.annotations.Test;
+import org.testng.internal.MethodInstanceTest.TestClassStub;
+import org.testng.internal.WrappedTestNGMethod;
+import org.testng.internal.paramhandler.FakeTestNGMethod;
+import org.testng.xml.XmlClass;
+
+public class ClassMethodMapTest {
+
+  private final Object instance = new Object();
+  private final ITestClass firstClass = new TestClassStub(null, new XmlClass(Object.class));
+  private final ITestClass secondClass = new TestClassStub(null, new XmlClass(Object.class));
+
+  @Test
+  public void lastEnabledMethodOfAClassShouldBeDetected() {
+    ITestNGMethod first = new InstanceMethod("first", firstClass, instance, true);
+    ITestNGMethod disabled = new InstanceMethod("second", firstClass, instance, false);
+    ITestNGMethod other = new InstanceMethod("third", secondClass, instance, true);
+    ITestNGMethod last = new InstanceMethod("second", firstClass, new Object(), true);
+    ClassMethodMap map = new ClassMethodMap(Arrays.asList(first, disabled, other, last), null);
+
+    assertThat(map.removeAndCheckIfLast(first, instance)).isTrue();
+    assertThat(map.removeAndCheckIfLast(other, instance)).isTrue();
+    assertThat(map.removeAndCheckIfLast(last, last.getInstance())).isTrue();
+  }
+
+  @Test
+  public void everyInvocationOfAMethodShouldBeAccountedFor() {
+    ITestNGMethod first = new InstanceMethod("first", firstClass, instance, true);
+    ITestNGMethod second = new InstanceMethod("second", firstClass, instance, true);
+    ClassMethodMap map =
+        new ClassMethodMap(Arrays.asList(first, new WrappedTestNGMethod(first), second), null);
+
+    assertThat(map.removeAndCheckIfLast(first, instance)).isFalse();
+    assertThat(map.removeAndCheckIfLast(second, instance)).isFalse();
+    assertThat(map.removeAndCheckIfLast(second, instance)).isFalse();
+    assertThat(map.removeAndCheckIfLast(new WrappedTestNGMethod(first), instance)).isTrue();
+  }
+
+  @Test
+  public void unknownInstancesShouldBeRejected() {
+    ITestNGMethod first = new InstanceMethod("first", firstClass, instance, true);
+    ClassMethodMap map = new ClassMethodMap(Arrays.asList(first), null);
+
+    assertThatThrownBy(() -> map.removeAndCheckIfLast(first, new Object()))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  public void first() {}
+
+  public void second() {}
+
+  public void third() {}
+
+  private static class InstanceMethod extends FakeTestNGMethod {
+    private final ITestClass testClass;
+    private final Object instance;
+    private final boolean enabled;
+
+    InstanceMethod(String methodName, ITestClass testClass, Object instance, boolean enabled) {
+      super(ClassMethodMapTest.class, methodName);
+      this.testClass = testClass;
+      this.instance = instance;
+      this.enabled = enabled;
+    }
+
+    @Override
+    public ITestClass getTestClass() {
+      return testClass;
+    }
+
+    @Override
+    public Object getInstance() {
+      return instance;
+    }
+
+    @Override
+    public boolean getEnabled() {
+      return enabled;
+    }
+  }
+}
@@ -0,0 +1,98 @@
+package org.testng.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.annotations.Test;
+import org.testng.collections.Lists;
+import org.testng.internal.paramhandler.FakeTestNGMethod;
+
+public class BufferedReporterOutputStoreTest {
+
+  @Test
+  public void outputIsAttachedToTheResultThatLoggedIt() {
+    ITestResult first = newResult("first");
+    ITestResult second = newResult("second");
+    BufferedReporterOutputStore store = new BufferedReporterOutputStore();
+    store.log("orphan", null);
+    store.log("one", first);
+    store.log("two", second);
+    store.log("three", first);
+
+    assertThat(store.getOutput()).containsExactly("orphan", "one", "two", "three");
+    assertThat(store.getOutput(first)).containsExactly("one", "three");
+    assertThat(store.getOutput(second)).containsExactly("two");
+
+    store.clear();
+    assertThat(store.getOutput()).isEmpty();
+    assertThat(store.getOutput(first)).isEmpty();
+  }
+
+  @Test
+  public void spilledOutputIsReadBack() {
+    ITestResult first = newResult("first");
+    ITestResult second = newResult("second");
+    BufferedReporterOutputStore store = new BufferedReporterOutputStore(64);
+    List<String> expected = Lists.newArrayList();
+    List<String> expectedForFirst = Lists.newArrayList();
+    for (int i = 0; i < 1000; i++) {
+      String line = "line " + i + " é中";
+      expected.add(line);
+      if (i % 2 == 0) {
+        expectedForFirst.add(line);
+      }
+      store.log(line, i % 2 == 0 ? first : second);
+    }
+
+    assertThat(store.getOutput()).containsExactlyElementsOf(expected);
+    assertThat(store.getOutput(first)).containsExactlyElementsOf(expectedForFirst);
+    store.clear();
+  }
+
+  @Test(description = "Reading the output should not fail while it is being cleared")
+  public void spilledOutputCanBeReadWhileItIsCleared() throws InterruptedException {
+    ITestResult first = newResult("first");
+    BufferedReporterOutputStore store = new BufferedReporterOutputStore(64);
+    AtomicBoolean done = new AtomicBoolean();
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    Thread reader =
+        new Thread(
+            () -> {
+              try {
+                while (!done.get()) {
+                  store.getOutput();
+                  store.getOutput(first);
+                }
+              } catch (Throwable t) {
+                failure.set(t);
+              }
+            });
+    reader.start();
+    try {
+      for (int i = 0; i < 2000 && failure.get() == null; i++) {
+        for (int j = 0; j < 20; j++) {
+          store.log("line " + j, first);
+        }
+        store.clear();
+      }
+    } finally {
+      done.set(true);
+      reader.join();
+    }
+
+    assertThat(failure.get()).isNull();
+  }
+
+  private static ITestResult newResult(String methodName) {
+    ITestNGMethod method = new FakeTestNGMethod(BufferedReporterOutputStoreTest.class, methodName);
+    return TestResult.newTestResultFor(method);
+  }
+
+  public void first() {}
+
+  public void second() {}
+}
@@ -0,0 +1,102 @@
+package org.testng.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.testng.ITestNGMethod;
+import org.testng.annotations.Test;
+import org.testng.collections.Maps;
+import org.testng.internal.paramhandler.FakeTestNGMethod;
+
+public class ConfigurationGroupMethodsTest {
+
+  @Test(description = "The last methods of two groups complete them at the same time")
+  public void afterGroupsMethodOfSeveralGroupsShouldBeHandedOutOnce() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      for (int i = 0; i < 2_000; i++) {
+        ITestNGMethod first = new GroupedMethod("first", new String[] {"a"});
+        ITestNGMethod second = new GroupedMethod("second", new String[] {"b"});
+        ITestNGMethod afterGroups = new GroupedMethod("afterGroups", new String[0], "a", "b");
+        Map<String, List<ITestNGMethod>> afterGroupsMethods = Maps.newHashMap();
+        afterGroupsMethods.put("a", Collections.singletonList(afterGroups));
+        afterGroupsMethods.put("b", Collections.singletonList(afterGroups));
+        ConfigurationGroupMethods groupMethods =
+            new ConfigurationGroupMethods(
+                new Container(first, second), Collections.emptyMap(), afterGroupsMethods);
+
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        Future<List<ITestNGMethod>> afterFirst =
+            executor.submit(
+                () -> {
+                  barrier.await();
+                  return groupMethods.getAfterGroupMethods(first);
+                });
+        Future<List<ITestNGMethod>> afterSecond =
+            executor.submit(
+                () -> {
+                  barrier.await();
+                  return groupMethods.getAfterGroupMethods(second);
+                });
+
+        assertThat(afterFirst.get().size() + afterSecond.get().size()).isEqualTo(1);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  public void first() {}
+
+  public void second() {}
+
+  public void afterGroups() {}
+
+  private static class GroupedMethod extends FakeTestNGMethod {
+    private final String[] groups;
+    private final String[] afterGroups;
+
+    GroupedMethod(String methodName, String[] groups, String... afterGroups) {
+      super(ConfigurationGroupMethodsTest.class, methodName);
+      this.groups = groups;
+      this.afterGroups = afterGroups;
+    }
+
+    @Override
+    public String[] getGroups() {
+      return groups;
+    }
+
+    @Override
+    public String[] getAfterGroups() {
+      return afterGroups;
+    }
+  }
+
+  private static class Container implements IContainer<ITestNGMethod> {
+    private final ITestNGMethod[] methods;
+
+    Container(ITestNGMethod... methods) {
+      this.methods = methods;
+    }
+
+    @Override
+    public ITestNGMethod[] getItems() {
+      return methods;
+    }
+
+    @Override
+    public void clearItems() {}
+
+    @Override
+    public boolean isCleared() {
+      return false;
+    }
+  }
+}
@@ -0,0 +1,73 @@
+package org.testng.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.testng.ITestNGMethod;
+import org.testng.annotations.Test;
+import org.testng.internal.paramhandler.FakeTestNGMethod;
+
+public class GroupCompletionTrackerTest {
+
+  @Test
+  public void groupShouldCompleteWithItsLastMethod() {
+    ITestNGMethod first = new GroupedMethod("first", "a", "b");
+    ITestNGMethod second = new GroupedMethod("second", "a");
+    GroupCompletionTracker tracker =
+        new GroupCompletionTracker(new ITestNGMethod[] {first, second});
+
+    assertThat(tracker.isComplete("a")).isFalse();
+    assertThat(tracker.complete("a", first)).isFalse();
+    assertThat(tracker.complete("b", first)).isTrue();
+    assertThat(tracker.isComplete("a")).isFalse();
+    assertThat(tracker.complete("a", second)).isTrue();
+    assertThat(tracker.isComplete("a")).isTrue();
+  }
+
+  @Test
+  public void methodShouldCompleteAGroupOnlyOnce() {
+    ITestNGMethod first = new GroupedMethod("first", "a");
+    ITestNGMethod second = new GroupedMethod("second", "a");
+    GroupCompletionTracker tracker =
+        new GroupCompletionTracker(new ITestNGMethod[] {first, second});
+
+    assertThat(tracker.complete("a", first)).isFalse();
+    assertThat(tracker.complete("a", first)).isFalse();
+    assertThat(tracker.complete("a", second)).isTrue();
+  }
+
+  @Test
+  public void clonesShouldCompleteTheMethodTheyWereClonedFrom() {
+    ITestNGMethod first = new GroupedMethod("first", "a");
+    GroupCompletionTracker tracker =
+        new GroupCompletionTracker(new ITestNGMethod[] {first, first});
+
+    assertThat(tracker.complete("a", new GroupedMethod("first", "a"))).isFalse();
+    assertThat(tracker.complete("a", new WrappedTestNGMethod(first))).isTrue();
+  }
+
+  @Test
+  public void groupsWithoutMethodsShouldBeComplete() {
+    GroupCompletionTracker tracker = new GroupCompletionTracker(new ITestNGMethod[0]);
+
+    assertThat(tracker.isComplete("a")).isTrue();
+    assertThat(tracker.complete("a", new GroupedMethod("first", "a"))).isTrue();
+  }
+
+  public void first() {}
+
+  public void second() {}
+
+  private static class GroupedMethod extends FakeTestNGMethod {
+    private final String[] groups;
+
+    GroupedMethod(String methodName, String... groups) {
+      super(GroupCompletionTrackerTest.class, methodName);
+      this.groups = groups;
+    }
+
+    @Override
+    public String[] getGroups() {
+      return groups;
+    }
+  }
+}
@@ -0,0 +1,55 @@
+package org.testng.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Random;
+import org.testng.IDynamicGraph.Status;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class IncrementalDynamicGraphTest {
+
+  @DataProvider(name = "seeds")
+  public Object[][] seeds() {
+    return new Object[][] {{1L}, {7L}, {42L}, {2024L}};
+  }
+
+  @Test(dataProvider = "seeds")
+  public void freeNodesMatchTheRegularGraph(long seed) {
+    DynamicGraph<String> expected = new DynamicGraph<>();
+    DynamicGraph<String> actual = new IncrementalDynamicGraph<>();
+    Random random = new Random(seed);
+    int count = 60;
+    for (int i = 0; i < count; i++) {
+      String node = "node" + i;
+      expected.addNode(node);
+      actual.addNode(node);
+      // Only depend upon nodes added earlier, so that the hard edges never form a cycle.
+      for (int j = 0; j < i; j++) {
+        if (random.nextInt(10) == 0) {
+          int weight = random.nextInt(2);
+          expected.addEdge(weight, node, "node" + j);
+          actual.addEdge(weight, node, "node" + j);
+        }
+      }
+    }
+
+    while (expected.getNodeCountWithStatus(Status.FINISHED) < count) {
+      List<String> free = expected.getFreeNodes();
+      assertThat(actual.getFreeNodes()).isEqualTo(free);
+      assertThat(free).isNotEmpty();
+      // Run a few nodes at a time and finish them in a random order.
+      List<String> running = free.subList(0, Math.min(free.size(), 1 + random.nextInt(3)));
+      expected.setStatus(running, Status.RUNNING);
+      actual.setStatus(running, Status.RUNNING);
+      assertThat(actual.getFreeNodes()).isEqualTo(expected.getFreeNodes());
+      String finished = running.get(random.nextInt(running.size()));
+      expected.setStatus(running, Status.READY);
+      actual.setStatus(running, Status.READY);
+      expected.setStatus(finished, Status.FINISHED);
+      actual.setStatus(finished, Status.FINISHED);
+    }
+    assertThat(actual.getFreeNodes()).isEmpty();
+  }
+}
@@ -0,0 +1,77 @@
+package org.testng.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.annotations.Test;
+import org.testng.internal.paramhandler.FakeTestNGMethod;
+
+public class IndexedResultMapTest {
+
+  @Test
+  public void resultsAreBucketedByMethod() {
+    ITestNGMethod first = new FakeTestNGMethod(IndexedResultMapTest.class, "first");
+    ITestNGMethod second = new FakeTestNGMethod(IndexedResultMapTest.class, "second");
+    IndexedResultMap map = new IndexedResultMap();
+    ITestResult firstResult = newResult(first, ITestResult.SUCCESS);
+    map.addResult(firstResult);
+    map.addResult(newResult(second, ITestResult.SUCCESS));
+    map.addResult(newResult(second, ITestResult.FAILURE));
+
+    assertThat(map.size()).isEqualTo(3);
+    assertThat(map.getResults(first)).containsExactly(firstResult);
+    assertThat(map.getResults(second)).hasSize(2);
+    assertThat(map.getAllMethods()).containsExactlyInAnyOrder(first, second);
+    assertThat(map.getResultCount(ITestResult.SUCCESS)).isEqualTo(2);
+    assertThat(map.getResultCount(ITestResult.FAILURE)).isEqualTo(1);
+    assertThat(map.getResultCount(ITestResult.SKIP)).isZero();
+  }
+
+  @Test
+  public void removingByMethodUpdatesTheIndex() {
+    ITestNGMethod first = new FakeTestNGMethod(IndexedResultMapTest.class, "first");
+    ITestNGMethod second = new FakeTestNGMethod(IndexedResultMapTest.class, "second");
+    IndexedResultMap map = new IndexedResultMap();
+    map.addResult(newResult(first, ITestResult.SUCCESS));
+    map.addResult(newResult(first, ITestResult.SKIP));
+    ITestResult secondResult = newResult(second, ITestResult.SUCCESS);
+    map.addResult(secondResult);
+
+    map.removeResult(first);
+
+    assertThat(map.size()).isEqualTo(1);
+    assertThat(map.getResults(first)).isEmpty();
+    assertThat(map.getAllResults()).containsExactly(secondResult);
+    assertThat(map.getAllMethods()).containsExactly(second);
+    assertThat(map.getResultCount(ITestResult.SUCCESS)).isEqualTo(1);
+    assertThat(map.getResultCount(ITestResult.SKIP)).isZero();
+  }
+
+  @Test
+  public void removingThroughTheViewUpdatesTheIndex() {
+    ITestNGMethod first = new FakeTestNGMethod(IndexedResultMapTest.class, "first");
+    IndexedResultMap map = new IndexedResultMap();
+    ITestResult result = newResult(first, ITestResult.SUCCESS);
+    map.addResult(result);
+    map.addResult(result);
+
+    assertThat(map.size()).isEqualTo(1);
+    map.getAllResults().removeIf(tr -> tr.getMethod().equals(first));
+
+    assertThat(map.size()).isZero();
+    assertThat(map.getResults(first)).isEmpty();
+    assertThat(map.getAllMethods()).isEmpty();
+    assertThat(map.getResultCount(ITestResult.SUCCESS)).isZero();
+  }
+
+  private static ITestResult newResult(ITestNGMethod method, int status) {
+    ITestResult result = TestResult.newTestResultFor(method);
+    result.setStatus(status);
+    return result;
+  }
+
+  public void first() {}
+
+  public void second() {}
+}
@@ -0,0 +1,62 @@
+package org.testng.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Set;
+import org.testng.ITestListener;
+import org.testng.annotations.Test;
+import org.testng.collections.Lists;
+import org.testng.collections.Sets;
+
+public class ListenerDispatchTableTest {
+
+  @Test
+  public void ordersAreComputedOnceForUnchangedListeners() {
+    List<ITestListener> listeners = Lists.newArrayList(new FirstListener(), new SecondListener());
+    ListenerDispatchTable<ITestListener> table = new ListenerDispatchTable<>();
+
+    List<ITestListener> inOrder = table.inOrder(listeners);
+    List<ITestListener> inReverseOrder = table.inReverseOrder(listeners);
+
+    assertThat(inOrder).containsExactlyElementsOf(ListenerOrderDeterminer.order(listeners));
+    assertThat(inReverseOrder)
+        .containsExactlyElementsOf(ListenerOrderDeterminer.reversedOrder(listeners));
+    assertThat(table.inOrder(listeners)).isSameAs(inOrder);
+    assertThat(table.inReverseOrder(Lists.newArrayList(listeners))).isSameAs(inReverseOrder);
+  }
+
+  @Test
+  public void ordersAreRecomputedWhenListenersChange() {
+    ITestListener first = new FirstListener();
+    ITestListener second = new SecondListener();
+    List<ITestListener> listeners = Lists.newArrayList(first);
+    ListenerDispatchTable<ITestListener> table = new ListenerDispatchTable<>();
+    assertThat(table.inOrder(listeners)).containsExactly(first);
+
+    listeners.add(second);
+    assertThat(table.inOrder(listeners)).containsExactly(first, second);
+    assertThat(table.inReverseOrder(listeners)).containsExactly(second, first);
+
+    ITestListener replacement = new FirstListener();
+    listeners.set(0, replacement);
+    assertThat(table.inOrder(listeners)).containsExactly(replacement, second);
+  }
+
+  @Test
+  public void snapshotsCompareListenersByIdentity() {
+    ITestListener listener = new FirstListener();
+    Set<ITestListener> listeners = Sets.newHashSet();
+    listeners.add(listener);
+    Object[] snapshot = listeners.toArray();
+
+    assertThat(ListenerDispatchTable.isSnapshotOf(snapshot, listeners)).isTrue();
+    listeners.add(new SecondListener());
+    assertThat(ListenerDispatchTable.isSnapshotOf(snapshot, listeners)).isFalse();
+    assertThat(ListenerDispatchTable.isSnapshotOf(new Object[0], Lists.newArrayList())).isTrue();
+  }
+
+  public static class FirstListener implements ITestListener {}
+
+  public static class SecondListener implements ITestListener {}
+}
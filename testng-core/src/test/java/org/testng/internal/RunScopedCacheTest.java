@@ -0,0 +1,156 @@
+package org.testng.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class RunScopedCacheTest {
+
+  // A run of its own, nested within the run that executes this test
+  private RunScopedCache.Run run;
+
+  @BeforeMethod
+  public void startRun() {
+    run = RunScopedCache.runStarted();
+  }
+
+  @AfterMethod(alwaysRun = true)
+  public void finishRun() {
+    run.finished();
+  }
+
+  @Test
+  public void oldestEntriesAreEvicted() {
+    RunScopedCache<String, Integer> cache = RunScopedCache.newCache("test.eviction", 2);
+    cache.put("one", 1);
+    cache.put("two", 2);
+    cache.put("one", 10);
+    cache.put("three", 3);
+
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.get("one")).isNull();
+    assertThat(cache.get("two")).isEqualTo(2);
+    assertThat(cache.get("three")).isEqualTo(3);
+    assertThat(cache.getEvictions()).isEqualTo(1);
+  }
+
+  @Test
+  public void removedEntriesAreNoLongerTheOldest() {
+    RunScopedCache<String, Integer> cache = RunScopedCache.newCache("test.removal", 2);
+    cache.put("one", 1);
+    cache.put("two", 2);
+    cache.remove("one");
+    cache.put("one", 1);
+    cache.put("three", 3);
+
+    assertThat(cache.get("one")).isEqualTo(1);
+    assertThat(cache.get("two")).isNull();
+    assertThat(cache.get("three")).isEqualTo(3);
+    assertThat(cache.getEvictions()).isEqualTo(1);
+  }
+
+  @Test
+  public void cacheIsBoundedWhenUsedConcurrently() throws InterruptedException {
+    RunScopedCache<Integer, Integer> cache = RunScopedCache.newCache("test.concurrent", 100);
+    ExecutorService service = Executors.newFixedThreadPool(4);
+    for (int t = 0; t < 4; t++) {
+      int offset = t * 10_000;
+      service.execute(
+          () -> {
+            for (int i = 0; i < 10_000; i++) {
+              cache.computeIfAbsent(offset + i % 500, key -> key);
+            }
+          });
+    }
+    service.shutdown();
+    assertThat(service.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+    assertThat(cache.size()).isLessThanOrEqualTo(100);
+    assertThat(cache.getHits() + cache.getMisses()).isEqualTo(40_000);
+  }
+
+  @Test
+  public void hitsAndMissesAreCounted() {
+    RunScopedCache<String, Integer> cache = RunScopedCache.newCache("test.counters", 10);
+    assertThat(cache.computeIfAbsent("key", String::length)).isEqualTo(3);
+    assertThat(cache.computeIfAbsent("key", k -> -1)).isEqualTo(3);
+    assertThat(cache.get("missing")).isNull();
+
+    assertThat(cache.getHits()).isEqualTo(1);
+    assertThat(cache.getMisses()).isEqualTo(2);
+  }
+
+  @Test
+  public void entriesAreDroppedWhenTheirRunEnds() {
+    RunScopedCache<String, Integer> cache = RunScopedCache.newCache("test.runs", 10);
+    cache.put("key", 1);
+
+    RunScopedCache.Run nested = RunScopedCache.runStarted();
+    assertThat(cache.get("key")).isNull();
+    cache.put("key", 2);
+    nested.finished();
+
+    assertThat(nested.size()).isZero();
+    assertThat(cache.get("key")).isEqualTo(1);
+  }
+
+  @Test
+  public void entriesAreDroppedWhileAnotherRunIsInProgress() throws InterruptedException {
+    RunScopedCache<String, Integer> cache = RunScopedCache.newCache("test.overlapping", 10);
+    cache.put("key", 1);
+    CountDownLatch cached = new CountDownLatch(1);
+    CountDownLatch checked = new CountDownLatch(1);
+    AtomicReference<RunScopedCache.Run> other = new AtomicReference<>();
+    Thread thread =
+        new Thread(
+            () -> {
+              other.set(RunScopedCache.runStarted());
+              cache.put("other", 2);
+              cached.countDown();
+              try {
+                checked.await(10, TimeUnit.SECONDS);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+              other.get().finished();
+            });
+    thread.start();
+    assertThat(cached.await(10, TimeUnit.SECONDS)).isTrue();
+
+    run.finished();
+
+    assertThat(run.size()).isZero();
+    assertThat(other.get().size()).isEqualTo(1);
+    checked.countDown();
+    thread.join(10_000);
+    assertThat(other.get().size()).isZero();
+    run = RunScopedCache.runStarted();
+  }
+
+  @Test
+  public void nothingIsCachedOnceTheRunIsOver() throws InterruptedException {
+    RunScopedCache<String, Integer> cache = RunScopedCache.newCache("test.over", 10);
+    AtomicReference<Integer> value = new AtomicReference<>();
+    // The thread belongs to the run, but outlives it
+    Thread thread =
+        new Thread(
+            () -> {
+              cache.put("key", 1);
+              value.set(cache.computeIfAbsent("key", k -> 2));
+            });
+    run.finished();
+    thread.start();
+    thread.join(10_000);
+
+    assertThat(value.get()).isEqualTo(2);
+    assertThat(run.size()).isZero();
+    run = RunScopedCache.runStarted();
+  }
+}
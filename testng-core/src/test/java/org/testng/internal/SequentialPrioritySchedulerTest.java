@@ -0,0 +1,61 @@
+package org.testng.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.testng.IDynamicGraph.Status;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.testng.collections.Lists;
+
+public class SequentialPrioritySchedulerTest {
+
+  @DataProvider(name = "seeds")
+  public Object[][] seeds() {
+    return new Object[][] {{1L}, {7L}, {42L}, {2024L}};
+  }
+
+  @Test(dataProvider = "seeds")
+  public void orderMatchesSortingTheFreeNodesAfterEveryNode(long seed) {
+    DynamicGraph<String> expectedGraph = new DynamicGraph<>();
+    DynamicGraph<String> actualGraph = new DynamicGraph<>();
+    Random random = new Random(seed);
+    int count = 60;
+    for (int i = 0; i < count; i++) {
+      String node = "node" + i;
+      expectedGraph.addNode(node);
+      actualGraph.addNode(node);
+      for (int j = 0; j < i; j++) {
+        if (random.nextInt(10) == 0) {
+          int weight = random.nextInt(2);
+          expectedGraph.addEdge(weight, node, "node" + j);
+          actualGraph.addEdge(weight, node, "node" + j);
+        }
+      }
+    }
+    // Only a handful of priorities, so that there are plenty of ties.
+    Comparator<String> comparator = Comparator.comparingInt(node -> node.hashCode() % 3);
+
+    List<String> expected = Lists.newArrayList();
+    List<String> free = expectedGraph.getFreeNodes();
+    while (!free.isEmpty()) {
+      free.sort(comparator);
+      String next = free.get(0);
+      expected.add(next);
+      expectedGraph.setStatus(next, Status.FINISHED);
+      free = expectedGraph.getFreeNodes();
+    }
+
+    List<String> actual = Lists.newArrayList();
+    SequentialPriorityScheduler<String> scheduler =
+        new SequentialPriorityScheduler<>(actualGraph, comparator, actualGraph.getFreeNodes());
+    for (String next = scheduler.next(); next != null; next = scheduler.next()) {
+      actual.add(next);
+      scheduler.finished(next);
+    }
+
+    assertThat(actual).hasSize(count).isEqualTo(expected);
+  }
+}
@@ -0,0 +1,11 @@
+package org.testng.internal.annotations;
+
+import org.testng.annotations.Factory;
+
+public class ChildSample extends ParentSample {
+
+  public ChildSample() {}
+
+  @Factory
+  public ChildSample(int ignored) {}
+}
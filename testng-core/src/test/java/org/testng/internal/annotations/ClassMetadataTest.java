@@ -0,0 +1,66 @@
+package org.testng.internal.annotations;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import org.testng.annotations.IDataProviderAnnotation;
+import org.testng.annotations.IFactoryAnnotation;
+import org.testng.annotations.IListenersAnnotation;
+import org.testng.annotations.ITestAnnotation;
+import org.testng.annotations.Test;
+
+public class ClassMetadataTest {
+
+  @Test
+  public void membersShouldExposeTheirTestNGAnnotations() throws NoSuchMethodException {
+    Method beforeMethod = ParentSample.class.getDeclaredMethod("setup");
+    Method test = ParentSample.class.getDeclaredMethod("test");
+    Method dataProvider = ParentSample.class.getDeclaredMethod("dp");
+    Method helper = ParentSample.class.getDeclaredMethod("helper");
+
+    assertThat(ClassMetadata.annotationsOf(beforeMethod)).containsExactly(IBeforeMethod.class);
+    assertThat(ClassMetadata.annotationsOf(test)).containsExactly(ITestAnnotation.class);
+    assertThat(ClassMetadata.annotationsOf(dataProvider))
+        .containsExactly(IDataProviderAnnotation.class);
+    assertThat(ClassMetadata.annotationsOf(helper)).isEmpty();
+    assertThat(ClassMetadata.isPresent(test, ITestAnnotation.class)).isTrue();
+    assertThat(ClassMetadata.isPresent(helper, ITestAnnotation.class)).isFalse();
+    assertThat(
+            ClassMetadata.isAnyPresent(
+                beforeMethod, AnnotationHelper.getConfigurationAnnotations()))
+        .isTrue();
+    assertThat(ClassMetadata.isAnyPresent(test, AnnotationHelper.getConfigurationAnnotations()))
+        .isFalse();
+  }
+
+  @Test
+  public void constructorsShouldExposeTheirTestNGAnnotations() throws NoSuchMethodException {
+    Constructor<ChildSample> factory = ChildSample.class.getDeclaredConstructor(int.class);
+    Constructor<ChildSample> plain = ChildSample.class.getDeclaredConstructor();
+
+    assertThat(ClassMetadata.isPresent(factory, IFactoryAnnotation.class)).isTrue();
+    assertThat(ClassMetadata.annotationsOf(plain)).isEmpty();
+  }
+
+  @Test
+  public void classAnnotationsShouldBeLookedUpInSuperClasses() {
+    ClassMetadata parent = ClassMetadata.of(ParentSample.class);
+    ClassMetadata child = ClassMetadata.of(ChildSample.class);
+
+    assertThat(parent.isPresentOnClass(ITestAnnotation.class)).isTrue();
+    assertThat(parent.isPresentOnClass(IListenersAnnotation.class)).isTrue();
+    assertThat(child.isPresentOnClass(ITestAnnotation.class)).isTrue();
+    // @Listeners is not looked up in super classes, but is inherited by the Java language
+    assertThat(child.isPresentOnClass(IListenersAnnotation.class)).isTrue();
+    assertThat(child.isPresentOnClass(IFactoryAnnotation.class)).isFalse();
+  }
+
+  @Test
+  public void metadataShouldBeComputedOncePerClass() {
+    ClassMetadata metadata = ClassMetadata.of(ParentSample.class);
+
+    assertThat(ClassMetadata.of(ParentSample.class)).isSameAs(metadata);
+    assertThat(metadata.getAvailableMethods()).isSameAs(metadata.getAvailableMethods());
+  }
+}
@@ -0,0 +1,27 @@
+package org.testng.internal.annotations;
+
+import org.testng.ITestListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+@Test
+@Listeners(ParentSample.NoOpListener.class)
+public class ParentSample {
+
+  @BeforeMethod
+  public void setup() {}
+
+  @DataProvider(name = "dp")
+  public Object[][] dp() {
+    return new Object[][] {{}};
+  }
+
+  @Test(dataProvider = "dp")
+  public void test() {}
+
+  public void helper() {}
+
+  public static class NoOpListener implements ITestListener {}
+}
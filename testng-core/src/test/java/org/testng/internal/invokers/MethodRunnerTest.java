@@ -0,0 +1,103 @@
+package org.testng.internal.invokers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Proxy;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.testng.internal.RuntimeBehavior;
+import org.testng.internal.TestResult;
+import org.testng.internal.invokers.ITestInvoker.FailureContext;
+import org.testng.internal.invokers.TestMethodArguments.Builder;
+import org.testng.internal.paramhandler.FakeTestContext;
+import org.testng.internal.paramhandler.FakeTestNGMethod;
+
+public class MethodRunnerTest {
+
+  private static final int ROWS = 50;
+  private static final int WINDOW = 8;
+
+  @BeforeMethod
+  public void setup() {
+    System.setProperty(RuntimeBehavior.DATA_PROVIDER_STREAMING, "true");
+    System.setProperty(RuntimeBehavior.DATA_PROVIDER_STREAMING_WINDOW, String.valueOf(WINDOW));
+  }
+
+  @AfterMethod(alwaysRun = true)
+  public void teardown() {
+    System.setProperty(RuntimeBehavior.DATA_PROVIDER_STREAMING, "false");
+    System.clearProperty(RuntimeBehavior.DATA_PROVIDER_STREAMING_WINDOW);
+  }
+
+  @Test(description = "Streamed rows should not be kept once they completed")
+  public void streamedRowsShouldNotBeKept() {
+    ITestContext context = new FakeTestContext(RowSample.class);
+    context.getSuite().getXmlSuite().setDataProviderThreadCount(4);
+    ITestNGMethod method =
+        new FakeTestNGMethod(RowSample.class, "test", context.getCurrentXmlTest());
+    TestMethodArguments arguments = new Builder().forTestMethod(method).build();
+    Set<Object> completed = ConcurrentHashMap.newKeySet();
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger maxInFlight = new AtomicInteger();
+
+    List<ITestResult> results =
+        new MethodRunner()
+            .runInParallel(
+                arguments,
+                recordingInvoker(completed, inFlight, maxInFlight),
+                context,
+                new AtomicInteger(1),
+                new FailureContext(),
+                rows(),
+                false);
+
+    assertThat(results).isEmpty();
+    assertThat(completed)
+        .containsExactlyInAnyOrderElementsOf(
+            IntStream.range(0, ROWS).boxed().collect(Collectors.toList()));
+    assertThat(maxInFlight.get()).isLessThanOrEqualTo(WINDOW);
+  }
+
+  private static Iterator<Object[]> rows() {
+    return IntStream.range(0, ROWS).mapToObj(i -> new Object[] {i}).iterator();
+  }
+
+  /** An invoker that records the rows it completed, and how many of them ran at the same time. */
+  private static ITestInvoker recordingInvoker(
+      Set<Object> completed, AtomicInteger inFlight, AtomicInteger maxInFlight) {
+    return (ITestInvoker)
+        Proxy.newProxyInstance(
+            ITestInvoker.class.getClassLoader(),
+            new Class<?>[] {ITestInvoker.class},
+            (proxy, m, args) -> {
+              if (!m.getName().equals("invokeTestMethod")) {
+                return null;
+              }
+              TestMethodArguments tma = (TestMethodArguments) args[0];
+              maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+              TimeUnit.MILLISECONDS.sleep(ROWS - tma.getParametersIndex());
+              ITestResult result = TestResult.newEmptyTestResult();
+              result.setParameters(tma.getParameterValues());
+              completed.add(tma.getParameterValues()[0]);
+              inFlight.decrementAndGet();
+              return result;
+            });
+  }
+
+  public static class RowSample {
+
+    public void test(int index) {}
+  }
+}
@@ -0,0 +1,139 @@
+package org.testng.internal.protocols;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.testng.internal.PackageUtils;
+import org.testng.internal.RuntimeBehavior;
+
+public class ClasspathIndexTest {
+
+  private static final String[] ENTRIES = {
+    "META-INF/", "META-INF/Ignored.class", "a/", "a/b/", "a/b/First.class", "a/b/Second.class",
+    "a/b/Second$Inner.class", "a/b/readme.txt", "a/b/c/", "a/b/c/Third.class", "a/d/Fourth.class"
+  };
+
+  @AfterMethod(alwaysRun = true)
+  public void teardown() {
+    ClasspathIndex.release();
+    System.clearProperty(RuntimeBehavior.CLASSPATH_INDEX);
+    System.clearProperty(RuntimeBehavior.CLASSPATH_INDEX_FILE);
+  }
+
+  @DataProvider(name = "packages")
+  public Object[][] packages() {
+    return new Object[][] {
+      {"a.b", Collections.emptyList(), Collections.emptyList()},
+      {"a.b.*", Collections.emptyList(), Collections.emptyList()},
+      {"a.*", Collections.singletonList("a\\.b.*"), Collections.singletonList("a\\.b\\.c")},
+      {"a.b.c", Collections.emptyList(), Collections.emptyList()},
+      {"a.e", Collections.emptyList(), Collections.emptyList()}
+    };
+  }
+
+  @Test(dataProvider = "packages", description = "The index should find the same jar classes")
+  public void jarClassesShouldMatchTheJarProcessor(
+      String packageName, List<String> included, List<String> excluded) throws IOException {
+    File jar = newJar(ENTRIES);
+    String[] expected = findClassesInPackage(jar, packageName, included, excluded);
+
+    System.setProperty(RuntimeBehavior.CLASSPATH_INDEX, "true");
+    String[] actual = findClassesInPackage(jar, packageName, included, excluded);
+
+    assertThat(actual).containsExactly(expected);
+  }
+
+  @Test(description = "The index should find the same directory classes")
+  public void directoryClassesShouldMatchTheFileProcessor() throws IOException {
+    String[] packageNames = {"test.beforegroups.issue2229", "test.beforegroups.*"};
+    for (String packageName : packageNames) {
+      System.clearProperty(RuntimeBehavior.CLASSPATH_INDEX);
+      String[] expected =
+          PackageUtils.findClassesInPackage(
+              packageName, Collections.emptyList(), Collections.emptyList());
+      System.setProperty(RuntimeBehavior.CLASSPATH_INDEX, "true");
+      String[] actual =
+          PackageUtils.findClassesInPackage(
+              packageName, Collections.emptyList(), Collections.emptyList());
+
+      assertThat(expected).isNotEmpty();
+      assertThat(actual).containsExactly(expected);
+    }
+  }
+
+  @Test(description = "The persisted index should be used until the jar changes")
+  public void persistedIndexShouldBeInvalidatedWhenTheJarChanges() throws IOException {
+    File jar = newJar(ENTRIES);
+    Path index = Files.createTempDirectory("classpath-index").resolve("index.txt");
+    System.setProperty(RuntimeBehavior.CLASSPATH_INDEX, "true");
+    System.setProperty(RuntimeBehavior.CLASSPATH_INDEX_FILE, index.toString());
+
+    assertThat(findClassesInPackage(jar, "a.b.c")).containsExactly("a.b.c.Third");
+    ClasspathIndex.release();
+    assertThat(index).exists();
+
+    // Tamper with the persisted entries, to find out whether the jar is opened again.
+    List<String> lines =
+        Files.readAllLines(index, UTF_8).stream()
+            .map(line -> line.equals("a/b/c/Third.class") ? "a/b/c/Persisted.class" : line)
+            .collect(Collectors.toList());
+    Files.write(index, lines, UTF_8);
+    assertThat(findClassesInPackage(jar, "a.b.c")).containsExactly("a.b.c.Persisted");
+    ClasspathIndex.release();
+
+    assertThat(jar.setLastModified(jar.lastModified() - 10_000)).isTrue();
+    assertThat(findClassesInPackage(jar, "a.b.c")).containsExactly("a.b.c.Third");
+  }
+
+  private static String[] findClassesInPackage(File jar, String packageName) throws IOException {
+    return findClassesInPackage(
+        jar, packageName, Collections.emptyList(), Collections.emptyList());
+  }
+
+  private static String[] findClassesInPackage(
+      File jar, String packageName, List<String> included, List<String> excluded)
+      throws IOException {
+    Thread thread = Thread.currentThread();
+    ClassLoader current = thread.getContextClassLoader();
+    try (URLClassLoader loader = new URLClassLoader(new URL[] {jar.toURI().toURL()}, null)) {
+      thread.setContextClassLoader(loader);
+      return PackageUtils.findClassesInPackage(packageName, included, excluded);
+    } finally {
+      thread.setContextClassLoader(current);
+    }
+  }
+
+  private static File newJar(String... entries) throws IOException {
+    File jar = File.createTempFile("classpath-index", ".jar");
+    jar.deleteOnExit();
+    try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar.toPath()))) {
+      for (String entry : entries) {
+        out.putNextEntry(new JarEntry(entry));
+        if (!entry.endsWith("/")) {
+          write(out, entry);
+        }
+        out.closeEntry();
+      }
+    }
+    return jar;
+  }
+
+  private static void write(OutputStream out, String content) throws IOException {
+    out.write(content.getBytes(UTF_8));
+  }
+}
@@ -0,0 +1,105 @@
+package org.testng.internal.thread;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.annotations.Test;
+
+public class ThreadPerTaskExecutorTest {
+
+  private static final int TASKS = 20;
+
+  @Test(description = "Without a limit, every task should run at the same time on a thread")
+  public void everyTaskShouldRunOnAThreadOfItsOwn() throws InterruptedException {
+    ExecutorService executor = newExecutor(0);
+    CountDownLatch started = new CountDownLatch(TASKS);
+    List<Boolean> concurrent = new CopyOnWriteArrayList<>();
+    for (int i = 0; i < TASKS; i++) {
+      executor.execute(
+          () -> {
+            started.countDown();
+            concurrent.add(await(started));
+          });
+    }
+    executor.shutdown();
+
+    assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+    assertThat(concurrent).hasSize(TASKS).containsOnly(true);
+  }
+
+  @Test(description = "No more tasks than the limit should run at the same time")
+  public void tasksShouldNotExceedTheLimit() throws InterruptedException {
+    ExecutorService executor = newExecutor(2);
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maximum = new AtomicInteger();
+    List<Integer> order = new CopyOnWriteArrayList<>();
+    for (int i = 0; i < TASKS; i++) {
+      int task = i;
+      executor.execute(
+          () -> {
+            order.add(task);
+            maximum.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep();
+            running.decrementAndGet();
+          });
+    }
+    executor.shutdown();
+
+    assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+    assertThat(maximum.get()).isEqualTo(2);
+    assertThat(order).hasSize(TASKS);
+  }
+
+  @Test(description = "Shutting down now should drop the queued tasks and interrupt the others")
+  public void shutdownNowShouldDropTheQueuedTasks() throws InterruptedException {
+    ExecutorService executor = newExecutor(1);
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch interrupted = new CountDownLatch(1);
+    executor.execute(
+        () -> {
+          started.countDown();
+          try {
+            new CountDownLatch(1).await();
+          } catch (InterruptedException e) {
+            interrupted.countDown();
+          }
+        });
+    executor.execute(() -> {});
+    assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+    List<Runnable> dropped = executor.shutdownNow();
+
+    assertThat(dropped).hasSize(1);
+    assertThat(interrupted.await(10, TimeUnit.SECONDS)).isTrue();
+    assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+    assertThat(executor.isTerminated()).isTrue();
+  }
+
+  private static ExecutorService newExecutor(int limit) {
+    return new ThreadPerTaskExecutor(
+        new TestNGThreadFactory("per-task"), new LinkedBlockingQueue<>(), limit);
+  }
+
+  private static boolean await(CountDownLatch latch) {
+    try {
+      return latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private static void sleep() {
+    try {
+      TimeUnit.MILLISECONDS.sleep(5);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -1,11 +1,19 @@
 package org.testng.xml;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.testng.Assert.assertEquals;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
+import org.testng.collections.Lists;
+import org.testng.internal.RuntimeBehavior;
 import org.testng.xml.internal.Parser;
 
 public class ParserTest {
@@ -19,6 +27,73 @@ public class ParserTest {
     assertEquals(suites.size(), 1);
   }
 
+  @AfterMethod(alwaysRun = true)
+  public void teardown() {
+    System.clearProperty(RuntimeBehavior.PARALLEL_SUITE_PARSING);
+    System.clearProperty(RuntimeBehavior.SUITE_PARSER_THREAD_COUNT);
+  }
+
+  @Test(description = "Suites parsed in parallel should be linked as when parsed sequentially")
+  public void parallelParsingShouldKeepTheOrderOfTheSuites() throws IOException {
+    Path dir = Files.createTempDirectory("suites");
+    List<String> children = Lists.newArrayList();
+    for (int i = 0; i < 8; i++) {
+      // Every child refers to the shared suite, which is also a child of the parent.
+      writeSuite(dir, "child" + i, "shared.xml", "../" + dir.getFileName() + "/leaf" + i + ".xml");
+      writeSuite(dir, "leaf" + i);
+      children.add("child" + i + ".xml");
+    }
+    children.add("shared.xml");
+    children.add("./child0.xml");
+    writeSuite(dir, "shared");
+    writeSuite(dir, "parent", children.toArray(new String[0]));
+    String parent = dir.resolve("parent.xml").toString();
+
+    List<String> expected = describe(new Parser(parent).parseToList().get(0));
+    System.setProperty(RuntimeBehavior.PARALLEL_SUITE_PARSING, "true");
+    System.setProperty(RuntimeBehavior.SUITE_PARSER_THREAD_COUNT, "3");
+    List<String> actual = describe(new Parser(parent).parseToList().get(0));
+
+    // The shared suite (and the first child) are parsed once for every suite that refers to them.
+    assertThat(expected).hasSize(28);
+    assertThat(actual).containsExactlyElementsOf(expected);
+  }
+
+  private static void writeSuite(Path dir, String name, String... suiteFiles) throws IOException {
+    StringBuilder xml =
+        new StringBuilder("<!DOCTYPE suite SYSTEM \"https://testng.org/testng-1.0.dtd\">\n")
+            .append("<suite name=\"")
+            .append(name)
+            .append("\">\n");
+    if (suiteFiles.length != 0) {
+      xml.append("  <suite-files>\n");
+      for (String suiteFile : suiteFiles) {
+        xml.append("    <suite-file path=\"").append(suiteFile).append("\"/>\n");
+      }
+      xml.append("  </suite-files>\n");
+    }
+    xml.append("</suite>\n");
+    Files.write(dir.resolve(name + ".xml"), xml.toString().getBytes(UTF_8));
+  }
+
+  /** @return - Every suite of the tree, depth first, along with its parent and its children. */
+  private static List<String> describe(XmlSuite suite) {
+    List<String> result = Lists.newArrayList();
+    StringBuilder line = new StringBuilder(suite.getName());
+    if (suite.getParentSuite() != null) {
+      line.append(" < ").append(suite.getParentSuite().getName());
+    }
+    line.append(" >");
+    for (XmlSuite child : suite.getChildSuites()) {
+      line.append(' ').append(child.getName());
+    }
+    result.add(line.toString());
+    for (XmlSuite child : suite.getChildSuites()) {
+      result.addAll(describe(child));
+    }
+    return result;
+  }
+
   @DataProvider(name = "dp")
   public Object[][] getData() {
     return new Object[][] {
@@ -19,6 +19,7 @@ import test.aftergroups.issue165.TestclassSampleWithSkippedMember;
 import test.aftergroups.issue1880.LocalConfigListener;
 import test.aftergroups.issue1880.TestClassSample;
 import test.aftergroups.samples.AfterGroupsSample;
+import test.aftergroups.samples.ConcurrentGroupsSample;
 import test.aftergroups.samples.MultipleGroupsSample;
 import test.beforegroups.issue2359.ListenerAdapter;
 
@@ -80,6 +81,23 @@ public class AfterGroupsBehaviorTest extends SimpleBaseTest {
     assertThat(adapter.getPassedConfiguration()).hasSize(1);
   }
 
+  @Test(description = "An afterGroups method of groups that complete concurrently runs once")
+  public void ensureAfterGroupsOfConcurrentlyCompletedGroupsAreInvokedOnce() {
+    for (int i = 0; i < 20; i++) {
+      TestNG tng = create(ConcurrentGroupsSample.class);
+      tng.setParallel(XmlSuite.ParallelMode.METHODS);
+      tng.setThreadCount(2);
+
+      ListenerAdapter adapter = new ListenerAdapter();
+      tng.addListener(adapter);
+
+      tng.run();
+
+      assertThat(adapter.getPassedTests()).hasSize(2);
+      assertThat(adapter.getPassedConfiguration()).hasSize(1);
+    }
+  }
+
   private static void runTest(
       Class<?> clazz, String groups, boolean shouldContinue, String expected) {
     XmlSuite xmlsuite = createXmlSuite("sample_suite", "sample_test", clazz);
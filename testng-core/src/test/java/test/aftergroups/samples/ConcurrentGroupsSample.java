@@ -0,0 +1,27 @@
+package test.aftergroups.samples;
+
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.testng.annotations.AfterGroups;
+import org.testng.annotations.Test;
+
+public class ConcurrentGroupsSample {
+
+  // Makes the last methods of both groups complete them at the same time
+  private final CyclicBarrier barrier = new CyclicBarrier(2);
+
+  @AfterGroups(groups = {"group-1", "group-2"})
+  public void afterGroups() {}
+
+  @Test(groups = "group-1")
+  public void test1() throws InterruptedException, BrokenBarrierException, TimeoutException {
+    barrier.await(10, TimeUnit.SECONDS);
+  }
+
+  @Test(groups = "group-2")
+  public void test2() throws InterruptedException, BrokenBarrierException, TimeoutException {
+    barrier.await(10, TimeUnit.SECONDS);
+  }
+}
@@ -0,0 +1,73 @@
+package test.annotationtransformer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.IAnnotationTransformer;
+import org.testng.ITestResult;
+import org.testng.TestListenerAdapter;
+import org.testng.TestNG;
+import org.testng.annotations.IDataProviderAnnotation;
+import org.testng.annotations.ITestAnnotation;
+import org.testng.annotations.Test;
+import org.testng.internal.RuntimeBehavior;
+import org.testng.internal.annotations.JDK15AnnotationFinder;
+import test.SimpleBaseTest;
+
+public class CachedAnnotationLookupTest extends SimpleBaseTest {
+
+  @Test(description = "Each (member, annotation type) pair is resolved and transformed only once")
+  public void annotationsAreTransformedOnce() throws NoSuchMethodException {
+    CountingTransformer transformer = new CountingTransformer();
+    JDK15AnnotationFinder finder = new JDK15AnnotationFinder(transformer, true);
+    Method method = AnnotationTransformerSampleTest.class.getMethod("five");
+
+    ITestAnnotation first = finder.findAnnotation(method, ITestAnnotation.class);
+    ITestAnnotation second = finder.findAnnotation(method, ITestAnnotation.class);
+
+    assertThat(first).isNotNull().isSameAs(second);
+    assertThat(first.getInvocationCount()).isEqualTo(7);
+    assertThat(transformer.count.get()).isEqualTo(1);
+    assertThat(finder.findAnnotation(method, IDataProviderAnnotation.class)).isNull();
+    assertThat(finder.findAnnotation(method, IDataProviderAnnotation.class)).isNull();
+  }
+
+  @Test(description = "Transformers are honoured when the annotation lookups are cached")
+  public void transformersAreHonoured() {
+    System.setProperty(RuntimeBehavior.CACHED_ANNOTATION_LOOKUPS, "true");
+    try {
+      TestNG tng = create(AnnotationTransformerSampleTest.class);
+      tng.setPreserveOrder(true);
+      tng.addListener(new MyTransformer());
+      TestListenerAdapter tla = new TestListenerAdapter();
+      tng.addListener(tla);
+
+      tng.run();
+
+      assertThat(tla.getPassedTests())
+          .extracting(ITestResult::getName)
+          .containsExactly(
+              "five", "five", "five", "five", "five", "four", "four", "four", "four", "three",
+              "three", "three", "two", "two", "verify");
+      assertThat(tla.getFailedTests()).isEmpty();
+    } finally {
+      System.setProperty(RuntimeBehavior.CACHED_ANNOTATION_LOOKUPS, "false");
+    }
+  }
+
+  public static class CountingTransformer implements IAnnotationTransformer {
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public void transform(
+        ITestAnnotation annotation,
+        Class testClass,
+        Constructor testConstructor,
+        Method testMethod) {
+      count.incrementAndGet();
+      annotation.setInvocationCount(7);
+    }
+  }
+}
@@ -0,0 +1,37 @@
+package test.dataprovider.streaming;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class StreamingDataProviderSample {
+
+  public static final int ROWS = 500;
+
+  public static final AtomicInteger inFlight = new AtomicInteger();
+  public static final AtomicInteger maxInFlight = new AtomicInteger();
+
+  @DataProvider(parallel = true)
+  public Iterator<Object[]> rows() {
+    return new Iterator<Object[]>() {
+      private int index = 0;
+
+      @Override
+      public boolean hasNext() {
+        return index < ROWS;
+      }
+
+      @Override
+      public Object[] next() {
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        return new Object[] {index++};
+      }
+    };
+  }
+
+  @Test(dataProvider = "rows")
+  public void test(int index) {
+    inFlight.decrementAndGet();
+  }
+}
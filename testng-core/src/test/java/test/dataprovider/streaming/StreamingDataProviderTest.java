@@ -0,0 +1,45 @@
+package test.dataprovider.streaming;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.testng.TestListenerAdapter;
+import org.testng.TestNG;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.testng.internal.RuntimeBehavior;
+import org.testng.xml.XmlSuite;
+import test.SimpleBaseTest;
+
+public class StreamingDataProviderTest extends SimpleBaseTest {
+
+  @BeforeMethod
+  public void setup() {
+    System.setProperty(RuntimeBehavior.DATA_PROVIDER_STREAMING, "true");
+    System.setProperty(RuntimeBehavior.DATA_PROVIDER_STREAMING_WINDOW, "4");
+    StreamingDataProviderSample.inFlight.set(0);
+    StreamingDataProviderSample.maxInFlight.set(0);
+  }
+
+  @AfterMethod(alwaysRun = true)
+  public void teardown() {
+    System.setProperty(RuntimeBehavior.DATA_PROVIDER_STREAMING, "false");
+    System.clearProperty(RuntimeBehavior.DATA_PROVIDER_STREAMING_WINDOW);
+  }
+
+  @Test(description = "Rows are pulled only as the in flight rows complete")
+  public void rowsArePulledWithinTheWindow() {
+    XmlSuite suite = createXmlSuite("suite");
+    suite.setDataProviderThreadCount(2);
+    createXmlTest(suite, "test", StreamingDataProviderSample.class);
+    TestNG tng = create(suite);
+    TestListenerAdapter listener = new TestListenerAdapter();
+    tng.addListener(listener);
+
+    tng.run();
+
+    assertThat(listener.getPassedTests()).hasSize(StreamingDataProviderSample.ROWS);
+    assertThat(listener.getFailedTests()).isEmpty();
+    assertThat(StreamingDataProviderSample.maxInFlight.get()).isBetween(1, 4);
+  }
+}
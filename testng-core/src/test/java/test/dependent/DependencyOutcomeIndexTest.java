@@ -0,0 +1,70 @@
+package test.dependent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.testng.ITestResult;
+import org.testng.TestListenerAdapter;
+import org.testng.TestNG;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.testng.internal.RuntimeBehavior;
+import test.SimpleBaseTest;
+import test.retryAnalyzer.issue1538.TestClassSampleWithTestMethodDependencies;
+import test.retryAnalyzer.issue1697.SampleTestclass;
+
+public class DependencyOutcomeIndexTest extends SimpleBaseTest {
+
+  @AfterMethod(alwaysRun = true)
+  public void teardown() {
+    System.setProperty(RuntimeBehavior.INDEXED_DEPENDENCY_OUTCOMES, "false");
+  }
+
+  @DataProvider(name = "samples")
+  public Object[][] samples() {
+    return new Object[][] {
+      {new Class<?>[] {InstanceSkipSampleTest.class}},
+      {new Class<?>[] {SampleDependent1.class}},
+      {
+        new Class<?>[] {
+          DifferentClassDependsOnGroupsTest1.class, DifferentClassDependsOnGroupsTest2.class
+        }
+      },
+      {new Class<?>[] {DependentWithDataProviderSampleTest.class}},
+      {new Class<?>[] {SampleTestclass.class}},
+      {new Class<?>[] {TestClassSampleWithTestMethodDependencies.class}}
+    };
+  }
+
+  @Test(
+      dataProvider = "samples",
+      description = "Indexed outcomes should skip the same dependent methods as the result maps")
+  public void indexedOutcomesShouldMatchResultMaps(Class<?>[] classes) {
+    System.setProperty(RuntimeBehavior.INDEXED_DEPENDENCY_OUTCOMES, "false");
+    List<String> expected = run(classes);
+    System.setProperty(RuntimeBehavior.INDEXED_DEPENDENCY_OUTCOMES, "true");
+    List<String> actual = run(classes);
+    assertThat(actual).isEqualTo(expected);
+  }
+
+  private static List<String> run(Class<?>[] classes) {
+    SampleTestclass.counter = 0;
+    TestNG tng = create(classes);
+    TestListenerAdapter listener = new TestListenerAdapter();
+    tng.addListener(listener);
+    tng.run();
+    return Stream.of(
+            listener.getPassedTests(), listener.getFailedTests(), listener.getSkippedTests())
+        .flatMap(List::stream)
+        .map(DependencyOutcomeIndexTest::describe)
+        .sorted()
+        .collect(Collectors.toList());
+  }
+
+  private static String describe(ITestResult tr) {
+    return tr.getMethod().getQualifiedName() + ":" + tr.getStatus();
+  }
+}
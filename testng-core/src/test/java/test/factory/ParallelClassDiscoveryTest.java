@@ -0,0 +1,317 @@
+package test.factory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.IAnnotationTransformer;
+import org.testng.ITestListener;
+import org.testng.ITestNGListener;
+import org.testng.ITestResult;
+import org.testng.TestNG;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Factory;
+import org.testng.annotations.ITestAnnotation;
+import org.testng.annotations.Test;
+import org.testng.collections.Lists;
+import org.testng.internal.InstanceInfo;
+import org.testng.internal.RuntimeBehavior;
+import org.testng.internal.thread.ThreadUtil;
+import test.SimpleBaseTest;
+
+public class ParallelClassDiscoveryTest extends SimpleBaseTest {
+
+  private static final Set<String> FACTORY_THREADS = ConcurrentHashMap.newKeySet();
+  private static final Set<String> CONSTRUCTOR_THREADS = ConcurrentHashMap.newKeySet();
+
+  @AfterMethod(alwaysRun = true)
+  public void teardown() {
+    System.clearProperty(RuntimeBehavior.PARALLEL_CLASS_DISCOVERY);
+    System.clearProperty(RuntimeBehavior.CLASS_DISCOVERY_THREAD_COUNT);
+    FACTORY_THREADS.clear();
+    CONSTRUCTOR_THREADS.clear();
+  }
+
+  @Test(description = "Concurrent discovery should find the same instances, in the same order")
+  public void concurrentDiscoveryShouldMatchSequentialDiscovery() {
+    Class<?>[] classes = {
+      FirstFactorySample.class, PlainSample.class, SecondFactorySample.class, DisabledSample.class
+    };
+    List<String> expected = run(classes);
+    assertThat(FACTORY_THREADS).containsOnly(Thread.currentThread().getName());
+    FACTORY_THREADS.clear();
+
+    System.setProperty(RuntimeBehavior.PARALLEL_CLASS_DISCOVERY, "true");
+    System.setProperty(RuntimeBehavior.CLASS_DISCOVERY_THREAD_COUNT, "2");
+    List<String> actual = run(classes);
+
+    assertThat(expected).hasSize(7);
+    assertThat(actual).containsExactlyElementsOf(expected);
+    assertThat(FACTORY_THREADS).containsOnly(Thread.currentThread().getName());
+  }
+
+  @Test(description = "A class that an earlier factory produced should not be instantiated again")
+  public void classesProducedByAnEarlierFactoryShouldBeInstantiatedOnce() {
+    Class<?>[] classes = {ProducingFactorySample.class, CountingFactorySample.class};
+    CountingFactorySample.CONSTRUCTIONS.set(0);
+    CountingFactorySample.INVOCATIONS.set(0);
+    List<String> expected = run(classes);
+    int constructions = CountingFactorySample.CONSTRUCTIONS.getAndSet(0);
+    int invocations = CountingFactorySample.INVOCATIONS.getAndSet(0);
+
+    System.setProperty(RuntimeBehavior.PARALLEL_CLASS_DISCOVERY, "true");
+    System.setProperty(RuntimeBehavior.CLASS_DISCOVERY_THREAD_COUNT, "2");
+    List<String> actual = run(classes);
+
+    assertThat(constructions).isEqualTo(1);
+    assertThat(CountingFactorySample.CONSTRUCTIONS.get()).isEqualTo(constructions);
+    assertThat(CountingFactorySample.INVOCATIONS.get()).isEqualTo(invocations);
+    assertThat(actual).containsExactlyElementsOf(expected);
+  }
+
+  @Test(description = "Factory constructors that nothing interferes with should run on the pool")
+  public void independentFactoryConstructorsShouldBeInvokedConcurrently() {
+    Class<?>[] classes = {
+      FirstConstructorSample.class,
+      PlainSample.class,
+      SecondConstructorSample.class,
+      FirstFactorySample.class
+    };
+    List<String> expected = run(classes);
+    assertThat(CONSTRUCTOR_THREADS).containsOnly(Thread.currentThread().getName());
+    CONSTRUCTOR_THREADS.clear();
+    FACTORY_THREADS.clear();
+
+    System.setProperty(RuntimeBehavior.PARALLEL_CLASS_DISCOVERY, "true");
+    System.setProperty(RuntimeBehavior.CLASS_DISCOVERY_THREAD_COUNT, "2");
+    List<String> actual = run(classes);
+
+    assertThat(expected).hasSize(8);
+    assertThat(actual).containsExactlyElementsOf(expected);
+    assertThat(CONSTRUCTOR_THREADS)
+        .isNotEmpty()
+        .allMatch(name -> name.startsWith(ThreadUtil.THREAD_NAME + "-class-discovery-"));
+    assertThat(FACTORY_THREADS).containsOnly(Thread.currentThread().getName());
+  }
+
+  @Test(description = "A factory method may produce a class that comes after it")
+  public void factoryConstructorsAfterAFactoryMethodShouldBeInvokedOnTheCallingThread() {
+    System.setProperty(RuntimeBehavior.PARALLEL_CLASS_DISCOVERY, "true");
+    System.setProperty(RuntimeBehavior.CLASS_DISCOVERY_THREAD_COUNT, "2");
+    run(FirstFactorySample.class, FirstConstructorSample.class, SecondConstructorSample.class);
+
+    assertThat(CONSTRUCTOR_THREADS).containsOnly(Thread.currentThread().getName());
+  }
+
+  @Test(description = "The annotation transformers should not be invoked concurrently")
+  public void transformersShouldBeInvokedOneAtATime() {
+    System.setProperty(RuntimeBehavior.PARALLEL_CLASS_DISCOVERY, "true");
+    System.setProperty(RuntimeBehavior.CLASS_DISCOVERY_THREAD_COUNT, "4");
+    ConcurrencyTrackingTransformer transformer = new ConcurrencyTrackingTransformer();
+    TestNG tng =
+        create(
+            FirstConstructorSample.class,
+            SecondConstructorSample.class,
+            PlainSample.class,
+            FirstFactorySample.class);
+    tng.addListener(transformer);
+    tng.run();
+
+    assertThat(transformer.invocations.get()).isPositive();
+    assertThat(transformer.maxInFlight.get()).isEqualTo(1);
+  }
+
+  private static List<String> run(Class<?>... classes) {
+    TestNG tng = create(classes);
+    tng.setPreserveOrder(true);
+    ResultCollector collector = new ResultCollector();
+    tng.addListener((ITestNGListener) collector);
+    tng.run();
+    return collector.results;
+  }
+
+  public static class ResultCollector implements ITestListener {
+    private final List<String> results = Collections.synchronizedList(Lists.newArrayList());
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+      results.add(result.getInstance() + "." + result.getMethod().getMethodName());
+    }
+  }
+
+  public static class ConcurrencyTrackingTransformer implements IAnnotationTransformer {
+    private final AtomicInteger invocations = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @Override
+    public void transform(
+        ITestAnnotation annotation,
+        Class testClass,
+        Constructor testConstructor,
+        Method testMethod) {
+      invocations.incrementAndGet();
+      maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+      try {
+        TimeUnit.MILLISECONDS.sleep(1);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      inFlight.decrementAndGet();
+    }
+  }
+
+  public static class FirstConstructorSample {
+    private final String value;
+
+    @Factory(dataProvider = "values")
+    public FirstConstructorSample(String value) {
+      CONSTRUCTOR_THREADS.add(Thread.currentThread().getName());
+      this.value = value;
+    }
+
+    @DataProvider
+    public static Object[][] values() {
+      return new Object[][] {{"constructed-1"}, {"constructed-2"}};
+    }
+
+    @Test
+    public void test() {}
+
+    @Override
+    public String toString() {
+      return value;
+    }
+  }
+
+  public static class SecondConstructorSample {
+    private final String value;
+
+    @Factory(dataProvider = "values")
+    public SecondConstructorSample(String value) {
+      CONSTRUCTOR_THREADS.add(Thread.currentThread().getName());
+      this.value = value;
+    }
+
+    @DataProvider
+    public static Object[][] values() {
+      return new Object[][] {{"constructed-3"}, {"constructed-4"}};
+    }
+
+    @Test
+    public void test() {}
+
+    @Override
+    public String toString() {
+      return value;
+    }
+  }
+
+  public static class ValueSample {
+    private final String value;
+
+    public ValueSample(String value) {
+      this.value = value;
+    }
+
+    @Test
+    public void test() {}
+
+    @Override
+    public String toString() {
+      return value;
+    }
+  }
+
+  public static class FirstFactorySample {
+
+    @Factory
+    public Object[] create() {
+      FACTORY_THREADS.add(Thread.currentThread().getName());
+      return new Object[] {new ValueSample("first-1"), new ValueSample("first-2")};
+    }
+
+    @Test
+    public void test() {}
+
+    @Override
+    public String toString() {
+      return "first";
+    }
+  }
+
+  public static class SecondFactorySample {
+
+    @Factory
+    public Object[] create() {
+      FACTORY_THREADS.add(Thread.currentThread().getName());
+      return new Object[] {new ValueSample("second-1"), new ValueSample("second-2")};
+    }
+
+    @Factory(enabled = false)
+    public Object[] disabled() {
+      return new Object[] {new ValueSample("disabled")};
+    }
+  }
+
+  public static class PlainSample {
+
+    @Test
+    public void test() {}
+
+    @Override
+    public String toString() {
+      return "plain";
+    }
+  }
+
+  @Test(enabled = false)
+  public static class DisabledSample {
+
+    @Factory
+    public Object[] create() {
+      FACTORY_THREADS.add(Thread.currentThread().getName());
+      return new Object[] {new ValueSample("skipped")};
+    }
+  }
+
+  public static class ProducingFactorySample {
+
+    @Factory
+    public Object[] create() {
+      return new Object[] {
+        new InstanceInfo<>(CountingFactorySample.class, new CountingFactorySample())
+      };
+    }
+  }
+
+  public static class CountingFactorySample {
+    private static final AtomicInteger CONSTRUCTIONS = new AtomicInteger();
+    private static final AtomicInteger INVOCATIONS = new AtomicInteger();
+
+    public CountingFactorySample() {
+      CONSTRUCTIONS.incrementAndGet();
+    }
+
+    @Factory
+    public Object[] create() {
+      INVOCATIONS.incrementAndGet();
+      return new Object[] {new ValueSample("counted")};
+    }
+
+    @Test
+    public void test() {}
+
+    @Override
+    public String toString() {
+      return "counting";
+    }
+  }
+}
@@ -0,0 +1,81 @@
+package test.reports;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.testng.TestNG;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+import org.testng.reporters.jq.Main;
+import test.SimpleBaseTest;
+import test.reports.chunks.ManyResultsSample;
+
+public class ChunkedReportTest extends SimpleBaseTest {
+
+  private static final String CHUNKED = "testng.report.html.chunked";
+
+  @AfterMethod
+  public void clearProperty() {
+    System.clearProperty(CHUNKED);
+  }
+
+  @Test(description = "The results of the chunked report are loaded from paged chunks")
+  public void chunkedReportShouldSplitTheResults() throws IOException {
+    System.setProperty(CHUNKED, "true");
+    File output = createDirInTempDir("chunked_report_" + System.currentTimeMillis());
+    TestNG testng = create(ManyResultsSample.class);
+    testng.setOutputDirectory(output.getAbsolutePath());
+    testng.addListener(new Main());
+    testng.run();
+
+    String index = read(new File(output, "index.html").toPath());
+    assertThat(index).contains("chunks/suite-0.js").contains("testng-reports-chunks.js");
+    assertThat(index).doesNotContain("Checks");
+    assertThat(new File(output, "testng-reports-chunks.js")).exists();
+
+    Path chunks = new File(output, "chunks").toPath();
+    List<String> files;
+    try (Stream<Path> stream = Files.list(chunks)) {
+      files =
+          stream.map(path -> path.getFileName().toString()).sorted().collect(Collectors.toList());
+    }
+    // The suite, the failed result and the passed results in pages of 500
+    assertThat(files)
+        .containsExactly(
+            "suite-0-0-0.js", "suite-0-1-0.js", "suite-0-1-1.js", "suite-0-1-2.js", "suite-0.js");
+    for (String file : files) {
+      String chunk = read(chunks.resolve(file));
+      assertThat(chunk).startsWith("testngChunks.loaded(\"").endsWith(");\n");
+      assertThat(chunk).doesNotContain("<");
+    }
+    assertThat(read(chunks.resolve("suite-0.js")))
+        .contains("\"count\":" + ManyResultsSample.RESULT_COUNT);
+    assertThat(read(chunks.resolve("suite-0-0-0.js")))
+        .contains("Expected \\u003c/script> to be escaped");
+    assertThat(read(chunks.resolve("suite-0-1-2.js")))
+        .contains("Checks \\\"many\\\" values \\u003cquickly>");
+  }
+
+  @Test(description = "The single page report stays the default")
+  public void reportShouldBeASinglePageByDefault() throws IOException {
+    File output = createDirInTempDir("single_page_report_" + System.currentTimeMillis());
+    TestNG testng = create(ManyResultsSample.class);
+    testng.setOutputDirectory(output.getAbsolutePath());
+    testng.addListener(new Main());
+    testng.run();
+
+    assertThat(read(new File(output, "index.html").toPath())).doesNotContain("chunks/");
+    assertThat(new File(output, "chunks")).doesNotExist();
+  }
+
+  private static String read(Path path) throws IOException {
+    return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+  }
+}
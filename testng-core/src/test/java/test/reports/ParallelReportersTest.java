@@ -0,0 +1,113 @@
+package test.reports;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.IReporter;
+import org.testng.ISuite;
+import org.testng.ITestNGListener;
+import org.testng.TestNG;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+import org.testng.internal.ReporterRunner;
+import org.testng.internal.RuntimeBehavior;
+import org.testng.xml.XmlSuite;
+import test.SimpleBaseTest;
+
+public class ParallelReportersTest extends SimpleBaseTest {
+
+  @AfterMethod(alwaysRun = true)
+  public void teardown() {
+    System.clearProperty(RuntimeBehavior.PARALLEL_REPORTERS);
+    System.clearProperty(RuntimeBehavior.REPORTER_THREAD_COUNT);
+  }
+
+  @Test(description = "Reporters should run concurrently and the exit code should still be set")
+  public void reportersShouldRunConcurrently() {
+    System.setProperty(RuntimeBehavior.PARALLEL_REPORTERS, "true");
+    System.setProperty(RuntimeBehavior.REPORTER_THREAD_COUNT, "2");
+    CountDownLatch latch = new CountDownLatch(2);
+    LatchReporter first = new FirstLatchReporter(latch);
+    LatchReporter second = new SecondLatchReporter(latch);
+
+    TestNG tng = create(SimpleFailedSample.class);
+    tng.setUseDefaultListeners(false);
+    tng.addListener((ITestNGListener) first);
+    tng.addListener((ITestNGListener) new FailingReporter());
+    tng.addListener((ITestNGListener) second);
+    tng.run();
+
+    assertThat(first.sawOther).isTrue();
+    assertThat(second.sawOther).isTrue();
+    assertThat(tng.getStatus()).isEqualTo(1);
+  }
+
+  @Test(description = "A failing reporter should not stop the others")
+  public void failingReporterShouldNotAffectTheOthers() {
+    CountingReporter before = new CountingReporter();
+    FailingReporter failing = new FailingReporter();
+    CountingReporter after = new CountingReporter();
+    List<IReporter> reporters = Arrays.asList(before, failing, after);
+
+    for (int threadCount : new int[] {1, 3}) {
+      new ReporterRunner(threadCount).run(reporters, null, null, "build/reports");
+    }
+    assertThat(before.count.get()).isEqualTo(2);
+    assertThat(after.count.get()).isEqualTo(2);
+  }
+
+  // TestNG keeps a single reporter per class, hence the two sub-classes.
+  public abstract static class LatchReporter implements IReporter {
+    private final CountDownLatch latch;
+    private volatile boolean sawOther;
+
+    LatchReporter(CountDownLatch latch) {
+      this.latch = latch;
+    }
+
+    @Override
+    public void generateReport(
+        List<XmlSuite> xmlSuites, List<ISuite> suites, String outputDirectory) {
+      latch.countDown();
+      try {
+        sawOther = latch.await(10, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  public static class FirstLatchReporter extends LatchReporter {
+    FirstLatchReporter(CountDownLatch latch) {
+      super(latch);
+    }
+  }
+
+  public static class SecondLatchReporter extends LatchReporter {
+    SecondLatchReporter(CountDownLatch latch) {
+      super(latch);
+    }
+  }
+
+  public static class FailingReporter implements IReporter {
+    @Override
+    public void generateReport(
+        List<XmlSuite> xmlSuites, List<ISuite> suites, String outputDirectory) {
+      throw new IllegalStateException("Failing intentionally");
+    }
+  }
+
+  public static class CountingReporter implements IReporter {
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public void generateReport(
+        List<XmlSuite> xmlSuites, List<ISuite> suites, String outputDirectory) {
+      count.incrementAndGet();
+    }
+  }
+}
@@ -6,6 +6,10 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 import java.util.function.Consumer;
 import java.util.regex.Pattern;
@@ -16,13 +20,21 @@ import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathFactory;
+import org.testng.IReporter;
+import org.testng.ISuite;
 import org.testng.TestNG;
 import org.testng.annotations.Test;
+import org.testng.collections.Lists;
 import org.testng.internal.MethodInstance;
 import org.testng.internal.WrappedTestNGMethod;
 import org.testng.reporters.RuntimeBehavior;
+import org.testng.reporters.XMLReporter;
+import org.testng.xml.XmlSuite;
 import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
 import test.SimpleBaseTest;
 import test.reports.issue2171.TestClassExample;
 import test.reports.issue2886.HydeTestSample;
@@ -109,6 +121,99 @@ public class XmlReporterTest extends SimpleBaseTest {
     assertThat(failed).isZero();
   }
 
+  @Test(description = "The streamed report has the same content as the default one")
+  public void ensureStreamedReportMatchesTheDefaultReport() throws Exception {
+    List<ISuite> suites = Lists.newArrayList();
+    TestNG testng =
+        create(
+            Issue1566Sample.class, Issue1659Sample.class, ReporterSample.class, SimpleSample.class);
+    testng.addListener(
+        new IReporter() {
+          @Override
+          public void generateReport(
+              List<XmlSuite> xmlSuites, List<ISuite> runSuites, String outputDirectory) {
+            suites.addAll(runSuites);
+          }
+        });
+    testng.run();
+
+    File expected = createDirInTempDir(UUID.randomUUID().toString());
+    new XMLReporter().generateReport(null, suites, expected.getAbsolutePath());
+    File actual = createDirInTempDir(UUID.randomUUID().toString());
+    System.setProperty("testng.report.xml.streaming", "true");
+    try {
+      new XMLReporter().generateReport(null, suites, actual.getAbsolutePath());
+    } finally {
+      System.clearProperty("testng.report.xml.streaming");
+    }
+    Element actualRoot = parse(new File(actual, RuntimeBehavior.FILE_NAME)).getDocumentElement();
+    Element expectedRoot =
+        parse(new File(expected, RuntimeBehavior.FILE_NAME)).getDocumentElement();
+    assertThat(canonicalize(actualRoot)).isEqualTo(canonicalize(expectedRoot));
+  }
+
+  @Test(description = "The streamed report has no control characters either")
+  public void ensureStreamedReportHasNoControlCharacters() throws Exception {
+    File file = runStreamingTest(RuntimeBehavior.FILE_NAME, Issue1566Sample.class);
+    String content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    assertThat(Pattern.compile("[\\p{Cc}&&[^\\r\\n]]").matcher(content).find()).isFalse();
+  }
+
+  @Test(description = "The streamed report has the custom tags as well")
+  public void ensureCustomisationOfStreamedReportIsSupported() throws Exception {
+    File file = runStreamingTest("issue_2171.xml", TestClassExample.class);
+    XPath xPath = XPathFactory.newInstance().newXPath();
+    String expression = "//test/class/test-method/file/@path";
+    String data = (String) xPath.compile(expression).evaluate(parse(file), XPathConstants.STRING);
+    assertThat(data.trim()).isEqualTo("issue2171.html");
+  }
+
+  private static File runStreamingTest(String fileName, Class<?>... clazz) {
+    System.setProperty("testng.report.xml.streaming", "true");
+    try {
+      return runTest(fileName, null, clazz);
+    } finally {
+      System.clearProperty("testng.report.xml.streaming");
+    }
+  }
+
+  private static Document parse(File file) throws Exception {
+    DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+    factory.setCoalescing(true);
+    return factory.newDocumentBuilder().parse(file);
+  }
+
+  /**
+   * @return - The element without its comments and without the whitespace around its text. The
+   *     classes of a test are sorted, since the reports do not order them the same way.
+   */
+  private static String canonicalize(Element element) {
+    List<String> attributes = Lists.newArrayList();
+    NamedNodeMap map = element.getAttributes();
+    for (int i = 0; i < map.getLength(); i++) {
+      Node attribute = map.item(i);
+      attributes.add(attribute.getNodeName() + "=" + attribute.getNodeValue());
+    }
+    Collections.sort(attributes);
+    List<String> children = Lists.newArrayList();
+    NodeList nodes = element.getChildNodes();
+    for (int i = 0; i < nodes.getLength(); i++) {
+      Node node = nodes.item(i);
+      if (node instanceof Element) {
+        children.add(canonicalize((Element) node));
+      } else if (node.getNodeType() != Node.COMMENT_NODE) {
+        String text = node.getNodeValue().trim();
+        if (!text.isEmpty()) {
+          children.add(text);
+        }
+      }
+    }
+    if ("test".equals(element.getTagName())) {
+      Collections.sort(children);
+    }
+    return "<" + element.getTagName() + " " + attributes + ">" + children + "</>";
+  }
+
   private static File runTest(Class<?> clazz) {
     return runTest(RuntimeBehavior.FILE_NAME, null, clazz);
   }
@@ -0,0 +1,26 @@
+package test.reports.chunks;
+
+import java.util.stream.IntStream;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class ManyResultsSample {
+
+  public static final int RESULT_COUNT = 1200;
+
+  @DataProvider
+  public Object[][] values() {
+    return IntStream.range(0, RESULT_COUNT)
+        .mapToObj(i -> new Object[] {i})
+        .toArray(Object[][]::new);
+  }
+
+  @Test(dataProvider = "values", description = "Checks \"many\" values <quickly>")
+  public void passing(int value) {}
+
+  @Test
+  public void failing() {
+    Assert.fail("Expected </script> to be escaped");
+  }
+}
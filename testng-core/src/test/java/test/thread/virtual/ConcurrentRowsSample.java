@@ -0,0 +1,30 @@
+package test.thread.virtual;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/** Every row waits for all the rows to have started, which needs as many threads as rows. */
+public class ConcurrentRowsSample {
+
+  public static final int ROWS = 6;
+
+  public static CountDownLatch started = new CountDownLatch(ROWS);
+
+  @Test(dataProvider = "dp")
+  public void row(int i) throws InterruptedException {
+    started.countDown();
+    Assert.assertTrue(started.await(10, TimeUnit.SECONDS), "All the rows should run concurrently");
+  }
+
+  @DataProvider(parallel = true)
+  public Object[][] dp() {
+    Object[][] rows = new Object[ROWS][];
+    for (int i = 0; i < ROWS; i++) {
+      rows[i] = new Object[] {i};
+    }
+    return rows;
+  }
+}
@@ -0,0 +1,51 @@
+package test.thread.virtual;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.testng.internal.thread.ThreadUtil;
+
+public class VirtualThreadSample {
+
+  /** Thread name to whether the thread was a virtual thread. */
+  public static final Map<String, Boolean> threads = new ConcurrentHashMap<>();
+
+  public static final Map<String, Boolean> testNGThreads = new ConcurrentHashMap<>();
+
+  @Test
+  public void a() {
+    record();
+  }
+
+  @Test
+  public void b() {
+    record();
+  }
+
+  @Test(dataProvider = "dp")
+  public void c(int i) {
+    record();
+  }
+
+  @DataProvider(parallel = true)
+  public Object[][] dp() {
+    return new Object[][] {{1}, {2}, {3}, {4}};
+  }
+
+  private static void record() {
+    String name = Thread.currentThread().getName();
+    threads.put(name, isVirtual(Thread.currentThread()));
+    testNGThreads.put(name, ThreadUtil.isTestNGThread());
+  }
+
+  public static boolean isVirtual(Thread thread) {
+    try {
+      Method method = Thread.class.getMethod("isVirtual");
+      return (Boolean) method.invoke(thread);
+    } catch (ReflectiveOperationException e) {
+      return false;
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package test.thread.virtual;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import org.testng.SkipException;
+import org.testng.TestListenerAdapter;
+import org.testng.TestNG;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.testng.internal.RuntimeBehavior;
+import org.testng.internal.thread.VirtualThreads;
+import org.testng.xml.XmlSuite;
+import test.SimpleBaseTest;
+
+public class VirtualThreadTest extends SimpleBaseTest {
+
+  @BeforeMethod
+  public void setup() {
+    System.setProperty(RuntimeBehavior.VIRTUAL_THREADS, "true");
+    VirtualThreadSample.threads.clear();
+    VirtualThreadSample.testNGThreads.clear();
+  }
+
+  @AfterMethod(alwaysRun = true)
+  public void teardown() {
+    System.setProperty(RuntimeBehavior.VIRTUAL_THREADS, "false");
+    System.setProperty(RuntimeBehavior.FAVOR_CUSTOM_THREAD_POOL_EXECUTOR, "false");
+  }
+
+  @Test(
+      dataProvider = "executors",
+      description = "Tests run on virtual threads (when supported) that are TestNG threads")
+  public void testsRunOnVirtualThreads(boolean favourCustomThreadPoolExecutor) {
+    System.setProperty(
+        RuntimeBehavior.FAVOR_CUSTOM_THREAD_POOL_EXECUTOR,
+        Boolean.toString(favourCustomThreadPoolExecutor));
+    TestNG tng = create(VirtualThreadSample.class);
+    tng.setParallel(XmlSuite.ParallelMode.METHODS);
+    tng.setThreadCount(3);
+    TestListenerAdapter listener = new TestListenerAdapter();
+    tng.addListener(listener);
+
+    tng.run();
+
+    assertThat(listener.getPassedTests()).hasSize(6);
+    assertThat(VirtualThreadSample.testNGThreads).isNotEmpty().doesNotContainValue(false);
+    boolean expected = VirtualThreads.isSupported();
+    assertThat(VirtualThreadSample.threads).isNotEmpty().doesNotContainValue(!expected);
+  }
+
+  @Test(description = "Virtual threads should not be capped by the data provider thread count")
+  public void virtualThreadsShouldNotBeCappedByTheThreadCount() {
+    if (!VirtualThreads.isSupported()) {
+      throw new SkipException("Virtual threads are not supported by this JDK");
+    }
+    ConcurrentRowsSample.started = new CountDownLatch(ConcurrentRowsSample.ROWS);
+    TestNG tng = create(ConcurrentRowsSample.class);
+    tng.setDataProviderThreadCount(2);
+    TestListenerAdapter listener = new TestListenerAdapter();
+    tng.addListener(listener);
+
+    tng.run();
+
+    assertThat(listener.getFailedTests()).isEmpty();
+    assertThat(listener.getPassedTests()).hasSize(ConcurrentRowsSample.ROWS);
+  }
+
+  @DataProvider(name = "executors")
+  public Object[][] executors() {
+    return new Object[][] {{false}, {true}};
+  }
+}
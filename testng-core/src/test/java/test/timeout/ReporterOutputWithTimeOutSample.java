@@ -0,0 +1,22 @@
+package test.timeout;
+
+import org.testng.Reporter;
+import org.testng.annotations.Test;
+
+public class ReporterOutputWithTimeOutSample {
+
+  @Test(timeOut = 10_000)
+  public void first() {
+    Reporter.log("first");
+  }
+
+  @Test(timeOut = 10_000)
+  public void second() {
+    Reporter.log("second");
+  }
+
+  @Test(timeOut = 10_000)
+  public void third() {
+    Reporter.log("third");
+  }
+}
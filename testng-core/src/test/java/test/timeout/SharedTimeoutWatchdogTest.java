@@ -0,0 +1,94 @@
+package test.timeout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.testng.ITestListener;
+import org.testng.ITestNGListener;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+import org.testng.TestListenerAdapter;
+import org.testng.TestNG;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.testng.internal.RuntimeBehavior;
+import org.testng.internal.thread.ThreadTimeoutException;
+import org.testng.xml.XmlSuite;
+import test.InvokedMethodNameListener;
+import test.SimpleBaseTest;
+import test.timeout.github2440.TimeoutTest;
+
+public class SharedTimeoutWatchdogTest extends SimpleBaseTest {
+
+  @BeforeClass
+  public void setup() {
+    System.setProperty(RuntimeBehavior.SHARED_TIMEOUT_WATCHDOG, "true");
+  }
+
+  @AfterClass(alwaysRun = true)
+  public void teardown() {
+    System.setProperty(RuntimeBehavior.SHARED_TIMEOUT_WATCHDOG, "false");
+  }
+
+  @Test(description = "Methods are run on the re-usable threads of the watchdog")
+  public void timedOutMethodsHaveTheirRealStackTrace() {
+    TestNG tng = create(TimeOutWithParallelSample.class);
+    StackTraceListener listener = new StackTraceListener();
+    tng.addListener(listener);
+
+    tng.run();
+
+    assertThat(listener.throwable).isInstanceOf(ThreadTimeoutException.class);
+    assertThat(listener.throwable.getStackTrace())
+        .anyMatch(element -> element.getMethodName().equals("myTestMethod"));
+  }
+
+  @Test(description = "Methods are run on the calling thread and interrupted by the watchdog")
+  public void timedOutMethodsAreInterruptedWhenRunInParallel() {
+    TestNG tng = create(TimeoutTest.class, TimeOutWithParallelSample.class);
+    tng.setParallel(XmlSuite.ParallelMode.CLASSES);
+    InvokedMethodNameListener listener = new InvokedMethodNameListener();
+    tng.addListener((ITestNGListener) listener);
+
+    tng.run();
+
+    assertThat(listener.getSucceedMethodNames())
+        .containsExactlyInAnyOrder("test1", "test2", "test3");
+    assertThat(listener.getFailedMethodNames()).containsExactly("myTestMethod");
+  }
+
+  @Test
+  public void methodsThatFinishInTimeAreNotInterrupted() {
+    TestNG tng = create(TimeoutTest.class);
+    TestListenerAdapter listener = new TestListenerAdapter();
+    tng.addListener(listener);
+
+    tng.run();
+
+    assertThat(listener.getFailedTests()).isEmpty();
+    assertThat(listener.getPassedTests()).hasSize(3);
+  }
+
+  @Test(description = "The re-used threads log to the result of the method that they run")
+  public void reporterOutputIsAttachedToTheResultOfEachMethod() {
+    TestNG tng = create(ReporterOutputWithTimeOutSample.class);
+    TestListenerAdapter listener = new TestListenerAdapter();
+    tng.addListener(listener);
+
+    tng.run();
+
+    assertThat(listener.getPassedTests()).hasSize(3);
+    for (ITestResult result : listener.getPassedTests()) {
+      assertThat(Reporter.getOutput(result)).containsExactly(result.getMethod().getMethodName());
+    }
+  }
+
+  public static class StackTraceListener implements ITestListener {
+    private Throwable throwable;
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+      throwable = result.getThrowable();
+    }
+  }
+}
@@ -0,0 +1,133 @@
+package test.xml;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.testng.internal.Utils;
+import org.testng.reporters.ChannelStringBuffer;
+import org.testng.reporters.XMLStringBuffer;
+
+public class ChannelStringBufferTest {
+
+  @DataProvider(name = "contents")
+  public Object[][] contents() {
+    return new Object[][] {
+      {"short", 1_000, 5},
+      {"0123456789", 1_000, 5},
+      {"café 日本 😀 ", 10_000, 7},
+      {"x", 200_000, 100_000}
+    };
+  }
+
+  @Test(dataProvider = "contents")
+  public void contentShouldSurviveTheTemporaryFile(String chunk, int times, int maxCharacters) {
+    StringBuilder expected = new StringBuilder();
+    try (ChannelStringBuffer buffer = new ChannelStringBuffer(maxCharacters)) {
+      for (int i = 0; i < times; i++) {
+        buffer.append(chunk);
+        expected.append(chunk);
+      }
+      StringWriter writer = new StringWriter();
+      buffer.toWriter(writer);
+      assertThat(writer.toString()).isEqualTo(expected.toString());
+      assertThat(buffer.toString()).isEqualTo(expected.toString());
+    }
+  }
+
+  @Test
+  public void surrogatePairsShouldNotBeSplitAcrossFlushes() {
+    String smiley = "😀";
+    StringBuilder expected = new StringBuilder();
+    try (ChannelStringBuffer buffer = new ChannelStringBuffer(2)) {
+      for (int i = 0; i < 100; i++) {
+        buffer.append(smiley.substring(0, 1)).append(smiley.substring(1));
+        expected.append(smiley);
+      }
+      assertThat(buffer.toString()).isEqualTo(expected.toString());
+    }
+  }
+
+  @Test
+  public void contentShouldBeTransferredToAChannel() throws IOException {
+    String chunk = "<test name=\"été\"/>\n";
+    StringBuilder expected = new StringBuilder();
+    Path file = Files.createTempFile("testng", "transfer.xml");
+    try (ChannelStringBuffer buffer = new ChannelStringBuffer(100);
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+      for (int i = 0; i < 5_000; i++) {
+        buffer.append(chunk);
+        expected.append(chunk);
+      }
+      buffer.transferTo(channel);
+    }
+    assertThat(new String(Files.readAllBytes(file), StandardCharsets.UTF_8))
+        .isEqualTo(expected.toString());
+    Files.delete(file);
+  }
+
+  @Test
+  public void reportShouldBeWrittenFromTheChannel() throws IOException {
+    File dir = Files.createTempDirectory("testng").toFile();
+    XMLStringBuffer xsb = new XMLStringBuffer(new ChannelStringBuffer(10), "");
+    xsb.push("suite");
+    xsb.addRequired("name", "日本");
+    xsb.pop();
+    Utils.writeUtf8File(dir.getAbsolutePath(), "report.xml", xsb, "<?xml?>\n");
+    File report = new File(dir, "report.xml");
+    assertThat(new String(Files.readAllBytes(report.toPath()), StandardCharsets.UTF_8))
+        .isEqualTo("<?xml?>\n" + xsb.getStringBuffer().toString());
+  }
+
+  @Test(description = "The temporary file should be released once the report was written")
+  public void temporaryFileShouldBeReleasedAfterTheWrite() throws IOException {
+    File dir = Files.createTempDirectory("testng").toFile();
+    TrackingBuffer buffer = new TrackingBuffer();
+    try (XMLStringBuffer xsb = new XMLStringBuffer(buffer, "")) {
+      for (int i = 0; i < 100; i++) {
+        xsb.addRequired("name", "value-" + i);
+      }
+      Utils.writeUtf8File(dir.getAbsolutePath(), "report.xml", xsb, null);
+    }
+    assertThat(new File(dir, "report.xml")).exists();
+    assertThat(buffer.released).isTrue();
+  }
+
+  @Test(description = "The temporary file should be released when the report fails")
+  public void temporaryFileShouldBeReleasedWhenTheWriteFails() {
+    TrackingBuffer buffer = new TrackingBuffer();
+    try (XMLStringBuffer xsb = new XMLStringBuffer(buffer, "")) {
+      for (int i = 0; i < 100; i++) {
+        xsb.addRequired("name", "value-" + i);
+      }
+      throw new IllegalStateException("failure");
+    } catch (IllegalStateException e) {
+      assertThat(e).hasMessage("failure");
+    }
+    assertThat(buffer.released).isTrue();
+  }
+
+  /** A buffer that spills to its temporary file early and remembers whether it was released. */
+  private static class TrackingBuffer extends ChannelStringBuffer {
+
+    private boolean released;
+
+    TrackingBuffer() {
+      super(10);
+    }
+
+    @Override
+    public void close() {
+      released = true;
+      super.close();
+    }
+  }
+}
@@ -18,6 +18,14 @@ java {
     }
 }
 
+val jmh by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[jmh.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[jmh.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
 dependencies {
     api(projects.testngCoreApi)
     // Annotations have to be available on the compile classpath for the proper compilation
@@ -45,6 +53,8 @@ dependencies {
     testImplementation("org.gridkit.jvmtool:heaplib:_")
     testImplementation("org.gridkit.lab:jvm-attach-api:_")
     testImplementation("commons-io:commons-io:_")
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:_")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:_")
 }
 
 tasks.compileTestGroovy {
@@ -62,3 +72,12 @@ tasks.test {
         maxHeapSize = "1500m"
     }
 }
+
+// Runs the benchmarks from src/jmh, e.g. ./gradlew :testng-core:jmh -Pjmh.includes=ResultMap
+tasks.register<JavaExec>("jmh") {
+    description = "Runs the JMH benchmarks"
+    group = LifecycleBasePlugin.VERIFICATION_GROUP
+    classpath = jmh.runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    args(project.findProperty("jmh.includes")?.toString() ?: ".*")
+}
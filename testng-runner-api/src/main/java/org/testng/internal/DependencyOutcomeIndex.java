@@ -0,0 +1,155 @@
+package org.testng.internal;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.testng.IResultMap;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+/**
+ * Indexes the passed, failed and skipped results of the test methods by method and by instance as
+ * they are recorded, so that finding out whether the methods that a method depends upon finished
+ * successfully (on the same instance) does not require a scan of every result of the test.
+ *
+ * <p>The results that are indexed are only considered for as long as they are held by the result
+ * maps that this index was created for. A result that a listener removes from one of the maps is
+ * hence ignored, just as if the maps had been queried directly.
+ */
+public class DependencyOutcomeIndex {
+
+  private static final Object NO_INSTANCE = new Object();
+
+  private final Map<ITestNGMethod, Map<InstanceKey, Outcomes>> outcomes =
+      new ConcurrentHashMap<>();
+  private final IResultMap passedTests;
+  private final IResultMap failedTests;
+  private final IResultMap skippedTests;
+
+  public DependencyOutcomeIndex(
+      IResultMap passedTests, IResultMap failedTests, IResultMap skippedTests) {
+    this.passedTests = passedTests;
+    this.failedTests = failedTests;
+    this.skippedTests = skippedTests;
+  }
+
+  public void addPassedTest(ITestResult tr) {
+    outcomesOf(tr).passed.add(tr);
+  }
+
+  public void addFailedTest(ITestResult tr) {
+    outcomesOf(tr).failed.add(tr);
+  }
+
+  public void addSkippedTest(ITestResult tr) {
+    outcomesOf(tr).skipped.add(tr);
+  }
+
+  /**
+   * @param dependent - The method that depends upon <code>upstream</code>
+   * @param upstream - The method that is depended upon
+   * @return - <code>true</code> if <code>upstream</code> did not finish successfully on an instance
+   *     that applies to <code>dependent</code>, i.e., it failed or was skipped (and did not pass
+   *     on a retry) or one of its passed results is no longer a success.
+   */
+  public boolean hasFailures(ITestNGMethod dependent, ITestNGMethod upstream) {
+    Map<InstanceKey, Outcomes> byInstance = outcomes.get(upstream);
+    if (byInstance == null) {
+      return false;
+    }
+    Collection<Outcomes> candidates;
+    if (dependent.getGroupsDependedUpon().length == 0) {
+      Outcomes sameInstance = byInstance.get(new InstanceKey(dependent.getInstance()));
+      if (sameInstance == null) {
+        return false;
+      }
+      candidates = Collections.singletonList(sameInstance);
+    } else {
+      candidates = byInstance.values();
+    }
+    boolean passed = false;
+    boolean failedOrSkipped = false;
+    for (Outcomes candidate : candidates) {
+      for (ITestResult tr : candidate.passed) {
+        if (passedTests.getAllResults().contains(tr) && appliesTo(dependent, tr)) {
+          if (!tr.isSuccess()) {
+            return true;
+          }
+          passed = true;
+        }
+      }
+      failedOrSkipped =
+          failedOrSkipped
+              || containsApplicable(dependent, candidate.failed, failedTests)
+              || containsApplicable(dependent, candidate.skipped, skippedTests);
+    }
+    if (!failedOrSkipped) {
+      return false;
+    }
+    // A method that passed after having been skipped was retried.
+    boolean wasRetried = passed && byInstance.values().stream().anyMatch(this::hasSkippedResults);
+    return !wasRetried;
+  }
+
+  private boolean hasSkippedResults(Outcomes candidate) {
+    return candidate.skipped.stream().anyMatch(tr -> skippedTests.getAllResults().contains(tr));
+  }
+
+  private static boolean containsApplicable(
+      ITestNGMethod dependent, Set<ITestResult> results, IResultMap map) {
+    for (ITestResult tr : results) {
+      if (map.getAllResults().contains(tr) && appliesTo(dependent, tr)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean appliesTo(ITestNGMethod dependent, ITestResult tr) {
+    boolean sameInstance = instanceOf(tr) == dependent.getInstance();
+    if (dependent.getGroupsDependedUpon().length == 0) {
+      return sameInstance;
+    }
+    // A result applies if it was on the same instance or on a different class altogether.
+    return sameInstance
+        || !tr.getTestClass().getRealClass().equals(dependent.getTestClass().getRealClass());
+  }
+
+  private static Object instanceOf(ITestResult tr) {
+    return Optional.ofNullable(tr.getInstance()).orElse(tr.getMethod().getInstance());
+  }
+
+  private Outcomes outcomesOf(ITestResult tr) {
+    return outcomes
+        .computeIfAbsent(tr.getMethod(), k -> new ConcurrentHashMap<>())
+        .computeIfAbsent(new InstanceKey(instanceOf(tr)), k -> new Outcomes());
+  }
+
+  private static class Outcomes {
+    final Set<ITestResult> passed = ConcurrentHashMap.newKeySet();
+    final Set<ITestResult> failed = ConcurrentHashMap.newKeySet();
+    final Set<ITestResult> skipped = ConcurrentHashMap.newKeySet();
+  }
+
+  /** Compares instances by identity, since that is how results are matched to instances. */
+  private static final class InstanceKey {
+    private final Object instance;
+
+    InstanceKey(Object instance) {
+      this.instance = instance == null ? NO_INSTANCE : instance;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof InstanceKey && ((InstanceKey) o).instance == instance;
+    }
+
+    @Override
+    public int hashCode() {
+      return System.identityHashCode(instance);
+    }
+  }
+}
@@ -35,4 +35,12 @@ public interface ITestResultNotifier {
   List<IConfigurationListener> getConfigurationListeners();
 
   ITestListener getExitCodeListener();
+
+  /**
+   * @return - The index of the outcomes of the test methods, or <code>null</code> if the outcomes
+   *     are not indexed (in which case the results have to be looked up instead).
+   */
+  default DependencyOutcomeIndex getDependencyOutcomeIndex() {
+    return null;
+  }
 }